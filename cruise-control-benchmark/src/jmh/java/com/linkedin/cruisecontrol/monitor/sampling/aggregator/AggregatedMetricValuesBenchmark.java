@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.cruisecontrol.monitor.sampling.aggregator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares the load arithmetic of the array based {@link AggregatedMetricValues} against the previous map based
+ * representation ({@link MapBasedAggregatedMetricValues}). A replica relocation subtracts the replica load from the source
+ * broker / host / rack and adds it to the destination, which is what {@code relocate*} benchmarks model.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AggregatedMetricValuesBenchmark {
+  @Param({"20"})
+  protected short _numMetrics;
+
+  @Param({"1", "5", "20"})
+  protected int _numWindows;
+
+  private AggregatedMetricValues _brokerLoad;
+  private AggregatedMetricValues _replicaLoad;
+  private MapBasedAggregatedMetricValues _mapBasedBrokerLoad;
+  private MapBasedAggregatedMetricValues _mapBasedReplicaLoad;
+  private List<Short> _resourceMetricIds;
+
+  /**
+   * Populate the broker and replica loads with random values.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(0xCC);
+    _brokerLoad = new AggregatedMetricValues();
+    _replicaLoad = new AggregatedMetricValues();
+    _mapBasedBrokerLoad = new MapBasedAggregatedMetricValues();
+    _mapBasedReplicaLoad = new MapBasedAggregatedMetricValues();
+    for (short id = 0; id < _numMetrics; id++) {
+      MetricValues brokerValues = randomValues(random, 1000.0);
+      MetricValues replicaValues = randomValues(random, 1.0);
+      _brokerLoad.add(id, brokerValues);
+      _replicaLoad.add(id, replicaValues);
+      _mapBasedBrokerLoad.add(id, brokerValues);
+      _mapBasedReplicaLoad.add(id, replicaValues);
+    }
+    _resourceMetricIds = new ArrayList<>();
+    for (short id = 0; id < _numMetrics; id += 4) {
+      _resourceMetricIds.add(id);
+    }
+  }
+
+  private MetricValues randomValues(Random random, double scale) {
+    MetricValues values = new MetricValues(_numWindows);
+    for (int i = 0; i < _numWindows; i++) {
+      values.set(i, random.nextDouble() * scale);
+    }
+    return values;
+  }
+
+  /**
+   * @return The broker load after moving the replica load out and back in.
+   */
+  @Benchmark
+  public AggregatedMetricValues relocate() {
+    _brokerLoad.subtract(_replicaLoad);
+    _brokerLoad.add(_replicaLoad);
+    return _brokerLoad;
+  }
+
+  /**
+   * @return The broker load after moving the replica load out and back in.
+   */
+  @Benchmark
+  public MapBasedAggregatedMetricValues relocateMapBased() {
+    _mapBasedBrokerLoad.subtract(_mapBasedReplicaLoad);
+    _mapBasedBrokerLoad.add(_mapBasedReplicaLoad);
+    return _mapBasedBrokerLoad;
+  }
+
+  /**
+   * @return The shared view of the metric values of a resource.
+   */
+  @Benchmark
+  public AggregatedMetricValues valuesForResource() {
+    return _brokerLoad.valuesFor(_resourceMetricIds, true);
+  }
+
+  /**
+   * @return The shared view of the metric values of a resource.
+   */
+  @Benchmark
+  public MapBasedAggregatedMetricValues valuesForResourceMapBased() {
+    return _mapBasedBrokerLoad.valuesFor(_resourceMetricIds, true);
+  }
+
+  /**
+   * @return The sum of the latest values of all metrics.
+   */
+  @Benchmark
+  public double valuesForEachMetric() {
+    double sum = 0.0;
+    for (short id = 0; id < _numMetrics; id++) {
+      sum += _brokerLoad.valuesFor(id).latest();
+    }
+    return sum;
+  }
+
+  /**
+   * @return The sum of the latest values of all metrics.
+   */
+  @Benchmark
+  public double valuesForEachMetricMapBased() {
+    double sum = 0.0;
+    for (short id = 0; id < _numMetrics; id++) {
+      sum += _mapBasedBrokerLoad.valuesFor(id).latest();
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.cruisecontrol.monitor.sampling.aggregator;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * The previous, {@code Map<Short, MetricValues>} based representation of {@link AggregatedMetricValues}, which is kept
+ * only as the baseline of {@link AggregatedMetricValuesBenchmark}.
+ */
+final class MapBasedAggregatedMetricValues {
+  private final Map<Short, MetricValues> _metricValues;
+
+  MapBasedAggregatedMetricValues() {
+    _metricValues = new HashMap<>();
+  }
+
+  MetricValues valuesFor(short metricId) {
+    return _metricValues.get(metricId);
+  }
+
+  MapBasedAggregatedMetricValues valuesFor(Collection<Short> metricIds, boolean shareValueArray) {
+    MapBasedAggregatedMetricValues values = new MapBasedAggregatedMetricValues();
+    metricIds.forEach(id -> {
+      MetricValues valuesForId = _metricValues.get(id);
+      if (valuesForId == null) {
+        throw new IllegalArgumentException("Metric id " + id + " does not exist.");
+      }
+      if (shareValueArray) {
+        values._metricValues.put(id, valuesForId);
+      } else {
+        values.add(id, valuesForId);
+      }
+    });
+    return values;
+  }
+
+  void add(short metricId, MetricValues metricValuesToAdd) {
+    MetricValues metricValues = _metricValues.computeIfAbsent(metricId, id -> new MetricValues(metricValuesToAdd.length()));
+    metricValues.add(metricValuesToAdd);
+  }
+
+  void add(MapBasedAggregatedMetricValues other) {
+    for (Map.Entry<Short, MetricValues> entry : other._metricValues.entrySet()) {
+      MetricValues otherValuesForMetric = entry.getValue();
+      _metricValues.computeIfAbsent(entry.getKey(), id -> new MetricValues(otherValuesForMetric.length())).add(otherValuesForMetric);
+    }
+  }
+
+  void subtract(MapBasedAggregatedMetricValues other) {
+    for (Map.Entry<Short, MetricValues> entry : other._metricValues.entrySet()) {
+      _metricValues.get(entry.getKey()).subtract(entry.getValue());
+    }
+  }
+}
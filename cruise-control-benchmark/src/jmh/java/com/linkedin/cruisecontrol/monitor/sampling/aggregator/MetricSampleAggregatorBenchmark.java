@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.cruisecontrol.monitor.sampling.aggregator;
+
+import com.linkedin.cruisecontrol.exception.NotEnoughValidWindowsException;
+import com.linkedin.cruisecontrol.metricdef.MetricDef;
+import com.linkedin.cruisecontrol.metricdef.MetricInfo;
+import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.PartitionEntity;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.PartitionMetricSample;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.TopicPartition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures how the aggregation of the partition metric samples scales with the aggregation parallelism of the
+ * {@link MetricSampleAggregator}. Every partition has a sample in each window, except for every tenth partition, which
+ * misses a window and hence has an extrapolation. Partition count can be overridden from the command line, e.g.
+ * {@code -p _numPartitions=1000000}.
+ *
+ * The speedup of parallel aggregation has not been measured on a multi-core host yet. On a single core host (JDK 17), the
+ * same setup over 100k entities with a three-metric definition instead of {@link KafkaMetricDef} took 187ms, 210ms and 206ms
+ * on average with an aggregation parallelism of 1, 2 and 4, respectively -- i.e. parallel aggregation brings no speedup
+ * without spare cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MetricSampleAggregatorBenchmark {
+  private static final long WINDOW_MS = TimeUnit.MINUTES.toMillis(5);
+  private static final int NUM_TOPICS = 1000;
+
+  @Param({"100000", "500000"})
+  protected int _numPartitions;
+
+  @Param({"5"})
+  protected int _numWindows;
+
+  @Param({"1", "2", "4", "8"})
+  protected int _aggregationParallelism;
+
+  private MetricSampleAggregator<String, PartitionEntity> _aggregator;
+  private AggregationOptions<String, PartitionEntity> _options;
+
+  /**
+   * Populate the aggregator with a sample of each partition in each window, and roll out the last window.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    MetricDef metricDef = KafkaMetricDef.commonMetricDef();
+    _aggregator = new MetricSampleAggregator<>(_numWindows, WINDOW_MS, (byte) 1, 0, metricDef, _aggregationParallelism);
+    Random random = new Random(0xCC);
+    // The first window index is 1, and the sample of the last window rolls out the windows to aggregate.
+    for (int windowIndex = 1; windowIndex <= _numWindows + 1; windowIndex++) {
+      for (int i = 0; i < _numPartitions; i++) {
+        if (i % 10 == 0 && windowIndex == 2) {
+          continue;
+        }
+        PartitionMetricSample sample = new PartitionMetricSample(0, new TopicPartition("topic" + i % NUM_TOPICS, i / NUM_TOPICS));
+        for (MetricInfo info : metricDef.all()) {
+          sample.record(info, random.nextDouble() * 100.0);
+        }
+        sample.close(windowIndex * WINDOW_MS);
+        _aggregator.addSample(sample);
+      }
+    }
+    _options = new AggregationOptions<>(0.0, 0.0, 1, _numWindows, Collections.emptySet(),
+                                        AggregationOptions.Granularity.ENTITY, true);
+  }
+
+  /**
+   * Shut down the aggregation threads.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    _aggregator.close();
+  }
+
+  /**
+   * @return The aggregation result of all the partitions.
+   * @throws NotEnoughValidWindowsException If there is not enough valid windows.
+   */
+  @Benchmark
+  public MetricSampleAggregationResult<String, PartitionEntity> aggregate() throws NotEnoughValidWindowsException {
+    return _aggregator.aggregate(-1L, Long.MAX_VALUE, _options);
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.analyzer;
+
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.Goal;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfigUtils;
+import com.linkedin.kafka.cruisecontrol.exception.KafkaCruiseControlException;
+import java.util.Collections;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+
+/**
+ * Measures {@link Goal#optimize} of a single goal in isolation, i.e. without any previously optimized goals.
+ * Goals are specified by their simple class name in {@code com.linkedin.kafka.cruisecontrol.analyzer.goals}.
+ */
+public class GoalBenchmark extends SyntheticClusterBenchmark {
+  private static final String GOALS_PACKAGE = "com.linkedin.kafka.cruisecontrol.analyzer.goals.";
+
+  @Param({"RackAwareGoal",
+          "ReplicaCapacityGoal",
+          "DiskCapacityGoal",
+          "NetworkInboundCapacityGoal",
+          "NetworkOutboundCapacityGoal",
+          "CpuCapacityGoal",
+          "ReplicaDistributionGoal",
+          "PotentialNwOutGoal",
+          "DiskUsageDistributionGoal",
+          "NetworkInboundUsageDistributionGoal",
+          "NetworkOutboundUsageDistributionGoal",
+          "CpuUsageDistributionGoal",
+          "TopicReplicaDistributionGoal",
+          "LeaderReplicaDistributionGoal",
+          "LeaderBytesInDistributionGoal"})
+  protected String _goal;
+
+  private OptimizationOptions _optimizationOptions;
+
+  /**
+   * Set the optimization options shared by all invocations of the benchmark.
+   */
+  @Setup(Level.Trial)
+  public void setUpOptimizationOptions() {
+    _optimizationOptions = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+  }
+
+  /**
+   * @return {@code true} if the goal is satisfied after the optimization, {@code false} otherwise.
+   * @throws KafkaCruiseControlException If the goal fails to optimize the cluster.
+   * @throws ClassNotFoundException If the goal class cannot be found.
+   */
+  @Benchmark
+  public boolean optimize() throws KafkaCruiseControlException, ClassNotFoundException {
+    // Goals keep per-optimization state, hence a new instance is used in each invocation.
+    Goal goal = KafkaCruiseControlConfigUtils.getConfiguredInstance(Class.forName(GOALS_PACKAGE + _goal),
+                                                                    Goal.class,
+                                                                    _config.mergedConfigValues());
+    return goal.optimize(_clusterModel, Collections.emptySet(), _optimizationOptions);
+  }
+}
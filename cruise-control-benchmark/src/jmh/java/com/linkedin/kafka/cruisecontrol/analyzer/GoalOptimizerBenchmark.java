@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.analyzer;
+
+import com.codahale.metrics.MetricRegistry;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.Goal;
+import com.linkedin.kafka.cruisecontrol.async.progress.OperationProgress;
+import com.linkedin.kafka.cruisecontrol.exception.KafkaCruiseControlException;
+import com.linkedin.kafka.cruisecontrol.executor.Executor;
+import java.util.List;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.common.utils.SystemTime;
+import org.easymock.EasyMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+
+/**
+ * Measures {@link GoalOptimizer#optimizations(com.linkedin.kafka.cruisecontrol.model.ClusterModel, List, OperationProgress)}
+ * end to end using the default goals, including the per-goal proposal diffs and cluster stats.
+ */
+public class GoalOptimizerBenchmark extends SyntheticClusterBenchmark {
+  private GoalOptimizer _goalOptimizer;
+  private List<Goal> _goalsByPriority;
+
+  /**
+   * Create the goal optimizer and the default goals.
+   */
+  @Setup(Level.Trial)
+  public void setUpGoalOptimizer() {
+    _goalOptimizer = new GoalOptimizer(_config, null, new SystemTime(), new MetricRegistry(),
+                                       EasyMock.mock(Executor.class), EasyMock.mock(AdminClient.class));
+    _goalsByPriority = AnalyzerUtils.getGoalsByPriority(_config);
+  }
+
+  /**
+   * Shutdown the goal optimizer.
+   */
+  @TearDown(Level.Trial)
+  public void tearDownGoalOptimizer() {
+    _goalOptimizer.shutdown();
+  }
+
+  /**
+   * @return Results of optimization containing the proposals and stats.
+   * @throws KafkaCruiseControlException If the optimization fails.
+   */
+  @Benchmark
+  public OptimizerResult optimizations() throws KafkaCruiseControlException {
+    return _goalOptimizer.optimizations(_clusterModel, _goalsByPriority, new OperationProgress());
+  }
+}
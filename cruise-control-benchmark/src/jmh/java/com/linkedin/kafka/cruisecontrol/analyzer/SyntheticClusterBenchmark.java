@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.analyzer;
+
+import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
+import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.exception.BrokerCapacityResolutionException;
+import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import com.linkedin.kafka.cruisecontrol.model.SyntheticClusterGenerator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Base class of benchmarks that optimize a freshly generated synthetic cluster on each invocation.
+ *
+ * Optimization mutates the cluster model, hence a new model is generated before every invocation (outside of the
+ * measured time) and each invocation is measured as a single shot. Cluster dimensions can be overridden from the
+ * command line, e.g. {@code -p _numBrokers=300 -p _numPartitions=150000 -p _distribution=EXPONENTIAL}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public abstract class SyntheticClusterBenchmark {
+  @Param({"10"})
+  protected int _numRacks;
+
+  @Param({"40"})
+  protected int _numBrokers;
+
+  @Param({"3000"})
+  protected int _numTopics;
+
+  @Param({"17000"})
+  protected int _numPartitions;
+
+  @Param({"3"})
+  protected int _replicationFactor;
+
+  @Param({"UNIFORM", "LINEAR", "EXPONENTIAL"})
+  protected TestConstants.Distribution _distribution;
+
+  protected KafkaCruiseControlConfig _config;
+  protected ClusterModel _clusterModel;
+
+  /**
+   * Create the Cruise Control configs shared by all invocations of the benchmark.
+   */
+  @Setup(Level.Trial)
+  public void setUpConfig() {
+    _config = new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties());
+  }
+
+  /**
+   * Generate a new synthetic cluster to be optimized by the next invocation.
+   *
+   * @throws BrokerCapacityResolutionException If broker capacity resolver fails to resolve broker capacity.
+   */
+  @Setup(Level.Invocation)
+  public void setUpClusterModel() throws BrokerCapacityResolutionException {
+    _clusterModel = SyntheticClusterGenerator.generate(_numRacks, _numBrokers, _numTopics, _numPartitions, _replicationFactor, _distribution);
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.model;
+
+import com.linkedin.kafka.cruisecontrol.common.ClusterProperty;
+import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import com.linkedin.kafka.cruisecontrol.exception.BrokerCapacityResolutionException;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Generates synthetic cluster models for benchmarks. The generated clusters use the broker capacities and the load
+ * distributions of {@link RandomCluster}, but are sized in terms of partitions rather than replicas.
+ */
+public final class SyntheticClusterGenerator {
+
+  private SyntheticClusterGenerator() {
+
+  }
+
+  /**
+   * Generate a cluster model populated with replicas whose placement across brokers follows the given distribution.
+   * In addition to the requested partitions, the cluster contains {@link RandomCluster#TOPIC_WITH_ONE_LEADER_REPLICA_PER_BROKER}.
+   *
+   * @param numRacks Number of racks.
+   * @param numBrokers Number of brokers.
+   * @param numTopics Number of topics.
+   * @param numPartitions Total number of partitions across all topics.
+   * @param replicationFactor Replication factor of each partition.
+   * @param distribution The skew of replica placement across brokers.
+   * @return A populated cluster model.
+   * @throws BrokerCapacityResolutionException If broker capacity resolver fails to resolve broker capacity.
+   */
+  public static ClusterModel generate(int numRacks,
+                                      int numBrokers,
+                                      int numTopics,
+                                      int numPartitions,
+                                      int replicationFactor,
+                                      TestConstants.Distribution distribution)
+      throws BrokerCapacityResolutionException {
+    Map<ClusterProperty, Number> properties = new HashMap<>(TestConstants.BASE_PROPERTIES);
+    properties.put(ClusterProperty.NUM_RACKS, numRacks);
+    properties.put(ClusterProperty.NUM_BROKERS, numBrokers);
+    properties.put(ClusterProperty.NUM_TOPICS, numTopics);
+    properties.put(ClusterProperty.NUM_REPLICAS, numPartitions * replicationFactor);
+    properties.put(ClusterProperty.MIN_REPLICATION, replicationFactor);
+    properties.put(ClusterProperty.MAX_REPLICATION, replicationFactor);
+
+    ClusterModel clusterModel = RandomCluster.generate(properties);
+    RandomCluster.populate(clusterModel, properties, distribution);
+    return clusterModel;
+  }
+}
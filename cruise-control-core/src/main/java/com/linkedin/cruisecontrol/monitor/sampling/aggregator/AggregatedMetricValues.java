@@ -10,28 +10,33 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.TreeSet;
 
 import static com.linkedin.cruisecontrol.common.utils.Utils.validateNotNull;
 
 
 /**
- * The aggregated metric values.
+ * The aggregated metric values. The metric values are stored in an array indexed by metric id, since metric ids are
+ * dense and start from 0.
  */
 public class AggregatedMetricValues {
-  // Metric values by metric id.
-  private final Map<Short, MetricValues> _metricValues;
+  private static final MetricValues[] EMPTY_METRIC_VALUES = new MetricValues[0];
+  // Metric values by metric id -- i.e. the index of the array is the metric id, null if the metric does not exist.
+  private MetricValues[] _metricValues;
+  private int _numMetrics;
 
   /**
    * Create an empty metric values.
    */
   public AggregatedMetricValues() {
-    _metricValues = new HashMap<>();
+    _metricValues = EMPTY_METRIC_VALUES;
+    _numMetrics = 0;
   }
 
   /**
@@ -47,7 +52,25 @@ public class AggregatedMetricValues {
                                                + "different lengths of " + length + " and " + values.length());
       }
     }
-    _metricValues = valuesByMetricId;
+    _metricValues = EMPTY_METRIC_VALUES;
+    _numMetrics = 0;
+    valuesByMetricId.forEach(this::put);
+  }
+
+  /**
+   * Create an AggregatedMetricValues that takes over the given array of values by metric id. The metric values of the
+   * existing metrics must have the same length.
+   * @param metricValues the values of the metrics. The index of the array is the metric id, null if the metric does not exist.
+   */
+  AggregatedMetricValues(MetricValues[] metricValues) {
+    _metricValues = metricValues;
+    int numMetrics = 0;
+    for (MetricValues values : metricValues) {
+      if (values != null) {
+        numMetrics++;
+      }
+    }
+    _numMetrics = numMetrics;
   }
 
   /**
@@ -57,7 +80,7 @@ public class AggregatedMetricValues {
    * @return The {@link MetricValues} for the given metric id.
    */
   public MetricValues valuesFor(short metricId) {
-    return _metricValues.get(metricId);
+    return metricId >= 0 && metricId < _metricValues.length ? _metricValues[metricId] : null;
   }
 
   /**
@@ -73,17 +96,17 @@ public class AggregatedMetricValues {
    */
   public AggregatedMetricValues valuesFor(Collection<Short> metricIds, boolean shareValueArray) {
     AggregatedMetricValues values = new AggregatedMetricValues();
-    metricIds.forEach(id -> {
-      MetricValues valuesForId = _metricValues.get(id);
+    for (short id : metricIds) {
+      MetricValues valuesForId = valuesFor(id);
       if (valuesForId == null) {
         throw new IllegalArgumentException("Metric id " + id + " does not exist.");
       }
       if (shareValueArray) {
-        values.metricValues().put(id, valuesForId);
+        values.put(id, valuesForId);
       } else {
         values.add(id, valuesForId);
       }
-    });
+    }
     return values;
   }
 
@@ -102,16 +125,16 @@ public class AggregatedMetricValues {
   public MetricValues valuesForGroup(String group, MetricDef metricDef, boolean shareValueArray) {
     Collection<MetricInfo> metricInfos = metricDef.metricInfoForGroup(group);
     if (metricInfos.size() == 1 && shareValueArray) {
-      return _metricValues.get(metricInfos.iterator().next().id());
+      return valuesFor(metricInfos.iterator().next().id());
     } else {
       MetricValues metricValues = new MetricValues(length());
-      metricInfos.forEach(info -> {
-        MetricValues valuesForId = _metricValues.get(info.id());
+      for (MetricInfo info : metricInfos) {
+        MetricValues valuesForId = valuesFor(info.id());
         if (valuesForId == null) {
           throw new IllegalArgumentException("Metric " + info + " does not exist.");
         }
         metricValues.add(valuesForId);
-      });
+      }
       return metricValues;
     }
   }
@@ -120,7 +143,15 @@ public class AggregatedMetricValues {
    * @return The array length of the metric values.
    */
   public int length() {
-    return _metricValues.isEmpty() ? 0 : _metricValues.values().iterator().next().length();
+    if (_numMetrics == 0) {
+      return 0;
+    }
+    for (MetricValues values : _metricValues) {
+      if (values != null) {
+        return values.length();
+      }
+    }
+    return 0;
   }
 
   /**
@@ -130,14 +161,20 @@ public class AggregatedMetricValues {
    * @return {@code true} the aggregated metric values is empty, {@code false} otherwise.
    */
   public boolean isEmpty() {
-    return _metricValues.isEmpty();
+    return _numMetrics == 0;
   }
 
   /**
    * @return The ids of all the metrics in this cluster.
    */
   public Set<Short> metricIds() {
-    return Collections.unmodifiableSet(_metricValues.keySet());
+    Set<Short> metricIds = new TreeSet<>();
+    for (short id = 0; id < _metricValues.length; id++) {
+      if (_metricValues[id] != null) {
+        metricIds.add(id);
+      }
+    }
+    return Collections.unmodifiableSet(metricIds);
   }
 
   /**
@@ -148,12 +185,11 @@ public class AggregatedMetricValues {
    */
   public void add(short metricId, MetricValues metricValuesToAdd) {
     validateNotNull(metricValuesToAdd, "The metric values to be added cannot be null");
-    if (!_metricValues.isEmpty() && metricValuesToAdd.length() != length()) {
+    if (!isEmpty() && metricValuesToAdd.length() != length()) {
       throw new IllegalArgumentException("The existing metric length is " + length() + " which is different from the"
                                              + " metric length of " + metricValuesToAdd.length() + " that is being added.");
     }
-    MetricValues metricValues = _metricValues.computeIfAbsent(metricId, id -> new MetricValues(metricValuesToAdd.length()));
-    metricValues.add(metricValuesToAdd);
+    valuesForAdd(metricId, metricValuesToAdd.length()).add(metricValuesToAdd);
   }
 
   /**
@@ -162,10 +198,13 @@ public class AggregatedMetricValues {
    * @param other the other AggregatedMetricValues.
    */
   public void add(AggregatedMetricValues other) {
-    for (Map.Entry<Short, MetricValues> entry : other.metricValues().entrySet()) {
-      short metricId = entry.getKey();
-      MetricValues otherValuesForMetric = entry.getValue();
-      MetricValues valuesForMetric = _metricValues.computeIfAbsent(metricId, id -> new MetricValues(otherValuesForMetric.length()));
+    MetricValues[] otherMetricValues = other._metricValues;
+    for (short metricId = 0; metricId < otherMetricValues.length; metricId++) {
+      MetricValues otherValuesForMetric = otherMetricValues[metricId];
+      if (otherValuesForMetric == null) {
+        continue;
+      }
+      MetricValues valuesForMetric = valuesForAdd(metricId, otherValuesForMetric.length());
       if (valuesForMetric.length() != otherValuesForMetric.length()) {
         throw new IllegalStateException("The two values arrays have different lengths " + valuesForMetric.length()
                                         + " and " + otherValuesForMetric.length());
@@ -180,9 +219,12 @@ public class AggregatedMetricValues {
    * @param other the other AggregatedMetricValues to subtract from this one.
    */
   public void subtract(AggregatedMetricValues other) {
-    for (Map.Entry<Short, MetricValues> entry : other.metricValues().entrySet()) {
-      short metricId = entry.getKey();
-      MetricValues otherValuesForMetric = entry.getValue();
+    MetricValues[] otherMetricValues = other._metricValues;
+    for (short metricId = 0; metricId < otherMetricValues.length; metricId++) {
+      MetricValues otherValuesForMetric = otherMetricValues[metricId];
+      if (otherValuesForMetric == null) {
+        continue;
+      }
       MetricValues valuesForMetric = valuesFor(metricId);
       if (valuesForMetric == null) {
         throw new IllegalStateException("Cannot subtract a values from a non-existing MetricValues");
@@ -199,7 +241,8 @@ public class AggregatedMetricValues {
    * Clear all the values in this AggregatedMetricValues.
    */
   public void clear() {
-    _metricValues.clear();
+    _metricValues = EMPTY_METRIC_VALUES;
+    _numMetrics = 0;
   }
 
   /**
@@ -211,23 +254,46 @@ public class AggregatedMetricValues {
   public void writeTo(OutputStream out) throws IOException {
     OutputStreamWriter osw = new OutputStreamWriter(out, StandardCharsets.UTF_8);
     osw.write("{%n");
-    for (Map.Entry<Short, MetricValues> entry : _metricValues.entrySet()) {
-      osw.write(String.format("metricId:\"%d\", values:\"", entry.getKey()));
-      entry.getValue().writeTo(out);
-      osw.write("}\"");
+    for (int metricId = 0; metricId < _metricValues.length; metricId++) {
+      if (_metricValues[metricId] != null) {
+        osw.write(String.format("metricId:\"%d\", values:\"", metricId));
+        _metricValues[metricId].writeTo(out);
+        osw.write("}\"");
+      }
     }
   }
 
   @Override
   public String toString() {
     StringJoiner joiner = new StringJoiner("\n", "{", "}");
-    for (Map.Entry<Short, MetricValues> entry : _metricValues.entrySet()) {
-      joiner.add(String.format("metricId:\"%d\", values:\"%s\"", entry.getKey(), entry.getValue()));
+    for (int metricId = 0; metricId < _metricValues.length; metricId++) {
+      if (_metricValues[metricId] != null) {
+        joiner.add(String.format("metricId:\"%d\", values:\"%s\"", metricId, _metricValues[metricId]));
+      }
     }
     return joiner.toString();
   }
 
-  private Map<Short, MetricValues> metricValues() {
-    return _metricValues;
+  // Get the metric values for the given metric id, or create and put empty metric values with the given length if the metric does not exist.
+  private MetricValues valuesForAdd(short metricId, int length) {
+    MetricValues values = valuesFor(metricId);
+    if (values == null) {
+      values = new MetricValues(length);
+      put(metricId, values);
+    }
+    return values;
+  }
+
+  private void put(short metricId, MetricValues values) {
+    if (metricId < 0) {
+      throw new IllegalArgumentException("Metric id cannot be negative, saw " + metricId);
+    }
+    if (metricId >= _metricValues.length) {
+      _metricValues = Arrays.copyOf(_metricValues, metricId + 1);
+    }
+    if (_metricValues[metricId] == null) {
+      _numMetrics++;
+    }
+    _metricValues[metricId] = values;
   }
 }
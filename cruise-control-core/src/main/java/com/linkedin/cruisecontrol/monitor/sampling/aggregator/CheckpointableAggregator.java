@@ -0,0 +1,37 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.cruisecontrol.monitor.sampling.aggregator;
+
+import com.linkedin.cruisecontrol.model.Entity;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+
+/**
+ * Implemented by the {@link MetricSampleAggregator MetricSampleAggregators} that support checkpoints, i.e. that know how
+ * to write their entities to and read them from a checkpoint. See {@link MetricSampleAggregator#writeCheckpoint(DataOutput)}
+ * and {@link MetricSampleAggregator#restoreCheckpoint(DataInput)}.
+ *
+ * @param <E> The entity class.
+ */
+public interface CheckpointableAggregator<E extends Entity<?>> {
+
+  /**
+   * Write the given entity to a checkpoint.
+   *
+   * @param entity The entity to write.
+   * @param out The output to write the entity to.
+   */
+  void writeEntity(E entity, DataOutput out) throws IOException;
+
+  /**
+   * Read an entity written by {@link #writeEntity(Entity, DataOutput)} from a checkpoint.
+   *
+   * @param in The input to read the entity from.
+   * @return The entity read from the given input.
+   */
+  E readEntity(DataInput in) throws IOException;
+}
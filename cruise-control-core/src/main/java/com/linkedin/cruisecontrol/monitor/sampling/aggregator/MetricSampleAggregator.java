@@ -9,6 +9,9 @@ import com.linkedin.cruisecontrol.exception.NotEnoughValidWindowsException;
 import com.linkedin.cruisecontrol.metricdef.MetricDef;
 import com.linkedin.cruisecontrol.model.Entity;
 import com.linkedin.cruisecontrol.monitor.sampling.MetricSample;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -21,7 +24,13 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -83,11 +92,20 @@ import org.slf4j.LoggerFactory;
  */
 public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerationed {
   private static final Logger LOG = LoggerFactory.getLogger(MetricSampleAggregator.class);
+  private static final byte CHECKPOINT_VERSION = 1;
+  // The minimum number of entities to aggregate in a single task of a parallel aggregation.
+  private static final int MIN_ENTITIES_PER_AGGREGATION_TASK = 1024;
 
   private final ConcurrentMap<E, RawMetricValues> _rawMetrics;
   private final MetricSampleAggregatorState<G, E> _aggregatorState;
-  private final ReentrantLock _windowRollingLock;
+  // Window rolling, clear and checkpoint restoration take the write lock. Aggregations and other reads of the window indices,
+  // as well as the creation of raw metric values of new entities, take the read lock, so they do not block each other.
+  private final ReentrantReadWriteLock _windowRollingLock;
   private final ConcurrentMap<E, E> _identityEntityMap;
+  // The time of the latest sample added to the aggregator.
+  private final LongAccumulator _latestSampleTimeMs;
+  // The pool to aggregate the metric values of the entities in parallel, or null if they are aggregated in the calling thread.
+  private final ForkJoinPool _aggregationPool;
 
   protected final int _numWindows;
   protected final byte _minSamplesPerWindow;
@@ -115,7 +133,34 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
                                 byte minSamplesPerWindow,
                                 int completenessCacheSize,
                                 MetricDef metricDef) {
+    this(numWindows, windowMs, minSamplesPerWindow, completenessCacheSize, metricDef, 1);
+  }
+
+  /**
+   * Construct the metric sample aggregator that aggregates the metric values of the entities in parallel.
+   *
+   * @param numWindows the number of windows needed.
+   * @param windowMs the size of each window in milliseconds
+   * @param minSamplesPerWindow minimum samples per window.
+   * @param completenessCacheSize the completeness cache size, i.e. the number of recent completeness query result to
+   *                              cache.
+   * @param metricDef metric definitions.
+   * @param aggregationParallelism the number of threads to aggregate the metric values of the entities, 1 to aggregate them
+   *                               in the calling thread.
+   */
+  public MetricSampleAggregator(int numWindows,
+                                long windowMs,
+                                byte minSamplesPerWindow,
+                                int completenessCacheSize,
+                                MetricDef metricDef,
+                                int aggregationParallelism) {
     super(0);
+    if (aggregationParallelism < 1) {
+      throw new IllegalArgumentException("The aggregation parallelism must be positive, saw " + aggregationParallelism);
+    }
+    _aggregationPool = aggregationParallelism > 1
+                       ? new ForkJoinPool(aggregationParallelism, new AggregationThreadFactory(getClass().getSimpleName()), null, false)
+                       : null;
     _identityEntityMap = new ConcurrentHashMap<>();
     _rawMetrics = new ConcurrentHashMap<>();
     _numWindows = numWindows;
@@ -124,9 +169,10 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
     // We keep one more window for the active window.
     _numWindowsToKeep = _numWindows + 1;
     _minSamplesPerWindow = minSamplesPerWindow;
-    _windowRollingLock = new ReentrantLock();
+    _windowRollingLock = new ReentrantReadWriteLock();
     _metricDef = metricDef;
     _aggregatorState = new MetricSampleAggregatorState<>(numWindows, _windowMs, completenessCacheSize);
+    _latestSampleTimeMs = new LongAccumulator(Math::max, -1L);
     _oldestWindowIndex = 0L;
     _currentWindowIndex = 0L;
   }
@@ -149,21 +195,24 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
       return false;
     }
     boolean newWindowsRolledOut = maybeRollOutNewWindow(windowIndex);
-    RawMetricValues rawMetricValues =
-        _rawMetrics.computeIfAbsent(identity(sample.entity()), k -> {
-          // Need to grab the lock to make sure the raw value for this partition is updated correctly when
-          // the raw values was created in an existing window while a new window is being rolled out.
-          _windowRollingLock.lock();
-          try {
-            RawMetricValues rawValues = new RawMetricValues(_numWindowsToKeep, _minSamplesPerWindow, _metricDef.size());
-            rawValues.updateOldestWindowIndex(_oldestWindowIndex);
-            return rawValues;
-          } finally {
-            _windowRollingLock.unlock();
-          }
-        });
+    RawMetricValues rawMetricValues = _rawMetrics.get(sample.entity());
+    if (rawMetricValues == null) {
+      rawMetricValues = _rawMetrics.computeIfAbsent(identity(sample.entity()), k -> {
+        // Need to grab the lock to make sure the raw value for this partition is updated correctly when
+        // the raw values was created in an existing window while a new window is being rolled out.
+        _windowRollingLock.readLock().lock();
+        try {
+          RawMetricValues rawValues = new RawMetricValues(_numWindowsToKeep, _minSamplesPerWindow, _metricDef.size());
+          rawValues.updateOldestWindowIndex(_oldestWindowIndex);
+          return rawValues;
+        } finally {
+          _windowRollingLock.readLock().unlock();
+        }
+      });
+    }
     LOG.trace("Adding sample {} to window index {}", sample, windowIndex);
     rawMetricValues.addSample(sample, windowIndex, _metricDef);
+    _latestSampleTimeMs.accumulate(sample.sampleTime());
     if (newWindowsRolledOut || windowIndex != _currentWindowIndex) {
       // Either new window(s) rolled out or the data has been inserted to an old window. Both cases affect the historical
       // load information that Cruise Control is interested in. Hence, they require bumping up the generation of the
@@ -193,7 +242,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
   public MetricSampleAggregationResult<G, E> aggregate(long from, long to, AggregationOptions<G, E> options)
       throws NotEnoughValidWindowsException {
     // prevent window rolling.
-    _windowRollingLock.lock();
+    _windowRollingLock.readLock().lock();
     try {
       // Ensure the range is valid.
       long fromWindowIndex = Math.max(windowIndex(from), _oldestWindowIndex);
@@ -217,27 +266,37 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
       MetricSampleAggregationResult<G, E> result = new MetricSampleAggregationResult<>(generation(), completeness);
       Set<E> entitiesToInclude =
           interpretedOptions.includeInvalidEntities() ? interpretedOptions.interestedEntities() : completeness.validEntities();
-      for (E entity : entitiesToInclude) {
-        RawMetricValues rawValues = _rawMetrics.get(entity);
+      List<E> entities = new ArrayList<>(entitiesToInclude);
+      ValuesAndExtrapolations[] valuesAndExtrapolationsByEntity = new ValuesAndExtrapolations[entities.size()];
+      boolean[] isInvalidEntity = new boolean[entities.size()];
+      // Aggregate the raw metric values of each entity into the slot of the entity, so that entities can be aggregated in parallel.
+      IntConsumer entityAggregation = i -> {
+        RawMetricValues rawValues = _rawMetrics.get(entities.get(i));
         if (rawValues == null) {
-          ValuesAndExtrapolations
-              valuesAndExtrapolations = ValuesAndExtrapolations.empty(completeness.validWindowIndices().size(), _metricDef);
-          valuesAndExtrapolations.setWindows(windows);
-          result.addResult(entity, valuesAndExtrapolations);
-          result.recordInvalidEntity(entity);
+          valuesAndExtrapolationsByEntity[i] = ValuesAndExtrapolations.empty(completeness.validWindowIndices().size(), _metricDef);
+          isInvalidEntity[i] = true;
         } else {
-          ValuesAndExtrapolations
-              valuesAndExtrapolations = rawValues.aggregate(completeness.validWindowIndices(), _metricDef);
-          valuesAndExtrapolations.setWindows(windows);
-          result.addResult(entity, valuesAndExtrapolations);
-          if (!rawValues.isValid(options.maxAllowedExtrapolationsPerEntity())) {
-            result.recordInvalidEntity(entity);
-          }
+          valuesAndExtrapolationsByEntity[i] = rawValues.aggregate(completeness.validWindowIndices(), _metricDef);
+          isInvalidEntity[i] = !rawValues.isValid(options.maxAllowedExtrapolationsPerEntity());
+        }
+        valuesAndExtrapolationsByEntity[i].setWindows(windows);
+      };
+      if (_aggregationPool == null || entities.size() <= MIN_ENTITIES_PER_AGGREGATION_TASK) {
+        for (int i = 0; i < entities.size(); i++) {
+          entityAggregation.accept(i);
+        }
+      } else {
+        _aggregationPool.invoke(new EntityAggregationTask(entityAggregation, 0, entities.size()));
+      }
+      for (int i = 0; i < entities.size(); i++) {
+        result.addResult(entities.get(i), valuesAndExtrapolationsByEntity[i]);
+        if (isInvalidEntity[i]) {
+          result.recordInvalidEntity(entities.get(i));
         }
       }
       return result;
     } finally {
-      _windowRollingLock.unlock();
+      _windowRollingLock.readLock().unlock();
     }
   }
 
@@ -248,7 +307,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
    */
   public Map<E, ValuesAndExtrapolations> peekCurrentWindow() {
     // prevent window rolling.
-    _windowRollingLock.lock();
+    _windowRollingLock.readLock().lock();
     try {
       Map<E, ValuesAndExtrapolations> result = new HashMap<>();
       _rawMetrics.forEach((entity, rawMetric) -> {
@@ -259,7 +318,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
       });
       return result;
     } finally {
-      _windowRollingLock.unlock();
+      _windowRollingLock.readLock().unlock();
     }
   }
 
@@ -273,7 +332,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
    * @return The {@link MetricSampleCompleteness} of the MetricSampleAggregator.
    */
   public MetricSampleCompleteness<G, E> completeness(long from, long to, AggregationOptions<G, E> options) {
-    _windowRollingLock.lock();
+    _windowRollingLock.readLock().lock();
     try {
       long fromWindowIndex = Math.max(windowIndex(from), _oldestWindowIndex);
       long toWindowIndex = Math.min(windowIndex(to), _currentWindowIndex - 1);
@@ -286,7 +345,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
                                            interpretAggregationOptions(options),
                                            generation());
     } finally {
-      _windowRollingLock.unlock();
+      _windowRollingLock.readLock().unlock();
     }
   }
 
@@ -412,16 +471,148 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
    * Clear the MetricSampleAggregator.
    */
   public void clear() {
-    _windowRollingLock.lock();
+    _windowRollingLock.writeLock().lock();
     try {
       _rawMetrics.clear();
       _aggregatorState.clear();
+      _latestSampleTimeMs.reset();
+      _generation.incrementAndGet();
+    } finally {
+      _windowRollingLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @return The time of the latest sample added to the MetricSampleAggregator, or {@code -1} if there is no such sample.
+   */
+  public long latestSampleTimeMs() {
+    return _latestSampleTimeMs.get();
+  }
+
+  /**
+   * Write a checkpoint of the MetricSampleAggregator to the given output -- i.e. the window indices and the raw metric
+   * values of all the entities. The checkpoint can be restored via {@link #restoreCheckpoint(DataInput)} without adding
+   * the checkpointed samples to the aggregator again. Only the aggregators that {@link #supportsCheckpoints() support
+   * checkpoints} can write a checkpoint.
+   *
+   * The caller should ensure that no sample is being added while the checkpoint is written, so that the checkpoint contains
+   * exactly the samples up to the {@link #latestSampleTimeMs() latest sample time} in the checkpoint.
+   *
+   * @param out The output to write the checkpoint to.
+   * @return The number of entities in the checkpoint.
+   */
+  public int writeCheckpoint(DataOutput out) throws IOException {
+    CheckpointableAggregator<E> checkpointable = checkpointable();
+    // prevent window rolling.
+    _windowRollingLock.readLock().lock();
+    try {
+      out.writeByte(CHECKPOINT_VERSION);
+      out.writeInt(_numWindows);
+      out.writeLong(_windowMs);
+      out.writeByte(_minSamplesPerWindow);
+      out.writeInt(_metricDef.size());
+      out.writeLong(_latestSampleTimeMs.get());
+      out.writeLong(_oldestWindowIndex);
+      out.writeLong(_currentWindowIndex);
+      int numEntities = 0;
+      for (Map.Entry<E, RawMetricValues> entry : _rawMetrics.entrySet()) {
+        out.writeBoolean(true);
+        checkpointable.writeEntity(entry.getKey(), out);
+        entry.getValue().writeTo(out);
+        numEntities++;
+      }
+      out.writeBoolean(false);
+      return numEntities;
+    } finally {
+      _windowRollingLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Restore the MetricSampleAggregator from a checkpoint written by {@link #writeCheckpoint(DataOutput)}. A checkpoint can
+   * only be restored to an empty aggregator. The checkpoint is ignored if it was written by an aggregator with a different
+   * number of windows, window size, minimum samples per window, or metric definitions. Only the aggregators that
+   * {@link #supportsCheckpoints() support checkpoints} can restore a checkpoint.
+   *
+   * @param in The input to read the checkpoint from.
+   * @return The time of the latest sample in the restored checkpoint, or {@code -1} if the checkpoint is ignored. Only the
+   * samples newer than this time are missing from the restored aggregator.
+   */
+  public long restoreCheckpoint(DataInput in) throws IOException {
+    CheckpointableAggregator<E> checkpointable = checkpointable();
+    byte version = in.readByte();
+    if (version != CHECKPOINT_VERSION) {
+      LOG.warn("Ignoring the {} aggregator checkpoint with unsupported version {}.", _sampleType, version);
+      return -1L;
+    }
+    int numWindows = in.readInt();
+    long windowMs = in.readLong();
+    byte minSamplesPerWindow = in.readByte();
+    int numMetrics = in.readInt();
+    if (numWindows != _numWindows || windowMs != _windowMs || minSamplesPerWindow != _minSamplesPerWindow
+        || numMetrics != _metricDef.size()) {
+      LOG.warn("Ignoring the {} aggregator checkpoint with a different configuration (numWindows: {}, windowMs: {}, "
+               + "minSamplesPerWindow: {}, numMetrics: {}).", _sampleType, numWindows, windowMs, minSamplesPerWindow, numMetrics);
+      return -1L;
+    }
+    long latestSampleTimeMs = in.readLong();
+    long oldestWindowIndex = in.readLong();
+    long currentWindowIndex = in.readLong();
+    // Read the entire checkpoint before updating the aggregator, so that a broken checkpoint does not leave partial state.
+    Map<E, RawMetricValues> rawMetrics = new HashMap<>();
+    while (in.readBoolean()) {
+      E entity = checkpointable.readEntity(in);
+      rawMetrics.put(entity, RawMetricValues.readFrom(in, _numWindowsToKeep, _minSamplesPerWindow, _metricDef.size()));
+    }
+    _windowRollingLock.writeLock().lock();
+    try {
+      if (!_rawMetrics.isEmpty() || _currentWindowIndex != 0L) {
+        throw new IllegalStateException("Cannot restore a checkpoint to a non-empty " + _sampleType + " aggregator.");
+      }
+      rawMetrics.forEach((entity, rawValues) -> _rawMetrics.put(identity(entity), rawValues));
+      if (oldestWindowIndex > _oldestWindowIndex) {
+        _aggregatorState.updateOldestWindowIndex(oldestWindowIndex);
+      }
+      _oldestWindowIndex = oldestWindowIndex;
+      _currentWindowIndex = currentWindowIndex;
+      _latestSampleTimeMs.accumulate(latestSampleTimeMs);
+      // The states of the restored windows are computed upon the next aggregation.
       _generation.incrementAndGet();
     } finally {
-      _windowRollingLock.unlock();
+      _windowRollingLock.writeLock().unlock();
+    }
+    LOG.info("Restored {} aggregator checkpoint of {} entities, current window range [{}, {}], latest sample time {}.",
+             _sampleType, rawMetrics.size(), oldestWindowIndex * _windowMs, currentWindowIndex * _windowMs, latestSampleTimeMs);
+    return latestSampleTimeMs;
+  }
+
+  /**
+   * Shut down the threads aggregating the metric values of the entities in parallel, if any. The aggregator must not be
+   * used to aggregate after it is closed.
+   */
+  public void close() {
+    if (_aggregationPool != null) {
+      _aggregationPool.shutdown();
     }
   }
 
+  /**
+   * @return {@code true} if the MetricSampleAggregator supports checkpoints, i.e. it is a {@link CheckpointableAggregator}.
+   */
+  public boolean supportsCheckpoints() {
+    return this instanceof CheckpointableAggregator;
+  }
+
+  // Get this aggregator as a checkpointable aggregator, failing before anything is written or read if it does not support
+  // checkpoints.
+  @SuppressWarnings("unchecked")
+  private CheckpointableAggregator<E> checkpointable() {
+    if (!supportsCheckpoints()) {
+      throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support checkpoints.");
+    }
+    return (CheckpointableAggregator<E>) this;
+  }
+
   /**
    * Package private for testing.
    * @return Metric sample aggregator state.
@@ -433,7 +624,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
 
   // both from and to window indices are inclusive.
   private List<Long> getWindowList(long fromWindowIndex, long toWindowIndex) {
-    _windowRollingLock.lock();
+    _windowRollingLock.readLock().lock();
     try {
       if (_rawMetrics.isEmpty()) {
         return Collections.emptyList();
@@ -444,7 +635,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
       }
       return windows;
     } finally {
-      _windowRollingLock.unlock();
+      _windowRollingLock.readLock().unlock();
     }
   }
 
@@ -473,7 +664,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
 
   private boolean maybeRollOutNewWindow(long windowIndex) {
     if (_currentWindowIndex < windowIndex) {
-      _windowRollingLock.lock();
+      _windowRollingLock.writeLock().lock();
       try {
         if (_currentWindowIndex < windowIndex) {
           // find out how many windows we need to reset in the raw metrics.
@@ -499,7 +690,7 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
           return true;
         }
       } finally {
-        _windowRollingLock.unlock();
+        _windowRollingLock.writeLock().unlock();
       }
     }
     return false;
@@ -618,4 +809,52 @@ public class MetricSampleAggregator<G, E extends Entity<G>> extends LongGenerati
     BROKER,
     PARTITION
   }
+
+  /**
+   * Creates the named daemon worker threads of the pool aggregating the metric values of the entities in parallel.
+   */
+  private static class AggregationThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+    private final String _name;
+    private final AtomicInteger _id = new AtomicInteger(0);
+
+    AggregationThreadFactory(String name) {
+      _name = name;
+    }
+
+    @Override
+    public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+      ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName(_name + "-" + _id.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+  /**
+   * Runs the aggregation of a range of entities, recursively splitting the range in halves until it is small enough.
+   */
+  private static class EntityAggregationTask extends RecursiveAction {
+    private final IntConsumer _entityAggregation;
+    private final int _fromIndex;
+    private final int _toIndex;
+
+    EntityAggregationTask(IntConsumer entityAggregation, int fromIndex, int toIndex) {
+      _entityAggregation = entityAggregation;
+      _fromIndex = fromIndex;
+      _toIndex = toIndex;
+    }
+
+    @Override
+    protected void compute() {
+      if (_toIndex - _fromIndex <= MIN_ENTITIES_PER_AGGREGATION_TASK) {
+        for (int i = _fromIndex; i < _toIndex; i++) {
+          _entityAggregation.accept(i);
+        }
+      } else {
+        int midIndex = (_fromIndex + _toIndex) >>> 1;
+        invokeAll(new EntityAggregationTask(_entityAggregation, _fromIndex, midIndex),
+                  new EntityAggregationTask(_entityAggregation, midIndex, _toIndex));
+      }
+    }
+  }
 }
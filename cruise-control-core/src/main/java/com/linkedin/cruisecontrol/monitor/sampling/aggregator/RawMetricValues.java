@@ -8,12 +8,13 @@ import com.linkedin.cruisecontrol.common.WindowIndexedArrays;
 import com.linkedin.cruisecontrol.metricdef.MetricDef;
 import com.linkedin.cruisecontrol.metricdef.MetricInfo;
 import com.linkedin.cruisecontrol.monitor.sampling.MetricSample;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.SortedMap;
 import java.util.SortedSet;
-import java.util.TreeMap;
 import java.util.TreeSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -271,65 +272,76 @@ public class RawMetricValues extends WindowIndexedArrays {
     if (_windowValuesByMetricId.isEmpty()) {
       return ValuesAndExtrapolations.empty(windowIndices.size(), metricDef);
     }
-    Map<Short, MetricValues> aggValues = new HashMap<>();
-    SortedMap<Integer, Extrapolation> extrapolations = new TreeMap<>();
+    int numMetrics = _windowValuesByMetricId.size();
+    MetricInfo[] infos = new MetricInfo[numMetrics];
+    float[][] valuesByMetric = new float[numMetrics][];
+    MetricValues[] aggValuesByMetric = new MetricValues[numMetrics];
+    MetricValues[] aggValues = new MetricValues[metricDef.size()];
+    int m = 0;
     for (Map.Entry<Short, float[]> entry : _windowValuesByMetricId.entrySet()) {
-      short metricId = entry.getKey();
-      float[] values = entry.getValue();
-      MetricInfo info = metricDef.metricInfo(metricId);
-
-      MetricValues aggValuesForMetric = new MetricValues(windowIndices.size());
-      aggValues.put(metricId, aggValuesForMetric);
-
-      int resultIndex = 0;
-      for (long windowIndex : windowIndices) {
-        // When we query the latest window, we need to skip the window validation because the valid windows do not
-        // include the current active window.
-        if (checkWindow) {
-          validateWindowIndex(windowIndex);
+      infos[m] = metricDef.metricInfo(entry.getKey());
+      valuesByMetric[m] = entry.getValue();
+      aggValuesByMetric[m] = new MetricValues(windowIndices.size());
+      aggValues[entry.getKey()] = aggValuesByMetric[m];
+      m++;
+    }
+    Extrapolation[] extrapolations = new Extrapolation[windowIndices.size()];
+
+    int resultIndex = 0;
+    for (long windowIndex : windowIndices) {
+      // When we query the latest window, we need to skip the window validation because the valid windows do not
+      // include the current active window.
+      if (checkWindow) {
+        validateWindowIndex(windowIndex);
+      }
+      int arrayIndex = arrayIndex(windowIndex);
+      // Sufficient samples
+      if (_counts[arrayIndex] >= _halfMinRequiredSamples) {
+        for (m = 0; m < numMetrics; m++) {
+          aggValuesByMetric[m].set(resultIndex, getValue(infos[m], arrayIndex, valuesByMetric[m]));
         }
-        int arrayIndex = arrayIndex(windowIndex);
-        // Sufficient samples
-        if (_counts[arrayIndex] >= _halfMinRequiredSamples) {
-          aggValuesForMetric.set(resultIndex, getValue(info, arrayIndex, values));
-          if (_counts[arrayIndex] < _minSamplesPerWindow) {
-            // Though not quite sufficient, but have some available.
-            extrapolations.putIfAbsent(resultIndex, Extrapolation.AVG_AVAILABLE);
-          }
-          // Not sufficient, check the neighbors. The neighbors only exist when the index is not on the edge, i.e.
-          // neither the first nor last index.
-        } else if (arrayIndex != firstArrayIndex() && arrayIndex != lastArrayIndex()
-                   && _counts[prevArrayIndex(arrayIndex)] >= _minSamplesPerWindow
-                   && _counts[nextArrayIndex(arrayIndex)] >= _minSamplesPerWindow) {
-          extrapolations.putIfAbsent(resultIndex, Extrapolation.AVG_ADJACENT);
-          int prevArrayIndex = prevArrayIndex(arrayIndex);
-          int nextArrayIndex = nextArrayIndex(arrayIndex);
-          double total = _windowValuesByMetricId.get(metricId)[prevArrayIndex] + (_counts[arrayIndex] == 0 ? 0 : _windowValuesByMetricId
-              .get(metricId)[arrayIndex])
-                         + _windowValuesByMetricId.get(metricId)[nextArrayIndex];
-          switch (info.aggregationFunction()) {
+        if (_counts[arrayIndex] < _minSamplesPerWindow) {
+          // Though not quite sufficient, but have some available.
+          extrapolations[resultIndex] = Extrapolation.AVG_AVAILABLE;
+        }
+        // Not sufficient, check the neighbors. The neighbors only exist when the index is not on the edge, i.e.
+        // neither the first nor last index.
+      } else if (arrayIndex != firstArrayIndex() && arrayIndex != lastArrayIndex()
+                 && _counts[prevArrayIndex(arrayIndex)] >= _minSamplesPerWindow
+                 && _counts[nextArrayIndex(arrayIndex)] >= _minSamplesPerWindow) {
+        extrapolations[resultIndex] = Extrapolation.AVG_ADJACENT;
+        int prevArrayIndex = prevArrayIndex(arrayIndex);
+        int nextArrayIndex = nextArrayIndex(arrayIndex);
+        for (m = 0; m < numMetrics; m++) {
+          float[] values = valuesByMetric[m];
+          double total = values[prevArrayIndex] + (_counts[arrayIndex] == 0 ? 0 : values[arrayIndex]) + values[nextArrayIndex];
+          switch (infos[m].aggregationFunction()) {
             case AVG:
-              aggValuesForMetric.set(resultIndex, total / (_counts[prevArrayIndex] + _counts[arrayIndex] + _counts[nextArrayIndex]));
+              aggValuesByMetric[m].set(resultIndex, total / (_counts[prevArrayIndex] + _counts[arrayIndex] + _counts[nextArrayIndex]));
               break;
             case MAX:
             case LATEST:
               // for max and latest, we already only keep the largest or last value.
-              aggValuesForMetric.set(resultIndex, total / (_counts[arrayIndex] > 0 ? 3 : 2));
+              aggValuesByMetric[m].set(resultIndex, total / (_counts[arrayIndex] > 0 ? 3 : 2));
               break;
             default:
               throw new IllegalStateException("Should never be here.");
           }
-          // Neighbor not available, use the insufficient samples.
-        } else if (_counts[arrayIndex] > 0) {
-          aggValuesForMetric.set(resultIndex, getValue(info, arrayIndex, values));
-          extrapolations.putIfAbsent(resultIndex, Extrapolation.FORCED_INSUFFICIENT);
-          // Nothing is available, just return all 0 and NO_VALID_EXTRAPOLATION.
-        } else {
-          aggValuesForMetric.set(resultIndex, 0);
-          extrapolations.putIfAbsent(resultIndex, Extrapolation.NO_VALID_EXTRAPOLATION);
         }
-        resultIndex++;
+        // Neighbor not available, use the insufficient samples.
+      } else if (_counts[arrayIndex] > 0) {
+        for (m = 0; m < numMetrics; m++) {
+          aggValuesByMetric[m].set(resultIndex, getValue(infos[m], arrayIndex, valuesByMetric[m]));
+        }
+        extrapolations[resultIndex] = Extrapolation.FORCED_INSUFFICIENT;
+        // Nothing is available, just return all 0 and NO_VALID_EXTRAPOLATION.
+      } else {
+        for (m = 0; m < numMetrics; m++) {
+          aggValuesByMetric[m].set(resultIndex, 0);
+        }
+        extrapolations[resultIndex] = Extrapolation.NO_VALID_EXTRAPOLATION;
       }
+      resultIndex++;
     }
     return new ValuesAndExtrapolations(new AggregatedMetricValues(aggValues), extrapolations);
   }
@@ -358,6 +370,69 @@ public class RawMetricValues extends WindowIndexedArrays {
     return count;
   }
 
+  /**
+   * Write the window values, sample counts, validity and extrapolations of this RawMetricValues to the given output.
+   * See {@link #readFrom(DataInput, int, byte, int)} to restore the written state.
+   *
+   * @param out The output to write to.
+   */
+  public synchronized void writeTo(DataOutput out) throws IOException {
+    out.writeLong(_oldestWindowIndex);
+    out.write(_counts);
+    writeBitSet(_validity, out);
+    writeBitSet(_extrapolations, out);
+    out.writeShort(_windowValuesByMetricId.size());
+    for (Map.Entry<Short, float[]> entry : _windowValuesByMetricId.entrySet()) {
+      out.writeShort(entry.getKey());
+      for (float value : entry.getValue()) {
+        out.writeFloat(value);
+      }
+    }
+  }
+
+  /**
+   * Read a RawMetricValues written by {@link #writeTo(DataOutput)} from the given input.
+   *
+   * @param in The input to read from.
+   * @param numWindowsToKeep the total number of windows to keep track of.
+   * @param minSamplesPerWindow the minimum required samples for a window to not involve any {@link Extrapolation}.
+   * @param numMetricTypesInSample the total number of raw metric types stored by {@link #_windowValuesByMetricId}
+   * @return The RawMetricValues read from the given input.
+   */
+  public static RawMetricValues readFrom(DataInput in, int numWindowsToKeep, byte minSamplesPerWindow, int numMetricTypesInSample)
+      throws IOException {
+    RawMetricValues rawValues = new RawMetricValues(numWindowsToKeep, minSamplesPerWindow, numMetricTypesInSample);
+    rawValues._oldestWindowIndex = in.readLong();
+    in.readFully(rawValues._counts);
+    rawValues._validity.or(readBitSet(in));
+    rawValues._extrapolations.or(readBitSet(in));
+    int numMetrics = in.readShort();
+    for (int i = 0; i < numMetrics; i++) {
+      float[] values = new float[numWindowsToKeep];
+      rawValues._windowValuesByMetricId.put(in.readShort(), values);
+      for (int arrayIndex = 0; arrayIndex < numWindowsToKeep; arrayIndex++) {
+        values[arrayIndex] = in.readFloat();
+      }
+    }
+    return rawValues;
+  }
+
+  private static void writeBitSet(BitSet bitSet, DataOutput out) throws IOException {
+    long[] words = bitSet.toLongArray();
+    out.writeShort(words.length);
+    for (long word : words) {
+      out.writeLong(word);
+    }
+  }
+
+  private static BitSet readBitSet(DataInput in) throws IOException {
+    long[] words = new long[in.readShort()];
+    for (int i = 0; i < words.length; i++) {
+      words[i] = in.readLong();
+    }
+    return BitSet.valueOf(words);
+  }
+
   private float getValue(MetricInfo info, int index, float[] values) {
     if (_counts[index] == 0) {
       return 0;
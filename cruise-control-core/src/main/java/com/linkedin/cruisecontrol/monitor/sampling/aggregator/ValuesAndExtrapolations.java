@@ -5,18 +5,24 @@
 package com.linkedin.cruisecontrol.monitor.sampling.aggregator;
 
 import com.linkedin.cruisecontrol.metricdef.MetricDef;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 
 /**
  * The aggregated metrics for all the windows and the extrapolation information if there is any extrapolation used.
  */
 public class ValuesAndExtrapolations {
+  private static final Extrapolation[] NO_EXTRAPOLATIONS = new Extrapolation[0];
   private final AggregatedMetricValues _metricValues;
-  private final Map<Integer, Extrapolation> _extrapolations;
+  // The extrapolations by metric value indices -- i.e. the index of the array is the metric value index, null if there is no
+  // extrapolation for the index.
+  private final Extrapolation[] _extrapolations;
+  private final int _numExtrapolations;
   private List<Long> _windows;
 
   /**
@@ -25,8 +31,24 @@ public class ValuesAndExtrapolations {
    * @param extrapolations the extrapolations by corresponding metric value indices.
    */
   public ValuesAndExtrapolations(AggregatedMetricValues metricValues, Map<Integer, Extrapolation> extrapolations) {
+    this(metricValues, toArray(extrapolations));
+  }
+
+  /**
+   * Construct the values and extrapolations with the given dense extrapolations.
+   * @param metricValues the metric values.
+   * @param extrapolations the extrapolations by corresponding metric value indices, null for the indices without extrapolation.
+   */
+  ValuesAndExtrapolations(AggregatedMetricValues metricValues, Extrapolation[] extrapolations) {
     _metricValues = metricValues;
     _extrapolations = extrapolations;
+    int numExtrapolations = 0;
+    for (Extrapolation extrapolation : extrapolations) {
+      if (extrapolation != null) {
+        numExtrapolations++;
+      }
+    }
+    _numExtrapolations = numExtrapolations;
   }
 
   /**
@@ -47,9 +69,38 @@ public class ValuesAndExtrapolations {
    * returned by {@link #metricValues()}.
    *
    * @return The {@link Extrapolation}s for the values if exist.
+   * @deprecated Will be removed in a future release, as it builds a new map upon each call -- please use
+   * {@link #extrapolation(int)} and {@link #hasExtrapolations()}.
    */
+  @Deprecated
   public Map<Integer, Extrapolation> extrapolations() {
-    return Collections.unmodifiableMap(_extrapolations);
+    if (_numExtrapolations == 0) {
+      return Collections.emptyMap();
+    }
+    SortedMap<Integer, Extrapolation> extrapolations = new TreeMap<>();
+    for (int i = 0; i < _extrapolations.length; i++) {
+      if (_extrapolations[i] != null) {
+        extrapolations.put(i, _extrapolations[i]);
+      }
+    }
+    return Collections.unmodifiableSortedMap(extrapolations);
+  }
+
+  /**
+   * Get the extrapolation for the value at the given index of the {@link AggregatedMetricValues} returned by {@link #metricValues()}.
+   *
+   * @param index The index of the value.
+   * @return The {@link Extrapolation} for the value at the given index, or {@code null} if there is no extrapolation for it.
+   */
+  public Extrapolation extrapolation(int index) {
+    return index < _extrapolations.length ? _extrapolations[index] : null;
+  }
+
+  /**
+   * @return {@code true} if there is any extrapolation for the values, {@code false} otherwise.
+   */
+  public boolean hasExtrapolations() {
+    return _numExtrapolations > 0;
   }
 
   /**
@@ -88,14 +139,22 @@ public class ValuesAndExtrapolations {
    * @return An empty ValuesAndExtrapolations.
    */
   static ValuesAndExtrapolations empty(int numWindows, MetricDef metricDef) {
-    Map<Short, MetricValues> values = new HashMap<>();
-    for (short i = 0; i < metricDef.all().size(); i++) {
-      values.put(i, new MetricValues(numWindows));
-    }
-    Map<Integer, Extrapolation> extrapolations = new HashMap<>();
-    for (int i = 0; i < numWindows; i++) {
-      extrapolations.put(i, Extrapolation.NO_VALID_EXTRAPOLATION);
+    MetricValues[] values = new MetricValues[metricDef.all().size()];
+    for (short i = 0; i < values.length; i++) {
+      values[i] = new MetricValues(numWindows);
     }
+    Extrapolation[] extrapolations = new Extrapolation[numWindows];
+    Arrays.fill(extrapolations, Extrapolation.NO_VALID_EXTRAPOLATION);
     return new ValuesAndExtrapolations(new AggregatedMetricValues(values), extrapolations);
   }
+
+  // Convert the given extrapolations by metric value indices to a dense array.
+  private static Extrapolation[] toArray(Map<Integer, Extrapolation> extrapolations) {
+    if (extrapolations.isEmpty()) {
+      return NO_EXTRAPOLATIONS;
+    }
+    Extrapolation[] result = new Extrapolation[Collections.max(extrapolations.keySet()) + 1];
+    extrapolations.forEach((index, extrapolation) -> result[index] = extrapolation);
+    return result;
+  }
 }
@@ -4,12 +4,17 @@
 
 package com.linkedin.cruisecontrol.monitor.sampling.aggregator;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 
 public class AggregatedMetricValuesTest {
@@ -60,6 +65,33 @@ public class AggregatedMetricValuesTest {
     }
   }
 
+  @Test
+  public void testSparseMetricIds() {
+    AggregatedMetricValues aggregatedMetricValues = new AggregatedMetricValues();
+    assertTrue(aggregatedMetricValues.isEmpty());
+    assertEquals(0, aggregatedMetricValues.length());
+    assertNull(aggregatedMetricValues.valuesFor((short) 3));
+
+    MetricValues values = new MetricValues(10);
+    values.set(0, 1);
+    aggregatedMetricValues.add((short) 5, values);
+    aggregatedMetricValues.add((short) 2, values);
+    assertEquals(new TreeSet<>(Arrays.asList((short) 2, (short) 5)), aggregatedMetricValues.metricIds());
+    assertEquals(10, aggregatedMetricValues.length());
+    assertNull(aggregatedMetricValues.valuesFor((short) 3));
+    assertNull(aggregatedMetricValues.valuesFor((short) 6));
+    assertEquals(1, aggregatedMetricValues.valuesFor((short) 5).get(0), 0.01);
+
+    AggregatedMetricValues shared = aggregatedMetricValues.valuesFor(Collections.singleton((short) 5), true);
+    shared.valuesFor((short) 5).set(0, 3);
+    assertEquals(3, aggregatedMetricValues.valuesFor((short) 5).get(0), 0.01);
+
+    aggregatedMetricValues.clear();
+    assertTrue(aggregatedMetricValues.isEmpty());
+    assertTrue(aggregatedMetricValues.metricIds().isEmpty());
+    assertEquals(0, aggregatedMetricValues.length());
+  }
+
   private Map<Short, MetricValues> getValuesByMetricId() {
     Map<Short, MetricValues> valuesMap = new TreeMap<>();
 
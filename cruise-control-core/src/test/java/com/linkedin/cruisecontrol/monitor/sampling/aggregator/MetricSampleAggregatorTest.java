@@ -10,6 +10,13 @@ import com.linkedin.cruisecontrol.exception.NotEnoughValidWindowsException;
 import com.linkedin.cruisecontrol.metricdef.MetricDef;
 import com.linkedin.cruisecontrol.metricdef.MetricInfo;
 import com.linkedin.cruisecontrol.metricdef.AggregationFunction;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -19,15 +26,18 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.Test;
 
 import static com.linkedin.cruisecontrol.monitor.sampling.aggregator.Extrapolation.FORCED_INSUFFICIENT;
 import static com.linkedin.cruisecontrol.monitor.sampling.aggregator.Extrapolation.NO_VALID_EXTRAPOLATION;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 
 /**
@@ -344,6 +354,76 @@ public class MetricSampleAggregatorTest {
     assertEquals(0.5, completeness.validEntityGroupRatioByWindowIndex().get(11L), EPSILON);
   }
 
+  @Test
+  public void testCheckpoint() throws IOException, NotEnoughValidWindowsException {
+    MetricSampleAggregator<String, IntegerEntity> aggregator =
+        prepareCompletenessTestEnv(new CheckpointingMetricSampleAggregator(NUM_WINDOWS, MIN_SAMPLES_PER_WINDOW));
+    ByteArrayOutputStream checkpoint = new ByteArrayOutputStream();
+    assertEquals(2, aggregator.writeCheckpoint(new DataOutputStream(checkpoint)));
+
+    MetricSampleAggregator<String, IntegerEntity> restoredAggregator =
+        new CheckpointingMetricSampleAggregator(NUM_WINDOWS, MIN_SAMPLES_PER_WINDOW);
+    long latestSampleTimeMs = restoredAggregator.restoreCheckpoint(new DataInputStream(new ByteArrayInputStream(checkpoint.toByteArray())));
+    assertEquals(NUM_WINDOWS * WINDOW_MS + 1, latestSampleTimeMs);
+    assertEquals(aggregator.latestSampleTimeMs(), restoredAggregator.latestSampleTimeMs());
+    assertEquals(aggregator.allWindows(), restoredAggregator.allWindows());
+    assertEquals(aggregator.numSamples(), restoredAggregator.numSamples());
+
+    AggregationOptions<String, IntegerEntity> options =
+        new AggregationOptions<>(0.5, 0.0, 1, 5, new HashSet<>(Arrays.asList(ENTITY1, ENTITY2, ENTITY3)),
+                                 AggregationOptions.Granularity.ENTITY, true);
+    assertCompletenessByWindowIndex(restoredAggregator.completeness(-1, Long.MAX_VALUE, options));
+    Map<IntegerEntity, ValuesAndExtrapolations> expected = aggregator.aggregate(-1, Long.MAX_VALUE, options).valuesAndExtrapolations();
+    Map<IntegerEntity, ValuesAndExtrapolations> restored =
+        restoredAggregator.aggregate(-1, Long.MAX_VALUE, options).valuesAndExtrapolations();
+    assertEquals(expected.keySet(), restored.keySet());
+    for (Map.Entry<IntegerEntity, ValuesAndExtrapolations> entry : expected.entrySet()) {
+      assertEquals(entry.getValue().windows(), restored.get(entry.getKey()).windows());
+      assertEquals(entry.getValue().extrapolations(), restored.get(entry.getKey()).extrapolations());
+      for (MetricInfo info : _metricDef.all()) {
+        assertTrue(Arrays.equals(entry.getValue().metricValues().valuesFor(info.id()).doubleArray(),
+                                 restored.get(entry.getKey()).metricValues().valuesFor(info.id()).doubleArray()));
+      }
+    }
+
+    // Adding newer samples to the restored aggregator rolls out new windows as usual.
+    CruiseControlUnitTestUtils.populateSampleAggregator(1, MIN_SAMPLES_PER_WINDOW, restoredAggregator, ENTITY1, NUM_WINDOWS + 1,
+                                                        WINDOW_MS, _metricDef);
+    assertEquals(NUM_WINDOWS + 1, restoredAggregator.allWindows().size());
+    assertEquals((NUM_WINDOWS + 2) * WINDOW_MS, restoredAggregator.allWindows().get(NUM_WINDOWS).longValue());
+
+    // A checkpoint of an aggregator with a different configuration is ignored.
+    MetricSampleAggregator<String, IntegerEntity> otherAggregator =
+        new CheckpointingMetricSampleAggregator(NUM_WINDOWS + 1, MIN_SAMPLES_PER_WINDOW);
+    assertEquals(-1L, otherAggregator.restoreCheckpoint(new DataInputStream(new ByteArrayInputStream(checkpoint.toByteArray()))));
+    assertEquals(0, otherAggregator.numSamples());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRestoreCheckpointToNonEmptyAggregator() throws IOException {
+    MetricSampleAggregator<String, IntegerEntity> aggregator =
+        prepareCompletenessTestEnv(new CheckpointingMetricSampleAggregator(NUM_WINDOWS, MIN_SAMPLES_PER_WINDOW));
+    ByteArrayOutputStream checkpoint = new ByteArrayOutputStream();
+    aggregator.writeCheckpoint(new DataOutputStream(checkpoint));
+    aggregator.restoreCheckpoint(new DataInputStream(new ByteArrayInputStream(checkpoint.toByteArray())));
+  }
+
+  @Test
+  public void testCheckpointOfUnsupportedAggregator() throws IOException {
+    MetricSampleAggregator<String, IntegerEntity> aggregator = prepareCompletenessTestEnv();
+    assertFalse(aggregator.supportsCheckpoints());
+    assertTrue(new CheckpointingMetricSampleAggregator(NUM_WINDOWS, MIN_SAMPLES_PER_WINDOW).supportsCheckpoints());
+    ByteArrayOutputStream checkpoint = new ByteArrayOutputStream();
+    try {
+      aggregator.writeCheckpoint(new DataOutputStream(checkpoint));
+      fail("Should have thrown UnsupportedOperationException.");
+    } catch (UnsupportedOperationException uoe) {
+      // let it go
+    }
+    // Nothing is written by an aggregator that does not support checkpoints.
+    assertEquals(0, checkpoint.size());
+  }
+
   @Test
   public void testPeekCurrentWindow() {
     MetricSampleAggregator<String, IntegerEntity> aggregator =
@@ -421,6 +501,97 @@ public class MetricSampleAggregatorTest {
     }
   }
 
+  @Test
+  public void testConcurrentAggregationAndAddSample() throws InterruptedException, NotEnoughValidWindowsException {
+    final int numThreads = 4;
+    final int numNewEntitiesPerThread = 50;
+    final MetricSampleAggregator<String, IntegerEntity> aggregator =
+        new MetricSampleAggregator<>(NUM_WINDOWS, WINDOW_MS, MIN_SAMPLES_PER_WINDOW, 0, _metricDef);
+    populateSampleAggregator(NUM_WINDOWS + 1, MIN_SAMPLES_PER_WINDOW, aggregator, ENTITY1);
+    final AggregationOptions<String, IntegerEntity> options =
+        new AggregationOptions<>(0.0, 0.0, 1, NUM_WINDOWS, Collections.emptySet(), AggregationOptions.Granularity.ENTITY, true);
+    final AtomicBoolean samplesAdded = new AtomicBoolean(false);
+    final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+
+    // Aggregations keep running while the samples of new entities are added.
+    List<Thread> aggregationThreads = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      aggregationThreads.add(new Thread(() -> {
+        try {
+          while (!samplesAdded.get()) {
+            aggregator.aggregate(-1, Long.MAX_VALUE, options);
+            aggregator.completeness(-1, Long.MAX_VALUE, options);
+          }
+        } catch (Throwable t) {
+          errors.add(t);
+        }
+      }));
+    }
+    List<Thread> samplingThreads = new ArrayList<>();
+    for (int i = 0; i < numThreads; i++) {
+      final int threadId = i;
+      samplingThreads.add(new Thread(() -> {
+        try {
+          for (int j = 0; j < numNewEntitiesPerThread; j++) {
+            populateSampleAggregator(NUM_WINDOWS + 1, MIN_SAMPLES_PER_WINDOW, aggregator,
+                                     new IntegerEntity(ENTITY_GROUP_2, threadId * numNewEntitiesPerThread + j));
+          }
+        } catch (Throwable t) {
+          errors.add(t);
+        }
+      }));
+    }
+    aggregationThreads.forEach(Thread::start);
+    samplingThreads.forEach(Thread::start);
+    for (Thread t : samplingThreads) {
+      t.join();
+    }
+    samplesAdded.set(true);
+    for (Thread t : aggregationThreads) {
+      t.join();
+    }
+
+    assertTrue(errors.toString(), errors.isEmpty());
+    assertEquals((NUM_WINDOWS + 1) * MIN_SAMPLES_PER_WINDOW * (numThreads * numNewEntitiesPerThread + 1), aggregator.numSamples());
+    assertEquals(numThreads * numNewEntitiesPerThread + 1,
+                 aggregator.aggregate(-1, Long.MAX_VALUE, options).valuesAndExtrapolations().size());
+  }
+
+  @Test
+  public void testParallelAggregation() throws NotEnoughValidWindowsException {
+    // Enough entities for the parallel aggregation to split them into multiple tasks.
+    final int numEntities = 5000;
+    MetricSampleAggregator<String, IntegerEntity> aggregator =
+        new MetricSampleAggregator<>(NUM_WINDOWS, WINDOW_MS, MIN_SAMPLES_PER_WINDOW, 0, _metricDef);
+    MetricSampleAggregator<String, IntegerEntity> parallelAggregator =
+        new MetricSampleAggregator<>(NUM_WINDOWS, WINDOW_MS, MIN_SAMPLES_PER_WINDOW, 0, _metricDef, 4);
+    for (int i = 0; i < numEntities; i++) {
+      // Entities with fewer samples per window have extrapolations.
+      IntegerEntity entity = new IntegerEntity(i % 2 == 0 ? ENTITY_GROUP_1 : ENTITY_GROUP_2, i);
+      populateSampleAggregator(NUM_WINDOWS + 1, 1 + i % MIN_SAMPLES_PER_WINDOW, aggregator, entity);
+      populateSampleAggregator(NUM_WINDOWS + 1, 1 + i % MIN_SAMPLES_PER_WINDOW, parallelAggregator, entity);
+    }
+    AggregationOptions<String, IntegerEntity> options =
+        new AggregationOptions<>(0.0, 0.0, 1, 5, Collections.emptySet(), AggregationOptions.Granularity.ENTITY, true);
+    MetricSampleAggregationResult<String, IntegerEntity> result = aggregator.aggregate(-1, Long.MAX_VALUE, options);
+    MetricSampleAggregationResult<String, IntegerEntity> parallelResult = parallelAggregator.aggregate(-1, Long.MAX_VALUE, options);
+
+    assertEquals(numEntities, parallelResult.valuesAndExtrapolations().size());
+    assertEquals(result.invalidEntities(), parallelResult.invalidEntities());
+    for (Map.Entry<IntegerEntity, ValuesAndExtrapolations> entry : result.valuesAndExtrapolations().entrySet()) {
+      ValuesAndExtrapolations expected = entry.getValue();
+      ValuesAndExtrapolations actual = parallelResult.valuesAndExtrapolations().get(entry.getKey());
+      assertEquals(expected.windows(), actual.windows());
+      assertEquals(expected.extrapolations(), actual.extrapolations());
+      assertEquals(expected.hasExtrapolations(), actual.hasExtrapolations());
+      for (MetricInfo info : _metricDef.all()) {
+        assertArrayEquals(expected.metricValues().valuesFor(info.id()).doubleArray(),
+                          actual.metricValues().valuesFor(info.id()).doubleArray(), EPSILON);
+      }
+    }
+    parallelAggregator.close();
+  }
+
   /**
    * Entity 1: valid in all the windows, extrapolated in window 11 and 14.
    * Entity 2: no data
@@ -430,8 +601,11 @@ public class MetricSampleAggregatorTest {
    * @return Metric sample aggregator.
    */
   private MetricSampleAggregator<String, IntegerEntity> prepareCompletenessTestEnv() {
-    MetricSampleAggregator<String, IntegerEntity> aggregator =
-        new MetricSampleAggregator<>(NUM_WINDOWS, WINDOW_MS, MIN_SAMPLES_PER_WINDOW, 0, _metricDef);
+    return prepareCompletenessTestEnv(new MetricSampleAggregator<>(NUM_WINDOWS, WINDOW_MS, MIN_SAMPLES_PER_WINDOW, 0, _metricDef));
+  }
+
+  private MetricSampleAggregator<String, IntegerEntity> prepareCompletenessTestEnv(
+      MetricSampleAggregator<String, IntegerEntity> aggregator) {
     populateSampleAggregator(10, MIN_SAMPLES_PER_WINDOW, aggregator, ENTITY1);
     CruiseControlUnitTestUtils.populateSampleAggregator(2, MIN_SAMPLES_PER_WINDOW, aggregator,
                                                         ENTITY1, 11, WINDOW_MS, _metricDef);
@@ -483,4 +657,25 @@ public class MetricSampleAggregatorTest {
     CruiseControlUnitTestUtils.populateSampleAggregator(numWindows, numSamplesPerWindow, metricSampleAggregator,
                                                         entity, 0, WINDOW_MS, _metricDef);
   }
+
+  /**
+   * A metric sample aggregator that supports checkpoints of {@link IntegerEntity integer entities}.
+   */
+  private static class CheckpointingMetricSampleAggregator extends MetricSampleAggregator<String, IntegerEntity>
+      implements CheckpointableAggregator<IntegerEntity> {
+    CheckpointingMetricSampleAggregator(int numWindows, byte minSamplesPerWindow) {
+      super(numWindows, WINDOW_MS, minSamplesPerWindow, 0, CruiseControlUnitTestUtils.getMetricDef());
+    }
+
+    @Override
+    public void writeEntity(IntegerEntity entity, DataOutput out) throws IOException {
+      out.writeUTF(entity.group());
+      out.writeInt(entity.id());
+    }
+
+    @Override
+    public IntegerEntity readEntity(DataInput in) throws IOException {
+      return new IntegerEntity(in.readUTF(), in.readInt());
+    }
+  }
 }
@@ -138,6 +138,8 @@ public class RawMetricValuesTest {
     assertEquals(12, valuesAndExtrapolations.metricValues().valuesFor((short) 1).get(0), EPSILON);
     assertEquals(2, valuesAndExtrapolations.metricValues().valuesFor((short) 2).get(0), EPSILON);
     assertEquals(0, valuesAndExtrapolations.extrapolations().size());
+    Assert.assertFalse(valuesAndExtrapolations.hasExtrapolations());
+    Assert.assertNull(valuesAndExtrapolations.extrapolation(0));
   }
 
   @Test
@@ -161,6 +163,9 @@ public class RawMetricValuesTest {
     assertEquals(13.0, valuesAndExtrapolations.metricValues().valuesFor((short) 2).get(1), EPSILON);
     assertEquals(1, valuesAndExtrapolations.extrapolations().size());
     Assert.assertEquals(Extrapolation.AVG_ADJACENT, valuesAndExtrapolations.extrapolations().get(1));
+    Assert.assertEquals(Extrapolation.AVG_ADJACENT, valuesAndExtrapolations.extrapolation(1));
+    Assert.assertNull(valuesAndExtrapolations.extrapolation(0));
+    Assert.assertNull(valuesAndExtrapolations.extrapolation(NUM_WINDOWS));
   }
 
   @Test
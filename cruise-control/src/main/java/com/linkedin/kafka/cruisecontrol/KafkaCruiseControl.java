@@ -538,10 +538,26 @@ public class KafkaCruiseControl {
     }
   }
 
+  /**
+   * Get the precomputed optimization proposals for the given goals from the current cluster, if available.
+   * See {@link GoalOptimizer#precomputedOptimizations(List, ModelCompletenessRequirements, boolean)}.
+   *
+   * @param goals A list of goal names (i.e. each matching {@link Goal#name()}) in the order of priority.
+   * @param requirements Model completeness requirements of the given goals.
+   * @param allowCapacityEstimation Allow capacity estimation in cluster model if the requested broker capacity is unavailable.
+   * @return The precomputed optimization result if it is valid, {@code null} otherwise.
+   */
+  public OptimizerResult getPrecomputedProposals(List<String> goals,
+                                                 ModelCompletenessRequirements requirements,
+                                                 boolean allowCapacityEstimation) {
+    return _goalOptimizer.precomputedOptimizations(goals, requirements, allowCapacityEstimation);
+  }
+
   /**
    * Ignore the cached best proposals when:
    * <ul>
-   *   <li>The caller specified goals, excluded topics, or requested to exclude brokers (e.g. recently removed brokers).</li>
+   *   <li>The caller specified goals other than a precomputed goal list, excluded topics, or requested to exclude brokers
+   *   (e.g. recently removed brokers).</li>
    *   <li>Provided completeness requirements contain a weaker requirement than what is used by the cached proposal.</li>
    *   <li>There is an ongoing execution.</li>
    *   <li>The request is triggered by goal violation detector.</li>
@@ -574,7 +590,7 @@ public class KafkaCruiseControl {
         || requirementsForCache.minRequiredNumWindows() > requirements.minRequiredNumWindows()
         || (requirementsForCache.includeAllTopics() && !requirements.includeAllTopics());
 
-    return hasOngoingExecution() || ignoreProposalCache || (goals != null && !goals.isEmpty())
+    return hasOngoingExecution() || ignoreProposalCache || (goals != null && !goals.isEmpty() && !_goalOptimizer.isPrecomputedGoalList(goals))
            || hasWeakerRequirement || excludedTopics != null || excludeBrokers || isTriggeredByGoalViolation
            || !requestedDestinationBrokerIds.isEmpty() || isRebalanceDiskMode
            || partitionWithOfflineReplicas(kafkaCluster()) != null;
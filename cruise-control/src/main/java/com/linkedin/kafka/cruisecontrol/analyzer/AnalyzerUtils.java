@@ -10,9 +10,12 @@ import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.AnalyzerConfig;
 import com.linkedin.kafka.cruisecontrol.executor.ExecutionProposal;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import com.linkedin.kafka.cruisecontrol.model.Partition;
+import com.linkedin.kafka.cruisecontrol.model.PlacementJournal;
 import com.linkedin.kafka.cruisecontrol.model.RawAndDerivedResource;
 import com.linkedin.kafka.cruisecontrol.model.Replica;
 import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -83,28 +86,84 @@ public final class AnalyzerUtils {
     // Generate a set of execution proposals to represent the diff between initial and final distribution.
     Set<ExecutionProposal> diff = new HashSet<>();
     for (Map.Entry<TopicPartition, List<ReplicaPlacementInfo>> entry : initialReplicaDistribution.entrySet()) {
+      TopicPartition tp = entry.getKey();
+      maybeAddProposal(tp, entry.getValue(), initialLeaderDistribution.get(tp), finalDistribution.get(tp), optimizedClusterModel, diff);
+    }
+    return diff;
+  }
+
+  /**
+   * Get the diff represented by the set of balancing proposals to move from the initial distribution recorded by the given
+   * placement journal to the current distribution of the cluster model of the journal. Unlike
+   * {@link #getDiff(Map, Map, ClusterModel)}, only the partitions touched since the start of the journal are compared.
+   * This method also performs a sanity check for each proposal to ensure that topic partition's replication factor does
+   * not change.
+   *
+   * @param placementJournal The journal recording the placement changes in the optimized cluster model.
+   * @return The diff represented by the set of balancing proposals to move from initial to final distribution.
+   */
+  public static Set<ExecutionProposal> getDiff(PlacementJournal placementJournal) {
+    return getDiff(placementJournal, false);
+  }
+
+  /**
+   * Get the diff represented by the set of balancing proposals to move from the initial distribution recorded by the given
+   * placement journal to the current distribution of the cluster model of the journal.
+   *
+   * @param placementJournal The journal recording the placement changes in the optimized cluster model.
+   * @param skipReplicationFactorChangeCheck Whether skip sanity check of topic partition's replication factor change before
+   *                                         and after optimization.
+   * @return The diff represented by the set of balancing proposals to move from initial to final distribution.
+   */
+  public static Set<ExecutionProposal> getDiff(PlacementJournal placementJournal, boolean skipReplicationFactorChangeCheck) {
+    ClusterModel optimizedClusterModel = placementJournal.clusterModel();
+    Map<TopicPartition, ReplicaPlacementInfo> initialLeaderDistribution = placementJournal.initialLeaderDistribution();
+    Set<ExecutionProposal> diff = new HashSet<>();
+    for (Map.Entry<TopicPartition, List<ReplicaPlacementInfo>> entry : placementJournal.initialReplicaDistribution().entrySet()) {
       TopicPartition tp = entry.getKey();
       List<ReplicaPlacementInfo> initialReplicas = entry.getValue();
-      List<ReplicaPlacementInfo> finalReplicas = finalDistribution.get(tp);
-      Replica finalLeader = optimizedClusterModel.partition(tp).leader();
-      ReplicaPlacementInfo finalLeaderPlacementInfo = new ReplicaPlacementInfo(finalLeader.broker().id(),
-                                                                               finalLeader.disk() == null ? null : finalLeader.disk().logDir());
-      // The partition has no change.
-      if (finalReplicas.equals(initialReplicas) && initialLeaderDistribution.get(tp).equals(finalLeaderPlacementInfo)) {
-        continue;
-      }
-      // We need to adjust the final broker list order to ensure the final leader is the first replica.
-      if (finalLeaderPlacementInfo != finalReplicas.get(0)) {
-        int leaderPos = finalReplicas.indexOf(finalLeaderPlacementInfo);
-        finalReplicas.set(leaderPos, finalReplicas.get(0));
-        finalReplicas.set(0, finalLeaderPlacementInfo);
+      List<ReplicaPlacementInfo> finalReplicas = replicaPlacementInfo(optimizedClusterModel.partition(tp));
+      if (!skipReplicationFactorChangeCheck && finalReplicas.size() != initialReplicas.size()) {
+        throw new IllegalArgumentException("Attempt to diff distributions with modified replication factor.");
       }
-      double partitionSize = optimizedClusterModel.partition(tp).leader().load().expectedUtilizationFor(Resource.DISK);
-      diff.add(new ExecutionProposal(tp, (int) partitionSize, initialLeaderDistribution.get(tp), initialReplicas, finalReplicas));
+      maybeAddProposal(tp, initialReplicas, initialLeaderDistribution.get(tp), finalReplicas, optimizedClusterModel, diff);
     }
     return diff;
   }
 
+  private static List<ReplicaPlacementInfo> replicaPlacementInfo(Partition partition) {
+    List<ReplicaPlacementInfo> replicaPlacementInfos = new ArrayList<>(partition.replicas().size());
+    for (Replica replica : partition.replicas()) {
+      replicaPlacementInfos.add(replica.disk() == null ? new ReplicaPlacementInfo(replica.broker().id())
+                                                       : new ReplicaPlacementInfo(replica.broker().id(), replica.disk().logDir()));
+    }
+    return replicaPlacementInfos;
+  }
+
+  // Add a proposal for the given partition to the given diff if its replicas or leader differ in the initial and final state.
+  private static void maybeAddProposal(TopicPartition tp,
+                                       List<ReplicaPlacementInfo> initialReplicas,
+                                       ReplicaPlacementInfo initialLeader,
+                                       List<ReplicaPlacementInfo> finalReplicas,
+                                       ClusterModel optimizedClusterModel,
+                                       Set<ExecutionProposal> diff) {
+    Replica finalLeader = optimizedClusterModel.partition(tp).leader();
+    ReplicaPlacementInfo finalLeaderPlacementInfo = new ReplicaPlacementInfo(finalLeader.broker().id(),
+                                                                             finalLeader.disk() == null ? null : finalLeader.disk().logDir());
+    // The partition has no change.
+    if (finalReplicas.equals(initialReplicas) && initialLeader.equals(finalLeaderPlacementInfo)) {
+      return;
+    }
+    // We need to adjust the final broker list order to ensure the final leader is the first replica.
+    if (finalLeaderPlacementInfo != finalReplicas.get(0)) {
+      int leaderPos = finalReplicas.indexOf(finalLeaderPlacementInfo);
+      finalReplicas.set(leaderPos, finalReplicas.get(0));
+      finalReplicas.set(0, finalLeaderPlacementInfo);
+    }
+    double partitionSize = finalLeader.load().expectedUtilizationFor(Resource.DISK);
+    diff.add(new ExecutionProposal(tp, (int) partitionSize, initialLeader, initialReplicas, finalReplicas));
+  }
+
   /**
    * Check whether the given proposal is acceptable for all of the given optimized goals.
    *
@@ -9,6 +9,7 @@ import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.AnalyzerConfig;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.regex.Pattern;
 
@@ -24,6 +25,7 @@ public class BalancingConstraint {
   private final double _topicReplicaBalancePercentage;
   private final int _topicReplicaBalanceMinGap;
   private final int _topicReplicaBalanceMaxGap;
+  private final int _topicReplicaBalanceParallelism;
   private final double _goalViolationDistributionThresholdMultiplier;
   private final Map<Resource, Double> _capacityThreshold;
   private final Map<Resource, Double> _lowUtilizationThreshold;
@@ -34,6 +36,7 @@ public class BalancingConstraint {
   private final Pattern _topicsWithMinLeadersPerBrokerPattern;
   private final int _minTopicLeadersPerBroker;
   private final long _fastModePerBrokerMoveTimeoutMs;
+  private final long _dataToMoveBudgetMB;
 
   /**
    * Constructor for Balancing Constraint.
@@ -72,6 +75,7 @@ public class BalancingConstraint {
     _topicReplicaBalancePercentage = config.getDouble(AnalyzerConfig.TOPIC_REPLICA_COUNT_BALANCE_THRESHOLD_CONFIG);
     _topicReplicaBalanceMinGap = config.getInt(AnalyzerConfig.TOPIC_REPLICA_COUNT_BALANCE_MIN_GAP_CONFIG);
     _topicReplicaBalanceMaxGap = config.getInt(AnalyzerConfig.TOPIC_REPLICA_COUNT_BALANCE_MAX_GAP_CONFIG);
+    _topicReplicaBalanceParallelism = config.getInt(AnalyzerConfig.TOPIC_REPLICA_COUNT_BALANCE_PARALLELISM_CONFIG);
     _goalViolationDistributionThresholdMultiplier = config.getDouble(AnalyzerConfig.GOAL_VIOLATION_DISTRIBUTION_THRESHOLD_MULTIPLIER_CONFIG);
     // Set default value for the topics that must have a minimum number of leader replicas on brokers that are not
     // excluded for replica move.
@@ -79,6 +83,8 @@ public class BalancingConstraint {
     _minTopicLeadersPerBroker = config.getInt(AnalyzerConfig.MIN_TOPIC_LEADERS_PER_BROKER_CONFIG);
     // Set default value for the per broker move timeout in fast mode in milliseconds
     _fastModePerBrokerMoveTimeoutMs = config.getLong(AnalyzerConfig.FAST_MODE_PER_BROKER_MOVE_TIMEOUT_MS_CONFIG);
+    // Set default value for the budget of inter-broker data to move for the optimization of soft goals.
+    _dataToMoveBudgetMB = config.getLong(AnalyzerConfig.GOAL_OPTIMIZATION_DATA_TO_MOVE_BUDGET_MB_CONFIG);
   }
 
   Properties setProps(Properties props) {
@@ -106,10 +112,12 @@ public class BalancingConstraint {
     props.put(AnalyzerConfig.TOPIC_REPLICA_COUNT_BALANCE_THRESHOLD_CONFIG, Double.toString(_topicReplicaBalancePercentage));
     props.put(AnalyzerConfig.TOPIC_REPLICA_COUNT_BALANCE_MIN_GAP_CONFIG, Integer.toString(_topicReplicaBalanceMinGap));
     props.put(AnalyzerConfig.TOPIC_REPLICA_COUNT_BALANCE_MAX_GAP_CONFIG, Integer.toString(_topicReplicaBalanceMaxGap));
+    props.put(AnalyzerConfig.TOPIC_REPLICA_COUNT_BALANCE_PARALLELISM_CONFIG, Integer.toString(_topicReplicaBalanceParallelism));
     props.put(AnalyzerConfig.GOAL_VIOLATION_DISTRIBUTION_THRESHOLD_MULTIPLIER_CONFIG, Double.toString(_goalViolationDistributionThresholdMultiplier));
     props.put(AnalyzerConfig.TOPICS_WITH_MIN_LEADERS_PER_BROKER_CONFIG, _topicsWithMinLeadersPerBrokerPattern.pattern());
     props.put(AnalyzerConfig.MIN_TOPIC_LEADERS_PER_BROKER_CONFIG, Integer.toString(_minTopicLeadersPerBroker));
     props.put(AnalyzerConfig.FAST_MODE_PER_BROKER_MOVE_TIMEOUT_MS_CONFIG, Long.toString(_fastModePerBrokerMoveTimeoutMs));
+    props.put(AnalyzerConfig.GOAL_OPTIMIZATION_DATA_TO_MOVE_BUDGET_MB_CONFIG, Long.toString(_dataToMoveBudgetMB));
     return props;
   }
 
@@ -179,6 +187,13 @@ public class BalancingConstraint {
     return _topicReplicaBalanceMaxGap;
   }
 
+  /**
+   * @return The number of threads to plan the topic replica balancing with.
+   */
+  public int topicReplicaBalanceParallelism() {
+    return _topicReplicaBalanceParallelism;
+  }
+
   /**
    * @return Goal violation distribution threshold multiplier to be used in detection and fixing goal violations.
    */
@@ -242,6 +257,13 @@ public class BalancingConstraint {
     return _fastModePerBrokerMoveTimeoutMs;
   }
 
+  /**
+   * @return The budget of inter-broker data (in MB) to move for the optimization of soft goals, negative for no budget.
+   */
+  public long dataToMoveBudgetMB() {
+    return _dataToMoveBudgetMB;
+  }
+
   /**
    * Set resource balance percentage for the given resource.
    *
@@ -299,17 +321,61 @@ public class BalancingConstraint {
                          + "inboundNwBalancePercentage=%.4f,outboundNwBalancePercentage=%.4f,cpuCapacityThreshold=%.4f,"
                          + "diskCapacityThreshold=%.4f,inboundNwCapacityThreshold=%.4f,outboundNwCapacityThreshold=%.4f,"
                          + "maxReplicasPerBroker=%d,replicaBalancePercentage=%.4f,leaderReplicaBalancePercentage=%.4f,"
-                         + "topicReplicaBalancePercentage=%.4f,topicReplicaBalanceGap=[%d,%d],"
+                         + "topicReplicaBalancePercentage=%.4f,topicReplicaBalanceGap=[%d,%d],topicReplicaBalanceParallelism=%d,"
                          + "goalViolationDistributionThresholdMultiplier=%.4f,"
                          + "topicsWithMinLeadersPerBrokerPattern=%s,"
-                         + "minTopicLeadersPerBroker=%d,fastModePerBrokerMoveTimeoutMs=%d]",
+                         + "minTopicLeadersPerBroker=%d,fastModePerBrokerMoveTimeoutMs=%d,dataToMoveBudgetMB=%d]",
                          _resourceBalancePercentage.get(Resource.CPU), _resourceBalancePercentage.get(Resource.DISK),
                          _resourceBalancePercentage.get(Resource.NW_IN), _resourceBalancePercentage.get(Resource.NW_OUT),
                          _capacityThreshold.get(Resource.CPU), _capacityThreshold.get(Resource.DISK),
                          _capacityThreshold.get(Resource.NW_IN), _capacityThreshold.get(Resource.NW_OUT),
                          _maxReplicasPerBroker, _replicaBalancePercentage, _leaderReplicaBalancePercentage,
                          _topicReplicaBalancePercentage, _topicReplicaBalanceMinGap, _topicReplicaBalanceMaxGap,
+                         _topicReplicaBalanceParallelism,
                          _goalViolationDistributionThresholdMultiplier, _topicsWithMinLeadersPerBrokerPattern.pattern(),
-                         _minTopicLeadersPerBroker, _fastModePerBrokerMoveTimeoutMs);
+                         _minTopicLeadersPerBroker, _fastModePerBrokerMoveTimeoutMs, _dataToMoveBudgetMB);
+  }
+
+  /**
+   * Compare the given object with this object. Balancing constraints are equal if they have the same values, so that the
+   * stats populated with a balancing constraint can be reused for an equal balancing constraint.
+   *
+   * @param other Other object to be compared with this object.
+   * @return {@code true} if other object equals this object, {@code false} otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof BalancingConstraint)) {
+      return false;
+    }
+    BalancingConstraint otherConstraint = (BalancingConstraint) other;
+    return _replicaBalancePercentage == otherConstraint._replicaBalancePercentage
+           && _leaderReplicaBalancePercentage == otherConstraint._leaderReplicaBalancePercentage
+           && _topicReplicaBalancePercentage == otherConstraint._topicReplicaBalancePercentage
+           && _topicReplicaBalanceMinGap == otherConstraint._topicReplicaBalanceMinGap
+           && _topicReplicaBalanceMaxGap == otherConstraint._topicReplicaBalanceMaxGap
+           && _topicReplicaBalanceParallelism == otherConstraint._topicReplicaBalanceParallelism
+           && _goalViolationDistributionThresholdMultiplier == otherConstraint._goalViolationDistributionThresholdMultiplier
+           && _maxReplicasPerBroker == otherConstraint._maxReplicasPerBroker
+           && _overprovisionedMaxReplicasPerBroker == otherConstraint._overprovisionedMaxReplicasPerBroker
+           && _overprovisionedMinBrokers == otherConstraint._overprovisionedMinBrokers
+           && _overprovisionedMinExtraRacks == otherConstraint._overprovisionedMinExtraRacks
+           && _minTopicLeadersPerBroker == otherConstraint._minTopicLeadersPerBroker
+           && _fastModePerBrokerMoveTimeoutMs == otherConstraint._fastModePerBrokerMoveTimeoutMs
+           && _dataToMoveBudgetMB == otherConstraint._dataToMoveBudgetMB
+           && _resourceBalancePercentage.equals(otherConstraint._resourceBalancePercentage)
+           && _capacityThreshold.equals(otherConstraint._capacityThreshold)
+           && _lowUtilizationThreshold.equals(otherConstraint._lowUtilizationThreshold)
+           && _topicsWithMinLeadersPerBrokerPattern.pattern().equals(otherConstraint._topicsWithMinLeadersPerBrokerPattern.pattern());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(_resourceBalancePercentage, _capacityThreshold, _lowUtilizationThreshold, _replicaBalancePercentage,
+                        _leaderReplicaBalancePercentage, _topicReplicaBalancePercentage, _maxReplicasPerBroker,
+                        _topicsWithMinLeadersPerBrokerPattern.pattern());
   }
 }
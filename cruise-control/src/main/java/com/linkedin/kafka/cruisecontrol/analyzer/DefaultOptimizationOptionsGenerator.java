@@ -5,6 +5,8 @@
 package com.linkedin.kafka.cruisecontrol.analyzer;
 
 import com.linkedin.cruisecontrol.common.CruiseControlConfigurable;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.config.constants.AnalyzerConfig;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
 import java.util.Collections;
 import java.util.Map;
@@ -12,6 +14,7 @@ import java.util.Set;
 
 
 public class DefaultOptimizationOptionsGenerator implements OptimizationOptionsGenerator, CruiseControlConfigurable {
+  private long _goalOptimizationTimeoutMs = OptimizationOptions.NO_TIMEOUT_MS;
 
   @Override
   public OptimizationOptions optimizationOptionsForGoalViolationDetection(ClusterModel clusterModel,
@@ -21,7 +24,12 @@ public class DefaultOptimizationOptionsGenerator implements OptimizationOptionsG
     return new OptimizationOptions(excludedTopics,
                                    excludedBrokersForLeadership,
                                    excludedBrokersForReplicaMove,
-                                   true);
+                                   true,
+                                   Collections.emptySet(),
+                                   false,
+                                   true,
+                                   OptimizationOptions.NO_DEADLINE_MS,
+                                   _goalOptimizationTimeoutMs);
   }
 
   @Override
@@ -33,10 +41,14 @@ public class DefaultOptimizationOptionsGenerator implements OptimizationOptionsG
                                    false,
                                    Collections.emptySet(),
                                    false,
-                                   true);
+                                   true,
+                                   OptimizationOptions.NO_DEADLINE_MS,
+                                   _goalOptimizationTimeoutMs);
   }
 
   @Override
   public void configure(Map<String, ?> configs) {
+    KafkaCruiseControlConfig parsedConfig = new KafkaCruiseControlConfig(configs, false);
+    _goalOptimizationTimeoutMs = parsedConfig.getLong(AnalyzerConfig.GOAL_OPTIMIZATION_TIMEOUT_MS_CONFIG);
   }
 }
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.analyzer;
+
+import com.linkedin.kafka.cruisecontrol.servlet.response.JsonResponseClass;
+import com.linkedin.kafka.cruisecontrol.servlet.response.JsonResponseField;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptance.ACCEPT;
+
+
+/**
+ * A profile of the optimization of a goal, which shows where the optimization spends its time -- e.g. how many candidate
+ * actions have been checked for acceptance by each previously optimized goal, and how many of them have been rejected.
+ *
+ * A profile is updated only by the thread optimizing the corresponding goal, hence it is not thread-safe.
+ */
+@JsonResponseClass
+public class GoalOptimizationProfile {
+  @JsonResponseField
+  private static final String NUM_ACTION_ACCEPTANCE_CHECKS_BY_OPTIMIZED_GOAL = "numActionAcceptanceChecksByOptimizedGoal";
+  @JsonResponseField
+  private static final String NUM_ACTION_REJECTIONS_BY_OPTIMIZED_GOAL = "numActionRejectionsByOptimizedGoal";
+  @JsonResponseField
+  private static final String NUM_CACHED_ACTION_REJECTIONS = "numCachedActionRejections";
+  @JsonResponseField
+  private static final String NUM_SELF_SATISFIED_FAILURES = "numSelfSatisfiedFailures";
+  @JsonResponseField
+  private static final String NUM_SWAP_ATTEMPTS = "numSwapAttempts";
+  @JsonResponseField
+  private static final String NUM_SWAP_SUCCESSES = "numSwapSuccesses";
+  @JsonResponseField
+  private static final String NUM_CANDIDATE_BROKERS_EXAMINED = "numCandidateBrokersExamined";
+  @JsonResponseField
+  private static final String CLUSTER_STATS_TIME_MS = "clusterStatsTimeMs";
+  @JsonResponseField
+  private static final String PLANNING_PARALLELISM = "planningParallelism";
+  @JsonResponseField
+  private static final String NUM_PLANNED_MOVEMENTS = "numPlannedMovements";
+  // The names of the optimized goals, and the number of acceptance checks and rejections by the position of the optimized goal.
+  private final String[] _optimizedGoalNames;
+  private final long[] _numActionAcceptanceChecks;
+  private final long[] _numActionRejections;
+  private long _numCachedActionRejections;
+  private long _numSelfSatisfiedFailures;
+  private long _numSwapAttempts;
+  private long _numSwapSuccesses;
+  private long _numCandidateBrokersExamined;
+  private long _clusterStatsTimeNs;
+  private int _planningParallelism;
+  private long _numPlannedMovements;
+
+  /**
+   * @param optimizedGoalNames Names of the optimized goals checking the candidate actions for acceptance, in the order in which
+   *                           they check the actions.
+   */
+  public GoalOptimizationProfile(List<String> optimizedGoalNames) {
+    _optimizedGoalNames = optimizedGoalNames.toArray(new String[0]);
+    _numActionAcceptanceChecks = new long[_optimizedGoalNames.length];
+    _numActionRejections = new long[_optimizedGoalNames.length];
+    _numCachedActionRejections = 0L;
+    _numSelfSatisfiedFailures = 0L;
+    _numSwapAttempts = 0L;
+    _numSwapSuccesses = 0L;
+    _numCandidateBrokersExamined = 0L;
+    _clusterStatsTimeNs = 0L;
+    _planningParallelism = 0;
+    _numPlannedMovements = 0L;
+  }
+
+  /**
+   * Record the acceptance of a candidate action by a previously optimized goal.
+   *
+   * @param optimizedGoalIndex Position of the optimized goal that checked the action for acceptance in the optimized goal
+   *                           names of this profile.
+   * @param acceptance The acceptance of the action by the optimized goal.
+   */
+  public void recordActionAcceptance(int optimizedGoalIndex, ActionAcceptance acceptance) {
+    _numActionAcceptanceChecks[optimizedGoalIndex]++;
+    if (acceptance != ACCEPT) {
+      _numActionRejections[optimizedGoalIndex]++;
+    }
+  }
+
+  /**
+   * Record a candidate action rejected by a cached rejection of an optimized goal, without checking its acceptance.
+   */
+  public void recordCachedRejection() {
+    _numCachedActionRejections++;
+  }
+
+  /**
+   * Record a candidate action that does not satisfy the requirements of the goal being optimized.
+   */
+  public void recordSelfSatisfiedFailure() {
+    _numSelfSatisfiedFailures++;
+  }
+
+  /**
+   * Record an attempt to swap replicas.
+   *
+   * @param succeeded {@code true} if the swap has been applied, {@code false} otherwise.
+   */
+  public void recordSwapAttempt(boolean succeeded) {
+    _numSwapAttempts++;
+    if (succeeded) {
+      _numSwapSuccesses++;
+    }
+  }
+
+  /**
+   * Record a broker examined as a candidate destination of a balancing action.
+   */
+  public void recordCandidateBrokerExamined() {
+    _numCandidateBrokersExamined++;
+  }
+
+  /**
+   * Record the time spent on populating cluster model stats.
+   *
+   * @param clusterStatsTimeNs Time (in ns) spent on populating cluster model stats.
+   */
+  public void recordClusterStatsTime(long clusterStatsTimeNs) {
+    _clusterStatsTimeNs += clusterStatsTimeNs;
+  }
+
+  /**
+   * Record the replica movements planned concurrently before being applied one by one.
+   *
+   * @param planningParallelism Number of threads that planned the replica movements.
+   * @param numPlannedMovements Number of planned replica movements.
+   */
+  public void recordReplicaMovementPlanning(int planningParallelism, int numPlannedMovements) {
+    _planningParallelism = Math.max(_planningParallelism, planningParallelism);
+    _numPlannedMovements += numPlannedMovements;
+  }
+
+  /**
+   * @return The number of candidate actions checked for acceptance by optimized goal name, for the optimized goals that checked
+   * at least one candidate action.
+   */
+  public Map<String, Long> numActionAcceptanceChecksByOptimizedGoal() {
+    return countsByOptimizedGoal(_numActionAcceptanceChecks);
+  }
+
+  /**
+   * @return The number of candidate actions rejected by optimized goal name, for the optimized goals that checked at least one
+   * candidate action.
+   */
+  public Map<String, Long> numActionRejectionsByOptimizedGoal() {
+    return countsByOptimizedGoal(_numActionRejections);
+  }
+
+  private Map<String, Long> countsByOptimizedGoal(long[] countsByOptimizedGoalIndex) {
+    Map<String, Long> countsByOptimizedGoal = new LinkedHashMap<>();
+    for (int i = 0; i < _optimizedGoalNames.length; i++) {
+      if (_numActionAcceptanceChecks[i] > 0) {
+        countsByOptimizedGoal.put(_optimizedGoalNames[i], countsByOptimizedGoalIndex[i]);
+      }
+    }
+    return Collections.unmodifiableMap(countsByOptimizedGoal);
+  }
+
+  /**
+   * @return The number of candidate actions rejected by a cached rejection of an optimized goal.
+   */
+  public long numCachedActionRejections() {
+    return _numCachedActionRejections;
+  }
+
+  /**
+   * @return The number of candidate actions that do not satisfy the requirements of the goal being optimized.
+   */
+  public long numSelfSatisfiedFailures() {
+    return _numSelfSatisfiedFailures;
+  }
+
+  /**
+   * @return The number of attempts to swap replicas.
+   */
+  public long numSwapAttempts() {
+    return _numSwapAttempts;
+  }
+
+  /**
+   * @return The number of applied swaps of replicas.
+   */
+  public long numSwapSuccesses() {
+    return _numSwapSuccesses;
+  }
+
+  /**
+   * @return The number of brokers examined as a candidate destination of a balancing action.
+   */
+  public long numCandidateBrokersExamined() {
+    return _numCandidateBrokersExamined;
+  }
+
+  /**
+   * @return The time (in ms) spent on populating cluster model stats.
+   */
+  public long clusterStatsTimeMs() {
+    return TimeUnit.NANOSECONDS.toMillis(_clusterStatsTimeNs);
+  }
+
+  /**
+   * @return The maximum number of threads that planned replica movements concurrently, or {@code 0} if no replica movements
+   * have been planned concurrently.
+   */
+  public int planningParallelism() {
+    return _planningParallelism;
+  }
+
+  /**
+   * @return The number of replica movements planned concurrently.
+   */
+  public long numPlannedMovements() {
+    return _numPlannedMovements;
+  }
+
+  /**
+   * @return An object that can be further used to encode into JSON.
+   */
+  public Map<String, Object> getJsonStructure() {
+    Map<String, Object> profile = new HashMap<>();
+    profile.put(NUM_ACTION_ACCEPTANCE_CHECKS_BY_OPTIMIZED_GOAL, numActionAcceptanceChecksByOptimizedGoal());
+    profile.put(NUM_ACTION_REJECTIONS_BY_OPTIMIZED_GOAL, numActionRejectionsByOptimizedGoal());
+    profile.put(NUM_CACHED_ACTION_REJECTIONS, _numCachedActionRejections);
+    profile.put(NUM_SELF_SATISFIED_FAILURES, _numSelfSatisfiedFailures);
+    profile.put(NUM_SWAP_ATTEMPTS, _numSwapAttempts);
+    profile.put(NUM_SWAP_SUCCESSES, _numSwapSuccesses);
+    profile.put(NUM_CANDIDATE_BROKERS_EXAMINED, _numCandidateBrokersExamined);
+    profile.put(CLUSTER_STATS_TIME_MS, clusterStatsTimeMs());
+    profile.put(PLANNING_PARALLELISM, _planningParallelism);
+    profile.put(NUM_PLANNED_MOVEMENTS, _numPlannedMovements);
+    return profile;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("{numActionAcceptanceChecksByOptimizedGoal=%s,numActionRejectionsByOptimizedGoal=%s,numCachedActionRejections=%d,"
+                         + "numSelfSatisfiedFailures=%d,numSwapAttempts=%d,numSwapSuccesses=%d,numCandidateBrokersExamined=%d,clusterStatsTimeMs=%d,"
+                         + "planningParallelism=%d,numPlannedMovements=%d}",
+                         numActionAcceptanceChecksByOptimizedGoal(), numActionRejectionsByOptimizedGoal(), _numCachedActionRejections,
+                         _numSelfSatisfiedFailures, _numSwapAttempts, _numSwapSuccesses, _numCandidateBrokersExamined, clusterStatsTimeMs(),
+                         _planningParallelism, _numPlannedMovements);
+  }
+}
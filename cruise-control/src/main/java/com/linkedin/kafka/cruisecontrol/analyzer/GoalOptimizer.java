@@ -8,6 +8,7 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.linkedin.kafka.cruisecontrol.common.Utils;
 import com.linkedin.kafka.cruisecontrol.analyzer.goals.Goal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.GoalUtils;
 import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.common.KafkaCruiseControlThreadFactory;
 import com.linkedin.kafka.cruisecontrol.config.constants.AnalyzerConfig;
@@ -17,8 +18,13 @@ import com.linkedin.kafka.cruisecontrol.async.progress.OperationProgress;
 import com.linkedin.kafka.cruisecontrol.exception.OptimizationFailureException;
 import com.linkedin.kafka.cruisecontrol.executor.ExecutionProposal;
 import com.linkedin.kafka.cruisecontrol.executor.Executor;
+import com.linkedin.kafka.cruisecontrol.model.Broker;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModelStats;
+import com.linkedin.kafka.cruisecontrol.model.Disk;
+import com.linkedin.kafka.cruisecontrol.model.Partition;
+import com.linkedin.kafka.cruisecontrol.model.PlacementJournal;
+import com.linkedin.kafka.cruisecontrol.model.Replica;
 import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
 import com.linkedin.kafka.cruisecontrol.monitor.LoadMonitor;
 import com.linkedin.kafka.cruisecontrol.monitor.ModelCompletenessRequirements;
@@ -26,12 +32,17 @@ import com.linkedin.kafka.cruisecontrol.monitor.MonitorUtils;
 import com.linkedin.kafka.cruisecontrol.monitor.task.LoadMonitorTaskRunner;
 import com.linkedin.kafka.cruisecontrol.servlet.response.stats.BrokerStats;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -41,6 +52,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.common.Cluster;
 import org.apache.kafka.common.TopicPartition;
@@ -51,6 +63,7 @@ import org.slf4j.LoggerFactory;
 import static com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUtils.ADMIN_CLIENT_CONFIG;
 import static com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUtils.balancednessCostByGoal;
 import static com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUtils.GOAL_OPTIMIZER_SENSOR;
+import static com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUtils.goalsByPriority;
 import static com.linkedin.kafka.cruisecontrol.monitor.task.LoadMonitorTaskRunner.LoadMonitorTaskRunnerState.BOOTSTRAPPING;
 import static com.linkedin.kafka.cruisecontrol.monitor.task.LoadMonitorTaskRunner.LoadMonitorTaskRunnerState.LOADING;
 import static com.linkedin.kafka.cruisecontrol.servlet.KafkaCruiseControlServletUtils.KAFKA_CRUISE_CONTROL_CONFIG_OBJECT_CONFIG;
@@ -80,6 +93,7 @@ public class GoalOptimizer implements Runnable {
   private Thread _proposalPrecomputingSchedulerThread;
   private final boolean _allowCapacityEstimationOnProposalPrecompute;
   private final Timer _proposalComputationTimer;
+  private final MetricRegistry _dropwizardMetricRegistry;
   private final ModelCompletenessRequirements _defaultModelCompletenessRequirements;
   private final ModelCompletenessRequirements _requirementsWithAvailableValidWindows;
   private final Executor _executor;
@@ -87,6 +101,21 @@ public class GoalOptimizer implements Runnable {
   private final double _priorityWeight;
   private final double _strictnessWeight;
   private final OptimizationOptionsGenerator _optimizationOptionsGenerator;
+  private final int _goalOptimizationParallelism;
+  // Executor of speculative goal optimizations, null if goals are optimized serially.
+  private final ExecutorService _speculativeGoalOptimizationExecutor;
+  // Goals of each goal list to precompute proposals for in addition to the default goals, by the normalized goal list.
+  private final Map<List<String>, List<Goal>> _goalsByPrecomputedGoalList;
+  private final Map<List<String>, PrecomputedProposals> _cachedProposalsByGoalList;
+  private final Set<List<String>> _ongoingGoalListPrecomputations;
+  private final KafkaCruiseControlConfig _config;
+  private final int _numOptimizationStarts;
+  // Executor of the randomized starts of multi-start optimizations, null if goals are optimized from a single start.
+  private final ExecutorService _multiStartOptimizationExecutor;
+  private final double _minBalancednessGainPerMB;
+  private final boolean _warmStartOnProposalPrecompute;
+  // Proposals of the last invalidated cached proposals to warm start the proposal precomputation with, or null for a cold start.
+  private volatile Set<ExecutionProposal> _warmStartProposals;
 
   /**
    * Constructor for Goal Optimizer takes the goals as input. The order of the list determines the priority of goals
@@ -123,6 +152,7 @@ public class GoalOptimizer implements Runnable {
     _proposalGenerationException = new AtomicReference<>();
     _proposalPrecomputingProgress = new OperationProgress();
     _proposalComputationTimer = dropwizardMetricRegistry.timer(MetricRegistry.name(GOAL_OPTIMIZER_SENSOR, "proposal-computation-timer"));
+    _dropwizardMetricRegistry = dropwizardMetricRegistry;
     _executor = executor;
     _hasOngoingExplicitPrecomputation = false;
     _priorityWeight = config.getDouble(AnalyzerConfig.GOAL_BALANCEDNESS_PRIORITY_WEIGHT_CONFIG);
@@ -132,6 +162,41 @@ public class GoalOptimizer implements Runnable {
     _optimizationOptionsGenerator = config.getConfiguredInstance(AnalyzerConfig.OPTIMIZATION_OPTIONS_GENERATOR_CLASS_CONFIG,
                                                                  OptimizationOptionsGenerator.class,
                                                                  overrideConfigs);
+    _goalOptimizationParallelism = config.getInt(AnalyzerConfig.GOAL_OPTIMIZATION_PARALLELISM_CONFIG);
+    _speculativeGoalOptimizationExecutor =
+        _goalOptimizationParallelism > 1
+        ? Executors.newFixedThreadPool(_goalOptimizationParallelism - 1,
+                                       new KafkaCruiseControlThreadFactory("SpeculativeGoalOptimizationExecutor", true, LOG))
+        : null;
+    _goalsByPrecomputedGoalList = goalsByPrecomputedGoalList(config);
+    LOG.info("Additional goal lists for precomputing: {}", _goalsByPrecomputedGoalList.keySet());
+    _cachedProposalsByGoalList = new ConcurrentHashMap<>();
+    _ongoingGoalListPrecomputations = ConcurrentHashMap.newKeySet();
+    _config = config;
+    _numOptimizationStarts = config.getInt(AnalyzerConfig.GOAL_OPTIMIZATION_NUM_STARTS_CONFIG);
+    _multiStartOptimizationExecutor =
+        _numOptimizationStarts > 1
+        ? Executors.newFixedThreadPool(_numOptimizationStarts - 1,
+                                       new KafkaCruiseControlThreadFactory("MultiStartOptimizationExecutor", true, LOG))
+        : null;
+    _minBalancednessGainPerMB = config.getDouble(AnalyzerConfig.GOAL_OPTIMIZATION_MIN_BALANCEDNESS_GAIN_PER_MB_CONFIG);
+    _warmStartOnProposalPrecompute = config.getBoolean(AnalyzerConfig.WARM_START_ON_PROPOSAL_PRECOMPUTE_CONFIG);
+    _warmStartProposals = null;
+  }
+
+  private static Map<List<String>, List<Goal>> goalsByPrecomputedGoalList(KafkaCruiseControlConfig config) {
+    Map<List<String>, List<Goal>> goalsByPrecomputedGoalList = new HashMap<>();
+    for (String goalList : config.getList(AnalyzerConfig.PRECOMPUTED_PROPOSAL_GOAL_LISTS_CONFIG)) {
+      List<String> goalNames = Arrays.stream(goalList.split(";")).map(String::trim).collect(Collectors.toList());
+      // Each goal list has its own goal instances, as goal lists are optimized concurrently.
+      goalsByPrecomputedGoalList.put(normalize(goalNames), goalsByPriority(goalNames, config));
+    }
+    return goalsByPrecomputedGoalList;
+  }
+
+  // Goal names are case insensitive.
+  private static List<String> normalize(List<String> goalNames) {
+    return goalNames.stream().map(goalName -> goalName.toLowerCase(Locale.ROOT)).collect(Collectors.toList());
   }
 
   @Override
@@ -230,6 +295,12 @@ public class GoalOptimizer implements Runnable {
     LOG.info("Shutting down goal optimizer.");
     _shutdown = true;
     _proposalPrecomputingExecutor.shutdown();
+    if (_speculativeGoalOptimizationExecutor != null) {
+      _speculativeGoalOptimizationExecutor.shutdownNow();
+    }
+    if (_multiStartOptimizationExecutor != null) {
+      _multiStartOptimizationExecutor.shutdownNow();
+    }
 
     try {
       _proposalPrecomputingExecutor.awaitTermination(30000L, TimeUnit.MILLISECONDS);
@@ -336,6 +407,54 @@ public class GoalOptimizer implements Runnable {
     }
   }
 
+  /**
+   * @param goals A list of goal names in the order of priority.
+   * @return {@code true} if the proposals for the given goals are precomputed, {@code false} otherwise.
+   */
+  public boolean isPrecomputedGoalList(List<String> goals) {
+    return _goalsByPrecomputedGoalList.containsKey(normalize(goals));
+  }
+
+  /**
+   * Get the precomputed proposals for the given goals. Unlike the cached proposals of the default goals, this method does
+   * not wait for the precomputation, and the caller is expected to compute the proposals itself if they are unavailable.
+   * The precomputed proposals are valid only if the cluster model that they are computed over meets the given requirements.
+   *
+   * @param goals A list of goal names in the order of priority.
+   * @param requirements Model completeness requirements of the given goals.
+   * @param allowCapacityEstimation Allow capacity estimation in cluster model if the requested broker capacity is unavailable.
+   * @return The precomputed proposals for the given goals if they are valid, {@code null} otherwise.
+   */
+  public OptimizerResult precomputedOptimizations(List<String> goals,
+                                                  ModelCompletenessRequirements requirements,
+                                                  boolean allowCapacityEstimation) {
+    PrecomputedProposals precomputedProposals = _cachedProposalsByGoalList.get(normalize(goals));
+    if (precomputedProposals == null || !meetsRequirements(precomputedProposals.requirements(), requirements)) {
+      return null;
+    }
+    OptimizerResult result = precomputedProposals.result();
+    if ((!allowCapacityEstimation && result.isCapacityEstimated()) || _executor.hasOngoingExecution()
+        || result.modelGeneration().isStale(_loadMonitor.clusterModelGeneration())) {
+      return null;
+    }
+    return result;
+  }
+
+  /**
+   * Check whether a cluster model built with the given requirements also meets the required requirements -- i.e. each of
+   * the given requirements is at least as strong as the corresponding required one.
+   *
+   * @param requirements Model completeness requirements that a cluster model is built with.
+   * @param requiredRequirements Model completeness requirements to meet, or {@code null} if there is no requirement.
+   * @return {@code true} if the given requirements meet the required requirements, {@code false} otherwise.
+   */
+  static boolean meetsRequirements(ModelCompletenessRequirements requirements, ModelCompletenessRequirements requiredRequirements) {
+    return requiredRequirements == null
+           || (requirements.minRequiredNumWindows() >= requiredRequirements.minRequiredNumWindows()
+               && requirements.minMonitoredPartitionsPercentage() >= requiredRequirements.minMonitoredPartitionsPercentage()
+               && (requirements.includeAllTopics() || !requiredRequirements.includeAllTopics()));
+  }
+
   /**
    * Depending the existence of dead/decommissioned brokers in the given cluster:
    * (1) Re-balance: Generates proposals to update the state of the cluster to achieve a final balanced state.
@@ -394,6 +513,11 @@ public class GoalOptimizer implements Runnable {
    * (2) Self-healing: Generates proposals to move replicas away from decommissioned brokers and broken disks.
    * Returns a map from goal names to stats. Initial stats are returned under goal name "init".
    *
+   * If {@link AnalyzerConfig#GOAL_OPTIMIZATION_NUM_STARTS_CONFIG} is greater than 1, the goals are optimized from multiple
+   * starts -- i.e. once in the order of brokers determined by each goal, and in addition over forks of the cluster model in
+   * randomized orders of brokers. The given cluster model is updated with the result that has the highest balancedness
+   * score, and among equally balanced results, the least inter-broker data to move.
+   *
    * Assumptions:
    * <ul>
    *   <li>The cluster model cannot be null.</li>
@@ -423,50 +547,187 @@ public class GoalOptimizer implements Runnable {
                                        Map<TopicPartition, List<ReplicaPlacementInfo>> initReplicaDistributionForProposalGeneration,
                                        OptimizationOptions optimizationOptions)
       throws KafkaCruiseControlException {
+    return optimizations(clusterModel, goalsByPriority, operationProgress, initReplicaDistributionForProposalGeneration,
+                         optimizationOptions, null);
+  }
+
+  /**
+   * Warm start the optimization of the given goals from the given proposals -- e.g. the proposals of a previous optimization
+   * over an earlier generation of the cluster model. The target placement of each given proposal, whose partition still has
+   * the initial placement of the proposal, is applied to the given cluster model once the hard goals preceding the first soft
+   * goal are optimized, as long as the actions to reach the target placement are acceptable by these hard goals. Hence, soft
+   * goals only need to resolve the residual imbalance, and the resulting proposals cover the applied target placements as well.
+   * The applied target placements are charged to the first soft goal, as if the goal had proposed them.
+   *
+   * If the goals cannot be optimized over the warm-started cluster model, the cluster model is reverted to its original
+   * placement and the goals are optimized from a cold start.
+   *
+   * @param clusterModel The state of the cluster.
+   * @param goalsByPriority The goals ordered by priority.
+   * @param warmStartProposals The proposals to warm start the optimization with.
+   * @param operationProgress To report the optimization progress.
+   * @return Results of optimization containing the proposals and stats.
+   */
+  OptimizerResult warmStartOptimizations(ClusterModel clusterModel,
+                                         List<Goal> goalsByPriority,
+                                         Set<ExecutionProposal> warmStartProposals,
+                                         OperationProgress operationProgress)
+      throws KafkaCruiseControlException {
+    validateNotNull(clusterModel, "The cluster model cannot be null");
+    if (!clusterModel.isClusterAlive()) {
+      throw new IllegalArgumentException("All brokers are dead in the cluster.");
+    }
+    Set<String> excludedTopics = excludedTopics(clusterModel, null);
+    OptimizationOptions optimizationOptions =
+        _optimizationOptionsGenerator.optimizationOptionsForCachedProposalCalculation(clusterModel, excludedTopics);
+    PlacementJournal warmStartJournal = clusterModel.startPlacementJournal();
+    try {
+      return optimizations(clusterModel, goalsByPriority, operationProgress, null, optimizationOptions, warmStartProposals);
+    } catch (OptimizationFailureException ofe) {
+      LOG.info("Falling back to a cold start, because goals cannot be optimized from the warm start.", ofe);
+    } finally {
+      clusterModel.stopPlacementJournal(warmStartJournal);
+    }
+    clusterModel.revertPlacementChanges(warmStartJournal);
+    return optimizations(clusterModel, goalsByPriority, operationProgress, null, optimizationOptions, null);
+  }
+
+  private OptimizerResult optimizations(ClusterModel clusterModel,
+                                        List<Goal> goalsByPriority,
+                                        OperationProgress operationProgress,
+                                        Map<TopicPartition, List<ReplicaPlacementInfo>> initReplicaDistributionForProposalGeneration,
+                                        OptimizationOptions optimizationOptions,
+                                        Set<ExecutionProposal> warmStartProposals)
+      throws KafkaCruiseControlException {
+    if (_multiStartOptimizationExecutor != null && optimizationOptions.brokerOrderSeed() == null) {
+      return multiStartOptimizations(clusterModel, goalsByPriority, operationProgress, initReplicaDistributionForProposalGeneration,
+                                     optimizationOptions, warmStartProposals);
+    }
+    return singleStartOptimizations(clusterModel, goalsByPriority, operationProgress, initReplicaDistributionForProposalGeneration,
+                                    optimizationOptions, warmStartProposals);
+  }
+
+  private OptimizerResult singleStartOptimizations(ClusterModel clusterModel,
+                                                   List<Goal> goalsByPriority,
+                                                   OperationProgress operationProgress,
+                                                   Map<TopicPartition, List<ReplicaPlacementInfo>> initReplicaDistributionForProposalGeneration,
+                                                   OptimizationOptions optimizationOptions,
+                                                   Set<ExecutionProposal> warmStartProposals)
+      throws KafkaCruiseControlException {
     LOG.trace("Cluster before optimization is {}", clusterModel);
     BrokerStats brokerStatsBeforeOptimization = clusterModel.brokerStats(null);
-    Map<TopicPartition, List<ReplicaPlacementInfo>> initReplicaDistribution = clusterModel.getReplicaDistribution();
-    Map<TopicPartition, ReplicaPlacementInfo> initLeaderDistribution = clusterModel.getLeaderDistribution();
+    // The initial leader distribution is needed only if the initial replica distribution cannot be deducted from the cluster
+    // model. Otherwise, the proposals are generated from the partitions touched during the optimization.
+    Map<TopicPartition, ReplicaPlacementInfo> initLeaderDistribution =
+        initReplicaDistributionForProposalGeneration != null ? clusterModel.getLeaderDistribution() : null;
+    PlacementJournal optimizationJournal = clusterModel.startPlacementJournal();
     boolean isSelfHealing = !clusterModel.selfHealingEligibleReplicas().isEmpty();
+    // Self-healing and adding brokers move replicas to where the given proposals did not anticipate, hence start cold.
+    boolean warmStart = warmStartProposals != null && !isSelfHealing && clusterModel.newBrokers().isEmpty();
 
     // Set of balancing proposals that will be applied to the given cluster state to satisfy goals (leadership
     // transfer AFTER partition transfer.)
     Set<Goal> optimizedGoals = new HashSet<>();
     Set<String> violatedGoalNamesBeforeOptimization = new HashSet<>();
     Set<String> violatedGoalNamesAfterOptimization = new HashSet<>();
+    Set<String> partiallyOptimizedGoalNames = new HashSet<>();
     LinkedHashMap<Goal, ClusterModelStats> statsByGoalPriority = new LinkedHashMap<>(goalsByPriority.size());
-    Map<TopicPartition, List<ReplicaPlacementInfo>> preOptimizedReplicaDistribution = null;
-    Map<TopicPartition, ReplicaPlacementInfo> preOptimizedLeaderDistribution = null;
 
     ProvisionResponse provisionResponse = new ProvisionResponse(ProvisionStatus.UNDECIDED);
+    Map<String, Double> balancednessCostByGoal = balancednessCostByGoal(goalsByPriority, _priorityWeight, _strictnessWeight);
     Map<String, Duration> optimizationDurationByGoal = new HashMap<>();
+    Map<String, GoalOptimizationProfile> optimizationProfileByGoal = new HashMap<>();
+    // Speculative optimizations of lower priority goals, which are started together with the optimization of a higher priority goal.
+    Map<Goal, SpeculativeOptimization> speculativeOptimizations = new HashMap<>();
+    int goalIndex = 0;
     for (Goal goal : goalsByPriority) {
-      preOptimizedReplicaDistribution = preOptimizedReplicaDistribution == null ? initReplicaDistribution : clusterModel.getReplicaDistribution();
-      preOptimizedLeaderDistribution = preOptimizedLeaderDistribution == null ? initLeaderDistribution : clusterModel.getLeaderDistribution();
+      goalIndex++;
+      PlacementJournal goalJournal = clusterModel.startPlacementJournal();
       OptimizationForGoal step = new OptimizationForGoal(goal.name());
       operationProgress.addStep(step);
-      LOG.debug("Optimizing goal {}", goal.name());
       long startTimeMs = _time.milliseconds();
-      boolean succeeded = goal.optimize(clusterModel, optimizedGoals, optimizationOptions);
-      optimizedGoals.add(goal);
+      double interBrokerDataToMoveBeforeGoal = clusterModel.interBrokerDataToMoveInMB();
+      boolean checkBalancednessGain = !goal.isHardGoal() && _minBalancednessGainPerMB > 0.0;
+      ClusterModelStats statsBeforeGoal = checkBalancednessGain ? clusterModel.getClusterStats(_balancingConstraint, optimizationOptions)
+                                                                : null;
+      if (warmStart && !goal.isHardGoal()) {
+        // The proposals are applied once the preceding hard goals are optimized, so that their actions are checked for acceptance.
+        // The applied proposals are charged to the first soft goal -- i.e. they count towards its proposals, its violation before
+        // the optimization, and its balancedness gain per MB of inter-broker data to move.
+        int numAppliedProposals = applyWarmStartProposals(clusterModel, warmStartProposals, optimizedGoals, optimizationOptions);
+        LOG.debug("Warm started the optimization with {} out of {} proposals.", numAppliedProposals, warmStartProposals.size());
+        warmStart = false;
+      }
+      SpeculativeOptimization speculativeOptimization = speculativeOptimizations.remove(goal);
+      boolean isSpeculationAdopted = false;
+      if (speculativeOptimization != null) {
+        isSpeculationAdopted = mergeSpeculativeOptimization(goal, speculativeOptimization, clusterModel, optimizedGoals, optimizationOptions);
+      } else if (_speculativeGoalOptimizationExecutor != null && goalIndex < goalsByPriority.size()) {
+        // Speculatively optimize the next goals over copies of the cluster model while optimizing the current goal.
+        List<Goal> speculativeGoals = goalsByPriority.subList(goalIndex, Math.min(goalIndex + _goalOptimizationParallelism - 1,
+                                                                                   goalsByPriority.size()));
+        speculativeOptimizations.putAll(startSpeculativeOptimizations(speculativeGoals, clusterModel, optimizedGoals, optimizationOptions));
+      }
+      // The goal instance whose state reflects the optimization of the goal over the cluster model.
+      Goal optimizedGoal = goal;
+      boolean succeeded;
+      if (isSpeculationAdopted) {
+        // The cluster model reached the placement in which the speculative optimization of the goal succeeded, hence the
+        // speculatively optimized goal instance stands in for the goal, and the serial optimization of the goal is skipped.
+        LOG.debug("Adopting the speculative optimization of goal {}", goal.name());
+        optimizedGoal = speculativeOptimization.goal();
+        succeeded = true;
+      } else {
+        LOG.debug("Optimizing goal {}", goal.name());
+        try {
+          // If the speculative optimization of the goal has been merged, the goal optimization resolves any violation that
+          // the merged actions could not -- i.e. it falls back to the serial optimization of the goal.
+          succeeded = goal.optimize(clusterModel, optimizedGoals, optimizationOptions);
+        } catch (KafkaCruiseControlException kcce) {
+          // Pending speculative optimizations are irrelevant if a higher priority goal cannot be optimized.
+          speculativeOptimizations.values().forEach(pending -> pending.cancel(clusterModel));
+          clusterModel.stopPlacementJournal(goalJournal);
+          clusterModel.stopPlacementJournal(optimizationJournal);
+          throw kcce;
+        }
+      }
+      double interBrokerDataToMoveByGoal = clusterModel.interBrokerDataToMoveInMB() - interBrokerDataToMoveBeforeGoal;
+      if (checkBalancednessGain && interBrokerDataToMoveByGoal > 0.0) {
+        double balancednessGain = balancednessGain(goal, statsBeforeGoal, clusterModel.getClusterStats(_balancingConstraint, optimizationOptions),
+                                                   succeeded, balancednessCostByGoal.get(goal.name()));
+        if (balancednessGain / interBrokerDataToMoveByGoal < _minBalancednessGainPerMB) {
+          LOG.debug("Reverting the optimization of goal {}, which yields {} balancedness gain for {} MB of inter-broker data to move.",
+                    goal.name(), balancednessGain, interBrokerDataToMoveByGoal);
+          clusterModel.revertPlacementChanges(goalJournal);
+          succeeded = false;
+        }
+      }
+      optimizedGoals.add(optimizedGoal);
       statsByGoalPriority.put(goal, clusterModel.getClusterStats(_balancingConstraint, optimizationOptions));
       optimizationDurationByGoal.put(goal.name(), Duration.ofMillis(_time.milliseconds() - startTimeMs));
+      GoalOptimizationProfile optimizationProfile = optimizedGoal.optimizationProfile();
+      if (optimizationProfile != null) {
+        optimizationProfileByGoal.put(goal.name(), optimizationProfile);
+        updateGoalOptimizationMetrics(goal.name(), optimizationProfile);
+      }
 
-      Set<ExecutionProposal> goalProposals = AnalyzerUtils.getDiff(preOptimizedReplicaDistribution,
-                                                                   preOptimizedLeaderDistribution,
-                                                                   clusterModel);
+      clusterModel.stopPlacementJournal(goalJournal);
+      Set<ExecutionProposal> goalProposals = AnalyzerUtils.getDiff(goalJournal);
       if (!goalProposals.isEmpty() || !succeeded) {
         violatedGoalNamesBeforeOptimization.add(goal.name());
       }
       if (!succeeded) {
         violatedGoalNamesAfterOptimization.add(goal.name());
       }
+      if (optimizedGoal.isPartiallyOptimized()) {
+        partiallyOptimizedGoalNames.add(goal.name());
+      }
       logProgress(isSelfHealing, goal.name(), optimizedGoals.size(), goalProposals);
       step.done();
       if (LOG.isDebugEnabled()) {
         LOG.debug("Broker level stats after optimization: {}", clusterModel.brokerStats(null));
       }
-      provisionResponse.aggregate(goal.provisionResponse());
+      provisionResponse.aggregate(optimizedGoal.provisionResponse());
     }
 
     // Broker level stats in the final cluster state.
@@ -476,12 +737,11 @@ public class GoalOptimizer implements Runnable {
 
     // Skip replication factor change check here since in above iteration we already check for each goal it does not change
     // any partition's replication factor.
+    clusterModel.stopPlacementJournal(optimizationJournal);
     Set<ExecutionProposal> proposals =
-        AnalyzerUtils.getDiff(initReplicaDistributionForProposalGeneration != null ? initReplicaDistributionForProposalGeneration
-                                                                                   : initReplicaDistribution,
-                              initLeaderDistribution,
-                              clusterModel,
-                              true);
+        initReplicaDistributionForProposalGeneration != null
+        ? AnalyzerUtils.getDiff(initReplicaDistributionForProposalGeneration, initLeaderDistribution, clusterModel, true)
+        : AnalyzerUtils.getDiff(optimizationJournal, true);
     return new OptimizerResult(statsByGoalPriority,
                                violatedGoalNamesBeforeOptimization,
                                violatedGoalNamesAfterOptimization,
@@ -489,11 +749,426 @@ public class GoalOptimizer implements Runnable {
                                brokerStatsBeforeOptimization,
                                clusterModel,
                                optimizationOptions,
-                               balancednessCostByGoal(goalsByPriority, _priorityWeight, _strictnessWeight),
+                               balancednessCostByGoal,
                                optimizationDurationByGoal,
+                               partiallyOptimizedGoalNames,
+                               optimizationProfileByGoal,
                                provisionResponse);
   }
 
+  /**
+   * Get the balancedness gain of the optimization of the given goal. If the goal quantifies its imbalance, the gain is the
+   * share of its balancedness cost proportional to the relative decrease in its imbalance. Otherwise, the gain is its
+   * balancedness cost if the goal is satisfied after its optimization, 0 otherwise.
+   *
+   * @param goal The optimized goal.
+   * @param statsBeforeGoal Cluster model stats before the optimization of the goal.
+   * @param statsAfterGoal Cluster model stats after the optimization of the goal.
+   * @param succeeded {@code true} if the goal is satisfied after its optimization, {@code false} otherwise.
+   * @param balancednessCost The balancedness cost of the goal.
+   * @return The balancedness gain of the optimization of the given goal.
+   */
+  static double balancednessGain(Goal goal,
+                                 ClusterModelStats statsBeforeGoal,
+                                 ClusterModelStats statsAfterGoal,
+                                 boolean succeeded,
+                                 double balancednessCost) {
+    Goal.ClusterModelStatsComparator comparator = goal.clusterModelStatsComparator();
+    double imbalanceBeforeGoal = comparator.imbalance(statsBeforeGoal);
+    if (Double.isNaN(imbalanceBeforeGoal)) {
+      return succeeded ? balancednessCost : 0.0;
+    }
+    if (imbalanceBeforeGoal <= 0.0) {
+      return 0.0;
+    }
+    double imbalanceDecrease = (imbalanceBeforeGoal - comparator.imbalance(statsAfterGoal)) / imbalanceBeforeGoal;
+    return balancednessCost * Math.max(0.0, Math.min(1.0, imbalanceDecrease));
+  }
+
+  // Update the Dropwizard metrics of the given goal, and of the optimized goals checking the actions of the given goal for acceptance,
+  // with the given profile of the optimization of the given goal.
+  private void updateGoalOptimizationMetrics(String goalName, GoalOptimizationProfile optimizationProfile) {
+    optimizationProfile.numActionAcceptanceChecksByOptimizedGoal().forEach(
+        (optimizedGoalName, numChecks) -> _dropwizardMetricRegistry.meter(
+            MetricRegistry.name(GOAL_OPTIMIZER_SENSOR, optimizedGoalName + "-action-acceptance-check-rate")).mark(numChecks));
+    optimizationProfile.numActionRejectionsByOptimizedGoal().forEach(
+        (optimizedGoalName, numRejections) -> _dropwizardMetricRegistry.meter(
+            MetricRegistry.name(GOAL_OPTIMIZER_SENSOR, optimizedGoalName + "-action-rejection-rate")).mark(numRejections));
+    _dropwizardMetricRegistry.histogram(MetricRegistry.name(GOAL_OPTIMIZER_SENSOR, goalName + "-cached-action-rejections"))
+                             .update(optimizationProfile.numCachedActionRejections());
+    _dropwizardMetricRegistry.histogram(MetricRegistry.name(GOAL_OPTIMIZER_SENSOR, goalName + "-self-satisfied-failures"))
+                             .update(optimizationProfile.numSelfSatisfiedFailures());
+    _dropwizardMetricRegistry.histogram(MetricRegistry.name(GOAL_OPTIMIZER_SENSOR, goalName + "-swap-attempts"))
+                             .update(optimizationProfile.numSwapAttempts());
+    _dropwizardMetricRegistry.histogram(MetricRegistry.name(GOAL_OPTIMIZER_SENSOR, goalName + "-swap-successes"))
+                             .update(optimizationProfile.numSwapSuccesses());
+    _dropwizardMetricRegistry.histogram(MetricRegistry.name(GOAL_OPTIMIZER_SENSOR, goalName + "-candidate-brokers-examined"))
+                             .update(optimizationProfile.numCandidateBrokersExamined());
+    _dropwizardMetricRegistry.histogram(MetricRegistry.name(GOAL_OPTIMIZER_SENSOR, goalName + "-cluster-stats-time-ms"))
+                             .update(optimizationProfile.clusterStatsTimeMs());
+  }
+
+  /**
+   * Optimize the given goals from multiple starts. The default start optimizes the given goals over the given cluster model
+   * in the order of brokers determined by each goal. Each randomized start concurrently optimizes its own instances of the
+   * given goals over a fork of the given cluster model in a random order of brokers. If a randomized start yields a better
+   * result than the default start, the given cluster model is updated with the placement of the randomized start.
+   *
+   * Randomized starts are skipped if the given goals cannot be instantiated from the configuration.
+   *
+   * @param clusterModel The state of the cluster.
+   * @param goalsByPriority The goals ordered by priority.
+   * @param operationProgress To report the progress of the default start.
+   * @param initReplicaDistributionForProposalGeneration The initial replica distribution of the cluster, or {@code null}.
+   * @param optimizationOptions Optimization options.
+   * @return The best result among the results of all starts.
+   */
+  private OptimizerResult multiStartOptimizations(ClusterModel clusterModel,
+                                                  List<Goal> goalsByPriority,
+                                                  OperationProgress operationProgress,
+                                                  Map<TopicPartition, List<ReplicaPlacementInfo>> initReplicaDistributionForProposalGeneration,
+                                                  OptimizationOptions optimizationOptions,
+                                                  Set<ExecutionProposal> warmStartProposals)
+      throws KafkaCruiseControlException {
+    List<String> goalNames = goalsByPriority.stream().map(Goal::name).collect(Collectors.toList());
+    List<ClusterModel> forks = new ArrayList<>(_numOptimizationStarts - 1);
+    List<Future<OptimizerResult>> randomizedStarts = new ArrayList<>(_numOptimizationStarts - 1);
+    for (int start = 1; start < _numOptimizationStarts; start++) {
+      List<Goal> goalsForStart;
+      try {
+        // Goals are not thread-safe, hence each start optimizes its own goal instances.
+        goalsForStart = goalsByPriority(goalNames, _config);
+      } catch (IllegalArgumentException iae) {
+        LOG.debug("Skipping randomized starts, because goals {} cannot be instantiated from the configuration.", goalNames, iae);
+        break;
+      }
+      // The forks are created upfront, because the given cluster model is about to be optimized by the default start.
+      ClusterModel fork = clusterModel.fork();
+      OptimizationOptions optimizationOptionsForStart = optimizationOptions.withBrokerOrderSeed(start);
+      forks.add(fork);
+      randomizedStarts.add(_multiStartOptimizationExecutor.submit(
+          () -> singleStartOptimizations(fork, goalsForStart, new OperationProgress(), initReplicaDistributionForProposalGeneration,
+                                         optimizationOptionsForStart, warmStartProposals)));
+    }
+
+    OptimizerResult bestResult;
+    try {
+      bestResult = singleStartOptimizations(clusterModel, goalsByPriority, operationProgress,
+                                            initReplicaDistributionForProposalGeneration, optimizationOptions, warmStartProposals);
+    } catch (KafkaCruiseControlException kcce) {
+      randomizedStarts.forEach(f -> f.cancel(true));
+      throw kcce;
+    }
+    OptimizerResult defaultResult = bestResult;
+    ClusterModel bestFork = null;
+    for (int i = 0; i < randomizedStarts.size(); i++) {
+      OptimizerResult result;
+      try {
+        result = randomizedStarts.get(i).get();
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        randomizedStarts.forEach(f -> f.cancel(true));
+        LOG.debug("Interrupted while waiting for the randomized starts of the optimization.");
+        break;
+      } catch (ExecutionException ee) {
+        LOG.debug("Randomized start {} of the optimization failed.", i + 1, ee.getCause());
+        continue;
+      }
+      if (isBetterResult(result, bestResult)) {
+        bestResult = result;
+        bestFork = forks.get(i);
+      }
+    }
+
+    if (bestFork != null) {
+      LOG.debug("Adopting the placement of a randomized start with {} proposals instead of the default start with {} proposals.",
+                bestResult.goalProposals().size(), defaultResult.goalProposals().size());
+      Set<TopicPartition> partitionsToAdopt = new HashSet<>();
+      bestResult.goalProposals().forEach(proposal -> partitionsToAdopt.add(proposal.topicPartition()));
+      defaultResult.goalProposals().forEach(proposal -> partitionsToAdopt.add(proposal.topicPartition()));
+      for (TopicPartition tp : partitionsToAdopt) {
+        adoptPlacement(clusterModel, bestFork, tp);
+      }
+    }
+    return bestResult;
+  }
+
+  // A result is better if it has a higher balancedness score, or the same score with less inter-broker data to move, or the same
+  // score and data to move with fewer proposals.
+  private static boolean isBetterResult(OptimizerResult result, OptimizerResult other) {
+    int scoreComparison = Double.compare(result.onDemandBalancednessScoreAfter(), other.onDemandBalancednessScoreAfter());
+    if (scoreComparison != 0) {
+      return scoreComparison > 0;
+    }
+    long interBrokerDataToMove = interBrokerDataToMoveInMB(result);
+    long otherInterBrokerDataToMove = interBrokerDataToMoveInMB(other);
+    if (interBrokerDataToMove != otherInterBrokerDataToMove) {
+      return interBrokerDataToMove < otherInterBrokerDataToMove;
+    }
+    return result.goalProposals().size() < other.goalProposals().size();
+  }
+
+  private static long interBrokerDataToMoveInMB(OptimizerResult result) {
+    return result.goalProposals().stream().mapToLong(ExecutionProposal::interBrokerDataToMoveInMB).sum();
+  }
+
+  // Relocate the given partition in the given cluster model to its placement in the given source cluster model.
+  private static void adoptPlacement(ClusterModel clusterModel, ClusterModel source, TopicPartition tp) {
+    Partition sourcePartition = source.partition(tp);
+    clusterModel.relocatePartition(tp, replicaPlacement(sourcePartition), sourcePartition.leader().broker().id());
+  }
+
+  // Get the placement of the replicas of the given partition, including their logdirs if the disks of brokers are modeled.
+  private static List<ReplicaPlacementInfo> replicaPlacement(Partition partition) {
+    List<ReplicaPlacementInfo> replicaPlacement = new ArrayList<>(partition.replicas().size());
+    for (Replica replica : partition.replicas()) {
+      replicaPlacement.add(replica.disk() == null ? new ReplicaPlacementInfo(replica.broker().id())
+                                                  : new ReplicaPlacementInfo(replica.broker().id(), replica.disk().logDir()));
+    }
+    return replicaPlacement;
+  }
+
+  /**
+   * Start the speculative optimization of each given goal over a separate copy of the given cluster model. Each speculative
+   * optimization assumes that the given optimized goals are the only goals optimized before the corresponding goal.
+   * Goals are not thread-safe, hence each speculative optimization optimizes its own instance of the corresponding goal. The
+   * given optimized goals are shared, as their action acceptance only reads the state of the goal and the given cluster model.
+   * If the given goals cannot be instantiated from the configuration, no speculative optimization is started.
+   *
+   * @param speculativeGoals Goals to optimize speculatively.
+   * @param clusterModel The state of the cluster before the optimization of the given speculative goals.
+   * @param optimizedGoals Optimized goals.
+   * @param optimizationOptions Optimization options.
+   * @return Speculative optimizations by goal.
+   */
+  private Map<Goal, SpeculativeOptimization> startSpeculativeOptimizations(List<Goal> speculativeGoals,
+                                                                           ClusterModel clusterModel,
+                                                                           Set<Goal> optimizedGoals,
+                                                                           OptimizationOptions optimizationOptions) {
+    List<String> speculativeGoalNames = speculativeGoals.stream().map(Goal::name).collect(Collectors.toList());
+    List<Goal> speculativeGoalInstances;
+    try {
+      speculativeGoalInstances = goalsByPriority(speculativeGoalNames, _config);
+    } catch (IllegalArgumentException iae) {
+      LOG.debug("Skipping speculative optimizations, because goals {} cannot be instantiated from the configuration.",
+                speculativeGoalNames, iae);
+      return Collections.emptyMap();
+    }
+    Map<Goal, SpeculativeOptimization> speculativeOptimizations = new HashMap<>();
+    for (int i = 0; i < speculativeGoals.size(); i++) {
+      Goal speculativeGoalInstance = speculativeGoalInstances.get(i);
+      // The forks are created upfront, because the given cluster model is about to be optimized by the caller.
+      ClusterModel clusterModelCopy = clusterModel.fork();
+      PlacementJournal speculationJournal = clusterModelCopy.startPlacementJournal();
+      Set<Goal> optimizedGoalsCopy = new HashSet<>(optimizedGoals);
+      LOG.debug("Speculatively optimizing goal {}", speculativeGoalInstance.name());
+      Future<Boolean> succeeded = _speculativeGoalOptimizationExecutor.submit(
+          () -> speculativeGoalInstance.optimize(clusterModelCopy, optimizedGoalsCopy, optimizationOptions));
+      speculativeOptimizations.put(speculativeGoals.get(i), new SpeculativeOptimization(speculativeGoalInstance, succeeded,
+                                                                                        speculationJournal,
+                                                                                        clusterModel.startPlacementJournal()));
+    }
+    return speculativeOptimizations;
+  }
+
+  /**
+   * Merge the actions of the given speculative optimization of the given goal into the given cluster model. Each inter-broker
+   * replica and leadership movement of the speculative optimization is applied to the given cluster model only if it is still
+   * legit and acceptable by all optimized goals, including the ones that were optimized concurrently with the speculation.
+   * Intra-broker replica movements are not merged. Actions that cannot be merged are left for the serial optimization of
+   * the goal.
+   *
+   * The speculative optimization is adopted -- i.e. the serial optimization of the goal is unnecessary -- if the speculatively
+   * optimized goal instance succeeded, the given cluster model has not changed since the speculation started, and all
+   * actions are merged. The given cluster model then has the placement in which the speculative optimization succeeded.
+   *
+   * @param goal Goal that has been optimized speculatively.
+   * @param speculativeOptimization Speculative optimization of the goal.
+   * @param clusterModel The state of the cluster to merge the speculative optimization into.
+   * @param optimizedGoals Optimized goals.
+   * @param optimizationOptions Optimization options.
+   * @return {@code true} if the speculative optimization is adopted, {@code false} otherwise.
+   */
+  private boolean mergeSpeculativeOptimization(Goal goal,
+                                               SpeculativeOptimization speculativeOptimization,
+                                               ClusterModel clusterModel,
+                                               Set<Goal> optimizedGoals,
+                                               OptimizationOptions optimizationOptions) {
+    PlacementJournal baseJournal = speculativeOptimization.baseJournal();
+    clusterModel.stopPlacementJournal(baseJournal);
+    boolean succeeded;
+    try {
+      succeeded = speculativeOptimization.succeeded().get();
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      LOG.debug("Interrupted while waiting for the speculative optimization of goal {}, falling back to serial optimization.",
+                goal.name());
+      return false;
+    } catch (ExecutionException ee) {
+      LOG.debug("Speculative optimization of goal {} failed, falling back to serial optimization.", goal.name(), ee.getCause());
+      return false;
+    }
+    boolean isAdoptable = succeeded && !speculativeOptimization.goal().isPartiallyOptimized() && baseJournal.numTouchedPartitions() == 0;
+    PlacementJournal speculationJournal = speculativeOptimization.speculationJournal();
+
+    int numMerged = 0;
+    int numRejected = 0;
+    for (ExecutionProposal proposal : AnalyzerUtils.getDiff(speculationJournal)) {
+      TopicPartition tp = proposal.topicPartition();
+      if (optimizationOptions.excludedTopics().contains(tp.topic())) {
+        continue;
+      }
+      // Pair the removed and added brokers of the partition as inter-broker replica movements.
+      List<Integer> oldBrokerIds = brokerIds(proposal.oldReplicas());
+      List<Integer> newBrokerIds = brokerIds(proposal.newReplicas());
+      List<Integer> sourceBrokerIds = new ArrayList<>(oldBrokerIds);
+      sourceBrokerIds.removeAll(newBrokerIds);
+      List<Integer> destinationBrokerIds = new ArrayList<>(newBrokerIds);
+      destinationBrokerIds.removeAll(oldBrokerIds);
+      for (int i = 0; i < sourceBrokerIds.size() && i < destinationBrokerIds.size(); i++) {
+        if (maybeMergeAction(tp, sourceBrokerIds.get(i), destinationBrokerIds.get(i), ActionType.INTER_BROKER_REPLICA_MOVEMENT,
+                             clusterModel, optimizedGoals, optimizationOptions)) {
+          numMerged++;
+        } else {
+          numRejected++;
+        }
+      }
+      int newLeaderBrokerId = proposal.newLeader().brokerId();
+      if (newLeaderBrokerId != proposal.oldLeader().brokerId()) {
+        int currentLeaderBrokerId = clusterModel.partition(tp).leader().broker().id();
+        if (currentLeaderBrokerId == newLeaderBrokerId
+            || maybeMergeAction(tp, currentLeaderBrokerId, newLeaderBrokerId, ActionType.LEADERSHIP_MOVEMENT,
+                                clusterModel, optimizedGoals, optimizationOptions)) {
+          numMerged++;
+        } else {
+          numRejected++;
+        }
+      }
+    }
+    LOG.debug("Merged {} actions from the speculative optimization of goal {}, {} actions are left for serial optimization.",
+              numMerged, goal.name(), numRejected);
+    return isAdoptable && numRejected == 0 && hasSpeculatedPlacement(clusterModel, speculationJournal.clusterModel(),
+                                                                     speculationJournal.initialReplicaDistribution().keySet());
+  }
+
+  // Check whether the given partitions have the same replica placement and leader in the given cluster models.
+  private static boolean hasSpeculatedPlacement(ClusterModel clusterModel, ClusterModel speculatedClusterModel, Set<TopicPartition> tps) {
+    for (TopicPartition tp : tps) {
+      Partition partition = clusterModel.partition(tp);
+      Partition speculatedPartition = speculatedClusterModel.partition(tp);
+      if (!replicaPlacement(partition).equals(replicaPlacement(speculatedPartition))
+          || partition.leader().broker().id() != speculatedPartition.leader().broker().id()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Apply the given inter-broker replica or leadership movement to the given cluster model if it is legit and acceptable
+   * by the given optimized goals.
+   *
+   * @param tp Topic partition of the action.
+   * @param sourceBrokerId Source broker id.
+   * @param destinationBrokerId Destination broker id.
+   * @param actionType Either {@link ActionType#INTER_BROKER_REPLICA_MOVEMENT} or {@link ActionType#LEADERSHIP_MOVEMENT}.
+   * @param clusterModel The state of the cluster.
+   * @param optimizedGoals Optimized goals.
+   * @param optimizationOptions Optimization options.
+   * @return {@code true} if the action has been applied, {@code false} otherwise.
+   */
+  private static boolean maybeMergeAction(TopicPartition tp,
+                                          int sourceBrokerId,
+                                          int destinationBrokerId,
+                                          ActionType actionType,
+                                          ClusterModel clusterModel,
+                                          Set<Goal> optimizedGoals,
+                                          OptimizationOptions optimizationOptions) {
+    Broker sourceBroker = clusterModel.broker(sourceBrokerId);
+    Broker destinationBroker = clusterModel.broker(destinationBrokerId);
+    Replica replica = sourceBroker == null ? null : sourceBroker.replica(tp);
+    if (replica == null || destinationBroker == null || !destinationBroker.isAlive()
+        || !GoalUtils.legitMove(replica, destinationBroker, clusterModel, actionType)) {
+      return false;
+    }
+    Set<Integer> excludedBrokers = actionType == ActionType.LEADERSHIP_MOVEMENT ? optimizationOptions.excludedBrokersForLeadership()
+                                                                               : optimizationOptions.excludedBrokersForReplicaMove();
+    if (excludedBrokers.contains(destinationBrokerId)) {
+      return false;
+    }
+    BalancingAction action = new BalancingAction(tp, sourceBrokerId, destinationBrokerId, actionType);
+    if (AnalyzerUtils.isProposalAcceptableForOptimizedGoals(optimizedGoals, action, clusterModel) != ActionAcceptance.ACCEPT) {
+      return false;
+    }
+    if (actionType == ActionType.LEADERSHIP_MOVEMENT) {
+      clusterModel.relocateLeadership(tp, sourceBrokerId, destinationBrokerId);
+    } else {
+      clusterModel.relocateReplica(tp, sourceBrokerId, destinationBrokerId);
+    }
+    return true;
+  }
+
+  // Apply the target placement of each given proposal, whose partition still has the initial placement of the proposal. A target
+  // placement is skipped if it is no longer feasible -- e.g. it involves a dead or excluded broker, or if any inter-broker replica
+  // or leadership movement to reach it is not acceptable by the given optimized goals. Replicas keep the logdirs of the target
+  // placement as long as the corresponding disks are alive.
+  private static int applyWarmStartProposals(ClusterModel clusterModel,
+                                             Set<ExecutionProposal> warmStartProposals,
+                                             Set<Goal> optimizedGoals,
+                                             OptimizationOptions optimizationOptions) {
+    int numAppliedProposals = 0;
+    for (ExecutionProposal proposal : warmStartProposals) {
+      TopicPartition tp = proposal.topicPartition();
+      Partition partition = clusterModel.partition(tp);
+      if (partition == null || optimizationOptions.excludedTopics().contains(tp.topic())) {
+        continue;
+      }
+      List<ReplicaPlacementInfo> currentPlacement = replicaPlacement(partition);
+      List<Integer> currentBrokerIds = brokerIds(currentPlacement);
+      int currentLeaderBrokerId = partition.leader().broker().id();
+      if (!currentBrokerIds.equals(brokerIds(proposal.oldReplicas())) || currentLeaderBrokerId != proposal.oldLeader().brokerId()) {
+        continue;
+      }
+      List<Integer> newBrokerIds = brokerIds(proposal.newReplicas());
+      List<Integer> sourceBrokerIds = new ArrayList<>(currentBrokerIds);
+      sourceBrokerIds.removeAll(newBrokerIds);
+      List<Integer> destinationBrokerIds = new ArrayList<>(newBrokerIds);
+      destinationBrokerIds.removeAll(currentBrokerIds);
+      boolean isAccepted = sourceBrokerIds.size() == destinationBrokerIds.size();
+      for (int i = 0; isAccepted && i < sourceBrokerIds.size(); i++) {
+        isAccepted = maybeMergeAction(tp, sourceBrokerIds.get(i), destinationBrokerIds.get(i), ActionType.INTER_BROKER_REPLICA_MOVEMENT,
+                                      clusterModel, optimizedGoals, optimizationOptions);
+      }
+      // Leadership travels with the relocated leader replica.
+      int leaderBrokerId = partition.leader().broker().id();
+      int newLeaderBrokerId = proposal.newLeader().brokerId();
+      if (isAccepted && newLeaderBrokerId != leaderBrokerId) {
+        isAccepted = maybeMergeAction(tp, leaderBrokerId, newLeaderBrokerId, ActionType.LEADERSHIP_MOVEMENT,
+                                      clusterModel, optimizedGoals, optimizationOptions);
+      }
+      if (!isAccepted) {
+        // Undo the movements applied so far.
+        clusterModel.relocatePartition(tp, currentPlacement, currentLeaderBrokerId);
+        continue;
+      }
+      // Move replicas to the logdirs of the target placement, and restore the order of replicas.
+      List<ReplicaPlacementInfo> targetPlacement = new ArrayList<>(newBrokerIds.size());
+      for (ReplicaPlacementInfo placementInfo : proposal.newReplicas()) {
+        Disk disk = placementInfo.logdir() == null ? null : clusterModel.broker(placementInfo.brokerId()).disk(placementInfo.logdir());
+        targetPlacement.add(disk != null && disk.isAlive() ? placementInfo : new ReplicaPlacementInfo(placementInfo.brokerId()));
+      }
+      clusterModel.relocatePartition(tp, targetPlacement, newLeaderBrokerId);
+      numAppliedProposals++;
+    }
+    return numAppliedProposals;
+  }
+
+  private static List<Integer> brokerIds(List<ReplicaPlacementInfo> replicas) {
+    List<Integer> brokerIds = new ArrayList<>(replicas.size());
+    replicas.forEach(r -> brokerIds.add(r.brokerId()));
+    return brokerIds;
+  }
+
   /**
    * Get set of excluded topics in the given cluster model.
    *
@@ -536,6 +1211,7 @@ public class GoalOptimizer implements Runnable {
   private void clearCachedProposal(Exception e) {
     synchronized (_cacheLock) {
       _cachedProposals = null;
+      _cachedProposalsByGoalList.clear();
       _progressUpdateLock.set(false);
       _proposalPrecomputingProgress.clear();
       _proposalGenerationException.set(e);
@@ -543,6 +1219,10 @@ public class GoalOptimizer implements Runnable {
   }
 
   private void clearCachedProposal() {
+    OptimizerResult invalidatedProposals = _cachedProposals;
+    if (_warmStartOnProposalPrecompute && invalidatedProposals != null) {
+      _warmStartProposals = invalidatedProposals.goalProposals();
+    }
     clearCachedProposal(null);
   }
 
@@ -572,7 +1252,13 @@ public class GoalOptimizer implements Runnable {
                                                      ? _defaultModelCompletenessRequirements : _requirementsWithAvailableValidWindows;
         ClusterModel clusterModel = _loadMonitor.clusterModel(_time.milliseconds(), requirements, _allowCapacityEstimation, operationProgress);
         if (!clusterModel.topics().isEmpty()) {
-          OptimizerResult result = optimizations(clusterModel, _goalsByPriority, operationProgress);
+          if (_numPrecomputingThreads > 0) {
+            startPrecomputingGoalLists(clusterModel, requirements);
+          }
+          Set<ExecutionProposal> warmStartProposals = _warmStartProposals;
+          OptimizerResult result = warmStartProposals == null
+                                   ? optimizations(clusterModel, _goalsByPriority, operationProgress)
+                                   : warmStartOptimizations(clusterModel, _goalsByPriority, warmStartProposals, operationProgress);
           LOG.debug("Generated a proposal candidate in {} ms.", _time.milliseconds() - startMs);
           updateCachedProposals(result);
         } else {
@@ -587,6 +1273,37 @@ public class GoalOptimizer implements Runnable {
       }
     }
 
+    // Precompute the proposals of each additional goal list over a fork of the given cluster model before it is optimized for
+    // the default goals. Goal lists are precomputed concurrently, as long as there are available precomputing threads. The
+    // proposals are cached along with the given requirements that the cluster model is built with.
+    private void startPrecomputingGoalLists(ClusterModel clusterModel, ModelCompletenessRequirements requirements) {
+      for (Map.Entry<List<String>, List<Goal>> entry : _goalsByPrecomputedGoalList.entrySet()) {
+        List<String> goalList = entry.getKey();
+        // Skip the goal list if its goals are still being optimized for an earlier cluster model.
+        if (_ongoingGoalListPrecomputations.add(goalList)) {
+          ClusterModel fork = clusterModel.fork();
+          _proposalPrecomputingExecutor.submit(() -> precomputeGoalList(goalList, entry.getValue(), fork, requirements));
+        }
+      }
+    }
+
+    private void precomputeGoalList(List<String> goalList,
+                                    List<Goal> goals,
+                                    ClusterModel clusterModel,
+                                    ModelCompletenessRequirements requirements) {
+      try {
+        long startMs = _time.milliseconds();
+        OptimizerResult result = optimizations(clusterModel, goals, new OperationProgress());
+        LOG.debug("Generated a proposal candidate for goals {} in {} ms.", goalList, _time.milliseconds() - startMs);
+        _cachedProposalsByGoalList.put(goalList, new PrecomputedProposals(result, requirements));
+      } catch (Exception e) {
+        LOG.warn("Proposal precomputation for goals {} encountered error", goalList, e);
+        _cachedProposalsByGoalList.remove(goalList);
+      } finally {
+        _ongoingGoalListPrecomputations.remove(goalList);
+      }
+    }
+
     private void exceptionHandler(Exception e) {
       clearCachedProposal(e);
       synchronized (_cacheLock) {
@@ -597,4 +1314,65 @@ public class GoalOptimizer implements Runnable {
     }
 
   }
+
+  /**
+   * Precomputed proposals of a goal list along with the model completeness requirements of the cluster model that they are
+   * computed over.
+   */
+  private static final class PrecomputedProposals {
+    private final OptimizerResult _result;
+    private final ModelCompletenessRequirements _requirements;
+
+    PrecomputedProposals(OptimizerResult result, ModelCompletenessRequirements requirements) {
+      _result = result;
+      _requirements = requirements;
+    }
+
+    OptimizerResult result() {
+      return _result;
+    }
+
+    ModelCompletenessRequirements requirements() {
+      return _requirements;
+    }
+  }
+
+  /**
+   * A speculative optimization of a goal over a fork of the cluster model, along with a journal of the placement changes in
+   * the cluster model since the speculation started.
+   */
+  private static final class SpeculativeOptimization {
+    private final Goal _goal;
+    private final Future<Boolean> _succeeded;
+    private final PlacementJournal _speculationJournal;
+    private final PlacementJournal _baseJournal;
+
+    SpeculativeOptimization(Goal goal, Future<Boolean> succeeded, PlacementJournal speculationJournal, PlacementJournal baseJournal) {
+      _goal = goal;
+      _succeeded = succeeded;
+      _speculationJournal = speculationJournal;
+      _baseJournal = baseJournal;
+    }
+
+    Goal goal() {
+      return _goal;
+    }
+
+    Future<Boolean> succeeded() {
+      return _succeeded;
+    }
+
+    PlacementJournal speculationJournal() {
+      return _speculationJournal;
+    }
+
+    PlacementJournal baseJournal() {
+      return _baseJournal;
+    }
+
+    void cancel(ClusterModel clusterModel) {
+      _succeeded.cancel(true);
+      clusterModel.stopPlacementJournal(_baseJournal);
+    }
+  }
 }
@@ -14,6 +14,8 @@ import static com.linkedin.cruisecontrol.common.utils.Utils.validateNotNull;
  * A class to indicate options intended to be used during optimization of goals.
  */
 public class OptimizationOptions {
+  public static final long NO_DEADLINE_MS = Long.MAX_VALUE;
+  public static final long NO_TIMEOUT_MS = Long.MAX_VALUE;
   private final Set<String> _excludedTopics;
   private final Set<Integer> _excludedBrokersForLeadership;
   private final Set<Integer> _excludedBrokersForReplicaMove;
@@ -21,6 +23,9 @@ public class OptimizationOptions {
   private final Set<Integer> _requestedDestinationBrokerIds;
   private final boolean _onlyMoveImmigrantReplicas;
   private final boolean _fastMode;
+  private final long _optimizationDeadlineMs;
+  private final long _goalOptimizationTimeoutMs;
+  private final Long _brokerOrderSeed;
 
   /**
    * Default value for {@link #_isTriggeredByGoalViolation} is false.
@@ -67,7 +72,8 @@ public class OptimizationOptions {
   }
 
   /**
-   * The optimization options intended to be used during optimization of goals.
+   * Default value for {@link #_optimizationDeadlineMs} is {@link #NO_DEADLINE_MS} and for {@link #_goalOptimizationTimeoutMs}
+   * is {@link #NO_TIMEOUT_MS}.
    */
   public OptimizationOptions(Set<String> excludedTopics,
                              Set<Integer> excludedBrokersForLeadership,
@@ -76,6 +82,52 @@ public class OptimizationOptions {
                              Set<Integer> requestedDestinationBrokerIds,
                              boolean onlyMoveImmigrantReplicas,
                              boolean fastMode) {
+    this(excludedTopics, excludedBrokersForLeadership, excludedBrokersForReplicaMove, isTriggeredByGoalViolation,
+         requestedDestinationBrokerIds, onlyMoveImmigrantReplicas, fastMode, NO_DEADLINE_MS, NO_TIMEOUT_MS);
+  }
+
+  /**
+   * The optimization options intended to be used during optimization of goals.
+   * A soft goal that runs out of its optimization time -- i.e. hits the earlier of the optimization deadline and the goal
+   * optimization timeout -- stops its optimization with the best state of the cluster that it could reach, and is
+   * reported as partially optimized. A hard goal that runs out of its optimization time fails the optimization.
+   *
+   * @param excludedTopics Excluded topics.
+   * @param excludedBrokersForLeadership Excluded brokers for leadership transfer.
+   * @param excludedBrokersForReplicaMove Excluded brokers for replica moves.
+   * @param isTriggeredByGoalViolation {@code true} if the optimization request was triggered by goal violation.
+   * @param requestedDestinationBrokerIds Requested destination broker ids (empty for no explicit filter).
+   * @param onlyMoveImmigrantReplicas {@code true} if the optimization will apply only to immigrant replicas.
+   * @param fastMode {@code true} to compute proposals in fast mode.
+   * @param optimizationDeadlineMs The time (epoch ms) by which the optimization of all goals must end, or {@link #NO_DEADLINE_MS}.
+   * @param goalOptimizationTimeoutMs The maximum time to spend on the optimization of each goal, or {@link #NO_TIMEOUT_MS}.
+   */
+  public OptimizationOptions(Set<String> excludedTopics,
+                             Set<Integer> excludedBrokersForLeadership,
+                             Set<Integer> excludedBrokersForReplicaMove,
+                             boolean isTriggeredByGoalViolation,
+                             Set<Integer> requestedDestinationBrokerIds,
+                             boolean onlyMoveImmigrantReplicas,
+                             boolean fastMode,
+                             long optimizationDeadlineMs,
+                             long goalOptimizationTimeoutMs) {
+    this(excludedTopics, excludedBrokersForLeadership, excludedBrokersForReplicaMove, isTriggeredByGoalViolation,
+         requestedDestinationBrokerIds, onlyMoveImmigrantReplicas, fastMode, optimizationDeadlineMs, goalOptimizationTimeoutMs, null);
+  }
+
+  private OptimizationOptions(Set<String> excludedTopics,
+                              Set<Integer> excludedBrokersForLeadership,
+                              Set<Integer> excludedBrokersForReplicaMove,
+                              boolean isTriggeredByGoalViolation,
+                              Set<Integer> requestedDestinationBrokerIds,
+                              boolean onlyMoveImmigrantReplicas,
+                              boolean fastMode,
+                              long optimizationDeadlineMs,
+                              long goalOptimizationTimeoutMs,
+                              Long brokerOrderSeed) {
+    if (goalOptimizationTimeoutMs < 0) {
+      throw new IllegalArgumentException("Goal optimization timeout cannot be negative (requested: " + goalOptimizationTimeoutMs + ").");
+    }
     _excludedTopics = validateNotNull(excludedTopics, "Excluded topics cannot be null.");
     _excludedBrokersForLeadership = validateNotNull(excludedBrokersForLeadership, "Excluded brokers for leadership cannot be null.");
     _excludedBrokersForReplicaMove = validateNotNull(excludedBrokersForReplicaMove, "Excluded brokers for replica move cannot be null.");
@@ -83,6 +135,22 @@ public class OptimizationOptions {
     _requestedDestinationBrokerIds = validateNotNull(requestedDestinationBrokerIds, "Requested destination broker ids cannot be null.");
     _onlyMoveImmigrantReplicas = onlyMoveImmigrantReplicas;
     _fastMode = fastMode;
+    _optimizationDeadlineMs = optimizationDeadlineMs;
+    _goalOptimizationTimeoutMs = goalOptimizationTimeoutMs;
+    _brokerOrderSeed = brokerOrderSeed;
+  }
+
+  /**
+   * Get a copy of these optimization options, with which goals go over the brokers to balance in a random order generated
+   * from the given seed rather than in the order determined by each goal.
+   *
+   * @param brokerOrderSeed The seed of the random order of brokers to balance.
+   * @return A copy of these optimization options with the given seed of the random order of brokers to balance.
+   */
+  public OptimizationOptions withBrokerOrderSeed(long brokerOrderSeed) {
+    return new OptimizationOptions(_excludedTopics, _excludedBrokersForLeadership, _excludedBrokersForReplicaMove,
+                                   _isTriggeredByGoalViolation, _requestedDestinationBrokerIds, _onlyMoveImmigrantReplicas, _fastMode,
+                                   _optimizationDeadlineMs, _goalOptimizationTimeoutMs, brokerOrderSeed);
   }
 
   /**
@@ -134,11 +202,45 @@ public class OptimizationOptions {
     return _fastMode;
   }
 
+  /**
+   * @return The time (epoch ms) by which the optimization of all goals must end, or {@link #NO_DEADLINE_MS} if there is no deadline.
+   */
+  public long optimizationDeadlineMs() {
+    return _optimizationDeadlineMs;
+  }
+
+  /**
+   * @return The maximum time to spend on the optimization of each goal, or {@link #NO_TIMEOUT_MS} if there is no timeout.
+   */
+  public long goalOptimizationTimeoutMs() {
+    return _goalOptimizationTimeoutMs;
+  }
+
+  /**
+   * @param goalOptimizationStartMs The time (epoch ms) at which the optimization of a goal has started.
+   * @return The time (epoch ms) by which the optimization of the goal must end, or {@link #NO_DEADLINE_MS} if there is no deadline.
+   */
+  public long goalOptimizationDeadlineMs(long goalOptimizationStartMs) {
+    long goalDeadlineMs = _goalOptimizationTimeoutMs == NO_TIMEOUT_MS || goalOptimizationStartMs > NO_DEADLINE_MS - _goalOptimizationTimeoutMs
+                          ? NO_DEADLINE_MS : goalOptimizationStartMs + _goalOptimizationTimeoutMs;
+    return Math.min(goalDeadlineMs, _optimizationDeadlineMs);
+  }
+
+  /**
+   * @return The seed of the random order of brokers to balance, or {@code null} if goals go over the brokers to balance in the
+   * order determined by each goal.
+   */
+  public Long brokerOrderSeed() {
+    return _brokerOrderSeed;
+  }
+
   @Override
   public String toString() {
     return String.format("[excludedTopics=%s,excludedBrokersForLeadership=%s,excludedBrokersForReplicaMove=%s,"
-                         + "isTriggeredByGoalViolation=%s,requestedDestinationBrokerIds=%s,onlyMoveImmigrantReplicas=%s,fastMode=%s]",
+                         + "isTriggeredByGoalViolation=%s,requestedDestinationBrokerIds=%s,onlyMoveImmigrantReplicas=%s,fastMode=%s,"
+                         + "optimizationDeadlineMs=%d,goalOptimizationTimeoutMs=%d,brokerOrderSeed=%s]",
                          _excludedTopics, _excludedBrokersForLeadership, _excludedBrokersForReplicaMove, _isTriggeredByGoalViolation,
-                         _requestedDestinationBrokerIds, _onlyMoveImmigrantReplicas, _fastMode);
+                         _requestedDestinationBrokerIds, _onlyMoveImmigrantReplicas, _fastMode, _optimizationDeadlineMs,
+                         _goalOptimizationTimeoutMs, _brokerOrderSeed);
   }
 }
@@ -60,6 +60,8 @@ public class OptimizerResult {
   private static final String PROVISION_STATUS = "provisionStatus";
   @JsonResponseField
   private static final String PROVISION_RECOMMENDATION = "provisionRecommendation";
+  @JsonResponseField
+  private static final String PARTIALLY_OPTIMIZED_GOALS = "partiallyOptimizedGoals";
   private static final String VIOLATED = "VIOLATED";
   private static final String FIXED = "FIXED";
   private static final String NO_ACTION = "NO-ACTION";
@@ -77,6 +79,8 @@ public class OptimizerResult {
   private final double _onDemandBalancednessScoreBefore;
   private final double _onDemandBalancednessScoreAfter;
   private final Map<String, Duration> _optimizationDurationByGoal;
+  private final Set<String> _partiallyOptimizedGoalNames;
+  private final Map<String, GoalOptimizationProfile> _optimizationProfileByGoal;
   private final ProvisionResponse _provisionResponse;
 
   OptimizerResult(LinkedHashMap<Goal, ClusterModelStats> statsByGoalPriority,
@@ -88,6 +92,8 @@ public class OptimizerResult {
                   OptimizationOptions optimizationOptions,
                   Map<String, Double> balancednessCostByGoal,
                   Map<String, Duration> optimizationDurationByGoal,
+                  Set<String> partiallyOptimizedGoalNames,
+                  Map<String, GoalOptimizationProfile> optimizationProfileByGoal,
                   ProvisionResponse provisionResponse) {
     validateNotNull(statsByGoalPriority, "The stats by goal priority cannot be null.");
     validateNotNull(optimizationDurationByGoal, "The optimization duration by goal priority cannot be null.");
@@ -117,6 +123,8 @@ public class OptimizerResult {
     _onDemandBalancednessScoreBefore = onDemandBalancednessScore(balancednessCostByGoal, _violatedGoalNamesBeforeOptimization);
     _onDemandBalancednessScoreAfter = onDemandBalancednessScore(balancednessCostByGoal, _violatedGoalNamesAfterOptimization);
     _optimizationDurationByGoal = optimizationDurationByGoal;
+    _partiallyOptimizedGoalNames = partiallyOptimizedGoalNames;
+    _optimizationProfileByGoal = optimizationProfileByGoal;
     _provisionResponse = provisionResponse;
   }
 
@@ -216,6 +224,36 @@ public class OptimizerResult {
     return _optimizationDurationByGoal.get(goalName);
   }
 
+  /**
+   * @param goalName Name of the goal for which the optimization profile will be retrieved.
+   * @return The profile of the optimization of the given goal, or {@code null} if the goal does not profile its optimization or
+   * is not present in the optimized goals in this optimizer result.
+   */
+  public GoalOptimizationProfile optimizationProfile(String goalName) {
+    return _optimizationProfileByGoal.get(goalName);
+  }
+
+  /**
+   * @return Names of the goals that ran out of their optimization time and stopped with the best state reached so far.
+   */
+  public Set<String> partiallyOptimizedGoals() {
+    return Collections.unmodifiableSet(_partiallyOptimizedGoalNames);
+  }
+
+  /**
+   * @return {@code true} if the optimization of any goal ran out of its optimization time, {@code false} otherwise.
+   */
+  public boolean isPartiallyOptimized() {
+    return !_partiallyOptimizedGoalNames.isEmpty();
+  }
+
+  /**
+   * @return The on-demand balancedness score of the cluster after the optimization.
+   */
+  public double onDemandBalancednessScoreAfter() {
+    return _onDemandBalancednessScoreAfter;
+  }
+
   /**
    * @return The excluded topics in the optimization options.
    */
@@ -286,13 +324,14 @@ public class OptimizerResult {
     return String.format("%n%nOptimization has %d inter-broker replica(%d MB) moves, %d intra-broker replica(%d MB) moves"
                          + " and %d leadership moves with a cluster model of %d recent windows and %.3f%% of the partitions"
                          + " covered.%nExcluded Topics: %s.%nExcluded Brokers For Leadership: %s.%nExcluded Brokers For "
-                         + "Replica Move: %s.%nCounts: %s%nOn-demand Balancedness Score Before (%.3f) After(%.3f).%nProvision Status: %s.%s",
+                         + "Replica Move: %s.%nCounts: %s%nOn-demand Balancedness Score Before (%.3f) After(%.3f).%nProvision Status: %s.%s%s",
                          moveStats.get(0).intValue(), moveStats.get(1).longValue(), moveStats.get(2).intValue(),
                          moveStats.get(3).longValue(), moveStats.get(4).intValue(), _clusterModelStats.numWindows(),
                          _clusterModelStats.monitoredPartitionsPercentage(), excludedTopics(),
                          excludedBrokersForLeadership(), excludedBrokersForReplicaMove(), _clusterModelStats.toStringCounts(),
                          _onDemandBalancednessScoreBefore, _onDemandBalancednessScoreAfter, _provisionResponse.status(),
-                         recommendation.isEmpty() ? "" : String.format("%nProvision Recommendation: %s", recommendation));
+                         recommendation.isEmpty() ? "" : String.format("%nProvision Recommendation: %s", recommendation),
+                         isPartiallyOptimized() ? String.format("%nPartially Optimized Goals: %s.", _partiallyOptimizedGoalNames) : "");
   }
 
   /**
@@ -315,6 +354,7 @@ public class OptimizerResult {
     ret.put(ON_DEMAND_BALANCEDNESS_SCORE_AFTER, _onDemandBalancednessScoreAfter);
     ret.put(PROVISION_STATUS, _provisionResponse.status());
     ret.put(PROVISION_RECOMMENDATION, _provisionResponse.recommendation());
+    ret.put(PARTIALLY_OPTIMIZED_GOALS, partiallyOptimizedGoals());
     return ret;
   }
 }
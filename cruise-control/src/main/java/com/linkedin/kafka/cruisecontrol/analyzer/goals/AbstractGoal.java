@@ -7,12 +7,13 @@ package com.linkedin.kafka.cruisecontrol.analyzer.goals;
 
 import com.linkedin.kafka.cruisecontrol.analyzer.OptimizationOptions;
 import com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptance;
-import com.linkedin.kafka.cruisecontrol.analyzer.AnalyzerUtils;
 import com.linkedin.kafka.cruisecontrol.analyzer.BalancingConstraint;
 import com.linkedin.kafka.cruisecontrol.analyzer.BalancingAction;
+import com.linkedin.kafka.cruisecontrol.analyzer.GoalOptimizationProfile;
 import com.linkedin.kafka.cruisecontrol.analyzer.ActionType;
 import com.linkedin.kafka.cruisecontrol.analyzer.ProvisionResponse;
 import com.linkedin.kafka.cruisecontrol.analyzer.ProvisionStatus;
+import com.linkedin.kafka.cruisecontrol.common.Resource;
 import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig;
 import com.linkedin.kafka.cruisecontrol.exception.OptimizationFailureException;
@@ -21,13 +22,20 @@ import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModelStats;
 import com.linkedin.kafka.cruisecontrol.model.Disk;
 import com.linkedin.kafka.cruisecontrol.model.Replica;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 import java.util.SortedSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.Collection;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptance.ACCEPT;
 import static com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptance.BROKER_REJECT;
@@ -50,6 +58,13 @@ public abstract class AbstractGoal implements Goal {
   protected int _numWindows;
   protected double _minMonitoredPartitionPercentage;
   protected ProvisionResponse _provisionResponse;
+  private boolean _partiallyOptimized;
+  private GoalOptimizationProfile _optimizationProfile;
+  // Buffer reused across the evaluation of candidate actions to avoid creating garbage for each candidate.
+  private final List<Broker> _eligibleBrokers;
+  // Rejections of candidate actions by the optimized goals whose acceptance is determined by the source and destination brokers,
+  // by the pair of brokers and by action type. It only contains the action types for which such an optimized goal exists.
+  private Map<ActionType, Map<Long, BrokerPairRejection>> _brokerPairRejectionsByActionType;
 
   /**
    * Constructor of Abstract Goal class sets the
@@ -63,6 +78,10 @@ public abstract class AbstractGoal implements Goal {
     _finished = false;
     _succeeded = true;
     _provisionResponse = new ProvisionResponse(UNDECIDED);
+    _partiallyOptimized = false;
+    _optimizationProfile = new GoalOptimizationProfile(Collections.emptyList());
+    _eligibleBrokers = new ArrayList<>();
+    _brokerPairRejectionsByActionType = Collections.emptyMap();
   }
 
   @Override
@@ -73,6 +92,13 @@ public abstract class AbstractGoal implements Goal {
     _minMonitoredPartitionPercentage = parsedConfig.getDouble(MonitorConfig.MIN_VALID_PARTITION_RATIO_CONFIG);
   }
 
+  private ClusterModelStats clusterStats(ClusterModel clusterModel, OptimizationOptions optimizationOptions) {
+    long startNs = System.nanoTime();
+    ClusterModelStats clusterModelStats = clusterModel.getClusterStats(_balancingConstraint, optimizationOptions);
+    _optimizationProfile.recordClusterStatsTime(System.nanoTime() - startNs);
+    return clusterModelStats;
+  }
+
   private static boolean hasExcludedBrokersForReplicaMoveWithReplicas(ClusterModel clusterModel, OptimizationOptions optimizationOptions) {
     Set<Integer> excludedBrokers = optimizationOptions.excludedBrokersForReplicaMove();
     return clusterModel.aliveBrokers().stream().anyMatch(broker -> excludedBrokers.contains(broker.id()) && !broker.replicas().isEmpty());
@@ -83,32 +109,57 @@ public abstract class AbstractGoal implements Goal {
       throws OptimizationFailureException {
     try {
       _succeeded = true;
+      _partiallyOptimized = false;
+      // The acceptance of the candidate actions by the optimized goals is recorded by the position of the optimized goal.
+      _optimizationProfile = new GoalOptimizationProfile(optimizedGoals.stream().map(Goal::name).collect(Collectors.toList()));
+      _brokerPairRejectionsByActionType = brokerPairRejectionsByActionType(optimizedGoals);
       // Resetting the provision response ensures fresh provision response if the same goal is optimized multiple times.
       _provisionResponse = new ProvisionResponse(UNDECIDED);
       LOG.debug("Starting optimization for {}.", name());
       // Initialize pre-optimized stats.
-      ClusterModelStats statsBeforeOptimization = clusterModel.getClusterStats(_balancingConstraint, optimizationOptions);
+      ClusterModelStats statsBeforeOptimization = clusterStats(clusterModel, optimizationOptions);
       LOG.trace("[PRE - {}] {}", name(), statsBeforeOptimization);
       _finished = false;
       long goalStartTime = System.currentTimeMillis();
+      long goalDeadlineMs = optimizationOptions.goalOptimizationDeadlineMs(goalStartTime);
       initGoalState(clusterModel, optimizationOptions);
+      rebalanceBeforeBrokerPasses(clusterModel, optimizedGoals, optimizationOptions);
+      Random brokerOrderRandom = optimizationOptions.brokerOrderSeed() == null
+                                 ? null : new Random(optimizationOptions.brokerOrderSeed() ^ name().hashCode());
       SortedSet<Broker> brokenBrokers = clusterModel.brokenBrokers();
       boolean originallyHasExcludedBrokersForReplicaMoveWithReplicas = hasExcludedBrokersForReplicaMoveWithReplicas(clusterModel,
                                                                                                                     optimizationOptions);
       while (!_finished) {
-        for (Broker broker : brokersToBalance(clusterModel)) {
+        for (Broker broker : orderedBrokersToBalance(clusterModel, brokerOrderRandom)) {
+          if (System.currentTimeMillis() >= goalDeadlineMs) {
+            _partiallyOptimized = true;
+            break;
+          }
           rebalanceForBroker(broker, clusterModel, optimizedGoals, optimizationOptions);
         }
+        if (_partiallyOptimized) {
+          long goalDurationMs = System.currentTimeMillis() - goalStartTime;
+          if (isHardGoal()) {
+            // A partially optimized hard goal would let the proposals violate a hard constraint.
+            throw new OptimizationFailureException(String.format("[%s] Ran out of optimization time after %dms.", name(), goalDurationMs));
+          }
+          // Stop with the best state reached so far. The goal state is not updated, because the round is incomplete.
+          LOG.warn("Stopped optimization for {} after {}ms upon running out of optimization time.", name(), goalDurationMs);
+          _succeeded = false;
+          finish();
+          break;
+        }
         updateGoalState(clusterModel, optimizationOptions);
       }
-      ClusterModelStats statsAfterOptimization = clusterModel.getClusterStats(_balancingConstraint, optimizationOptions);
+      ClusterModelStats statsAfterOptimization = clusterStats(clusterModel, optimizationOptions);
       LOG.trace("[POST - {}] {}", name(), statsAfterOptimization);
       if (LOG.isDebugEnabled()) {
         LOG.debug("Finished optimization for {} in {}ms.", name(), System.currentTimeMillis() - goalStartTime);
       }
       LOG.trace("Cluster after optimization is {}", clusterModel);
-      // The optimization cannot make stats worse unless the cluster has (1) broken brokers or (2) excluded brokers for replica move with replicas.
-      if (brokenBrokers.isEmpty() && !originallyHasExcludedBrokersForReplicaMoveWithReplicas) {
+      // The optimization cannot make stats worse unless the cluster has (1) broken brokers or (2) excluded brokers for replica move with
+      // replicas. Stats of a partially optimized goal are not comparable, as the optimization may stop amid a round.
+      if (brokenBrokers.isEmpty() && !originallyHasExcludedBrokersForReplicaMoveWithReplicas && !_partiallyOptimized) {
         ClusterModelStatsComparator comparator = clusterModelStatsComparator();
         // Throw exception when the stats before optimization is preferred.
         if (comparator.compare(statsAfterOptimization, statsBeforeOptimization) < 0) {
@@ -123,7 +174,10 @@ public abstract class AbstractGoal implements Goal {
       }
       return _succeeded;
     } catch (OptimizationFailureException ofe) {
-      _provisionResponse = new ProvisionResponse(UNDER_PROVISIONED, ofe.provisionRecommendation(), name());
+      // Running out of optimization time does not indicate that the cluster is under provisioned.
+      if (!_partiallyOptimized) {
+        _provisionResponse = new ProvisionResponse(UNDER_PROVISIONED, ofe.provisionRecommendation(), name());
+      }
       // Mitigation (if relevant) is reported as part of exception message to provide helpful tips concerning the used optimizationOptions.
       String mitigation = GoalUtils.mitigationForOptimizationFailures(optimizationOptions);
       String message = String.format("%s%s", ofe.getMessage(), mitigation.isEmpty() ? "" : String.format(" || Tips: %s", mitigation));
@@ -152,6 +206,21 @@ public abstract class AbstractGoal implements Goal {
     return _provisionResponse;
   }
 
+  @Override
+  public boolean isPartiallyOptimized() {
+    return _partiallyOptimized;
+  }
+
+  // The brokers to balance in the order determined by the goal, or in a random order if a random generator is given.
+  private Collection<Broker> orderedBrokersToBalance(ClusterModel clusterModel, Random brokerOrderRandom) {
+    if (brokerOrderRandom == null) {
+      return brokersToBalance(clusterModel);
+    }
+    List<Broker> brokersToBalance = new ArrayList<>(brokersToBalance(clusterModel));
+    Collections.shuffle(brokersToBalance, brokerOrderRandom);
+    return brokersToBalance;
+  }
+
   /**
    * Get sorted brokers that the rebalance process will go over to apply balancing actions to replicas they contain.
    *
@@ -192,6 +261,18 @@ public abstract class AbstractGoal implements Goal {
   protected abstract void updateGoalState(ClusterModel clusterModel, OptimizationOptions optimizationOptions)
       throws OptimizationFailureException;
 
+  /**
+   * Apply balancing actions that precede the passes over brokers to balance -- e.g. actions planned for the whole cluster
+   * at once. The passes over brokers to balance then take care of what remains. By default, there is no such action.
+   *
+   * @param clusterModel   The state of the cluster.
+   * @param optimizedGoals Optimized goals.
+   * @param optimizationOptions Options to take into account during optimization.
+   */
+  protected void rebalanceBeforeBrokerPasses(ClusterModel clusterModel, Set<Goal> optimizedGoals, OptimizationOptions optimizationOptions)
+      throws OptimizationFailureException {
+  }
+
   /**
    * Rebalance the given broker without violating the constraints of the current goal and optimized goals.
    *
@@ -233,25 +314,39 @@ public abstract class AbstractGoal implements Goal {
       //return null;
       LOG.trace("Applying {} to an online replica in in self-healing mode.", action);
     }
-    List<Broker> eligibleBrokers = eligibleBrokers(clusterModel, replica, candidateBrokers, action, optimizationOptions);
-    for (Broker broker : eligibleBrokers) {
-      BalancingAction proposal = new BalancingAction(replica.topicPartition(), replica.broker().id(), broker.id(), action);
+    eligibleBrokers(clusterModel, replica, candidateBrokers, action, optimizationOptions, _eligibleBrokers);
+    if (action == ActionType.INTER_BROKER_REPLICA_MOVEMENT && !replica.isCurrentOffline() && !isHardGoal()
+        && _balancingConstraint.dataToMoveBudgetMB() >= 0) {
+      sortByBalancednessGainPerMB(clusterModel, replica, _eligibleBrokers);
+    }
+    for (Broker broker : _eligibleBrokers) {
+      _optimizationProfile.recordCandidateBrokerExamined();
       // A replica should be moved if:
       // 0. The move is legit.
       // 1. The goal requirements are not violated if this action is applied to the given cluster state.
       // 2. The movement is acceptable by the previously optimized goals.
 
+      // The action is created once the cheaper checks pass, so that rejected candidates do not create garbage.
       if (!legitMove(replica, broker, clusterModel, action)) {
-        LOG.trace("Replica move to broker is not legit for {}.", proposal);
+        LOG.trace("{} of {} to broker {} is not legit.", action, replica, broker.id());
+        continue;
+      }
+
+      if (action == ActionType.INTER_BROKER_REPLICA_MOVEMENT && !replica.isCurrentOffline()
+          && exceedsDataToMoveBudget(clusterModel, interBrokerDataToMoveChange(replica, broker))) {
+        LOG.trace("{} of {} to broker {} exceeds the budget of inter-broker data to move.", action, replica, broker.id());
         continue;
       }
 
+      BalancingAction proposal = new BalancingAction(replica.topicPartition(), replica.broker().id(), broker.id(), action);
+
       if (!selfSatisfied(clusterModel, proposal)) {
+        _optimizationProfile.recordSelfSatisfiedFailure();
         LOG.trace("Unable to self-satisfy proposal {}.", proposal);
         continue;
       }
 
-      ActionAcceptance acceptance = AnalyzerUtils.isProposalAcceptableForOptimizedGoals(optimizedGoals, proposal, clusterModel);
+      ActionAcceptance acceptance = acceptanceByOptimizedGoals(optimizedGoals, proposal, clusterModel);
       LOG.trace("Trying to apply legit and self-satisfied action {}, actionAcceptance = {}", proposal, acceptance);
       if (acceptance == ACCEPT) {
         if (action == ActionType.LEADERSHIP_MOVEMENT) {
@@ -283,6 +378,16 @@ public abstract class AbstractGoal implements Goal {
                                SortedSet<Replica> candidateReplicas,
                                Set<Goal> optimizedGoals,
                                OptimizationOptions optimizationOptions) {
+    Replica swappedInReplica = applySwapAction(clusterModel, sourceReplica, candidateReplicas, optimizedGoals, optimizationOptions);
+    _optimizationProfile.recordSwapAttempt(swappedInReplica != null);
+    return swappedInReplica;
+  }
+
+  private Replica applySwapAction(ClusterModel clusterModel,
+                                  Replica sourceReplica,
+                                  SortedSet<Replica> candidateReplicas,
+                                  Set<Goal> optimizedGoals,
+                                  OptimizationOptions optimizationOptions) {
     SortedSet<Replica> eligibleReplicas = eligibleReplicasForSwap(clusterModel, sourceReplica, candidateReplicas, optimizationOptions);
     if (eligibleReplicas.isEmpty()) {
       return null;
@@ -291,31 +396,39 @@ public abstract class AbstractGoal implements Goal {
     Broker destinationBroker = eligibleReplicas.first().broker();
 
     for (Replica destinationReplica : eligibleReplicas) {
-      BalancingAction swapProposal = new BalancingAction(sourceReplica.topicPartition(),
-                                                         sourceReplica.broker().id(), destinationBroker.id(),
-                                                         ActionType.INTER_BROKER_REPLICA_SWAP, destinationReplica.topicPartition());
       // A sourceReplica should be swapped with a replicaToSwapWith if:
       // 0. The swap from source to destination is legit.
       // 1. The swap from destination to source is legit.
       // 2. The goal requirements are not violated if this action is applied to the given cluster state.
       // 3. The movement is acceptable by the previously optimized goals.
       if (!legitMove(sourceReplica, destinationBroker, clusterModel, ActionType.INTER_BROKER_REPLICA_MOVEMENT)) {
-        LOG.trace("Swap from source to destination broker is not legit for {}.", swapProposal);
+        LOG.trace("Swap of {} with {} from source to destination broker is not legit.", sourceReplica, destinationReplica);
         return null;
       }
 
       if (!legitMove(destinationReplica, sourceReplica.broker(), clusterModel, ActionType.INTER_BROKER_REPLICA_MOVEMENT)) {
-        LOG.trace("Swap from destination to source broker is not legit for {}.", swapProposal);
+        LOG.trace("Swap of {} with {} from destination to source broker is not legit.", sourceReplica, destinationReplica);
+        continue;
+      }
+
+      if (exceedsDataToMoveBudget(clusterModel, interBrokerDataToMoveChange(sourceReplica, destinationBroker)
+                                                + interBrokerDataToMoveChange(destinationReplica, sourceReplica.broker()))) {
+        LOG.trace("Swap of {} with {} exceeds the budget of inter-broker data to move.", sourceReplica, destinationReplica);
         continue;
       }
 
+      BalancingAction swapProposal = new BalancingAction(sourceReplica.topicPartition(), sourceReplica.broker().id(),
+                                                         destinationBroker.id(), ActionType.INTER_BROKER_REPLICA_SWAP,
+                                                         destinationReplica.topicPartition());
+
       // The current goal is expected to know whether a swap is doable between given brokers.
       if (!selfSatisfied(clusterModel, swapProposal)) {
+        _optimizationProfile.recordSelfSatisfiedFailure();
         // Unable to satisfy proposal for this eligible replica and the remaining eligible replicas in the list.
         LOG.trace("Unable to self-satisfy swap proposal {}.", swapProposal);
         return null;
       }
-      ActionAcceptance acceptance = AnalyzerUtils.isProposalAcceptableForOptimizedGoals(optimizedGoals, swapProposal, clusterModel);
+      ActionAcceptance acceptance = acceptanceByOptimizedGoals(optimizedGoals, swapProposal, clusterModel);
       LOG.trace("Trying to apply legit and self-satisfied swap {}, actionAcceptance = {}.", swapProposal, acceptance);
 
       if (acceptance == ACCEPT) {
@@ -331,6 +444,58 @@ public abstract class AbstractGoal implements Goal {
     return null;
   }
 
+  /**
+   * Get the balancedness gain of this goal from moving the given replica to the given destination broker -- i.e. the decrease
+   * in the sum of squared deviations of brokers in the distribution that this goal balances. Whenever the budget of
+   * inter-broker data to move is set (see {@link BalancingConstraint#dataToMoveBudgetMB()}), the destinations of a replica
+   * movement are attempted in descending order of this gain per MB of data to move.
+   *
+   * @param clusterModel The state of the cluster.
+   * @param replica Replica to move.
+   * @param destinationBroker Destination broker of the replica.
+   * @return The balancedness gain of this goal from the replica movement, or {@link Double#NaN} if this goal does not
+   * quantify the gain of a replica movement.
+   */
+  protected double replicaMovementBalancednessGain(ClusterModel clusterModel, Replica replica, Broker destinationBroker) {
+    return Double.NaN;
+  }
+
+  // Sort the given eligible destination brokers of the given replica in descending order of the balancedness gain of this goal
+  // per MB of inter-broker data to move. Destinations that do not add to the data to move -- e.g. the original broker of the
+  // replica -- come first in descending order of their gain. The sort is stable, hence destinations with the same gain per MB
+  // retain the order of the goal.
+  private void sortByBalancednessGainPerMB(ClusterModel clusterModel, Replica replica, List<Broker> eligibleBrokers) {
+    Map<Broker, Double> gainPerMBByBroker = new HashMap<>();
+    Map<Broker, Boolean> addsDataToMoveByBroker = new HashMap<>();
+    for (Broker broker : eligibleBrokers) {
+      double gain = replicaMovementBalancednessGain(clusterModel, replica, broker);
+      if (Double.isNaN(gain)) {
+        return;
+      }
+      double dataToMoveChange = interBrokerDataToMoveChange(replica, broker);
+      addsDataToMoveByBroker.put(broker, dataToMoveChange > 0.0);
+      gainPerMBByBroker.put(broker, dataToMoveChange > 0.0 ? gain / dataToMoveChange : gain);
+    }
+    eligibleBrokers.sort(Comparator.comparing((Broker b) -> addsDataToMoveByBroker.get(b))
+                                   .thenComparing((Broker b) -> -gainPerMBByBroker.get(b)));
+  }
+
+  // Whether the given change in the inter-broker data to move would exceed the budget of data to move. Hard goals are not
+  // limited by the budget, and a change that does not increase the data to move never exceeds the budget.
+  private boolean exceedsDataToMoveBudget(ClusterModel clusterModel, double dataToMoveChangeInMB) {
+    long dataToMoveBudgetMB = _balancingConstraint.dataToMoveBudgetMB();
+    return dataToMoveBudgetMB >= 0 && !isHardGoal() && dataToMoveChangeInMB > 0.0
+           && clusterModel.interBrokerDataToMoveInMB() + dataToMoveChangeInMB > dataToMoveBudgetMB;
+  }
+
+  // The change in the inter-broker data to move if the given replica is relocated to the given broker.
+  private static double interBrokerDataToMoveChange(Replica replica, Broker destinationBroker) {
+    if (replica.broker().id() == replica.originalBroker().id()) {
+      return replica.load().expectedUtilizationFor(Resource.DISK);
+    }
+    return destinationBroker.id() == replica.originalBroker().id() ? -replica.load().expectedUtilizationFor(Resource.DISK) : 0.0;
+  }
+
   /**
    * Attempt to move replica between disks of the same broker. The application considers the candidate disks as the potential
    * destination disk for replica movement. If the movement attempt succeeds, the function returns the destination disk,
@@ -347,21 +512,21 @@ public abstract class AbstractGoal implements Goal {
                                               Collection<Disk> candidateDisks,
                                               Set<Goal> optimizedGoals) {
     for (Disk disk : candidateDisks) {
-      BalancingAction proposal = new BalancingAction(replica.topicPartition(),
-                                                     replica.disk(),
-                                                     disk,
-                                                     ActionType.INTRA_BROKER_REPLICA_MOVEMENT);
       if (!legitMoveBetweenDisks(replica, disk, ActionType.INTRA_BROKER_REPLICA_MOVEMENT)) {
-        LOG.trace("Replica move to disk is not legit for {}.", proposal);
+        LOG.trace("Move of {} to disk {} is not legit.", replica, disk);
         continue;
       }
 
+      BalancingAction proposal = new BalancingAction(replica.topicPartition(), replica.disk(), disk,
+                                                     ActionType.INTRA_BROKER_REPLICA_MOVEMENT);
+
       if (!selfSatisfied(clusterModel, proposal)) {
+        _optimizationProfile.recordSelfSatisfiedFailure();
         LOG.trace("Unable to self-satisfy proposal {}.", proposal);
         continue;
       }
 
-      ActionAcceptance acceptance = AnalyzerUtils.isProposalAcceptableForOptimizedGoals(optimizedGoals, proposal, clusterModel);
+      ActionAcceptance acceptance = acceptanceByOptimizedGoals(optimizedGoals, proposal, clusterModel);
       LOG.trace("Trying to apply legit and self-satisfied action {}, actionAcceptance = {}", proposal, acceptance);
       if (acceptance == ACCEPT) {
         clusterModel.relocateReplica(replica.topicPartition(), replica.broker().id(), disk.logDir());
@@ -385,34 +550,42 @@ public abstract class AbstractGoal implements Goal {
                                        Replica sourceReplica,
                                        SortedSet<Replica> candidateReplicas,
                                        Set<Goal> optimizedGoals) {
+    Replica swappedInReplica = swapReplicaBetweenDisks(clusterModel, sourceReplica, candidateReplicas, optimizedGoals);
+    _optimizationProfile.recordSwapAttempt(swappedInReplica != null);
+    return swappedInReplica;
+  }
+
+  private Replica swapReplicaBetweenDisks(ClusterModel clusterModel,
+                                          Replica sourceReplica,
+                                          SortedSet<Replica> candidateReplicas,
+                                          Set<Goal> optimizedGoals) {
     for (Replica destinationReplica : candidateReplicas) {
-      BalancingAction swapProposal = new BalancingAction(sourceReplica.topicPartition(),
-                                                         sourceReplica.disk(),
-                                                         destinationReplica.disk(),
-                                                         ActionType.INTRA_BROKER_REPLICA_SWAP,
-                                                         destinationReplica.topicPartition());
       // A sourceReplica should be swapped with a destinationReplica if:
       // 0. The swap from source to destination is legit.
       // 1. The swap from destination to source is legit.
       // 2. The goal requirements are not violated if this action is applied to the given cluster state.
       // 3. The movement is acceptable by the previously optimized goals.
       if (!legitMoveBetweenDisks(sourceReplica, destinationReplica.disk(), ActionType.INTRA_BROKER_REPLICA_MOVEMENT)) {
-        LOG.trace("Swap from source to destination disk is not legit for {}.", swapProposal);
+        LOG.trace("Swap of {} with {} from source to destination disk is not legit.", sourceReplica, destinationReplica);
         return null;
       }
 
       if (!legitMoveBetweenDisks(destinationReplica, sourceReplica.disk(), ActionType.INTRA_BROKER_REPLICA_MOVEMENT)) {
-        LOG.trace("Swap from destination to source disk is not legit for {}.", swapProposal);
+        LOG.trace("Swap of {} with {} from destination to source disk is not legit.", sourceReplica, destinationReplica);
         continue;
       }
 
+      BalancingAction swapProposal = new BalancingAction(sourceReplica.topicPartition(), sourceReplica.disk(), destinationReplica.disk(),
+                                                         ActionType.INTRA_BROKER_REPLICA_SWAP, destinationReplica.topicPartition());
+
       if (!selfSatisfied(clusterModel, swapProposal)) {
+        _optimizationProfile.recordSelfSatisfiedFailure();
         // Unable to satisfy proposal for this eligible replica and the remaining eligible replicas in the list.
         LOG.trace("Unable to self-satisfy swap proposal {}.", swapProposal);
         return null;
       }
 
-      ActionAcceptance acceptance = AnalyzerUtils.isProposalAcceptableForOptimizedGoals(optimizedGoals, swapProposal, clusterModel);
+      ActionAcceptance acceptance = acceptanceByOptimizedGoals(optimizedGoals, swapProposal, clusterModel);
       LOG.trace("Trying to apply legit and self-satisfied swap {}, actionAcceptance = {}.", swapProposal, acceptance);
       if (acceptance == ACCEPT) {
         clusterModel.relocateReplica(sourceReplica.topicPartition(), sourceReplica.broker().id(), destinationReplica.disk().logDir());
@@ -423,8 +596,83 @@ public abstract class AbstractGoal implements Goal {
     return null;
   }
 
+  // Check whether the given action is acceptable by the given optimized goals, and record each check in the optimization profile.
+  // If an optimized goal whose acceptance is determined by the source and destination brokers has rejected an action with the
+  // same type between the same brokers, and neither broker has been modified since, the action is rejected without any check.
+  private ActionAcceptance acceptanceByOptimizedGoals(Set<Goal> optimizedGoals, BalancingAction action, ClusterModel clusterModel) {
+    ActionType actionType = action.balancingAction();
+    Map<Long, BrokerPairRejection> brokerPairRejections = _brokerPairRejectionsByActionType.get(actionType);
+    long brokerPair = 0L;
+    Broker sourceBroker = null;
+    Broker destinationBroker = null;
+    if (brokerPairRejections != null) {
+      brokerPair = ((long) action.sourceBrokerId() << Integer.SIZE) | (action.destinationBrokerId() & 0xFFFFFFFFL);
+      sourceBroker = clusterModel.broker(action.sourceBrokerId());
+      destinationBroker = clusterModel.broker(action.destinationBrokerId());
+      BrokerPairRejection brokerPairRejection = brokerPairRejections.get(brokerPair);
+      if (brokerPairRejection != null && brokerPairRejection.isValid(sourceBroker, destinationBroker)) {
+        _optimizationProfile.recordCachedRejection();
+        return brokerPairRejection.acceptance();
+      }
+    }
+    int optimizedGoalIndex = 0;
+    for (Goal optimizedGoal : optimizedGoals) {
+      ActionAcceptance acceptance = optimizedGoal.actionAcceptance(action, clusterModel);
+      _optimizationProfile.recordActionAcceptance(optimizedGoalIndex++, acceptance);
+      if (acceptance != ACCEPT) {
+        if (brokerPairRejections != null && optimizedGoal.isActionAcceptanceBrokerDetermined(actionType)) {
+          brokerPairRejections.put(brokerPair, new BrokerPairRejection(acceptance, sourceBroker, destinationBroker));
+        }
+        return acceptance;
+      }
+    }
+    return ACCEPT;
+  }
+
+  // Create an empty cache of broker pair rejections for each action type whose acceptance is determined by the source and
+  // destination brokers for at least one of the given optimized goals.
+  private static Map<ActionType, Map<Long, BrokerPairRejection>> brokerPairRejectionsByActionType(Set<Goal> optimizedGoals) {
+    Map<ActionType, Map<Long, BrokerPairRejection>> brokerPairRejectionsByActionType = new EnumMap<>(ActionType.class);
+    for (ActionType actionType : ActionType.cachedValues()) {
+      if (optimizedGoals.stream().anyMatch(goal -> goal.isActionAcceptanceBrokerDetermined(actionType))) {
+        brokerPairRejectionsByActionType.put(actionType, new HashMap<>());
+      }
+    }
+    return brokerPairRejectionsByActionType;
+  }
+
+  @Override
+  public GoalOptimizationProfile optimizationProfile() {
+    return _optimizationProfile;
+  }
+
   @Override
   public String toString() {
     return name();
   }
+
+  /**
+   * A rejection of an action by an optimized goal whose acceptance is determined by the source and destination brokers of
+   * the action. The rejection remains valid until either broker is modified.
+   */
+  private static final class BrokerPairRejection {
+    private final ActionAcceptance _acceptance;
+    private final long _sourceBrokerNumModifications;
+    private final long _destinationBrokerNumModifications;
+
+    BrokerPairRejection(ActionAcceptance acceptance, Broker sourceBroker, Broker destinationBroker) {
+      _acceptance = acceptance;
+      _sourceBrokerNumModifications = sourceBroker.numModifications();
+      _destinationBrokerNumModifications = destinationBroker.numModifications();
+    }
+
+    ActionAcceptance acceptance() {
+      return _acceptance;
+    }
+
+    boolean isValid(Broker sourceBroker, Broker destinationBroker) {
+      return sourceBroker.numModifications() == _sourceBrokerNumModifications
+             && destinationBroker.numModifications() == _destinationBrokerNumModifications;
+    }
+  }
 }
@@ -10,7 +10,9 @@ import com.linkedin.kafka.cruisecontrol.analyzer.ProvisionResponse;
 import com.linkedin.kafka.cruisecontrol.analyzer.ProvisionStatus;
 import com.linkedin.kafka.cruisecontrol.analyzer.OptimizationOptions;
 import com.linkedin.kafka.cruisecontrol.analyzer.ActionAcceptance;
+import com.linkedin.kafka.cruisecontrol.analyzer.ActionType;
 import com.linkedin.kafka.cruisecontrol.analyzer.BalancingAction;
+import com.linkedin.kafka.cruisecontrol.analyzer.GoalOptimizationProfile;
 import com.linkedin.kafka.cruisecontrol.exception.KafkaCruiseControlException;
 import com.linkedin.kafka.cruisecontrol.exception.OptimizationFailureException;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
@@ -80,6 +82,21 @@ public interface Goal extends CruiseControlConfigurable {
    */
   ActionAcceptance actionAcceptance(BalancingAction action, ClusterModel clusterModel);
 
+  /**
+   * Check whether the {@link #actionAcceptance(BalancingAction, ClusterModel)} of actions with the given type depends
+   * solely on the state of their source and destination brokers -- i.e. not on the replicas they move. If so, a rejected
+   * action implies the rejection of any action with the same type between the same brokers until either broker is
+   * modified (see {@link com.linkedin.kafka.cruisecontrol.model.Broker#numModifications()}), which enables the goals
+   * optimized later to skip such actions without checking their acceptance.
+   *
+   * @param actionType The type of balancing action.
+   * @return {@code true} if the acceptance of actions with the given type depends solely on the state of their source and
+   * destination brokers, {@code false} otherwise.
+   */
+  default boolean isActionAcceptanceBrokerDetermined(ActionType actionType) {
+    return false;
+  }
+
   /**
    * Get an instance of {@link ClusterModelStatsComparator} for this goal.
    *
@@ -135,6 +152,21 @@ public interface Goal extends CruiseControlConfigurable {
    */
   ProvisionResponse provisionResponse();
 
+  /**
+   * @return {@code true} if the last optimization of this goal ran out of its optimization time (see
+   * {@link OptimizationOptions#goalOptimizationDeadlineMs(long)}) and stopped before completing, {@code false} otherwise.
+   */
+  default boolean isPartiallyOptimized() {
+    return false;
+  }
+
+  /**
+   * @return The profile of the last optimization of this goal, or {@code null} if this goal does not profile its optimization.
+   */
+  default GoalOptimizationProfile optimizationProfile() {
+    return null;
+  }
+
   /**
    * A comparator that compares two cluster model stats.
    * <p>
@@ -160,5 +192,16 @@ public interface Goal extends CruiseControlConfigurable {
      * @return A string that explains the result of last comparison.
      */
     String explainLastComparison();
+
+    /**
+     * Get the imbalance of the given stats that the goal intends to reduce -- e.g. the standard deviation of the distribution
+     * balanced by the goal. The goal optimizer measures the balancedness gain of a goal by the relative decrease in its imbalance.
+     *
+     * @param stats The cluster model stats.
+     * @return The imbalance of the given stats, or {@link Double#NaN} if the goal does not quantify its imbalance.
+     */
+    default double imbalance(ClusterModelStats stats) {
+      return Double.NaN;
+    }
   }
 }
@@ -159,19 +159,41 @@ public final class GoalUtils {
                                              Collection<Broker> candidates,
                                              ActionType action,
                                              OptimizationOptions optimizationOptions) {
-    List<Broker> eligibleBrokers = new ArrayList<>(candidates);
-    filterOutBrokersExcludedForLeadership(eligibleBrokers, optimizationOptions, replica, action);
-    filterOutBrokersExcludedForReplicaMove(eligibleBrokers, optimizationOptions, action);
-    if (!optimizationOptions.requestedDestinationBrokerIds().isEmpty()) {
-      return eligibleBrokers;
-    }
+    List<Broker> eligibleBrokers = new ArrayList<>(candidates.size());
+    eligibleBrokers(clusterModel, replica, candidates, action, optimizationOptions, eligibleBrokers);
+    return eligibleBrokers;
+  }
 
-    if (clusterModel.newBrokers().isEmpty()) {
-      return eligibleBrokers;
+  /**
+   * Same as {@link #eligibleBrokers(ClusterModel, Replica, Collection, ActionType, OptimizationOptions)}, but populates the
+   * given list with the eligible brokers rather than creating a new list. Any existing content of the given list is cleared.
+   * This lets goals reuse a single list across the evaluation of candidate actions.
+   *
+   * @param clusterModel The state of the cluster.
+   * @param replica  Replica to check for action eligibility.
+   * @param candidates Candidate brokers among which the eligible ones will be selected.
+   * @param action Action that affects the given replica.
+   * @param optimizationOptions Options to take into account while applying the given action.
+   * @param eligibleBrokers List to populate with the eligible brokers with a fixed order.
+   */
+  public static void eligibleBrokers(ClusterModel clusterModel,
+                                     Replica replica,
+                                     Collection<Broker> candidates,
+                                     ActionType action,
+                                     OptimizationOptions optimizationOptions,
+                                     List<Broker> eligibleBrokers) {
+    eligibleBrokers.clear();
+    // When there are new brokers, we should only allow the replicas/leadership to be moved to the new brokers -- unless the
+    // user explicitly specified the eligible destination brokers.
+    boolean newBrokersOnly = optimizationOptions.requestedDestinationBrokerIds().isEmpty() && !clusterModel.newBrokers().isEmpty();
+    Broker originalBroker = replica.originalBroker();
+    for (Broker candidate : candidates) {
+      if (!newBrokersOnly || candidate.isNew() || candidate == originalBroker) {
+        eligibleBrokers.add(candidate);
+      }
     }
-
-    // When there are new brokers, we should only allow the replicas/leadership to be moved to the new brokers.
-    return eligibleBrokers.stream().filter(b -> b.isNew() || b == replica.originalBroker()).collect(Collectors.toList());
+    filterOutBrokersExcludedForLeadership(eligibleBrokers, optimizationOptions, replica, action);
+    filterOutBrokersExcludedForReplicaMove(eligibleBrokers, optimizationOptions, action);
   }
 
   /**
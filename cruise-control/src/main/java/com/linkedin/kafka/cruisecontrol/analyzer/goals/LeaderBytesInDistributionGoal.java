@@ -188,7 +188,7 @@ public class LeaderBytesInDistributionGoal extends AbstractGoal {
     new SortedReplicasHelper().addSelectionFunc(ReplicaSortFunctionFactory.selectLeaders())
                               .maybeAddSelectionFunc(ReplicaSortFunctionFactory.selectReplicasBasedOnExcludedTopics(excludedTopics),
                                                      !excludedTopics.isEmpty())
-                              .setScoreFunc(ReplicaSortFunctionFactory.reverseSortByMetricGroupValue(Resource.NW_IN.toString()))
+                              .setDoubleScoreFunc(ReplicaSortFunctionFactory.reverseSortByMetricGroupValue(Resource.NW_IN.toString()))
                               .trackSortedReplicasFor(replicaSortName(this, true, true), clusterModel);
   }
 
@@ -289,5 +289,10 @@ public class LeaderBytesInDistributionGoal extends AbstractGoal {
     public String explainLastComparison() {
       return _reasonForLastNegativeResult;
     }
+
+    @Override
+    public double imbalance(ClusterModelStats stats) {
+      return stats.resourceUtilizationStats().get(Statistic.ST_DEV).get(Resource.NW_IN);
+    }
   }
 }
@@ -113,6 +113,18 @@ public class LeaderReplicaDistributionGoal extends ReplicaDistributionAbstractGo
     }
   }
 
+  /**
+   * The acceptance of an {@link ActionType#LEADERSHIP_MOVEMENT} depends solely on the number of leader replicas on the source and
+   * destination brokers.
+   *
+   * @param actionType The type of balancing action.
+   * @return {@code true} for {@link ActionType#LEADERSHIP_MOVEMENT}, {@code false} otherwise.
+   */
+  @Override
+  public boolean isActionAcceptanceBrokerDetermined(ActionType actionType) {
+    return actionType == ActionType.LEADERSHIP_MOVEMENT;
+  }
+
   private ActionAcceptance isLeaderMovementSatisfiable(Broker sourceBroker, Broker destinationBroker) {
     return (isReplicaCountUnderBalanceUpperLimitAfterChange(destinationBroker, destinationBroker.leaderReplicas().size(), ADD)
            && (isExcludedForReplicaMove(sourceBroker)
@@ -391,5 +403,10 @@ public class LeaderReplicaDistributionGoal extends ReplicaDistributionAbstractGo
     public String explainLastComparison() {
       return _reasonForLastNegativeResult;
     }
+
+    @Override
+    public double imbalance(ClusterModelStats stats) {
+      return stats.leaderReplicaStats().get(Statistic.ST_DEV).doubleValue();
+    }
   }
 }
@@ -81,6 +81,17 @@ public class ReplicaCapacityGoal extends AbstractGoal {
     }
   }
 
+  /**
+   * The acceptance of an {@link ActionType#INTER_BROKER_REPLICA_MOVEMENT} depends solely on the number of replicas on the destination broker.
+   *
+   * @param actionType The type of balancing action.
+   * @return {@code true} for {@link ActionType#INTER_BROKER_REPLICA_MOVEMENT}, {@code false} otherwise.
+   */
+  @Override
+  public boolean isActionAcceptanceBrokerDetermined(ActionType actionType) {
+    return actionType == ActionType.INTER_BROKER_REPLICA_MOVEMENT;
+  }
+
   @Override
   public ClusterModelStatsComparator clusterModelStatsComparator() {
     return new GoalUtils.HardGoalStatsComparator();
@@ -138,6 +138,18 @@ public class ReplicaDistributionGoal extends ReplicaDistributionAbstractGoal {
     }
   }
 
+  /**
+   * The acceptance of an {@link ActionType#INTER_BROKER_REPLICA_MOVEMENT} depends solely on the number of replicas on the source and
+   * destination brokers.
+   *
+   * @param actionType The type of balancing action.
+   * @return {@code true} for {@link ActionType#INTER_BROKER_REPLICA_MOVEMENT}, {@code false} otherwise.
+   */
+  @Override
+  public boolean isActionAcceptanceBrokerDetermined(ActionType actionType) {
+    return actionType == ActionType.INTER_BROKER_REPLICA_MOVEMENT;
+  }
+
   @Override
   public ClusterModelStatsComparator clusterModelStatsComparator() {
     return new ReplicaDistributionGoalStatsComparator();
@@ -171,11 +183,25 @@ public class ReplicaDistributionGoal extends ReplicaDistributionAbstractGoal {
                                                       !clusterModel.selfHealingEligibleReplicas().isEmpty())
                                 .maybeAddPriorityFunc(ReplicaSortFunctionFactory.prioritizeImmigrants(),
                                                       !optimizationOptions.onlyMoveImmigrantReplicas())
-                                .setScoreFunc(ReplicaSortFunctionFactory.sortByMetricGroupValue(DISK.name()))
+                                .setDoubleScoreFunc(ReplicaSortFunctionFactory.sortByMetricGroupValue(DISK.name()))
                                 .trackSortedReplicasFor(replicaSortName(this, false, false), broker);
     }
   }
 
+  /**
+   * Moving a replica from the source broker s to the destination broker d decreases the sum of squared deviations of the
+   * number of replicas in brokers by 2(n_s - n_d - 1), where n_b is the number of replicas in broker b before the move.
+   *
+   * @param clusterModel The state of the cluster.
+   * @param replica Replica to move.
+   * @param destinationBroker Destination broker of the replica.
+   * @return The balancedness gain of this goal from the replica movement.
+   */
+  @Override
+  protected double replicaMovementBalancednessGain(ClusterModel clusterModel, Replica replica, Broker destinationBroker) {
+    return 2.0 * (replica.broker().replicas().size() - destinationBroker.replicas().size() - 1);
+  }
+
   /**
    * Rebalance the given broker without violating the constraints of the current goal and optimized goals.
    *
@@ -365,5 +391,10 @@ public class ReplicaDistributionGoal extends ReplicaDistributionAbstractGoal {
     public String explainLastComparison() {
       return _reasonForLastNegativeResult;
     }
+
+    @Override
+    public double imbalance(ClusterModelStats stats) {
+      return stats.replicaStats().get(Statistic.ST_DEV).doubleValue();
+    }
   }
 }
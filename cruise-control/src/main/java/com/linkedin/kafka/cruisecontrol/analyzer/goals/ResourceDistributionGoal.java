@@ -60,6 +60,7 @@ public abstract class ResourceDistributionGoal extends AbstractGoal {
   private boolean _fixOfflineReplicasOnly;
   private double _balanceUpperThreshold;
   private double _balanceLowerThreshold;
+  private double _avgUtilizationPercentage;
   private final Comparator<Broker> _brokerComparator;
   // This is used to identify brokers not excluded for replica moves.
   private Set<Integer> _brokersAllowedReplicaMove;
@@ -249,6 +250,7 @@ public abstract class ResourceDistributionGoal extends AbstractGoal {
     double capacity = clusterModel.capacityWithAllowedReplicaMovesFor(resource(), optimizationOptions);
     // Cluster utilization excludes the capacity of brokers excluded for replica moves.
     double avgUtilizationPercentage = resourceUtilization / capacity;
+    _avgUtilizationPercentage = avgUtilizationPercentage;
     _balanceUpperThreshold = GoalUtils.computeResourceUtilizationBalanceThreshold(avgUtilizationPercentage,
                                                                                   resource(),
                                                                                   _balancingConstraint,
@@ -280,6 +282,29 @@ public abstract class ResourceDistributionGoal extends AbstractGoal {
     }
   }
 
+  /**
+   * Moving a replica with utilization x from the source broker s to the destination broker d decreases the sum of squared
+   * deviations of broker utilization from the average utilization percentage times the broker capacity by
+   * 2x(e_s - e_d) - 2x^2, where e_b is the deviation of broker b before the move.
+   *
+   * @param clusterModel The state of the cluster.
+   * @param replica Replica to move.
+   * @param destinationBroker Destination broker of the replica.
+   * @return The balancedness gain of this goal from the replica movement.
+   */
+  @Override
+  protected double replicaMovementBalancednessGain(ClusterModel clusterModel, Replica replica, Broker destinationBroker) {
+    double replicaUtilization = replica.load().expectedUtilizationFor(resource());
+    double sourceDeviation = utilizationDeviation(replica.broker());
+    double destinationDeviation = utilizationDeviation(destinationBroker);
+    return 2 * replicaUtilization * (sourceDeviation - destinationDeviation) - 2 * replicaUtilization * replicaUtilization;
+  }
+
+  // The deviation of the utilization of the given broker from the average utilization percentage times its capacity.
+  private double utilizationDeviation(Broker broker) {
+    return broker.load().expectedUtilizationFor(resource()) - _avgUtilizationPercentage * broker.capacityFor(resource());
+  }
+
   private int brokerIdWithMaxCapacity(ClusterModel clusterModel) {
     int brokerIdWithMaxCapacity = -1;
     double maxCapacity = 0.0;
@@ -561,10 +586,10 @@ public abstract class ResourceDistributionGoal extends AbstractGoal {
                                 !clusterModel.selfHealingEligibleReplicas().isEmpty());
     if (isAscending) {
       helper.maybeAddSelectionFunc(ReplicaSortFunctionFactory.selectReplicasBelowLimit(resource(), loadLimit), loadLimit < Double.MAX_VALUE)
-            .setScoreFunc(ReplicaSortFunctionFactory.sortByMetricGroupValue(resource().name()));
+            .setDoubleScoreFunc(ReplicaSortFunctionFactory.sortByMetricGroupValue(resource().name()));
     } else {
       helper.addSelectionFunc(ReplicaSortFunctionFactory.selectReplicasAboveLimit(resource(), loadLimit))
-            .setScoreFunc(ReplicaSortFunctionFactory.reverseSortByMetricGroupValue(resource().name()));
+            .setDoubleScoreFunc(ReplicaSortFunctionFactory.reverseSortByMetricGroupValue(resource().name()));
     }
     String replicaSortName = replicaSortName(this, !isAscending, leadersOnly);
     helper.trackSortedReplicasFor(replicaSortName, broker);
@@ -808,7 +833,7 @@ public abstract class ResourceDistributionGoal extends AbstractGoal {
                                                     !clusterModel.selfHealingEligibleReplicas().isEmpty())
                               .maybeAddPriorityFunc(ReplicaSortFunctionFactory.prioritizeImmigrants(),
                                                     !optimizationOptions.onlyMoveImmigrantReplicas())
-                              .setScoreFunc(ReplicaSortFunctionFactory.reverseSortByMetricGroupValue(resource().name()))
+                              .setDoubleScoreFunc(ReplicaSortFunctionFactory.reverseSortByMetricGroupValue(resource().name()))
                               .trackSortedReplicasFor(replicaSortName(this, true, actionType == LEADERSHIP_MOVEMENT), broker);
     SortedSet<Replica> replicasToMove = broker.trackedSortedReplicas(replicaSortName(this, true, actionType == LEADERSHIP_MOVEMENT))
                                               .sortedReplicas(true);
@@ -1070,6 +1095,11 @@ public abstract class ResourceDistributionGoal extends AbstractGoal {
     public String explainLastComparison() {
       return _reasonForLastNegativeResult;
     }
+
+    @Override
+    public double imbalance(ClusterModelStats stats) {
+      return stats.resourceUtilizationStats().get(Statistic.ST_DEV).get(resource());
+    }
   }
 
   /**
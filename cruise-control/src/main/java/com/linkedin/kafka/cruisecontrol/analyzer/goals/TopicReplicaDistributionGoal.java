@@ -13,6 +13,7 @@ import com.linkedin.kafka.cruisecontrol.analyzer.BalancingConstraint;
 import com.linkedin.kafka.cruisecontrol.analyzer.BalancingAction;
 import com.linkedin.kafka.cruisecontrol.analyzer.ProvisionRecommendation;
 import com.linkedin.kafka.cruisecontrol.analyzer.ProvisionStatus;
+import com.linkedin.kafka.cruisecontrol.common.KafkaCruiseControlThreadFactory;
 import com.linkedin.kafka.cruisecontrol.common.Statistic;
 import com.linkedin.kafka.cruisecontrol.exception.OptimizationFailureException;
 import com.linkedin.kafka.cruisecontrol.model.Broker;
@@ -21,10 +22,12 @@ import com.linkedin.kafka.cruisecontrol.model.ClusterModelStats;
 import com.linkedin.kafka.cruisecontrol.model.Replica;
 import com.linkedin.kafka.cruisecontrol.model.ReplicaSortFunctionFactory;
 import com.linkedin.kafka.cruisecontrol.model.SortedReplicasHelper;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import com.linkedin.kafka.cruisecontrol.monitor.ModelCompletenessRequirements;
 import java.util.HashSet;
@@ -32,6 +35,10 @@ import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -384,6 +391,156 @@ public class TopicReplicaDistributionGoal extends AbstractGoal {
     return _avgTopicReplicasOnAliveBroker.get(topic) == null;
   }
 
+  /**
+   * If {@link BalancingConstraint#topicReplicaBalanceParallelism()} is greater than 1, plan the replica movements to balance
+   * topics concurrently -- i.e. topics are sharded over planning threads, which only read the current state of the cluster.
+   * Then apply the planned movements one by one, as long as each is still acceptable by this goal and the optimized goals.
+   * Topics that remain unbalanced are balanced by the passes over brokers to balance.
+   *
+   * Planning is skipped if the cluster has new brokers or self-healing eligible replicas, as these require moving specific
+   * replicas with priority.
+   *
+   * @param clusterModel   The state of the cluster.
+   * @param optimizedGoals Optimized goals.
+   * @param optimizationOptions Options to take into account during optimization.
+   */
+  @Override
+  protected void rebalanceBeforeBrokerPasses(ClusterModel clusterModel, Set<Goal> optimizedGoals, OptimizationOptions optimizationOptions) {
+    int parallelism = Math.min(_balancingConstraint.topicReplicaBalanceParallelism(), _avgTopicReplicasOnAliveBroker.size());
+    if (parallelism <= 1 || !clusterModel.selfHealingEligibleReplicas().isEmpty() || !clusterModel.newBrokers().isEmpty()) {
+      return;
+    }
+    List<BalancingAction> plannedMovements = planReplicaMovements(clusterModel, optimizationOptions, parallelism);
+    optimizationProfile().recordReplicaMovementPlanning(parallelism, plannedMovements.size());
+    int numAppliedMovements = 0;
+    for (BalancingAction movement : plannedMovements) {
+      Broker sourceBroker = clusterModel.broker(movement.sourceBrokerId());
+      Broker destinationBroker = clusterModel.broker(movement.destinationBrokerId());
+      Replica replica = sourceBroker.replica(movement.topicPartition());
+      // A movement may become obsolete due to the rejection of an earlier planned movement of the same topic.
+      if (replica == null || sourceBroker.numReplicasOfTopicInBroker(movement.topic())
+                             - destinationBroker.numReplicasOfTopicInBroker(movement.topic()) < 2) {
+        continue;
+      }
+      if (maybeApplyBalancingAction(clusterModel, replica, Collections.singleton(destinationBroker),
+                                    ActionType.INTER_BROKER_REPLICA_MOVEMENT, optimizedGoals, optimizationOptions) != null) {
+        numAppliedMovements++;
+      }
+    }
+    LOG.debug("Applied {} out of {} replica movements planned by {} threads for {}.", numAppliedMovements, plannedMovements.size(),
+              parallelism, name());
+  }
+
+  private List<BalancingAction> planReplicaMovements(ClusterModel clusterModel, OptimizationOptions optimizationOptions, int parallelism) {
+    List<String> topicsToRebalance = new ArrayList<>(_avgTopicReplicasOnAliveBroker.keySet());
+    Collections.sort(topicsToRebalance);
+    List<List<String>> topicShards = new ArrayList<>(parallelism);
+    for (int i = 0; i < parallelism; i++) {
+      topicShards.add(new ArrayList<>());
+    }
+    for (int i = 0; i < topicsToRebalance.size(); i++) {
+      topicShards.get(i % parallelism).add(topicsToRebalance.get(i));
+    }
+
+    List<BalancingAction> plannedMovements = new ArrayList<>();
+    List<Future<List<BalancingAction>>> shardPlans = new ArrayList<>(parallelism);
+    // The executor is owned by this optimization, and shut down once the planning is over.
+    ExecutorService planningExecutor =
+        Executors.newFixedThreadPool(parallelism, new KafkaCruiseControlThreadFactory("TopicReplicaBalancePlanningExecutor", true, LOG));
+    try {
+      for (List<String> topicShard : topicShards) {
+        shardPlans.add(planningExecutor.submit(() -> {
+          List<BalancingAction> shardMovements = new ArrayList<>();
+          for (String topic : topicShard) {
+            shardMovements.addAll(planTopicReplicaMovements(topic, clusterModel, optimizationOptions.onlyMoveImmigrantReplicas()));
+          }
+          return shardMovements;
+        }));
+      }
+      for (Future<List<BalancingAction>> shardPlan : shardPlans) {
+        try {
+          plannedMovements.addAll(shardPlan.get());
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          LOG.warn("Interrupted while planning replica movements for {}.", name());
+          break;
+        } catch (ExecutionException ee) {
+          LOG.warn("Failed to plan replica movements for a shard of topics for {}.", name(), ee.getCause());
+        }
+      }
+    } finally {
+      // Stop planning the remaining shards, if any, upon interruption.
+      planningExecutor.shutdownNow();
+    }
+    return plannedMovements;
+  }
+
+  // Plan the replica movements to balance the given topic over brokers allowed replica moves. Reads the cluster model without
+  // modifying it, so topics can be planned concurrently. Movements are planned from the broker with the most topic replicas
+  // to the one with the least, as long as the movement is within balance limits and brings the topic closer to balance.
+  private List<BalancingAction> planTopicReplicaMovements(String topic, ClusterModel clusterModel, boolean onlyMoveImmigrantReplicas) {
+    int balanceUpperLimit = _balanceUpperLimitByTopic.get(topic);
+    int balanceLowerLimit = _balanceLowerLimitByTopic.get(topic);
+    Map<Integer, Integer> numTopicReplicasByBrokerId = new HashMap<>();
+    Map<Integer, List<Replica>> movableReplicasByBrokerId = new HashMap<>();
+    for (Integer brokerId : _brokersAllowedReplicaMove) {
+      Broker broker = clusterModel.broker(brokerId);
+      Collection<Replica> replicas = broker.replicasOfTopicInBroker(topic);
+      numTopicReplicasByBrokerId.put(brokerId, replicas.size());
+      movableReplicasByBrokerId.put(brokerId, replicas.stream()
+                                                      .filter(r -> !r.isCurrentOffline())
+                                                      .filter(r -> !onlyMoveImmigrantReplicas || broker.immigrantReplicas().contains(r))
+                                                      .collect(Collectors.toList()));
+    }
+    // Broker ids of the partitions of the topic, as of after the planned movements.
+    Map<Integer, Set<Integer>> brokerIdsByPartition = new HashMap<>();
+    List<BalancingAction> plannedMovements = new ArrayList<>();
+    while (true) {
+      int sourceBrokerId = -1;
+      int destinationBrokerId = -1;
+      for (Map.Entry<Integer, Integer> entry : numTopicReplicasByBrokerId.entrySet()) {
+        int brokerId = entry.getKey();
+        int numTopicReplicas = entry.getValue();
+        if (sourceBrokerId == -1 || numTopicReplicas > numTopicReplicasByBrokerId.get(sourceBrokerId)) {
+          sourceBrokerId = brokerId;
+        }
+        if (destinationBrokerId == -1 || numTopicReplicas < numTopicReplicasByBrokerId.get(destinationBrokerId)) {
+          destinationBrokerId = brokerId;
+        }
+      }
+      int maxTopicReplicas = numTopicReplicasByBrokerId.get(sourceBrokerId);
+      int minTopicReplicas = numTopicReplicasByBrokerId.get(destinationBrokerId);
+      if ((maxTopicReplicas <= balanceUpperLimit && minTopicReplicas >= balanceLowerLimit) || maxTopicReplicas - minTopicReplicas < 2
+          || maxTopicReplicas - 1 < balanceLowerLimit || minTopicReplicas + 1 > balanceUpperLimit) {
+        break;
+      }
+      Replica replicaToMove = null;
+      for (Replica replica : movableReplicasByBrokerId.get(sourceBrokerId)) {
+        Set<Integer> partitionBrokerIds = brokerIdsByPartition.computeIfAbsent(replica.topicPartition().partition(), p -> {
+          Set<Integer> brokerIds = new HashSet<>();
+          clusterModel.partition(replica.topicPartition()).partitionBrokers().forEach(b -> brokerIds.add(b.id()));
+          return brokerIds;
+        });
+        if (!partitionBrokerIds.contains(destinationBrokerId)) {
+          partitionBrokerIds.remove(sourceBrokerId);
+          partitionBrokerIds.add(destinationBrokerId);
+          replicaToMove = replica;
+          break;
+        }
+      }
+      if (replicaToMove == null) {
+        // Leave the rest of the topic to the passes over brokers to balance.
+        break;
+      }
+      movableReplicasByBrokerId.get(sourceBrokerId).remove(replicaToMove);
+      numTopicReplicasByBrokerId.put(sourceBrokerId, maxTopicReplicas - 1);
+      numTopicReplicasByBrokerId.put(destinationBrokerId, minTopicReplicas + 1);
+      plannedMovements.add(new BalancingAction(replicaToMove.topicPartition(), sourceBrokerId, destinationBrokerId,
+                                               ActionType.INTER_BROKER_REPLICA_MOVEMENT));
+    }
+    return plannedMovements;
+  }
+
   /**
    * Rebalance the given broker without violating the constraints of the current goal and optimized goals.
    *
@@ -595,5 +752,10 @@ public class TopicReplicaDistributionGoal extends AbstractGoal {
     public String explainLastComparison() {
       return _reasonForLastNegativeResult;
     }
+
+    @Override
+    public double imbalance(ClusterModelStats stats) {
+      return stats.topicReplicaStats().get(Statistic.ST_DEV).doubleValue();
+    }
   }
 }
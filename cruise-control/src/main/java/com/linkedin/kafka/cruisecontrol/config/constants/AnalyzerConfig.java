@@ -406,6 +406,107 @@ public final class AnalyzerConfig {
       + "Users can run goal optimizations in fast mode by setting the fast_mode parameter to true in relevant endpoints. "
       + "This mode intends to provide a more predictable runtime for goal optimizations.";
 
+  /**
+   * <code>goal.optimization.parallelism</code>
+   */
+  public static final String GOAL_OPTIMIZATION_PARALLELISM_CONFIG = "goal.optimization.parallelism";
+  public static final int DEFAULT_GOAL_OPTIMIZATION_PARALLELISM = 1;
+  public static final String GOAL_OPTIMIZATION_PARALLELISM_DOC = "The maximum number of goals that the goal optimizer "
+      + "optimizes concurrently. If set to a value greater than 1, upcoming goals are speculatively optimized over copies of the "
+      + "cluster model while a higher priority goal is being optimized; their actions are then merged into the cluster model as "
+      + "long as they are acceptable by the previously optimized goals, and each goal is re-validated in priority order. The more "
+      + "goals are optimized concurrently, the more memory and CPU resource will be used.";
+
+  /**
+   * <code>precomputed.proposal.goal.lists</code>
+   */
+  public static final String PRECOMPUTED_PROPOSAL_GOAL_LISTS_CONFIG = "precomputed.proposal.goal.lists";
+  public static final String DEFAULT_PRECOMPUTED_PROPOSAL_GOAL_LISTS = "";
+  public static final String PRECOMPUTED_PROPOSAL_GOAL_LISTS_DOC = "The goal lists to precompute the optimization proposals "
+      + "for, in addition to the default goals. Each goal list is a semicolon-separated list of goal names in the order of priority, "
+      + "e.g. RackAwareGoal;DiskCapacityGoal;ReplicaDistributionGoal. The proposals of each goal list are computed in parallel from "
+      + "the same cluster model as the proposals of the default goals, and serve the requests for proposals with the same goals "
+      + "and otherwise default parameters. Only goal lists can be precomputed: requests that set other parameters, such as "
+      + "excluded_topics or exclude_recently_removed_brokers, are computed on demand.";
+
+  /**
+   * <code>goal.optimization.num.starts</code>
+   */
+  public static final String GOAL_OPTIMIZATION_NUM_STARTS_CONFIG = "goal.optimization.num.starts";
+  public static final int DEFAULT_GOAL_OPTIMIZATION_NUM_STARTS = 1;
+  public static final String GOAL_OPTIMIZATION_NUM_STARTS_DOC = "The number of starts of the multi-start goal optimization. "
+      + "If set to a value greater than 1, the goals are optimized once in the default order of brokers, and in addition over "
+      + "forks of the cluster model in randomized orders of brokers, which are computed concurrently. The result with the highest "
+      + "balancedness score is kept -- among equally balanced results, the one with the least inter-broker data to move. The more "
+      + "starts, the more memory and CPU resource will be used.";
+
+  /**
+   * <code>goal.optimization.data.to.move.budget.mb</code>
+   */
+  public static final String GOAL_OPTIMIZATION_DATA_TO_MOVE_BUDGET_MB_CONFIG = "goal.optimization.data.to.move.budget.mb";
+  public static final long DEFAULT_GOAL_OPTIMIZATION_DATA_TO_MOVE_BUDGET_MB = -1L;
+  public static final String GOAL_OPTIMIZATION_DATA_TO_MOVE_BUDGET_MB_DOC = "The maximum amount of inter-broker data (in MB) "
+      + "to move for the optimization of soft goals. A replica movement of a soft goal is skipped if it would increase the "
+      + "data to move beyond the budget. Replica movements of hard goals and of offline replicas are not limited by the budget, "
+      + "but count towards the data to move. With a budget, the destination brokers of a replica movement of a soft goal are "
+      + "attempted in descending order of the balancedness gain of the goal per MB of data to move. Set to -1 for no budget.";
+
+  /**
+   * <code>goal.optimization.min.balancedness.gain.per.mb</code>
+   */
+  public static final String GOAL_OPTIMIZATION_MIN_BALANCEDNESS_GAIN_PER_MB_CONFIG = "goal.optimization.min.balancedness.gain.per.mb";
+  public static final double DEFAULT_GOAL_OPTIMIZATION_MIN_BALANCEDNESS_GAIN_PER_MB = 0.0;
+  public static final String GOAL_OPTIMIZATION_MIN_BALANCEDNESS_GAIN_PER_MB_DOC = "The minimum gain in the on-demand "
+      + "balancedness score per MB of inter-broker data moved by the optimization of a soft goal. The placement changes of a "
+      + "soft goal whose optimization yields less balancedness gain per MB of data to move are reverted, and the goal is "
+      + "reported as violated. The balancedness gain of a goal is the share of its balancedness cost proportional to the "
+      + "relative decrease in the imbalance of the distribution that the goal balances (e.g. the standard deviation of replica "
+      + "counts). For goals that do not quantify their imbalance, it is their balancedness cost if the goal is satisfied after "
+      + "its optimization, 0 otherwise. Set to 0.0 to keep the placement changes regardless of the data to move.";
+
+  /**
+   * <code>topic.replica.count.balance.parallelism</code>
+   */
+  public static final String TOPIC_REPLICA_COUNT_BALANCE_PARALLELISM_CONFIG = "topic.replica.count.balance.parallelism";
+  public static final int DEFAULT_TOPIC_REPLICA_COUNT_BALANCE_PARALLELISM = 1;
+  public static final String TOPIC_REPLICA_COUNT_BALANCE_PARALLELISM_DOC = "The number of threads to plan the topic replica "
+      + "balancing of TopicReplicaDistributionGoal with. If set to a value greater than 1, topics are partitioned into shards, "
+      + "and the replica movements to balance each topic are planned concurrently against the current state of the cluster. "
+      + "The planned movements are then applied one by one, as long as they are acceptable by the goal and the previously "
+      + "optimized goals. Topics that remain unbalanced are balanced as usual. Planning is skipped in self-healing mode and "
+      + "in the presence of new brokers.";
+
+  /**
+   * <code>warm.start.on.proposal.precompute</code>
+   */
+  public static final String WARM_START_ON_PROPOSAL_PRECOMPUTE_CONFIG = "warm.start.on.proposal.precompute";
+  public static final boolean DEFAULT_WARM_START_ON_PROPOSAL_PRECOMPUTE = false;
+  public static final String WARM_START_ON_PROPOSAL_PRECOMPUTE_DOC = "The flag to indicate whether to warm start "
+      + "proposal precomputation from the previously cached proposals. If enabled, the target placement of each previously "
+      + "cached proposal, whose partition has not been moved since, is applied to the new cluster model before optimizing goals, "
+      + "so that goals only need to resolve the residual imbalance. Proposal precomputation falls back to a cold start if the "
+      + "warm start fails to satisfy the goals. Note that goals violated before a warm-started optimization reflect only "
+      + "the residual imbalance.";
+
+  /**
+   * <code>optimization.timeout.ms</code>
+   */
+  public static final String OPTIMIZATION_TIMEOUT_MS_CONFIG = "optimization.timeout.ms";
+  public static final long DEFAULT_OPTIMIZATION_TIMEOUT_MS = Long.MAX_VALUE;
+  public static final String OPTIMIZATION_TIMEOUT_MS_DOC = "The maximum time in milliseconds to spend on the optimization "
+      + "of goals for a request. Users can override it by setting the optimization_timeout_ms parameter in relevant endpoints. A soft "
+      + "goal that runs out of this time stops with the best state it could reach and is reported as partially optimized, whereas a "
+      + "hard goal that runs out of this time fails the optimization. By default, there is no limit.";
+
+  /**
+   * <code>goal.optimization.timeout.ms</code>
+   */
+  public static final String GOAL_OPTIMIZATION_TIMEOUT_MS_CONFIG = "goal.optimization.timeout.ms";
+  public static final long DEFAULT_GOAL_OPTIMIZATION_TIMEOUT_MS = Long.MAX_VALUE;
+  public static final String GOAL_OPTIMIZATION_TIMEOUT_MS_DOC = "The maximum time in milliseconds to spend on the optimization "
+      + "of each goal. A soft goal that runs out of this time stops with the best state it could reach and is reported "
+      + "as partially optimized, whereas a hard goal that runs out of this time fails the optimization. By default, there is no limit.";
+
   private AnalyzerConfig() {
   }
 
@@ -623,6 +724,58 @@ public final class AnalyzerConfig {
                             DEFAULT_FAST_MODE_PER_BROKER_MOVE_TIMEOUT_MS,
                             atLeast(1),
                             ConfigDef.Importance.LOW,
-                            FAST_MODE_PER_BROKER_MOVE_TIMEOUT_MS_DOC);
+                            FAST_MODE_PER_BROKER_MOVE_TIMEOUT_MS_DOC)
+                    .define(GOAL_OPTIMIZATION_PARALLELISM_CONFIG,
+                            ConfigDef.Type.INT,
+                            DEFAULT_GOAL_OPTIMIZATION_PARALLELISM,
+                            atLeast(1),
+                            ConfigDef.Importance.LOW,
+                            GOAL_OPTIMIZATION_PARALLELISM_DOC)
+                    .define(PRECOMPUTED_PROPOSAL_GOAL_LISTS_CONFIG,
+                            ConfigDef.Type.LIST,
+                            DEFAULT_PRECOMPUTED_PROPOSAL_GOAL_LISTS,
+                            ConfigDef.Importance.LOW,
+                            PRECOMPUTED_PROPOSAL_GOAL_LISTS_DOC)
+                    .define(GOAL_OPTIMIZATION_NUM_STARTS_CONFIG,
+                            ConfigDef.Type.INT,
+                            DEFAULT_GOAL_OPTIMIZATION_NUM_STARTS,
+                            atLeast(1),
+                            ConfigDef.Importance.LOW,
+                            GOAL_OPTIMIZATION_NUM_STARTS_DOC)
+                    .define(GOAL_OPTIMIZATION_DATA_TO_MOVE_BUDGET_MB_CONFIG,
+                            ConfigDef.Type.LONG,
+                            DEFAULT_GOAL_OPTIMIZATION_DATA_TO_MOVE_BUDGET_MB,
+                            atLeast(-1),
+                            ConfigDef.Importance.LOW,
+                            GOAL_OPTIMIZATION_DATA_TO_MOVE_BUDGET_MB_DOC)
+                    .define(GOAL_OPTIMIZATION_MIN_BALANCEDNESS_GAIN_PER_MB_CONFIG,
+                            ConfigDef.Type.DOUBLE,
+                            DEFAULT_GOAL_OPTIMIZATION_MIN_BALANCEDNESS_GAIN_PER_MB,
+                            atLeast(0.0),
+                            ConfigDef.Importance.LOW,
+                            GOAL_OPTIMIZATION_MIN_BALANCEDNESS_GAIN_PER_MB_DOC)
+                    .define(TOPIC_REPLICA_COUNT_BALANCE_PARALLELISM_CONFIG,
+                            ConfigDef.Type.INT,
+                            DEFAULT_TOPIC_REPLICA_COUNT_BALANCE_PARALLELISM,
+                            atLeast(1),
+                            ConfigDef.Importance.LOW,
+                            TOPIC_REPLICA_COUNT_BALANCE_PARALLELISM_DOC)
+                    .define(WARM_START_ON_PROPOSAL_PRECOMPUTE_CONFIG,
+                            ConfigDef.Type.BOOLEAN,
+                            DEFAULT_WARM_START_ON_PROPOSAL_PRECOMPUTE,
+                            ConfigDef.Importance.LOW,
+                            WARM_START_ON_PROPOSAL_PRECOMPUTE_DOC)
+                    .define(OPTIMIZATION_TIMEOUT_MS_CONFIG,
+                            ConfigDef.Type.LONG,
+                            DEFAULT_OPTIMIZATION_TIMEOUT_MS,
+                            atLeast(1),
+                            ConfigDef.Importance.MEDIUM,
+                            OPTIMIZATION_TIMEOUT_MS_DOC)
+                    .define(GOAL_OPTIMIZATION_TIMEOUT_MS_CONFIG,
+                            ConfigDef.Type.LONG,
+                            DEFAULT_GOAL_OPTIMIZATION_TIMEOUT_MS,
+                            atLeast(1),
+                            ConfigDef.Importance.MEDIUM,
+                            GOAL_OPTIMIZATION_TIMEOUT_MS_DOC);
   }
 }
@@ -343,6 +343,45 @@ public final class MonitorConfig {
   public static final String METADATA_FACTOR_EXPONENT_DOC = "The exponent for the metadata factor, which corresponds to "
       + "(number of replicas) * (number of brokers with replicas) ^ exponent.";
 
+  /**
+   * <code>cluster.model.snapshot.enabled</code>
+   */
+  public static final String CLUSTER_MODEL_SNAPSHOT_ENABLED_CONFIG = "cluster.model.snapshot.enabled";
+  public static final boolean DEFAULT_CLUSTER_MODEL_SNAPSHOT_ENABLED = true;
+  public static final String CLUSTER_MODEL_SNAPSHOT_ENABLED_DOC = "Enable serving the cluster models for the most recent "
+      + "windows as snapshots of a cached base model. The base model is reused as long as the metadata and the load generations "
+      + "as well as the completeness requirements of the request are unchanged, which avoids the aggregation and the construction "
+      + "of the cluster model upon each request.";
+
+  /**
+   * <code>metric.sample.aggregator.checkpoint.dir</code>
+   */
+  public static final String METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_DIR_CONFIG = "metric.sample.aggregator.checkpoint.dir";
+  public static final String DEFAULT_METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_DIR = "";
+  public static final String METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_DIR_DOC = "The directory to write the periodic checkpoints of "
+      + "the partition and broker metric sample aggregators to. Upon startup, the aggregators are restored from these checkpoints, "
+      + "and only the stored samples newer than the checkpoints are loaded from the sample store. The checkpoints are disabled if "
+      + "this directory is empty.";
+
+  /**
+   * <code>metric.sample.aggregator.checkpoint.interval.ms</code>
+   */
+  public static final String METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_INTERVAL_MS_CONFIG = "metric.sample.aggregator.checkpoint.interval.ms";
+  public static final long DEFAULT_METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_INTERVAL_MS = TimeUnit.MINUTES.toMillis(5);
+  public static final String METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_INTERVAL_MS_DOC = "The minimum interval in milliseconds "
+      + "between the checkpoints of the metric sample aggregators. A checkpoint is written after a metric sampling round once "
+      + "this interval has elapsed since the previous checkpoint.";
+
+  /**
+   * <code>num.partition.metric.sample.aggregation.threads</code>
+   */
+  public static final String NUM_PARTITION_METRIC_SAMPLE_AGGREGATION_THREADS_CONFIG = "num.partition.metric.sample.aggregation.threads";
+  public static final int DEFAULT_NUM_PARTITION_METRIC_SAMPLE_AGGREGATION_THREADS = 1;
+  public static final String NUM_PARTITION_METRIC_SAMPLE_AGGREGATION_THREADS_DOC = "The number of threads to aggregate the "
+      + "metric samples of the partitions in parallel upon building a cluster model. The partitions are aggregated in the calling "
+      + "thread if this is 1. The speedup depends on the number of available cores -- with a single core, parallel aggregation "
+      + "is no faster than aggregation in the calling thread.";
+
   private MonitorConfig() {
   }
 
@@ -567,6 +606,28 @@ public final class MonitorConfig {
                             DEFAULT_METADATA_FACTOR_EXPONENT,
                             atLeast(1.0),
                             ConfigDef.Importance.LOW,
-                            METADATA_FACTOR_EXPONENT_DOC);
+                            METADATA_FACTOR_EXPONENT_DOC)
+                    .define(CLUSTER_MODEL_SNAPSHOT_ENABLED_CONFIG,
+                            ConfigDef.Type.BOOLEAN,
+                            DEFAULT_CLUSTER_MODEL_SNAPSHOT_ENABLED,
+                            ConfigDef.Importance.LOW,
+                            CLUSTER_MODEL_SNAPSHOT_ENABLED_DOC)
+                    .define(METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_DIR_CONFIG,
+                            ConfigDef.Type.STRING,
+                            DEFAULT_METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_DIR,
+                            ConfigDef.Importance.LOW,
+                            METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_DIR_DOC)
+                    .define(METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_INTERVAL_MS_CONFIG,
+                            ConfigDef.Type.LONG,
+                            DEFAULT_METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_INTERVAL_MS,
+                            atLeast(0),
+                            ConfigDef.Importance.LOW,
+                            METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_INTERVAL_MS_DOC)
+                    .define(NUM_PARTITION_METRIC_SAMPLE_AGGREGATION_THREADS_CONFIG,
+                            ConfigDef.Type.INT,
+                            DEFAULT_NUM_PARTITION_METRIC_SAMPLE_AGGREGATION_THREADS,
+                            atLeast(1),
+                            ConfigDef.Importance.LOW,
+                            NUM_PARTITION_METRIC_SAMPLE_AGGREGATION_THREADS_DOC);
   }
 }
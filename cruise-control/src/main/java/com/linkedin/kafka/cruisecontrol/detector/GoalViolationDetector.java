@@ -25,7 +25,7 @@ import com.linkedin.kafka.cruisecontrol.exception.OptimizationFailureException;
 import com.linkedin.kafka.cruisecontrol.executor.ExecutionProposal;
 import com.linkedin.kafka.cruisecontrol.executor.ExecutorState;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
-import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
+import com.linkedin.kafka.cruisecontrol.model.PlacementJournal;
 import com.linkedin.kafka.cruisecontrol.monitor.ModelGeneration;
 import java.util.Collections;
 import java.util.List;
@@ -33,7 +33,6 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.regex.Pattern;
-import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -298,8 +297,7 @@ public class GoalViolationDetector extends AbstractAnomalyDetector implements Ru
       LOG.info("Skipping goal violation detection because the cluster model does not have any topic.");
       return false;
     }
-    Map<TopicPartition, List<ReplicaPlacementInfo>> initReplicaDistribution = clusterModel.getReplicaDistribution();
-    Map<TopicPartition, ReplicaPlacementInfo> initLeaderDistribution = clusterModel.getLeaderDistribution();
+    PlacementJournal placementJournal = clusterModel.startPlacementJournal();
     try {
       OptimizationOptions options = _optimizationOptionsGenerator.optimizationOptionsForGoalViolationDetection(clusterModel,
                                                                                                                excludedTopics(clusterModel),
@@ -316,8 +314,10 @@ public class GoalViolationDetector extends AbstractAnomalyDetector implements Ru
       // capacity goals), or (2) a failure to move offline replicas away from dead brokers/disks.
       goalViolations.addViolation(goal.name(), false);
       return true;
+    } finally {
+      clusterModel.stopPlacementJournal(placementJournal);
     }
-    Set<ExecutionProposal> proposals = AnalyzerUtils.getDiff(initReplicaDistribution, initLeaderDistribution, clusterModel);
+    Set<ExecutionProposal> proposals = AnalyzerUtils.getDiff(placementJournal);
     LOG.trace("{} generated {} proposals", goal.name(), proposals.size());
     if (!proposals.isEmpty()) {
       // A goal violation that can be optimized by applying the generated proposals.
@@ -23,6 +23,7 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 import org.apache.kafka.common.TopicPartition;
 
 import static com.linkedin.cruisecontrol.common.utils.Utils.validateNotNull;
@@ -41,6 +42,7 @@ public class Broker implements Serializable, Comparable<Broker> {
   private final int _id;
   private final Host _host;
   private final double[] _brokerCapacity;
+  private final BrokerCapacityInfo _brokerCapacityInfo;
   private final Set<Replica> _replicas;
   private final Set<Replica> _leaderReplicas;
   /** A map of cached sorted replicas using different user defined score functions. */
@@ -55,6 +57,8 @@ public class Broker implements Serializable, Comparable<Broker> {
   private final Load _leadershipLoadForNwResources;
   private final SortedMap<String, Disk> _diskByLogdir;
   private State _state;
+  // The number of modifications to the replicas, leadership, load or state of the broker.
+  private long _numModifications;
 
   /**
    * Constructor for Broker class.
@@ -69,6 +73,7 @@ public class Broker implements Serializable, Comparable<Broker> {
             () -> "Attempt to create broker " + id + " on host " + host.name() + " with null capacity.");
     _host = host;
     _id = id;
+    _brokerCapacityInfo = brokerCapacityInfo;
     _brokerCapacity = new double[Resource.cachedValues().size()];
     for (Map.Entry<Resource, Double> entry : brokerCapacity.entrySet()) {
       Resource resource = entry.getKey();
@@ -93,6 +98,7 @@ public class Broker implements Serializable, Comparable<Broker> {
     _load = new Load();
     _leadershipLoadForNwResources = new Load();
     _state = State.ALIVE;
+    _numModifications = 0L;
   }
 
   public Host host() {
@@ -103,6 +109,30 @@ public class Broker implements Serializable, Comparable<Broker> {
     return _state;
   }
 
+  /**
+   * The number of modifications to the replicas, leadership, load or state of this broker. Unless this number changes,
+   * any check that depends solely on the state of this broker yields the same result.
+   *
+   * @return The number of modifications to this broker.
+   */
+  public long numModifications() {
+    return _numModifications;
+  }
+
+  /**
+   * Record a modification to the replicas, leadership, load or state of this broker.
+   */
+  void recordModification() {
+    _numModifications++;
+  }
+
+  /**
+   * @return The capacity information that this broker was created with.
+   */
+  BrokerCapacityInfo capacityInfo() {
+    return _brokerCapacityInfo;
+  }
+
   /**
    * @return Rack of the broker.
    */
@@ -321,6 +351,7 @@ public class Broker implements Serializable, Comparable<Broker> {
    */
   void setState(State newState) {
     _state = newState;
+    _numModifications++;
     if (!isAlive()) {
       _currentOfflineReplicas.addAll(replicas());
       _diskByLogdir.values().forEach(d -> d.setState(Disk.State.DEAD));
@@ -381,6 +412,24 @@ public class Broker implements Serializable, Comparable<Broker> {
     return disk;
   }
 
+  /**
+   * Track the sorted replicas using the given selection/priority/score functions, where the score function returns boxed scores.
+   * See {@link #trackSortedReplicas(String, Set, List, ToDoubleFunction)}.
+   *
+   * @param sortName the name of the tracked sorted replicas.
+   * @param selectionFuncs A set of selection functions to decide which replica to include in the sort. If it is {@code null}
+   *                      or empty, all the replicas are to be included.
+   * @param priorityFuncs A list of priority functions to sort the replicas.
+   * @param scoreFunc the score function to sort the replicas with the same priority, replicas are sorted in ascending
+   *                  order of score.
+   */
+  void trackSortedReplicas(String sortName,
+                           Set<Function<Replica, Boolean>> selectionFuncs,
+                           List<Function<Replica, Integer>> priorityFuncs,
+                           Function<Replica, Double> scoreFunc) {
+    trackSortedReplicas(sortName, selectionFuncs, priorityFuncs, scoreFunc == null ? null : (ToDoubleFunction<Replica>) scoreFunc::apply);
+  }
+
   /**
    * Track the sorted replicas using the given selection/priority/score functions.
    * Selection functions determine whether a replica should be included or not, only replica satisfies all selection functions
@@ -400,7 +449,7 @@ public class Broker implements Serializable, Comparable<Broker> {
   void trackSortedReplicas(String sortName,
                            Set<Function<Replica, Boolean>> selectionFuncs,
                            List<Function<Replica, Integer>> priorityFuncs,
-                           Function<Replica, Double> scoreFunc) {
+                           ToDoubleFunction<Replica> scoreFunc) {
     _sortedReplicas.putIfAbsent(sortName, new SortedReplicas(this, selectionFuncs, priorityFuncs, scoreFunc));
     for (Disk disk : _diskByLogdir.values()) {
       disk.trackSortedReplicas(sortName, selectionFuncs, priorityFuncs, scoreFunc);
@@ -430,10 +479,7 @@ public class Broker implements Serializable, Comparable<Broker> {
   }
 
   private void updateSortedReplicas(Replica replica) {
-    _sortedReplicas.values().forEach(sr -> {
-      sr.remove(replica);
-      sr.add(replica);
-    });
+    _sortedReplicas.values().forEach(sr -> sr.update(replica));
   }
 
   /**
@@ -565,6 +611,23 @@ public class Broker implements Serializable, Comparable<Broker> {
   void setReplicaLoad(TopicPartition tp, AggregatedMetricValues aggregatedMetricValues, List<Long> windows) {
     Replica replica = replica(tp);
     replica.setMetricValues(aggregatedMetricValues, windows);
+    addReplicaLoad(replica, aggregatedMetricValues, windows);
+  }
+
+  /**
+   * Set the load of the replica to share the metric values of the given load. The load will be added to the broker load.
+   * Note that this method should only be called once for each replica.
+   *
+   * @param tp Topic partition that identifies the replica in this broker.
+   * @param loadToShare The load whose metric values will be shared with the replica.
+   */
+  void shareReplicaLoad(TopicPartition tp, Load loadToShare) {
+    Replica replica = replica(tp);
+    replica.shareMetricValues(loadToShare);
+    addReplicaLoad(replica, loadToShare.loadByWindows(), loadToShare.windows());
+  }
+
+  private void addReplicaLoad(Replica replica, AggregatedMetricValues aggregatedMetricValues, List<Long> windows) {
     if (replica.disk() != null) {
       replica.disk().addReplicaLoad(replica);
     }
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.model;
+
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+
+/**
+ * Running sums over the brokers of a cluster model, which let {@link ClusterModelStats} derive the average and standard
+ * deviation of the resource utilization, as well as the statistics of the number of replicas and leader replicas, without
+ * a pass over the brokers to compute the variance. The sums are updated upon each change to the load of a broker, hence
+ * maintaining them costs O(resources) per relocation.
+ *
+ * For each resource, the sums of the squared utilization, utilization times capacity, and squared capacity are kept over
+ * alive brokers. The variance over a subset of alive brokers follows from expanding {@code sum((u - avg * c)^2)}
+ * and subtracting the terms of the alive brokers outside the subset. The number of replicas and leader replicas are kept as
+ * exact integer sums along with their frequencies, which yield their minimum and maximum.
+ */
+class BrokerStatsSums {
+  private static final int NUM_UTILIZATION_TERMS = 3;
+  private static final int SQUARED_UTILIZATION = 0;
+  private static final int UTILIZATION_TIMES_CAPACITY = 1;
+  private static final int SQUARED_CAPACITY = 2;
+  // The utilization terms of each alive broker, indexed by the resource id and the term.
+  private final Map<Broker, double[]> _utilizationTermsByAliveBroker;
+  private final double[] _utilizationSums;
+  private final ReplicaCountSums _replicaCountSums;
+  private final ReplicaCountSums _leaderReplicaCountSums;
+
+  BrokerStatsSums(Collection<Broker> brokers) {
+    _utilizationTermsByAliveBroker = new HashMap<>();
+    _utilizationSums = new double[Resource.cachedValues().size() * NUM_UTILIZATION_TERMS];
+    _replicaCountSums = new ReplicaCountSums(broker -> broker.replicas().size());
+    _leaderReplicaCountSums = new ReplicaCountSums(broker -> broker.leaderReplicas().size());
+    for (Broker broker : brokers) {
+      if (broker.isAlive()) {
+        double[] terms = utilizationTerms(broker);
+        _utilizationTermsByAliveBroker.put(broker, terms);
+        addUtilizationTerms(terms, 1);
+      }
+      _replicaCountSums.add(broker);
+      _leaderReplicaCountSums.add(broker);
+    }
+  }
+
+  /**
+   * Update the sums with the current load of the given broker -- and for host resources, the other brokers on the same host.
+   *
+   * @param broker The broker whose load has changed.
+   */
+  void markLoadChanged(Broker broker) {
+    for (Broker brokerOnHost : broker.host().brokers()) {
+      double[] terms = _utilizationTermsByAliveBroker.get(brokerOnHost);
+      if (terms != null) {
+        addUtilizationTerms(terms, -1);
+        double[] updatedTerms = utilizationTerms(brokerOnHost);
+        _utilizationTermsByAliveBroker.put(brokerOnHost, updatedTerms);
+        addUtilizationTerms(updatedTerms, 1);
+      }
+    }
+    _replicaCountSums.update(broker);
+    _leaderReplicaCountSums.update(broker);
+  }
+
+  /**
+   * Get the sum of squared deviations of the utilization of the given resource over alive brokers except the given ones,
+   * where the deviation of each broker is relative to the given average utilization percentage times its capacity.
+   *
+   * @param resource The resource.
+   * @param avgUtilizationPercentage The average utilization percentage of the resource.
+   * @param excludedAliveBrokers The alive brokers to exclude from the sum.
+   * @return The sum of squared deviations of the utilization of the given resource.
+   */
+  double utilizationVarianceSum(Resource resource, double avgUtilizationPercentage, Collection<Broker> excludedAliveBrokers) {
+    int offset = resource.id() * NUM_UTILIZATION_TERMS;
+    double squaredUtilization = _utilizationSums[offset + SQUARED_UTILIZATION];
+    double utilizationTimesCapacity = _utilizationSums[offset + UTILIZATION_TIMES_CAPACITY];
+    double squaredCapacity = _utilizationSums[offset + SQUARED_CAPACITY];
+    for (Broker broker : excludedAliveBrokers) {
+      double[] terms = _utilizationTermsByAliveBroker.get(broker);
+      squaredUtilization -= terms[offset + SQUARED_UTILIZATION];
+      utilizationTimesCapacity -= terms[offset + UTILIZATION_TIMES_CAPACITY];
+      squaredCapacity -= terms[offset + SQUARED_CAPACITY];
+    }
+    double varianceSum = squaredUtilization - 2 * avgUtilizationPercentage * utilizationTimesCapacity
+                         + avgUtilizationPercentage * avgUtilizationPercentage * squaredCapacity;
+    // Guard against a negative result due to rounding errors when the utilization is (nearly) balanced.
+    return Math.max(0.0, varianceSum);
+  }
+
+  /**
+   * @return The sums of the number of replicas in brokers.
+   */
+  ReplicaCountSums replicaCountSums() {
+    return _replicaCountSums;
+  }
+
+  /**
+   * @return The sums of the number of leader replicas in brokers.
+   */
+  ReplicaCountSums leaderReplicaCountSums() {
+    return _leaderReplicaCountSums;
+  }
+
+  private void addUtilizationTerms(double[] terms, int sign) {
+    for (int i = 0; i < terms.length; i++) {
+      _utilizationSums[i] += sign * terms[i];
+    }
+  }
+
+  private static double[] utilizationTerms(Broker broker) {
+    double[] terms = new double[Resource.cachedValues().size() * NUM_UTILIZATION_TERMS];
+    for (Resource resource : Resource.cachedValues()) {
+      double utilization = resource.isHostResource() ? broker.host().load().expectedUtilizationFor(resource)
+                                                     : broker.load().expectedUtilizationFor(resource);
+      double capacity = resource.isHostResource() ? broker.host().capacityFor(resource) : broker.capacityFor(resource);
+      int offset = resource.id() * NUM_UTILIZATION_TERMS;
+      terms[offset + SQUARED_UTILIZATION] = utilization * utilization;
+      terms[offset + UTILIZATION_TIMES_CAPACITY] = utilization * capacity;
+      terms[offset + SQUARED_CAPACITY] = capacity * capacity;
+    }
+    return terms;
+  }
+
+  /**
+   * Running sums of the number of replicas of interest (e.g. leader replicas) in brokers. The total, minimum, and maximum
+   * are kept over all brokers, and the sums for the variance are kept over alive brokers.
+   */
+  static class ReplicaCountSums {
+    private final ToIntFunction<Broker> _numInterestedReplicasFunc;
+    private final Map<Broker, Integer> _numInterestedReplicasByBroker;
+    // The number of brokers by the number of replicas of interest in them.
+    private final NavigableMap<Integer, Integer> _numBrokersByNumInterestedReplicas;
+    private long _numInterestedReplicas;
+    private int _numAliveBrokers;
+    private long _numInterestedReplicasInAliveBrokers;
+    private long _squaredNumInterestedReplicasInAliveBrokers;
+
+    ReplicaCountSums(ToIntFunction<Broker> numInterestedReplicasFunc) {
+      _numInterestedReplicasFunc = numInterestedReplicasFunc;
+      _numInterestedReplicasByBroker = new HashMap<>();
+      _numBrokersByNumInterestedReplicas = new TreeMap<>();
+      _numInterestedReplicas = 0L;
+      _numAliveBrokers = 0;
+      _numInterestedReplicasInAliveBrokers = 0L;
+      _squaredNumInterestedReplicasInAliveBrokers = 0L;
+    }
+
+    private void add(Broker broker) {
+      int numInterestedReplicas = _numInterestedReplicasFunc.applyAsInt(broker);
+      _numInterestedReplicasByBroker.put(broker, numInterestedReplicas);
+      addCount(broker, numInterestedReplicas, 1);
+      if (broker.isAlive()) {
+        _numAliveBrokers++;
+      }
+    }
+
+    private void update(Broker broker) {
+      Integer numInterestedReplicas = _numInterestedReplicasByBroker.get(broker);
+      int updatedNumInterestedReplicas = _numInterestedReplicasFunc.applyAsInt(broker);
+      if (numInterestedReplicas == null || numInterestedReplicas == updatedNumInterestedReplicas) {
+        return;
+      }
+      addCount(broker, numInterestedReplicas, -1);
+      _numInterestedReplicasByBroker.put(broker, updatedNumInterestedReplicas);
+      addCount(broker, updatedNumInterestedReplicas, 1);
+    }
+
+    private void addCount(Broker broker, int numInterestedReplicas, int sign) {
+      _numBrokersByNumInterestedReplicas.merge(numInterestedReplicas, sign, (count, delta) -> count + delta == 0 ? null : count + delta);
+      _numInterestedReplicas += sign * numInterestedReplicas;
+      if (broker.isAlive()) {
+        _numInterestedReplicasInAliveBrokers += sign * numInterestedReplicas;
+        _squaredNumInterestedReplicasInAliveBrokers += sign * (long) numInterestedReplicas * numInterestedReplicas;
+      }
+    }
+
+    /**
+     * @return The total number of replicas of interest in all brokers.
+     */
+    long sum() {
+      return _numInterestedReplicas;
+    }
+
+    /**
+     * @return The maximum number of replicas of interest in a broker, or {@code 0} if there are no brokers.
+     */
+    int max() {
+      return _numBrokersByNumInterestedReplicas.isEmpty() ? 0 : _numBrokersByNumInterestedReplicas.lastKey();
+    }
+
+    /**
+     * @return The minimum number of replicas of interest in a broker, or {@link Integer#MAX_VALUE} if there are no brokers.
+     */
+    int min() {
+      return _numBrokersByNumInterestedReplicas.isEmpty() ? Integer.MAX_VALUE : _numBrokersByNumInterestedReplicas.firstKey();
+    }
+
+    /**
+     * Get the sum of squared deviations of the number of replicas of interest from the given average over alive brokers
+     * except the given ones.
+     *
+     * @param avgInterestedReplicas The average number of replicas of interest.
+     * @param excludedAliveBrokers The alive brokers to exclude from the sum.
+     * @return The sum of squared deviations of the number of replicas of interest.
+     */
+    double varianceSum(double avgInterestedReplicas, Collection<Broker> excludedAliveBrokers) {
+      long sum = _numInterestedReplicasInAliveBrokers;
+      long squaredSum = _squaredNumInterestedReplicasInAliveBrokers;
+      long numAliveBrokers = _numAliveBrokers;
+      for (Broker broker : excludedAliveBrokers) {
+        int numInterestedReplicas = _numInterestedReplicasByBroker.get(broker);
+        sum -= numInterestedReplicas;
+        squaredSum -= (long) numInterestedReplicas * numInterestedReplicas;
+        numAliveBrokers--;
+      }
+      if (numAliveBrokers == 0) {
+        return 0.0;
+      }
+      // sum((n - avg)^2) = (k * sum(n^2) - sum(n)^2) / k + k * (sum(n) / k - avg)^2, where the first term is exact.
+      double meanDeviation = ((double) sum) / numAliveBrokers - avgInterestedReplicas;
+      return ((double) (numAliveBrokers * squaredSum - sum * sum)) / numAliveBrokers + numAliveBrokers * meanDeviation * meanDeviation;
+    }
+  }
+}
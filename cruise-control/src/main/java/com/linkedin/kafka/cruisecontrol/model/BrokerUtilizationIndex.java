@@ -0,0 +1,162 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.model;
+
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+
+/**
+ * An index of alive brokers sorted in ascending order of their utilization percentage of a resource. For a host resource,
+ * the utilization percentage of a broker is the larger one of its host- and (if applicable) broker-level utilization
+ * percentages.
+ *
+ * The index enables finding the brokers under or over a utilization threshold without scanning all brokers in the cluster.
+ * The brokers whose load has changed are re-indexed lazily in a batch upon the next query to the index.
+ */
+class BrokerUtilizationIndex {
+  // Tolerance of the rounding error between the indexed utilization percentage and the exact threshold check.
+  private static final double UTILIZATION_PERCENTAGE_TOLERANCE = 1E-9;
+  private final Resource _resource;
+  // The indexed utilization percentages, which are consistent with the position of each broker in the sorted brokers.
+  private final Map<Broker, Double> _utilizationPercentageByBroker;
+  private final NavigableSet<Broker> _sortedBrokers;
+  private final Set<Broker> _brokersToReindex;
+
+  BrokerUtilizationIndex(Resource resource, Collection<Broker> aliveBrokers) {
+    _resource = resource;
+    _utilizationPercentageByBroker = new HashMap<>();
+    _sortedBrokers = new TreeSet<>((b1, b2) -> {
+      int result = Double.compare(_utilizationPercentageByBroker.get(b1), _utilizationPercentageByBroker.get(b2));
+      return result != 0 ? result : b1.compareTo(b2);
+    });
+    _brokersToReindex = new HashSet<>();
+    for (Broker broker : aliveBrokers) {
+      _utilizationPercentageByBroker.put(broker, utilizationPercentage(broker));
+      _sortedBrokers.add(broker);
+    }
+  }
+
+  /**
+   * Re-index the given broker -- and for a host resource, the other brokers on the same host -- upon the next query.
+   *
+   * @param broker The broker whose load has changed.
+   */
+  void markLoadChanged(Broker broker) {
+    if (_resource.isHostResource()) {
+      for (Broker brokerOnHost : broker.host().brokers()) {
+        markBrokerLoadChanged(brokerOnHost);
+      }
+    } else {
+      markBrokerLoadChanged(broker);
+    }
+  }
+
+  private void markBrokerLoadChanged(Broker broker) {
+    if (_utilizationPercentageByBroker.containsKey(broker)) {
+      _brokersToReindex.add(broker);
+    }
+  }
+
+  /**
+   * Get the alive brokers under the given utilization threshold, in ascending order of their utilization percentage.
+   *
+   * @param utilizationThreshold Utilization threshold for the resource of this index.
+   * @return Alive brokers under the given utilization threshold.
+   */
+  List<Broker> brokersUnderThreshold(double utilizationThreshold) {
+    maybeReindex();
+    List<Broker> brokersUnderThreshold = new ArrayList<>();
+    for (Broker broker : _sortedBrokers) {
+      if (_utilizationPercentageByBroker.get(broker) > utilizationThreshold + UTILIZATION_PERCENTAGE_TOLERANCE) {
+        break;
+      }
+      if (isUnderThreshold(broker, utilizationThreshold)) {
+        brokersUnderThreshold.add(broker);
+      }
+    }
+    return brokersUnderThreshold;
+  }
+
+  /**
+   * Get the alive brokers over the given utilization threshold, in descending order of their utilization percentage.
+   *
+   * @param utilizationThreshold Utilization threshold for the resource of this index.
+   * @return Alive brokers over the given utilization threshold.
+   */
+  List<Broker> brokersOverThreshold(double utilizationThreshold) {
+    maybeReindex();
+    List<Broker> brokersOverThreshold = new ArrayList<>();
+    for (Iterator<Broker> iterator = _sortedBrokers.descendingIterator(); iterator.hasNext(); ) {
+      Broker broker = iterator.next();
+      if (_utilizationPercentageByBroker.get(broker) < utilizationThreshold - UTILIZATION_PERCENTAGE_TOLERANCE) {
+        break;
+      }
+      if (isOverThreshold(broker, utilizationThreshold)) {
+        brokersOverThreshold.add(broker);
+      }
+    }
+    return brokersOverThreshold;
+  }
+
+  private void maybeReindex() {
+    if (_brokersToReindex.isEmpty()) {
+      return;
+    }
+    for (Broker broker : _brokersToReindex) {
+      // Removal relies on the indexed utilization percentage, which is consistent with the position of the broker.
+      _sortedBrokers.remove(broker);
+      _utilizationPercentageByBroker.put(broker, utilizationPercentage(broker));
+      _sortedBrokers.add(broker);
+    }
+    _brokersToReindex.clear();
+  }
+
+  private double utilizationPercentage(Broker broker) {
+    double utilizationPercentage = 0.0;
+    if (_resource.isBrokerResource()) {
+      utilizationPercentage = utilizationPercentage(broker.load().expectedUtilizationFor(_resource), broker.capacityFor(_resource));
+    }
+    if (_resource.isHostResource()) {
+      double hostUtilizationPercentage = utilizationPercentage(broker.host().load().expectedUtilizationFor(_resource),
+                                                               broker.host().capacityFor(_resource));
+      utilizationPercentage = Math.max(utilizationPercentage, hostUtilizationPercentage);
+    }
+    return utilizationPercentage;
+  }
+
+  private static double utilizationPercentage(double utilization, double capacity) {
+    return capacity > 0 ? utilization / capacity : Double.POSITIVE_INFINITY;
+  }
+
+  // Both the broker- and host-level utilization of the resource (if applicable) must be under the threshold.
+  private boolean isUnderThreshold(Broker broker, double utilizationThreshold) {
+    if (_resource.isBrokerResource()
+        && broker.load().expectedUtilizationFor(_resource) >= broker.capacityFor(_resource) * utilizationThreshold) {
+      return false;
+    }
+    return !_resource.isHostResource()
+           || broker.host().load().expectedUtilizationFor(_resource) < broker.host().capacityFor(_resource) * utilizationThreshold;
+  }
+
+  // Both the broker- and host-level utilization of the resource (if applicable) must be over the threshold.
+  private boolean isOverThreshold(Broker broker, double utilizationThreshold) {
+    if (_resource.isBrokerResource()
+        && broker.load().expectedUtilizationFor(_resource) <= broker.capacityFor(_resource) * utilizationThreshold) {
+      return false;
+    }
+    return !_resource.isHostResource()
+           || broker.host().load().expectedUtilizationFor(_resource) > broker.host().capacityFor(_resource) * utilizationThreshold;
+  }
+}
@@ -19,6 +19,7 @@ import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -29,6 +30,7 @@ import java.util.TreeSet;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 import org.apache.commons.math3.stat.descriptive.moment.Variance;
 import org.apache.kafka.common.Cluster;
@@ -72,6 +74,19 @@ public class ClusterModel implements Serializable {
   private final Map<Integer, Load> _potentialLeadershipLoadByBrokerId;
   private int _unknownHostId;
   private final Map<Integer, String> _capacityEstimationInfoByBrokerId;
+  // Active journals recording the placement changes in this cluster model.
+  private final List<PlacementJournal> _placementJournals;
+  // The inter-broker data (in MB) to move for relocating the replicas away from their original broker.
+  private double _interBrokerDataToMoveInMB;
+  // The last populated cluster stats, which are reused until a change to the topology, placement, liveness, or load of
+  // this cluster model -- i.e. the stats of an unchanged cluster model are not repopulated.
+  private transient CachedClusterStats _cachedClusterStats;
+  private transient int _numClusterStatsPopulations;
+  // The utilization indexes of alive brokers, which are created lazily upon the first query for the corresponding resource.
+  private transient Map<Resource, BrokerUtilizationIndex> _brokerUtilizationIndexByResource;
+  // The running sums over brokers that the cluster stats are derived from, which are created lazily upon the first population
+  // of the cluster stats and updated upon the load changes of brokers.
+  private transient BrokerStatsSums _brokerStatsSums;
 
   /**
    * Constructor for the cluster class. It creates data structures to hold a list of racks, a map for partitions by
@@ -108,6 +123,224 @@ public class ClusterModel implements Serializable {
     _monitoredPartitionsRatio = monitoredPartitionsRatio;
     _unknownHostId = 0;
     _capacityEstimationInfoByBrokerId = new HashMap<>();
+    _placementJournals = new ArrayList<>();
+    _interBrokerDataToMoveInMB = 0.0;
+    _cachedClusterStats = null;
+    _numClusterStatsPopulations = 0;
+  }
+
+  /**
+   * Create a deep copy of this cluster model. The copy reflects the current placement, leadership, load and broker / disk
+   * states of this cluster model, while retaining the original placement of each replica -- i.e. immigrant and offline
+   * replicas in this cluster model remain immigrant and offline replicas in the copy. The copy shares no mutable state
+   * with this cluster model, hence it can be optimized independently (e.g. concurrently by a different thread).
+   *
+   * Sorted replicas tracked by this cluster model are not copied.
+   *
+   * @return A deep copy of this cluster model.
+   */
+  public ClusterModel copy() {
+    return copy(false);
+  }
+
+  /**
+   * Create a fork of this cluster model. Unlike {@link #copy()}, the fork shares the metric values of each replica load with
+   * this cluster model rather than copying them. Shared metric values are copied upon the first modification of the
+   * corresponding replica load in either cluster model (e.g. due to a leadership change), hence the fork and this cluster
+   * model can still be optimized independently. This makes forking considerably cheaper than copying for what-if
+   * evaluations, which typically modify the load of only a small fraction of the replicas.
+   *
+   * This cluster model must not be modified while it is being forked. Sorted replicas tracked by this cluster model are
+   * not forked.
+   *
+   * @return A fork of this cluster model.
+   */
+  public ClusterModel fork() {
+    return copy(true);
+  }
+
+  private ClusterModel copy(boolean shareReplicaLoads) {
+    ClusterModel copy = new ClusterModel(_generation, _monitoredPartitionsRatio);
+    _racksById.keySet().forEach(copy::createRack);
+    for (Broker broker : _brokers) {
+      Broker brokerCopy = copy.createBroker(broker.rack().id(), broker.host().name(), broker.id(), broker.capacityInfo(),
+                                            broker.isUsingJBOD());
+      for (Disk disk : broker.disks()) {
+        Disk diskCopy = brokerCopy.disk(disk.logDir());
+        if (diskCopy == null) {
+          // Dead disks that were not reported by the capacity resolver.
+          brokerCopy.addDeadDisk(disk.logDir());
+        } else if (!disk.isAlive() && diskCopy.isAlive() && broker.isAlive()) {
+          copy.rack(broker.rack().id()).markDiskDead(broker.id(), disk.logDir());
+        }
+      }
+    }
+
+    // Create replicas and partitions -- keep the replica order within each partition and the original replica placement.
+    for (Partition partition : _partitionsByTopicPartition.values()) {
+      TopicPartition tp = partition.topicPartition();
+      Partition partitionCopy = new Partition(tp);
+      copy._partitionsByTopicPartition.put(tp, partitionCopy);
+      List<Replica> replicas = partition.replicas();
+      for (int index = 0; index < replicas.size(); index++) {
+        Replica replica = replicas.get(index);
+        Broker originalBroker = replica.originalBroker() == GENESIS_BROKER ? GENESIS_BROKER : copy.broker(replica.originalBroker().id());
+        Disk originalDisk = replica.originalDisk() == null ? null : originalBroker.disk(replica.originalDisk().logDir());
+        Replica replicaCopy = new Replica(tp, originalBroker, replica.isLeader(), replica.isOriginalOffline(), originalDisk);
+        Broker brokerCopy = copy.broker(replica.broker().id());
+        replicaCopy.setBroker(brokerCopy);
+        replicaCopy.setDisk(replica.disk() == null ? null : brokerCopy.disk(replica.disk().logDir()));
+        brokerCopy.rack().addReplica(replicaCopy);
+        copy._numReplicasByTopic.merge(tp.topic(), 1, Integer::sum);
+        if (replicaCopy.isLeader()) {
+          partitionCopy.addLeader(replicaCopy, index);
+        } else {
+          partitionCopy.addFollower(replicaCopy, index);
+        }
+      }
+      partition.ineligibleBrokers().forEach(b -> partitionCopy.addIneligibleBroker(copy.broker(b.id())));
+    }
+
+    // Set the current load of replicas.
+    for (Broker broker : _brokers) {
+      for (Replica replica : broker.replicas()) {
+        if (replica.load().isEmpty()) {
+          continue;
+        }
+        Rack rackCopy = copy.rack(broker.rack().id());
+        if (shareReplicaLoads) {
+          rackCopy.shareReplicaLoad(broker.id(), replica.topicPartition(), replica.load());
+        } else {
+          rackCopy.setReplicaLoad(broker.id(), replica.topicPartition(), replica.load().loadByWindows(), replica.load().windows());
+        }
+      }
+    }
+    copy._load.clearLoad();
+    copy._load.addLoad(_load);
+    for (Map.Entry<Integer, Load> entry : _potentialLeadershipLoadByBrokerId.entrySet()) {
+      Load potentialLeadershipLoad = copy._potentialLeadershipLoadByBrokerId.computeIfAbsent(entry.getKey(), k -> new Load());
+      potentialLeadershipLoad.clearLoad();
+      potentialLeadershipLoad.addLoad(entry.getValue());
+    }
+
+    // Set broker states after replicas are in place, so that the offline replicas of dead brokers are tracked accordingly.
+    for (Broker broker : _brokers) {
+      if (broker.state() != Broker.State.ALIVE) {
+        copy.setBrokerState(broker.id(), broker.state());
+      }
+    }
+    copy._selfHealingEligibleReplicas.clear();
+    for (Replica replica : _selfHealingEligibleReplicas) {
+      copy._selfHealingEligibleReplicas.add(copy.broker(replica.broker().id()).replica(replica.topicPartition()));
+    }
+    copy._replicationFactorByTopic.putAll(_replicationFactorByTopic);
+    copy._maxReplicationFactor = _maxReplicationFactor;
+    copy._unknownHostId = _unknownHostId;
+    copy._capacityEstimationInfoByBrokerId.putAll(_capacityEstimationInfoByBrokerId);
+    copy._interBrokerDataToMoveInMB = _interBrokerDataToMoveInMB;
+    return copy;
+  }
+
+  /**
+   * Start a journal to record the placement changes in this cluster model, i.e. the replica relocations, the leadership
+   * relocations, and the replica deletions and additions of existing partitions. The journal is active until it is
+   * stopped via {@link #stopPlacementJournal(PlacementJournal)}. Multiple journals may be active at the same time.
+   *
+   * @return The started placement journal.
+   */
+  public PlacementJournal startPlacementJournal() {
+    PlacementJournal placementJournal = new PlacementJournal(this);
+    _placementJournals.add(placementJournal);
+    return placementJournal;
+  }
+
+  /**
+   * Stop recording the placement changes in this cluster model to the given journal.
+   *
+   * @param placementJournal The placement journal to stop.
+   */
+  public void stopPlacementJournal(PlacementJournal placementJournal) {
+    _placementJournals.remove(placementJournal);
+  }
+
+  /**
+   * Revert the placement changes recorded by the given journal -- i.e. relocate the replicas and the leadership of each
+   * partition touched since the start of the journal to their placement at the start of the journal. The journal must not
+   * have recorded replica deletions or additions.
+   *
+   * @param placementJournal The placement journal whose changes are to be reverted.
+   */
+  public void revertPlacementChanges(PlacementJournal placementJournal) {
+    Map<TopicPartition, ReplicaPlacementInfo> initialLeaderDistribution = placementJournal.initialLeaderDistribution();
+    for (Map.Entry<TopicPartition, List<ReplicaPlacementInfo>> entry : placementJournal.initialReplicaDistribution().entrySet()) {
+      relocatePartition(entry.getKey(), entry.getValue(), initialLeaderDistribution.get(entry.getKey()).brokerId());
+    }
+  }
+
+  /**
+   * Relocate the replicas and the leadership of the given partition to the given placement. Replicas are relocated across
+   * brokers, and -- if the given placement specifies their logdir -- across the disks of the same broker. The order of
+   * replicas is updated to match the given placement.
+   *
+   * @param tp Topic partition to relocate.
+   * @param replicaPlacement The placement of each replica of the partition, which has the same number of replicas as the partition.
+   * @param leaderBrokerId The id of the broker to host the leader replica of the partition.
+   */
+  public void relocatePartition(TopicPartition tp, List<ReplicaPlacementInfo> replicaPlacement, int leaderBrokerId) {
+    Partition partition = _partitionsByTopicPartition.get(tp);
+    List<Integer> brokerIds = new ArrayList<>(replicaPlacement.size());
+    replicaPlacement.forEach(placementInfo -> brokerIds.add(placementInfo.brokerId()));
+    List<Integer> currentBrokerIds = new ArrayList<>(partition.replicas().size());
+    partition.replicas().forEach(replica -> currentBrokerIds.add(replica.broker().id()));
+    if (brokerIds.size() != currentBrokerIds.size()) {
+      throw new IllegalArgumentException(String.format("Cannot relocate %d replicas of partition %s to %s.", currentBrokerIds.size(),
+                                                       tp, replicaPlacement));
+    }
+
+    // Relocate replicas across brokers.
+    List<Integer> brokerIdsToRemove = new ArrayList<>(currentBrokerIds);
+    brokerIdsToRemove.removeAll(brokerIds);
+    List<Integer> brokerIdsToAdd = new ArrayList<>(brokerIds);
+    brokerIdsToAdd.removeAll(currentBrokerIds);
+    for (int i = 0; i < brokerIdsToRemove.size(); i++) {
+      relocateReplica(tp, brokerIdsToRemove.get(i), brokerIdsToAdd.get(i));
+    }
+    // Relocate leadership.
+    int currentLeaderBrokerId = partition.leader().broker().id();
+    if (currentLeaderBrokerId != leaderBrokerId) {
+      relocateLeadership(tp, currentLeaderBrokerId, leaderBrokerId);
+    }
+    // Relocate replicas across the disks of the same broker.
+    for (ReplicaPlacementInfo placementInfo : replicaPlacement) {
+      Replica replica = partition.replica(placementInfo.brokerId());
+      if (placementInfo.logdir() != null && replica.disk() != null && !placementInfo.logdir().equals(replica.disk().logDir())) {
+        relocateReplica(tp, placementInfo.brokerId(), placementInfo.logdir());
+      }
+    }
+    // Reorder replicas.
+    for (int i = 0; i < brokerIds.size(); i++) {
+      int position = partition.replicas().indexOf(partition.replica(brokerIds.get(i)));
+      if (position != i) {
+        partition.swapReplicaPositions(i, position);
+      }
+    }
+  }
+
+  /**
+   * @return The inter-broker data (in MB) to move for relocating the replicas that have been relocated away from their
+   * original broker in this cluster model.
+   */
+  public double interBrokerDataToMoveInMB() {
+    return _interBrokerDataToMoveInMB;
+  }
+
+  private void recordPlacementChange(TopicPartition tp) {
+    if (!_placementJournals.isEmpty()) {
+      Partition partition = _partitionsByTopicPartition.get(tp);
+      for (PlacementJournal placementJournal : _placementJournals) {
+        placementJournal.record(partition);
+      }
+    }
   }
 
   /**
@@ -132,7 +365,60 @@ public class ClusterModel implements Serializable {
    * @return Analysis stats with this cluster and given balancing constraint.
    */
   public ClusterModelStats getClusterStats(BalancingConstraint balancingConstraint, OptimizationOptions optimizationOptions) {
-    return (new ClusterModelStats()).populate(this, balancingConstraint, optimizationOptions);
+    CachedClusterStats cachedClusterStats = _cachedClusterStats;
+    if (cachedClusterStats != null && cachedClusterStats.isPopulatedWith(balancingConstraint, optimizationOptions)) {
+      return cachedClusterStats.clusterModelStats();
+    }
+    ClusterModelStats clusterModelStats = (new ClusterModelStats()).populate(this, balancingConstraint, optimizationOptions);
+    _numClusterStatsPopulations++;
+    _cachedClusterStats = new CachedClusterStats(clusterModelStats, optimizationOptions);
+    return clusterModelStats;
+  }
+
+  /**
+   * Package private for testing.
+   * @return The number of times cluster stats have been populated, rather than reused, for this cluster model.
+   */
+  int numClusterStatsPopulations() {
+    return _numClusterStatsPopulations;
+  }
+
+  private void invalidateClusterStats() {
+    _cachedClusterStats = null;
+  }
+
+  // Dropped upon changes to the set of alive brokers or their capacity, and recreated upon the next query.
+  private void invalidateBrokerUtilizationIndexes() {
+    _brokerUtilizationIndexByResource = null;
+    _brokerStatsSums = null;
+  }
+
+  private void markBrokerLoadChanged(Broker broker) {
+    broker.recordModification();
+    if (_brokerUtilizationIndexByResource != null) {
+      _brokerUtilizationIndexByResource.values().forEach(index -> index.markLoadChanged(broker));
+    }
+    if (_brokerStatsSums != null) {
+      _brokerStatsSums.markLoadChanged(broker);
+    }
+  }
+
+  /**
+   * Package private for {@link ClusterModelStats}.
+   * @return The running sums over the brokers of this cluster model.
+   */
+  BrokerStatsSums brokerStatsSums() {
+    if (_brokerStatsSums == null) {
+      _brokerStatsSums = new BrokerStatsSums(_brokers);
+    }
+    return _brokerStatsSums;
+  }
+
+  private BrokerUtilizationIndex brokerUtilizationIndex(Resource resource) {
+    if (_brokerUtilizationIndexByResource == null) {
+      _brokerUtilizationIndexByResource = new EnumMap<>(Resource.class);
+    }
+    return _brokerUtilizationIndexByResource.computeIfAbsent(resource, r -> new BrokerUtilizationIndex(r, aliveBrokers()));
   }
 
   /**
@@ -292,6 +578,8 @@ public class ClusterModel implements Serializable {
    * @param newState The new state of the broker.
    */
   public void setBrokerState(int brokerId, Broker.State newState) {
+    invalidateClusterStats();
+    invalidateBrokerUtilizationIndexes();
     Broker broker = broker(brokerId);
     if (broker == null) {
       throw new IllegalArgumentException("Broker " + brokerId + " does not exist.");
@@ -340,6 +628,8 @@ public class ClusterModel implements Serializable {
    * @param logdir   Log directory of the disk.
    */
   void markDiskDead(int brokerId, String logdir) {
+    invalidateClusterStats();
+    invalidateBrokerUtilizationIndexes();
     Broker broker = broker(brokerId);
     if (broker == null) {
       throw new IllegalArgumentException("Broker " + brokerId + " does not exist.");
@@ -357,6 +647,8 @@ public class ClusterModel implements Serializable {
    * @param destinationLogdir Destination logdir.
    */
   public void relocateReplica(TopicPartition tp, int brokerId, String destinationLogdir) {
+    invalidateClusterStats();
+    recordPlacementChange(tp);
     Replica replicaToMove = _partitionsByTopicPartition.get(tp).replica(brokerId);
     // Move replica from the source disk to destination disk on the same broker.
     replicaToMove.broker().moveReplicaBetweenDisks(tp, replicaToMove.disk().logDir(), destinationLogdir);
@@ -375,16 +667,25 @@ public class ClusterModel implements Serializable {
    * @param destinationBrokerId     Destination broker id.
    */
   public void relocateReplica(TopicPartition tp, int sourceBrokerId, int destinationBrokerId) {
+    invalidateClusterStats();
+    recordPlacementChange(tp);
     // Removes the replica and related load from the source broker / source rack / cluster.
     Replica replica = removeReplica(sourceBrokerId, tp);
     if (replica == null) {
       throw new IllegalArgumentException("Replica is not in the cluster.");
     }
+    // Updates the inter-broker data to move, if the replica is moved away from or back to its original broker.
+    if (replica.originalBroker().id() == sourceBrokerId) {
+      _interBrokerDataToMoveInMB += replica.load().expectedUtilizationFor(Resource.DISK);
+    } else if (replica.originalBroker().id() == destinationBrokerId) {
+      _interBrokerDataToMoveInMB -= replica.load().expectedUtilizationFor(Resource.DISK);
+    }
     // Updates the broker of the removed replica with destination broker.
     replica.setBroker(broker(destinationBrokerId));
 
     // Add this replica and related load to the destination broker / destination rack / cluster.
     replica.broker().rack().addReplica(replica);
+    markBrokerLoadChanged(replica.broker());
     // Increment the number of replicas per this topic.
     _numReplicasByTopic.merge(tp.topic(), 1, Integer::sum);
     _load.addLoad(replica.load());
@@ -417,6 +718,8 @@ public class ClusterModel implements Serializable {
                                          + " because the destination replica is a leader.");
     }
 
+    invalidateClusterStats();
+    recordPlacementChange(tp);
     // Transfer the leadership load (whole outbound network and a fraction of CPU load) of source replica to the
     // destination replica.
     // (1) Remove and get the outbound network load and a fraction of CPU load associated with leadership from the
@@ -429,6 +732,8 @@ public class ClusterModel implements Serializable {
     // Add the load to the destination rack.
     rack = broker(destinationBrokerId).rack();
     rack.makeLeader(destinationBrokerId, tp, leadershipLoadDelta);
+    markBrokerLoadChanged(sourceReplica.broker());
+    markBrokerLoadChanged(destinationReplica.broker());
 
     // Update the leader and list of followers of the partition.
     Partition partition = _partitionsByTopicPartition.get(tp);
@@ -528,6 +833,8 @@ public class ClusterModel implements Serializable {
    * the old topology.
    */
   public void clearLoad() {
+    invalidateClusterStats();
+    invalidateBrokerUtilizationIndexes();
     _racksById.values().forEach(Rack::clearLoad);
     _load.clearLoad();
   }
@@ -541,10 +848,12 @@ public class ClusterModel implements Serializable {
    * otherwise.
    */
   public Replica removeReplica(int brokerId, TopicPartition tp) {
+    invalidateClusterStats();
     for (Rack rack : _racksById.values()) {
       // Remove the replica and the associated load from the rack that it resides in.
       Replica removedReplica = rack.removeReplica(brokerId, tp);
       if (removedReplica != null) {
+        markBrokerLoadChanged(removedReplica.broker());
         // Decrement the number of replicas per this topic.
         _numReplicasByTopic.merge(tp.topic(), -1, Integer::sum);
         if (_numReplicasByTopic.get(tp.topic()) == 0) {
@@ -578,6 +887,24 @@ public class ClusterModel implements Serializable {
     return rack == null ? null : rack.broker(brokerId);
   }
 
+  /**
+   * Track the sorted replicas using the given selection/priority/score functions, where the score function returns boxed scores.
+   * See {@link #trackSortedReplicas(String, Set, List, ToDoubleFunction)}.
+   *
+   * @param sortName the name of the tracked sorted replicas.
+   * @param selectionFuncs A set of selection functions to decide which replica to include in the sort. If it is {@code null}
+   *                      or empty, all the replicas are to be included.
+   * @param priorityFuncs A list of priority functions to sort the replicas.
+   * @param scoreFunc the score function to sort the replicas with the same priority, replicas are sorted in ascending
+   *                  order of score.
+   */
+  void trackSortedReplicas(String sortName,
+                           Set<Function<Replica, Boolean>> selectionFuncs,
+                           List<Function<Replica, Integer>> priorityFuncs,
+                           Function<Replica, Double> scoreFunc) {
+    trackSortedReplicas(sortName, selectionFuncs, priorityFuncs, scoreFunc == null ? null : (ToDoubleFunction<Replica>) scoreFunc::apply);
+  }
+
   /**
    * Ask the cluster model to keep track of the replicas sorted with the given selection functions, priority functions and score function.
    *
@@ -608,7 +935,7 @@ public class ClusterModel implements Serializable {
   void trackSortedReplicas(String sortName,
                            Set<Function<Replica, Boolean>> selectionFuncs,
                            List<Function<Replica, Integer>> priorityFuncs,
-                           Function<Replica, Double> scoreFunc) {
+                           ToDoubleFunction<Replica> scoreFunc) {
     _brokers.forEach(b -> b.trackSortedReplicas(sortName, selectionFuncs, priorityFuncs, scoreFunc));
   }
 
@@ -632,6 +959,8 @@ public class ClusterModel implements Serializable {
    * Clear the content and structure of the cluster.
    */
   public void clear() {
+    invalidateClusterStats();
+    invalidateBrokerUtilizationIndexes();
     _racksById.clear();
     _partitionsByTopicPartition.clear();
     _load.clearLoad();
@@ -747,6 +1076,7 @@ public class ClusterModel implements Serializable {
                              TopicPartition tp,
                              AggregatedMetricValues metricValues,
                              List<Long> windows) {
+    invalidateClusterStats();
     // Sanity check for the attempts to push more than allowed number of snapshots having different times.
     if (!broker(brokerId).replica(tp).load().isEmpty()) {
       throw new IllegalStateException(String.format("The load for %s on broker %d, rack %s already has metric values.",
@@ -755,6 +1085,7 @@ public class ClusterModel implements Serializable {
 
     Rack rack = rack(rackId);
     rack.setReplicaLoad(brokerId, tp, metricValues, windows);
+    markBrokerLoadChanged(broker(brokerId));
 
     // Update the recent load of cluster.
     _load.addMetricValues(metricValues, windows);
@@ -777,6 +1108,7 @@ public class ClusterModel implements Serializable {
    * @param brokerCapacityInfo The capacity information to use if the broker does not exist.
    */
   public void handleDeadBroker(String rackId, int brokerId, BrokerCapacityInfo brokerCapacityInfo) {
+    invalidateClusterStats();
     if (rack(rackId) == null) {
       createRack(rackId);
     }
@@ -834,6 +1166,11 @@ public class ClusterModel implements Serializable {
                                boolean isOffline,
                                String logdir,
                                boolean isFuture) {
+    invalidateClusterStats();
+    Partition existingPartition = _partitionsByTopicPartition.get(tp);
+    if (existingPartition != null && existingPartition.leader() != null) {
+      recordPlacementChange(tp);
+    }
     Replica replica;
     Broker broker = broker(brokerId);
     if (!isFuture) {
@@ -855,6 +1192,7 @@ public class ClusterModel implements Serializable {
       replica.setBroker(broker);
     }
     rack(rackId).addReplica(replica);
+    markBrokerLoadChanged(broker);
     // Increment the number of replicas per this topic.
     _numReplicasByTopic.merge(tp.topic(), 1, Integer::sum);
 
@@ -897,11 +1235,13 @@ public class ClusterModel implements Serializable {
    * @param brokerId Id of the broker hosting the replica.
    */
   public void deleteReplica(TopicPartition topicPartition, int brokerId) {
+    invalidateClusterStats();
     int currentReplicaCount = _partitionsByTopicPartition.get(topicPartition).replicas().size();
     if (currentReplicaCount < 2) {
       throw new IllegalStateException(String.format("Unable to delete replica for topic partition %s since it only has %d replicas.",
                                                     topicPartition, currentReplicaCount));
     }
+    recordPlacementChange(topicPartition);
     removeReplica(brokerId, topicPartition);
     // Update partition info.
     Partition partition = _partitionsByTopicPartition.get(topicPartition);
@@ -932,6 +1272,8 @@ public class ClusterModel implements Serializable {
                              int brokerId,
                              BrokerCapacityInfo brokerCapacityInfo,
                              boolean populateReplicaPlacementInfo) {
+    invalidateClusterStats();
+    invalidateBrokerUtilizationIndexes();
     _potentialLeadershipLoadByBrokerId.putIfAbsent(brokerId, new Load());
     Rack rack = rack(rackId);
     _brokerIdToRack.put(brokerId, rack);
@@ -953,6 +1295,7 @@ public class ClusterModel implements Serializable {
    * @return Created rack.
    */
   public Rack createRack(String rackId) {
+    invalidateClusterStats();
     Rack rack = new Rack(rackId);
     return _racksById.putIfAbsent(rackId, rack);
   }
@@ -1068,29 +1411,10 @@ public class ClusterModel implements Serializable {
    *
    * @param resource The resource type.
    * @param utilizationThreshold Utilization threshold for the given resource.
-   * @return Alive broker under threshold for the given resource type.
+   * @return Alive broker under threshold for the given resource type, in ascending order of utilization percentage.
    */
   public List<Broker> aliveBrokersUnderThreshold(Resource resource, double utilizationThreshold) {
-    List<Broker> aliveBrokersUnderThreshold = new ArrayList<>();
-
-    for (Broker aliveBroker : aliveBrokers()) {
-      if (resource.isBrokerResource()) {
-        double brokerCapacityLimit = aliveBroker.capacityFor(resource) * utilizationThreshold;
-        double brokerUtilization = aliveBroker.load().expectedUtilizationFor(resource);
-        if (brokerUtilization >= brokerCapacityLimit) {
-          continue;
-        }
-      }
-      if (resource.isHostResource()) {
-        double hostCapacityLimit = aliveBroker.host().capacityFor(resource) * utilizationThreshold;
-        double hostUtilization = aliveBroker.host().load().expectedUtilizationFor(resource);
-        if (hostUtilization >= hostCapacityLimit) {
-          continue;
-        }
-      }
-      aliveBrokersUnderThreshold.add(aliveBroker);
-    }
-    return aliveBrokersUnderThreshold;
+    return brokerUtilizationIndex(resource).brokersUnderThreshold(utilizationThreshold);
   }
 
   /**
@@ -1098,29 +1422,10 @@ public class ClusterModel implements Serializable {
    *
    * @param resource The resource type.
    * @param utilizationThreshold Utilization threshold for the given resource.
-   * @return Alive broker over threshold for the given resource type.
+   * @return Alive broker over threshold for the given resource type, in descending order of utilization percentage.
    */
   public List<Broker> aliveBrokersOverThreshold(Resource resource, double utilizationThreshold) {
-    List<Broker> aliveBrokersOverThreshold = new ArrayList<>();
-
-    for (Broker aliveBroker : aliveBrokers()) {
-      if (resource.isBrokerResource()) {
-        double brokerCapacityLimit = aliveBroker.capacityFor(resource) * utilizationThreshold;
-        double brokerUtilization = aliveBroker.load().expectedUtilizationFor(resource);
-        if (brokerUtilization <= brokerCapacityLimit) {
-          continue;
-        }
-      }
-      if (resource.isHostResource()) {
-        double hostCapacityLimit = aliveBroker.host().capacityFor(resource) * utilizationThreshold;
-        double hostUtilization = aliveBroker.host().load().expectedUtilizationFor(resource);
-        if (hostUtilization <= hostCapacityLimit) {
-          continue;
-        }
-      }
-      aliveBrokersOverThreshold.add(aliveBroker);
-    }
-    return aliveBrokersOverThreshold;
+    return brokerUtilizationIndex(resource).brokersOverThreshold(utilizationThreshold);
   }
 
   /**
@@ -1391,4 +1696,26 @@ public class ClusterModel implements Serializable {
       _clusterCapacity[r.id()] = capacity;
     }
   }
+
+  /**
+   * Cluster stats along with the optimization options that the stats were populated with.
+   */
+  private static class CachedClusterStats {
+    private final ClusterModelStats _clusterModelStats;
+    private final OptimizationOptions _optimizationOptions;
+
+    CachedClusterStats(ClusterModelStats clusterModelStats, OptimizationOptions optimizationOptions) {
+      _clusterModelStats = clusterModelStats;
+      _optimizationOptions = optimizationOptions;
+    }
+
+    ClusterModelStats clusterModelStats() {
+      return _clusterModelStats;
+    }
+
+    boolean isPopulatedWith(BalancingConstraint balancingConstraint, OptimizationOptions optimizationOptions) {
+      // Goals and the goal optimizer use distinct but equal balancing constraints, hence constraints are compared by value.
+      return _optimizationOptions == optimizationOptions && _clusterModelStats.balancingConstraint().equals(balancingConstraint);
+    }
+  }
 }
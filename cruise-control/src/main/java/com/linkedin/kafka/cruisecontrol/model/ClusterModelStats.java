@@ -12,13 +12,14 @@ import com.linkedin.kafka.cruisecontrol.analyzer.BalancingConstraint;
 import com.linkedin.kafka.cruisecontrol.common.Statistic;
 import com.linkedin.kafka.cruisecontrol.servlet.response.JsonResponseField;
 import com.linkedin.kafka.cruisecontrol.servlet.response.JsonResponseClass;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
-import java.util.function.Function;
 import org.apache.kafka.common.TopicPartition;
 
 import static com.linkedin.kafka.cruisecontrol.analyzer.goals.GoalUtils.averageDiskUtilizationPercentage;
@@ -89,10 +90,12 @@ public class ClusterModelStats {
     _numTopics = topics.size();
     _balancingConstraint = balancingConstraint;
     _brokersAllowedReplicaMove = GoalUtils.aliveBrokersNotExcludedForReplicaMove(clusterModel, optimizationOptions);
-    utilizationForResources(clusterModel, optimizationOptions, aliveBrokers);
+    BrokerStatsSums brokerStatsSums = clusterModel.brokerStatsSums();
+    List<Broker> aliveBrokersExcludedForReplicaMove = aliveBrokersExcludedForReplicaMove(clusterModel, optimizationOptions);
+    utilizationForResources(clusterModel, optimizationOptions, aliveBrokers, brokerStatsSums, aliveBrokersExcludedForReplicaMove);
     utilizationForPotentialNwOut(clusterModel, optimizationOptions, aliveBrokers);
-    numForReplicas(clusterModel, brokers, aliveBrokers);
-    numForLeaderReplicas(brokers, aliveBrokers);
+    numForReplicas(clusterModel, brokerStatsSums, aliveBrokersExcludedForReplicaMove);
+    numForLeaderReplicas(brokerStatsSums, aliveBrokersExcludedForReplicaMove);
     numForAvgTopicReplicas(clusterModel, brokers, topics);
     _utilizationMatrix = clusterModel.utilizationMatrix();
     _numSnapshotWindows = clusterModel.load().numWindows();
@@ -256,15 +259,34 @@ public class ClusterModelStats {
                                       _topicReplicaStats).toString();
   }
 
+  // The terms of these brokers are subtracted from the running sums over alive brokers to get the stats of brokers allowed replica move.
+  private static List<Broker> aliveBrokersExcludedForReplicaMove(ClusterModel clusterModel, OptimizationOptions optimizationOptions) {
+    List<Broker> aliveBrokersExcludedForReplicaMove = new ArrayList<>();
+    for (int brokerId : optimizationOptions.excludedBrokersForReplicaMove()) {
+      Broker broker = clusterModel.broker(brokerId);
+      if (broker != null && broker.isAlive()) {
+        aliveBrokersExcludedForReplicaMove.add(broker);
+      }
+    }
+    return aliveBrokersExcludedForReplicaMove;
+  }
+
   /**
    * Generate statistics of utilization for resources among alive brokers in the given cluster.
-   * Average and standard deviation calculations are based on brokers not excluded for replica moves.
+   * Average and standard deviation calculations are based on brokers not excluded for replica moves, and the standard
+   * deviation is derived from the running sums of the cluster model.
    *
    * @param clusterModel The state of the cluster.
    * @param optimizationOptions Options to take into account while retrieving cluster capacity.
    * @param aliveBrokers Alive brokers in the cluster -- passed to this function to avoid recomputing them using cluster model.
+   * @param brokerStatsSums Running sums over the brokers of the cluster.
+   * @param aliveBrokersExcludedForReplicaMove Alive brokers excluded for replica moves.
    */
-  private void utilizationForResources(ClusterModel clusterModel, OptimizationOptions optimizationOptions, Set<Broker> aliveBrokers) {
+  private void utilizationForResources(ClusterModel clusterModel,
+                                       OptimizationOptions optimizationOptions,
+                                       Set<Broker> aliveBrokers,
+                                       BrokerStatsSums brokerStatsSums,
+                                       List<Broker> aliveBrokersExcludedForReplicaMove) {
     // Average, maximum, and standard deviation of utilization by resource.
     Map<Resource, Double> avgUtilizationByResource = new HashMap<>();
     Map<Resource, Double> maxUtilizationByResource = new HashMap<>();
@@ -288,10 +310,9 @@ public class ClusterModelStats {
                                                                                           ResourceDistributionGoal.BALANCE_MARGIN,
                                                                                           true);
 
-      // Maximum, minimum, and standard deviation utilization for the resource.
+      // Maximum and minimum utilization for the resource.
       double hottestBrokerUtilization = 0.0;
       double coldestBrokerUtilization = Double.MAX_VALUE;
-      double varianceSum = 0.0;
       int numBalancedBrokersInBrokersAllowedReplicaMove = 0;
       for (Broker broker : aliveBrokers) {
         double utilization = resource.isHostResource() ? broker.host().load().expectedUtilizationFor(resource)
@@ -306,9 +327,9 @@ public class ClusterModelStats {
           if (utilizationPercentage >= balanceLowerThreshold && utilizationPercentage <= balanceUpperThreshold) {
             numBalancedBrokersInBrokersAllowedReplicaMove++;
           }
-          varianceSum += Math.pow(utilization - avgUtilizationPercentage * capacity, 2);
         }
       }
+      double varianceSum = brokerStatsSums.utilizationVarianceSum(resource, avgUtilizationPercentage, aliveBrokersExcludedForReplicaMove);
       _numBalancedBrokersByResource.put(resource, numBalancedBrokersInBrokersAllowedReplicaMove);
       avgUtilizationByResource.put(resource, resourceUtilization / _brokersAllowedReplicaMove.size());
       maxUtilizationByResource.put(resource, hottestBrokerUtilization);
@@ -365,14 +386,13 @@ public class ClusterModelStats {
    * Generate statistics for replicas in the given cluster.
    *
    * @param clusterModel The state of the cluster.
-   * @param brokers Brokers in the cluster -- passed to this function to avoid recomputing them using cluster model.
-   * @param aliveBrokers Alive brokers in the cluster -- passed to this function to avoid recomputing them using cluster model.
+   * @param brokerStatsSums Running sums over the brokers of the cluster.
+   * @param aliveBrokersExcludedForReplicaMove Alive brokers excluded for replica moves.
    */
-  private void numForReplicas(ClusterModel clusterModel, SortedSet<Broker> brokers, Set<Broker> aliveBrokers) {
-    populateReplicaStats(broker -> broker.replicas().size(),
+  private void numForReplicas(ClusterModel clusterModel, BrokerStatsSums brokerStatsSums, List<Broker> aliveBrokersExcludedForReplicaMove) {
+    populateReplicaStats(brokerStatsSums.replicaCountSums(),
                          _replicaStats,
-                         brokers,
-                         aliveBrokers);
+                         aliveBrokersExcludedForReplicaMove);
     _numReplicasInCluster = clusterModel.numReplicas();
     // Set the number of partitions with offline replicas.
     Set<TopicPartition> partitionsWithOfflineReplicas = new HashSet<>();
@@ -385,53 +405,35 @@ public class ClusterModelStats {
   /**
    * Generate statistics for leader replicas in the given cluster.
    *
-   * @param brokers Brokers in the cluster -- passed to this function to avoid recomputing them using cluster model.
-   * @param aliveBrokers Alive brokers in the cluster -- passed to this function to avoid recomputing them using cluster model.
+   * @param brokerStatsSums Running sums over the brokers of the cluster.
+   * @param aliveBrokersExcludedForReplicaMove Alive brokers excluded for replica moves.
    */
-  private void numForLeaderReplicas(SortedSet<Broker> brokers, Set<Broker> aliveBrokers) {
-    populateReplicaStats(broker -> broker.leaderReplicas().size(),
+  private void numForLeaderReplicas(BrokerStatsSums brokerStatsSums, List<Broker> aliveBrokersExcludedForReplicaMove) {
+    populateReplicaStats(brokerStatsSums.leaderReplicaCountSums(),
                          _leaderReplicaStats,
-                         brokers,
-                         aliveBrokers);
+                         aliveBrokersExcludedForReplicaMove);
   }
 
   /**
-   * Generate statistics for replicas of interest in the given cluster.
+   * Generate statistics for replicas of interest in the given cluster from the running sums of their number in brokers.
    * Average and standard deviation calculations are based on brokers not excluded for replica moves.
    *
-   * @param numInterestedReplicasFunc function to calculate number of replicas of interest on a broker.
+   * @param interestedReplicaCountSums Running sums of the number of replicas of interest in brokers.
    * @param interestedReplicaStats statistics for replicas of interest.
-   * @param brokers Brokers in the cluster -- passed to this function to avoid recomputing them using cluster model.
-   * @param aliveBrokers Alive brokers in the cluster -- passed to this function to avoid recomputing them using cluster model.
+   * @param aliveBrokersExcludedForReplicaMove Alive brokers excluded for replica moves.
    */
-  private void populateReplicaStats(Function<Broker, Integer> numInterestedReplicasFunc,
+  private void populateReplicaStats(BrokerStatsSums.ReplicaCountSums interestedReplicaCountSums,
                                     Map<Statistic, Number> interestedReplicaStats,
-                                    SortedSet<Broker> brokers,
-                                    Set<Broker> aliveBrokers) {
-    // Average, minimum, and maximum number of replicas of interest in brokers.
-    int maxInterestedReplicasInBroker = 0;
-    int minInterestedReplicasInBroker = Integer.MAX_VALUE;
-    int numInterestedReplicasInCluster = 0;
-    for (Broker broker : brokers) {
-      int numInterestedReplicasInBroker = numInterestedReplicasFunc.apply(broker);
-      numInterestedReplicasInCluster += numInterestedReplicasInBroker;
-      maxInterestedReplicasInBroker = Math.max(maxInterestedReplicasInBroker, numInterestedReplicasInBroker);
-      minInterestedReplicasInBroker = Math.min(minInterestedReplicasInBroker, numInterestedReplicasInBroker);
-    }
-    double avgInterestedReplicas = ((double) numInterestedReplicasInCluster) / _brokersAllowedReplicaMove.size();
-
+                                    List<Broker> aliveBrokersExcludedForReplicaMove) {
+    // Average number of replicas of interest in brokers.
+    double avgInterestedReplicas = ((double) interestedReplicaCountSums.sum()) / _brokersAllowedReplicaMove.size();
     // Standard deviation of replicas of interest in alive brokers.
-    double variance = 0.0;
-    for (Broker broker : aliveBrokers) {
-      if (_brokersAllowedReplicaMove.contains(broker.id())) {
-        variance += (Math.pow((double) numInterestedReplicasFunc.apply(broker) - avgInterestedReplicas, 2)
-                     / _brokersAllowedReplicaMove.size());
-      }
-    }
+    double variance = interestedReplicaCountSums.varianceSum(avgInterestedReplicas, aliveBrokersExcludedForReplicaMove)
+                      / _brokersAllowedReplicaMove.size();
 
     interestedReplicaStats.put(Statistic.AVG, avgInterestedReplicas);
-    interestedReplicaStats.put(Statistic.MAX, maxInterestedReplicasInBroker);
-    interestedReplicaStats.put(Statistic.MIN, minInterestedReplicasInBroker);
+    interestedReplicaStats.put(Statistic.MAX, interestedReplicaCountSums.max());
+    interestedReplicaStats.put(Statistic.MIN, interestedReplicaCountSums.min());
     interestedReplicaStats.put(Statistic.ST_DEV, Math.sqrt(variance));
   }
 
@@ -17,6 +17,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 import org.apache.kafka.common.TopicPartition;
 import java.util.stream.Collectors;
 
@@ -152,6 +153,24 @@ public class Disk implements Comparable<Disk> {
     _sortedReplicas.values().forEach(sr -> sr.remove(replica));
   }
 
+  /**
+   * Track the sorted replicas using the given selection/priority/score functions, where the score function returns boxed scores.
+   * See {@link #trackSortedReplicas(String, Set, List, ToDoubleFunction)}.
+   *
+   * @param sortName the name of the tracked sorted replicas.
+   * @param selectionFuncs A set of selection functions to decide which replica to include in the sort. If it is {@code null}
+   *                      or empty, all the replicas are to be included.
+   * @param priorityFuncs A list of priority functions to sort the replicas.
+   * @param scoreFunc the score function to sort the replicas with the same priority, replicas are sorted in ascending
+   *                  order of score.
+   */
+  void trackSortedReplicas(String sortName,
+                           Set<Function<Replica, Boolean>> selectionFuncs,
+                           List<Function<Replica, Integer>> priorityFuncs,
+                           Function<Replica, Double> scoreFunc) {
+    trackSortedReplicas(sortName, selectionFuncs, priorityFuncs, scoreFunc == null ? null : (ToDoubleFunction<Replica>) scoreFunc::apply);
+  }
+
   /**
    * Track the sorted replicas using the given selection/priority/score functions.
    * Selection functions determine whether a replica should be included or not, only replica satisfies all selection functions
@@ -171,7 +190,7 @@ public class Disk implements Comparable<Disk> {
   void trackSortedReplicas(String sortName,
                            Set<Function<Replica, Boolean>> selectionFuncs,
                            List<Function<Replica, Integer>> priorityFuncs,
-                           Function<Replica, Double> scoreFunc) {
+                           ToDoubleFunction<Replica> scoreFunc) {
     _sortedReplicas.putIfAbsent(sortName, new SortedReplicas(_broker, this, selectionFuncs, priorityFuncs, scoreFunc, true));
   }
 
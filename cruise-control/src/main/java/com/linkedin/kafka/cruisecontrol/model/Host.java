@@ -228,6 +228,12 @@ public class Host implements Serializable {
     _load.addMetricValues(aggregatedMetricValues, windows);
   }
 
+  void shareReplicaLoad(int brokerId, TopicPartition tp, Load loadToShare) {
+    Broker broker = _brokers.get(brokerId);
+    broker.shareReplicaLoad(tp, loadToShare);
+    _load.addMetricValues(loadToShare.loadByWindows(), loadToShare.windows());
+  }
+
   void clearLoad() {
     _brokers.values().forEach(Broker::clearLoad);
     _load.clearLoad();
@@ -27,9 +27,21 @@ import static java.lang.Math.max;
  * windows.
  */
 public class Load implements Serializable {
+  // Expected utilization modes in the cache: the representative (i.e. neither max nor avg), the max, and the avg utilization.
+  private static final int NUM_EXPECTED_UTILIZATION_MODES = 3;
+  private static final int REPRESENTATIVE_UTILIZATION = 0;
+  private static final int MAX_UTILIZATION = 1;
+  private static final int AVG_UTILIZATION = 2;
   // load by their time.
   private List<Long> _windows;
-  private final AggregatedMetricValues _metricValues;
+  private AggregatedMetricValues _metricValues;
+  // Whether the metric values may be shared with other loads, in which case they must be copied before modification.
+  private boolean _sharesMetricValues;
+  // The generation of the metric values, which is incremented upon each change to the metric values.
+  private int _generation;
+  // Expected utilization by resource and mode, along with the generation of the metric values that each entry was computed from.
+  private final double[] _cachedExpectedUtilization;
+  private final int[] _cachedExpectedUtilizationGeneration;
 
   /**
    * Package constructor for load with given load properties.
@@ -37,9 +49,16 @@ public class Load implements Serializable {
   public Load() {
     _windows = null;
     _metricValues = new AggregatedMetricValues();
+    _sharesMetricValues = false;
+    // Cache entries are stamped with generation 0, hence they are initially invalid.
+    _generation = 1;
+    _cachedExpectedUtilization = new double[Resource.cachedValues().size() * NUM_EXPECTED_UTILIZATION_MODES];
+    _cachedExpectedUtilizationGeneration = new int[_cachedExpectedUtilization.length];
   }
 
   /**
+   * The returned metric values must not be modified, since the expected utilization of this load is cached.
+   *
    * @return Aggregated metric values associated with the load.
    */
   public AggregatedMetricValues loadByWindows() {
@@ -82,6 +101,17 @@ public class Load implements Serializable {
     if (wantMaxLoad && wantAvgLoad) {
       throw new IllegalArgumentException("Attempt to request expected utilization with both max and avg load.");
     }
+    int cacheIndex = cacheIndex(resource, wantMaxLoad ? MAX_UTILIZATION : (wantAvgLoad ? AVG_UTILIZATION : REPRESENTATIVE_UTILIZATION));
+    if (_cachedExpectedUtilizationGeneration[cacheIndex] == _generation) {
+      return _cachedExpectedUtilization[cacheIndex];
+    }
+    double expectedUtilization = computeExpectedUtilizationFor(resource, wantMaxLoad, wantAvgLoad);
+    _cachedExpectedUtilization[cacheIndex] = expectedUtilization;
+    _cachedExpectedUtilizationGeneration[cacheIndex] = _generation;
+    return expectedUtilization;
+  }
+
+  private double computeExpectedUtilizationFor(Resource resource, boolean wantMaxLoad, boolean wantAvgLoad) {
     if (_metricValues.isEmpty()) {
       return 0.0;
     }
@@ -95,7 +125,38 @@ public class Load implements Serializable {
   }
 
   public double expectedUtilizationFor(Resource resource) {
-    return ModelUtils.expectedUtilizationFor(resource, _metricValues);
+    int cacheIndex = cacheIndex(resource, REPRESENTATIVE_UTILIZATION);
+    if (_cachedExpectedUtilizationGeneration[cacheIndex] == _generation) {
+      return _cachedExpectedUtilization[cacheIndex];
+    }
+    double expectedUtilization = ModelUtils.expectedUtilizationFor(resource, _metricValues);
+    _cachedExpectedUtilization[cacheIndex] = expectedUtilization;
+    _cachedExpectedUtilizationGeneration[cacheIndex] = _generation;
+    return expectedUtilization;
+  }
+
+  private static int cacheIndex(Resource resource, int mode) {
+    return resource.id() * NUM_EXPECTED_UTILIZATION_MODES + mode;
+  }
+
+  /**
+   * Ensure that the metric values of this load are not shared with any other load. This method must be called before each
+   * change to the metric values.
+   */
+  private void ensureExclusiveMetricValues() {
+    if (_sharesMetricValues) {
+      AggregatedMetricValues metricValues = new AggregatedMetricValues();
+      metricValues.add(_metricValues);
+      _metricValues = metricValues;
+      _sharesMetricValues = false;
+    }
+  }
+
+  /**
+   * Invalidate the cached expected utilization. This method must be called upon each change to the metric values.
+   */
+  private void invalidateCachedExpectedUtilization() {
+    _generation++;
   }
 
   /**
@@ -158,6 +219,7 @@ public class Load implements Serializable {
    * @param loadToSet Load to set.
    */
   void setLoad(AggregatedMetricValues loadToSet) {
+    ensureExclusiveMetricValues();
     if (loadToSet.length() != _metricValues.length()) {
       throw new IllegalArgumentException("Load to set and load for the resources must have exactly "
                                          + _metricValues.length() + " entries.");
@@ -169,6 +231,7 @@ public class Load implements Serializable {
         values.set(i, (float) valuesToSet.get(i));
       }
     });
+    invalidateCachedExpectedUtilization();
   }
 
   /**
@@ -178,6 +241,7 @@ public class Load implements Serializable {
    * @param loadToSet Load for the given metric id to overwrite the original load by snapshot time.
    */
   void setLoad(short metricId, MetricValues loadToSet) {
+    ensureExclusiveMetricValues();
     if (loadToSet.length() != _metricValues.length()) {
       throw new IllegalArgumentException("Load to set and load for the resources must have exactly "
                                          + _metricValues.length() + " entries.");
@@ -186,6 +250,7 @@ public class Load implements Serializable {
     for (int i = 0; i < loadToSet.length(); i++) {
       values.set(i, (float) loadToSet.get(i));
     }
+    invalidateCachedExpectedUtilization();
   }
 
   /**
@@ -194,7 +259,9 @@ public class Load implements Serializable {
    * @param resource Resource for which the utilization will be cleared.
    */
   void clearLoadFor(Resource resource) {
+    ensureExclusiveMetricValues();
     KafkaMetricDef.resourceToMetricIds(resource).forEach(id -> _metricValues.valuesFor(id).clear());
+    invalidateCachedExpectedUtilization();
   }
 
   /**
@@ -210,6 +277,24 @@ public class Load implements Serializable {
     }
     _windows = windows;
     _metricValues.add(aggregatedMetricValues);
+    invalidateCachedExpectedUtilization();
+  }
+
+  /**
+   * Share the metric values of the given load with this load rather than copying them. The shared metric values are copied
+   * upon the first modification of either load, hence the shared metric values are never modified.
+   *
+   * @param loadToShare the load whose metric values will be shared with this load.
+   */
+  void shareMetricValues(Load loadToShare) {
+    if (!_metricValues.isEmpty()) {
+      throw new IllegalStateException("Metric values already exists, cannot share metric values.");
+    }
+    loadToShare._sharesMetricValues = true;
+    _windows = loadToShare.windows();
+    _metricValues = loadToShare.loadByWindows();
+    _sharesMetricValues = true;
+    invalidateCachedExpectedUtilization();
   }
 
   /**
@@ -218,10 +303,12 @@ public class Load implements Serializable {
    * @param windows the windows list of the aggregated metric values.
    */
   void addMetricValues(AggregatedMetricValues aggregatedMetricValues, List<Long> windows) {
+    ensureExclusiveMetricValues();
     if (_windows == null) {
       _windows = windows;
     }
     _metricValues.add(aggregatedMetricValues);
+    invalidateCachedExpectedUtilization();
   }
 
   /**
@@ -230,7 +317,9 @@ public class Load implements Serializable {
    * @param loadToAdd Load to add to this load.
    */
   void addLoad(Load loadToAdd) {
+    ensureExclusiveMetricValues();
     _metricValues.add(loadToAdd.loadByWindows());
+    invalidateCachedExpectedUtilization();
   }
 
   /**
@@ -239,8 +328,10 @@ public class Load implements Serializable {
    * @param loadToAdd Load to add to this load for the given resource.
    */
   void addLoad(AggregatedMetricValues loadToAdd) {
+    ensureExclusiveMetricValues();
     if (!_metricValues.isEmpty()) {
       _metricValues.add(loadToAdd);
+      invalidateCachedExpectedUtilization();
     }
   }
 
@@ -250,7 +341,9 @@ public class Load implements Serializable {
    * @param loadToSubtract Load to subtract from this load.
    */
   void subtractLoad(Load loadToSubtract) {
+    ensureExclusiveMetricValues();
     _metricValues.subtract(loadToSubtract.loadByWindows());
+    invalidateCachedExpectedUtilization();
   }
 
   /**
@@ -259,8 +352,10 @@ public class Load implements Serializable {
    * @param loadToSubtract Load to subtract from this load for the given resource.
    */
   void subtractLoad(AggregatedMetricValues loadToSubtract) {
+    ensureExclusiveMetricValues();
     if (!_metricValues.isEmpty()) {
       _metricValues.subtract(loadToSubtract);
+      invalidateCachedExpectedUtilization();
     }
   }
 
@@ -268,7 +363,9 @@ public class Load implements Serializable {
    * Clear the content of the circular list for each resource.
    */
   void clearLoad() {
+    ensureExclusiveMetricValues();
     _metricValues.clear();
+    invalidateCachedExpectedUtilization();
   }
 
   /**
@@ -283,6 +380,11 @@ public class Load implements Serializable {
    * @return Load of the requested resource as a mapping from snapshot time to utilization for the given resource.
    */
   AggregatedMetricValues loadFor(Resource resource, boolean shareValueArray) {
+    if (shareValueArray) {
+      // The caller may update the shared value array.
+      ensureExclusiveMetricValues();
+      invalidateCachedExpectedUtilization();
+    }
     return _metricValues.valuesFor(KafkaMetricDef.resourceToMetricIds(resource), shareValueArray);
   }
 
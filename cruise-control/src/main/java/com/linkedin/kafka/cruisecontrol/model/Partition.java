@@ -278,6 +278,13 @@ public class Partition implements Serializable {
     _ineligibleBrokers.add(ineligibleBroker);
   }
 
+  /**
+   * @return Brokers which are unable to host the replica of the partition.
+   */
+  Set<Broker> ineligibleBrokers() {
+    return Collections.unmodifiableSet(_ineligibleBrokers);
+  }
+
   /**
    * Check if the broker is eligible to host the replica of the partition.
    *
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.common.TopicPartition;
+
+
+/**
+ * A journal of the placement changes in a cluster model. Once started via {@link ClusterModel#startPlacementJournal()},
+ * the journal records the replica and leader placement of each partition right before the first change to its replicas
+ * or leadership. Hence, the initial distribution tracked by the journal covers only the partitions that have been touched
+ * since the start of the journal, which avoids taking a snapshot of the entire replica and leader distribution in order
+ * to find out the changes in the cluster model.
+ */
+public class PlacementJournal {
+  private final ClusterModel _clusterModel;
+  private final Map<TopicPartition, List<ReplicaPlacementInfo>> _initialReplicaDistribution;
+  private final Map<TopicPartition, ReplicaPlacementInfo> _initialLeaderDistribution;
+
+  PlacementJournal(ClusterModel clusterModel) {
+    _clusterModel = clusterModel;
+    _initialReplicaDistribution = new HashMap<>();
+    _initialLeaderDistribution = new HashMap<>();
+  }
+
+  /**
+   * Record the current placement of the given partition unless it has already been recorded by this journal.
+   *
+   * @param partition The partition that is about to be changed.
+   */
+  void record(Partition partition) {
+    TopicPartition tp = partition.topicPartition();
+    if (_initialReplicaDistribution.containsKey(tp)) {
+      return;
+    }
+    List<ReplicaPlacementInfo> replicaPlacementInfos = new ArrayList<>(partition.replicas().size());
+    for (Replica replica : partition.replicas()) {
+      replicaPlacementInfos.add(placementInfo(replica));
+    }
+    _initialReplicaDistribution.put(tp, replicaPlacementInfos);
+    _initialLeaderDistribution.put(tp, placementInfo(partition.leader()));
+  }
+
+  private static ReplicaPlacementInfo placementInfo(Replica replica) {
+    return replica.disk() == null ? new ReplicaPlacementInfo(replica.broker().id())
+                                  : new ReplicaPlacementInfo(replica.broker().id(), replica.disk().logDir());
+  }
+
+  /**
+   * @return The cluster model whose changes are recorded by this journal.
+   */
+  public ClusterModel clusterModel() {
+    return _clusterModel;
+  }
+
+  /**
+   * @return The replica distribution of the touched partitions at the start of this journal.
+   */
+  public Map<TopicPartition, List<ReplicaPlacementInfo>> initialReplicaDistribution() {
+    return Collections.unmodifiableMap(_initialReplicaDistribution);
+  }
+
+  /**
+   * @return The leader distribution of the touched partitions at the start of this journal.
+   */
+  public Map<TopicPartition, ReplicaPlacementInfo> initialLeaderDistribution() {
+    return Collections.unmodifiableMap(_initialLeaderDistribution);
+  }
+
+  /**
+   * @return Number of partitions touched since the start of this journal.
+   */
+  public int numTouchedPartitions() {
+    return _initialReplicaDistribution.size();
+  }
+}
@@ -244,6 +244,20 @@ public class Rack implements Serializable {
     _load.addMetricValues(aggregatedMetricValues, windows);
   }
 
+  /**
+   * Set the replica load to share the metric values of the given load.
+   *
+   * @param brokerId Broker Id containing the replica with the given topic partition.
+   * @param tp Topic partition that identifies the replica in this broker.
+   * @param loadToShare The load whose metric values will be shared with the replica.
+   */
+  void shareReplicaLoad(int brokerId, TopicPartition tp, Load loadToShare) {
+    Host host = _brokers.get(brokerId).host();
+    host.shareReplicaLoad(brokerId, tp, loadToShare);
+    // Update the recent load of this rack.
+    _load.addMetricValues(loadToShare.loadByWindows(), loadToShare.windows());
+  }
+
   /**
    * Create a broker under this rack, and get the created broker.
    *
@@ -193,6 +193,15 @@ public class Replica implements Serializable, Comparable<Replica> {
     _load.initializeMetricValues(aggregatedMetricValues, windows);
   }
 
+  /**
+   * Share the metric values of the given load with this replica until either of them is modified.
+   *
+   * @param loadToShare The load whose metric values will be shared with this replica.
+   */
+  void shareMetricValues(Load loadToShare) {
+    _load.shareMetricValues(loadToShare);
+  }
+
   /**
    * Clear the content of monitoring data at each replica in the broker.
    */
@@ -230,7 +239,8 @@ public class Replica implements Serializable, Comparable<Replica> {
     // Just get the first metric id because CPU only has one metric id in the group. Eventually the per replica
     // CPU utilization will be removed to use resource estimation at broker level.
     short cpuMetricId = KafkaMetricDef.resourceToMetricIds(Resource.CPU).get(0);
-    AggregatedMetricValues leadershipNwOutLoad = _load.loadFor(Resource.NW_OUT, true);
+    // Share the value arrays only if the load will be updated, so the read-only path does not copy a forked load.
+    AggregatedMetricValues leadershipNwOutLoad = _load.loadFor(Resource.NW_OUT, updateLoad);
 
     // Create a leadership load delta to store the load change.
     AggregatedMetricValues leadershipLoadDelta = new AggregatedMetricValues();
@@ -274,9 +284,9 @@ public class Replica implements Serializable, Comparable<Replica> {
     // Just get the first metric id because CPU only has one metric id in the group. Eventually the per replica
     // CPU utilization will be removed to use resource estimation at broker level.
     short cpuMetricId = KafkaMetricDef.resourceToMetricIds(Resource.CPU).get(0);
-    // Use the shared data structure so we can set the load directly.
-    MetricValues cpuLoad = _load.loadFor(Resource.CPU, true).valuesFor(cpuMetricId);
-    AggregatedMetricValues leadershipNwInLoad = _load.loadFor(Resource.NW_IN, true);
+    // Use the shared data structure so we can set the load directly if the load will be updated.
+    MetricValues cpuLoad = _load.loadFor(Resource.CPU, updateLoad).valuesFor(cpuMetricId);
+    AggregatedMetricValues leadershipNwInLoad = _load.loadFor(Resource.NW_IN, updateLoad);
 
     MetricValues cpuLoadChange = new MetricValues(_load.numWindows());
     MetricValues totalNetworkOutLoad =
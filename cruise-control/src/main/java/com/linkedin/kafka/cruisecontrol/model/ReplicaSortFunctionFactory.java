@@ -10,6 +10,7 @@ import com.linkedin.kafka.cruisecontrol.common.Resource;
 import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 /**
  * A factory class of replica sort functions. It is always preferred to use the functions in this factory instead
@@ -48,12 +49,12 @@ public final class ReplicaSortFunctionFactory {
    * @return A score function to score by the metric group value of the given metric group in positive way, i.e. the higher
    *         the metric group value, the higher the score.
    */
-  public static Function<Replica, Double> sortByMetricGroupValue(String metricGroup) {
+  public static ToDoubleFunction<Replica> sortByMetricGroupValue(String metricGroup) {
     return r -> {
       MetricValues metricValues = r.load()
                                    .loadByWindows()
                                    .valuesForGroup(metricGroup, KafkaMetricDef.commonMetricDef(), true);
-      return (double) metricValues.avg();
+      return metricValues.avg();
     };
   }
 
@@ -62,12 +63,12 @@ public final class ReplicaSortFunctionFactory {
    * @return A score function to score by the metric group value of the given metric group in negative way, i.e. the higher
    *         the metric group value, the lower the score.
    */
-  public static Function<Replica, Double> reverseSortByMetricGroupValue(String metricGroup) {
+  public static ToDoubleFunction<Replica> reverseSortByMetricGroupValue(String metricGroup) {
     return r -> {
       MetricValues metricValues = r.load()
                                    .loadByWindows()
                                    .valuesForGroup(metricGroup, KafkaMetricDef.commonMetricDef(), true);
-      return -(double) metricValues.avg();
+      return -metricValues.avg();
     };
   }
 
@@ -5,13 +5,17 @@
 
 package com.linkedin.kafka.cruisecontrol.model;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 /**
  * <p>
@@ -43,6 +47,12 @@ import java.util.function.Function;
  *   The SortedReplicas are initialized lazily, i.e. until one of {@link #sortedReplicas(boolean)} is invoked, the sorted replicas
  *   will not be populated.
  * </p>
+ *
+ * <p>
+ *   The priorities and the score of each sorted replica are evaluated once upon adding the replica, and cached to be used in
+ *   comparisons. Replicas whose load has changed -- e.g. upon a leadership change -- are re-sorted lazily in a batch upon the
+ *   next access to the sorted replicas via {@link #sortedReplicas(boolean)}.
+ * </p>
  */
 public class SortedReplicas {
   private final Broker _broker;
@@ -50,14 +60,19 @@ public class SortedReplicas {
   private final SortedSet<Replica> _sortedReplicas;
   private final Set<Function<Replica, Boolean>> _selectionFuncs;
   private final List<Function<Replica, Integer>> _priorityFuncs;
-  private final Function<Replica, Double> _scoreFunc;
-  private final Comparator<Replica> _replicaComparator;
+  private final ToDoubleFunction<Replica> _scoreFunc;
+  // The sort keys of sorted replicas, which are consistent with the position of each replica in the sorted replicas.
+  private final Map<Replica, SortKey> _sortKeyByReplica;
+  // The comparator of the sorted replicas and their clones, which lets a clone be created in linear time from the sorted replicas.
+  private final Comparator<Replica> _comparator;
+  // Sorted replicas to be re-sorted upon the next access to the sorted replicas.
+  private final Map<Replica, Boolean> _replicasToResort;
   private boolean _initialized;
 
   SortedReplicas(Broker broker,
                  Set<Function<Replica, Boolean>> selectionFuncs,
                  List<Function<Replica, Integer>> priorityFuncs,
-                 Function<Replica, Double> scoreFunction) {
+                 ToDoubleFunction<Replica> scoreFunction) {
     this(broker, null, selectionFuncs, priorityFuncs, scoreFunction, true);
   }
 
@@ -65,30 +80,17 @@ public class SortedReplicas {
                  Disk disk,
                  Set<Function<Replica, Boolean>> selectionFuncs,
                  List<Function<Replica, Integer>> priorityFuncs,
-                 Function<Replica, Double> scoreFunc,
+                 ToDoubleFunction<Replica> scoreFunc,
                  boolean initialize) {
     _broker = broker;
     _disk = disk;
     _selectionFuncs = selectionFuncs;
     _scoreFunc = scoreFunc;
     _priorityFuncs = priorityFuncs;
-    _replicaComparator = (Replica r1, Replica r2) -> {
-      // First apply priority functions.
-      int result = comparePriority(r1, r2);
-      if (result != 0) {
-        return result;
-      }
-      // Then apply score function.
-      if (_scoreFunc != null) {
-        result = Double.compare(_scoreFunc.apply(r1), _scoreFunc.apply(r2));
-        if (result != 0) {
-          return result;
-        }
-      }
-      // Fall back to replica's own comparing method.
-      return r1.compareTo(r2);
-    };
-    _sortedReplicas = new TreeSet<>(_replicaComparator);
+    _sortKeyByReplica = new IdentityHashMap<>();
+    _replicasToResort = new IdentityHashMap<>();
+    _comparator = comparator();
+    _sortedReplicas = new TreeSet<>(_comparator);
     // If the sorted replicas need to be initialized, we set the initialized to false and initialize the replicas
     // lazily. If the sorted replicas do not need to be initialized, we simply set the initialized to true, so that
     // all the methods will function normally.
@@ -99,16 +101,19 @@ public class SortedReplicas {
    * Get the sorted replicas in the ascending order of their priority and score.
    * This method initialize the sorted replicas if it hasn't been initialized.
    *
+   * The clone shares the comparator of the sorted replicas, which compares replicas by their current sort key. Hence, once
+   * the sorted replicas are updated, the clone is meant to be iterated -- and pruned via its iterator -- rather than searched.
+   *
    * @param clone whether return a clone of the replica set or the set itself. In general, the clone should be avoided
    *              whenever possible, it is only needed where the sorted replica will be updated in the middle of being iterated.
    * @return The sorted replicas in the ascending order of their priority and score.
    */
   public SortedSet<Replica> sortedReplicas(boolean clone) {
     ensureInitialize();
+    maybeResort();
     if (clone) {
-      SortedSet<Replica> result = new TreeSet<>(_replicaComparator);
-      result.addAll(_sortedReplicas);
-      return result;
+      // Copying a sorted set with the same comparator takes linear time, as the replicas need not be compared.
+      return new TreeSet<>(_sortedReplicas);
     }
     return Collections.unmodifiableSortedSet(_sortedReplicas);
   }
@@ -131,7 +136,7 @@ public class SortedReplicas {
    * @return The score function of this {@link SortedReplicas}
    */
   public Function<Replica, Double> scoreFunction() {
-    return _scoreFunc;
+    return _scoreFunc == null ? null : _scoreFunc::applyAsDouble;
   }
 
   /**
@@ -141,10 +146,11 @@ public class SortedReplicas {
    * @param replica the replica to add.
    */
   public void add(Replica replica) {
-    if (_initialized) {
-      if (_selectionFuncs == null || _selectionFuncs.stream().allMatch(func -> func.apply(replica))) {
-        _sortedReplicas.add(replica);
-      }
+    // A replica with a sort key is already in the sorted replicas.
+    if (_initialized && !_sortKeyByReplica.containsKey(replica) && isSelected(replica)) {
+      // The sort key must be in place before adding the replica, as the comparator relies on it.
+      _sortKeyByReplica.put(replica, sortKey(replica));
+      _sortedReplicas.add(replica);
     }
   }
 
@@ -157,14 +163,81 @@ public class SortedReplicas {
   void remove(Replica replica) {
     if (_initialized) {
       _sortedReplicas.remove(replica);
+      _sortKeyByReplica.remove(replica);
+      _replicasToResort.remove(replica);
     }
   }
 
+  /**
+   * Re-sort the given replica, whose load or role has changed, upon the next access to the sorted replicas. The replica is
+   * re-evaluated against the selection functions as well. It has no impact if this {@link SortedReplicas} has not been
+   * initialized.
+   *
+   * @param replica the replica to re-sort.
+   */
+  void update(Replica replica) {
+    if (_initialized) {
+      _replicasToResort.put(replica, Boolean.TRUE);
+    }
+  }
+
+  private void maybeResort() {
+    if (_replicasToResort.isEmpty()) {
+      return;
+    }
+    List<Replica> replicasToResort = new ArrayList<>(_replicasToResort.keySet());
+    _replicasToResort.clear();
+    for (Replica replica : replicasToResort) {
+      // Removal relies on the cached sort key, which is consistent with the position of the replica.
+      _sortedReplicas.remove(replica);
+      _sortKeyByReplica.remove(replica);
+      add(replica);
+    }
+  }
+
+  private boolean isSelected(Replica replica) {
+    if (_selectionFuncs != null) {
+      for (Function<Replica, Boolean> selectionFunc : _selectionFuncs) {
+        if (!selectionFunc.apply(replica)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private SortKey sortKey(Replica replica) {
+    int[] priorities = null;
+    if (_priorityFuncs != null && !_priorityFuncs.isEmpty()) {
+      priorities = new int[_priorityFuncs.size()];
+      for (int i = 0; i < priorities.length; i++) {
+        priorities[i] = _priorityFuncs.get(i).apply(replica);
+      }
+    }
+    return new SortKey(priorities, _scoreFunc == null ? 0.0 : _scoreFunc.applyAsDouble(replica));
+  }
+
+  private Comparator<Replica> comparator() {
+    return (Replica r1, Replica r2) -> {
+      SortKey sortKey1 = _sortKeyByReplica.get(r1);
+      SortKey sortKey2 = _sortKeyByReplica.get(r2);
+      // Replicas without a cached sort key, e.g. the ones that are looked up but not contained, are evaluated on demand.
+      int result = (sortKey1 == null ? sortKey(r1) : sortKey1).compareTo(sortKey2 == null ? sortKey(r2) : sortKey2);
+      // Fall back to replica's own comparing method.
+      return result != 0 ? result : r1.compareTo(r2);
+    };
+  }
+
   // Unit test only function.
   int numReplicas() {
     return _sortedReplicas.size();
   }
 
+  // Unit test only function.
+  int numReplicasToResort() {
+    return _replicasToResort.size();
+  }
+
   private void ensureInitialize() {
     if (!_initialized) {
       _initialized = true;
@@ -176,18 +249,31 @@ public class SortedReplicas {
     }
   }
 
-  private int comparePriority(Replica replica1, Replica replica2) {
-    if (_priorityFuncs != null) {
-      // Apply priority functions one by one until the priority is resolved.
-      for (Function<Replica, Integer> priorityFunction : _priorityFuncs) {
-        int p1 = priorityFunction.apply(replica1);
-        int p2 = priorityFunction.apply(replica2);
-        int result = Integer.compare(p1, p2);
-        if (result != 0) {
-          return result;
+  /**
+   * The priorities and the score of a replica, which are compared in the given order to sort the replicas.
+   */
+  private static final class SortKey implements Comparable<SortKey> {
+    private final int[] _priorities;
+    private final double _score;
+
+    SortKey(int[] priorities, double score) {
+      _priorities = priorities;
+      _score = score;
+    }
+
+    @Override
+    public int compareTo(SortKey other) {
+      if (_priorities != null) {
+        // Apply priorities one by one until the priority is resolved.
+        for (int i = 0; i < _priorities.length; i++) {
+          int result = Integer.compare(_priorities[i], other._priorities[i]);
+          if (result != 0) {
+            return result;
+          }
         }
       }
+      // Then apply score.
+      return Double.compare(_score, other._score);
     }
-    return 0;
   }
 }
@@ -10,6 +10,7 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 
 /**
@@ -24,7 +25,7 @@ import java.util.function.Function;
  * {@code
  * new SortedReplicasHelper().addSelectionFunc(ReplicaSortFunctionFactory.selectFollowers())
  *                           .addPriorityFunc(ReplicaSortFunctionFactory.prioritizeOfflineReplicas());
- *                           .addScoreFunc(addScoreFunc(ReplicaSortFunctionFactory.sortByMetricGroupValue(DISK.name())))
+ *                           .setDoubleScoreFunc(ReplicaSortFunctionFactory.sortByMetricGroupValue(DISK.name()))
  *                           .trackSortedReplicasFor(sortName, clusterModel)
  * } </pre>
  */
@@ -32,7 +33,7 @@ public class SortedReplicasHelper {
 
   private final Set<Function<Replica, Boolean>> _selectionFuncs;
   private final Set<Function<Replica, Integer>> _priorityFuncs;
-  private Function<Replica, Double> _scoreFunc;
+  private ToDoubleFunction<Replica> _scoreFunc;
 
   public SortedReplicasHelper() {
     _selectionFuncs = new LinkedHashSet<>();
@@ -101,6 +102,18 @@ public class SortedReplicasHelper {
    * @return The helper object itself.
    */
   public SortedReplicasHelper setScoreFunc(Function<Replica, Double> scoreFunc) {
+    _scoreFunc = scoreFunc == null ? null : scoreFunc::apply;
+    return this;
+  }
+
+  /**
+   * Set a primitive score function in the {@link SortedReplicas} to be created. This avoids boxing the score of each
+   * replica when computing its sort key.
+   *
+   * @param scoreFunc The score function.
+   * @return The helper object itself.
+   */
+  public SortedReplicasHelper setDoubleScoreFunc(ToDoubleFunction<Replica> scoreFunc) {
     _scoreFunc = scoreFunc;
     return this;
   }
@@ -40,6 +40,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.concurrent.Executors;
@@ -112,6 +113,11 @@ public class LoadMonitor {
   private volatile ModelGeneration _cachedBrokerLoadGeneration;
   private volatile BrokerStats _cachedBrokerLoadStats;
 
+  // The base cluster model for the most recent windows, whose snapshots are served to the subsequent requests with the same
+  // model generation and completeness requirements. Null if the snapshot of cluster models is disabled or no model is cached.
+  private final boolean _clusterModelSnapshotEnabled;
+  private volatile CachedClusterModel _cachedClusterModel;
+
   /**
    * Construct a load monitor.
    *
@@ -166,6 +172,8 @@ public class LoadMonitor {
     // wants that.
     int numPrecomputingThread = config.getInt(AnalyzerConfig.NUM_PROPOSAL_PRECOMPUTE_THREADS_CONFIG);
     _clusterModelSemaphore = new Semaphore(Math.max(1, numPrecomputingThread), true);
+    _clusterModelSnapshotEnabled = config.getBoolean(MonitorConfig.CLUSTER_MODEL_SNAPSHOT_ENABLED_CONFIG);
+    _cachedClusterModel = null;
 
     _defaultModelCompletenessRequirements =
         MonitorUtils.combineLoadRequirementOptions(AnalyzerUtils.getGoalsByPriority(config));
@@ -218,6 +226,8 @@ public class LoadMonitor {
       LOG.warn("Received exception when closing broker capacity resolver.", e);
     }
     _loadMonitorTaskRunner.shutdown();
+    _partitionMetricSampleAggregator.close();
+    _brokerMetricSampleAggregator.close();
     _metadataClient.close();
     KafkaCruiseControlUtils.closeAdminClientWithTimeout(_adminClient);
     LOG.info("Load Monitor shutdown completed.");
@@ -491,6 +501,17 @@ public class LoadMonitor {
     MetadataClient.ClusterAndGeneration clusterAndGeneration = refreshClusterAndGeneration();
     Cluster cluster = clusterAndGeneration.cluster();
 
+    // Only the cluster models covering all available windows without replica placement information are eligible for snapshots.
+    boolean snapshotEligible = _clusterModelSnapshotEnabled && !populateReplicaPlacementInfo
+                               && from == DEFAULT_START_TIME_FOR_CLUSTER_MODEL && coversAllAvailableWindows(to);
+    if (snapshotEligible) {
+      ClusterModel snapshot = clusterModelSnapshot(clusterAndGeneration.generation(), requirements);
+      if (snapshot != null) {
+        LOG.debug("Generated cluster model snapshot in {} ms", _time.milliseconds() - startMs);
+        return snapshot;
+      }
+    }
+
     // Get the metric aggregation result.
     MetricSampleAggregationResult<String, PartitionEntity> partitionMetricSampleAggregationResult =
         _partitionMetricSampleAggregator.aggregate(cluster, from, to, requirements, operationProgress);
@@ -529,9 +550,42 @@ public class LoadMonitor {
     } finally {
       ctx.stop();
     }
+    // Cluster models with estimated broker capacities are not cached, since their capacities may differ across requests. Also
+    // skip caching if new windows were rolled out during the generation of the cluster model.
+    if (snapshotEligible && clusterModel.capacityEstimationInfoByBrokerId().isEmpty() && coversAllAvailableWindows(to)
+        && clusterModel.generation().loadGeneration() == _partitionMetricSampleAggregator.generation()) {
+      _cachedClusterModel = new CachedClusterModel(clusterModel.fork(), requirements);
+    }
     return clusterModel;
   }
 
+  private boolean coversAllAvailableWindows(long to) {
+    return _partitionMetricSampleAggregator.numAvailableWindows(DEFAULT_START_TIME_FOR_CLUSTER_MODEL, to)
+           == _partitionMetricSampleAggregator.numAvailableWindows();
+  }
+
+  /**
+   * Get a snapshot of the cached cluster model if the cached model has the same generation as the current model generation
+   * and has been generated with the given completeness requirements.
+   *
+   * @param clusterGeneration The current cluster generation.
+   * @param requirements The load completeness requirements.
+   * @return A snapshot of the cached cluster model, or {@code null} if there is no such cached cluster model.
+   */
+  private ClusterModel clusterModelSnapshot(int clusterGeneration, ModelCompletenessRequirements requirements) {
+    CachedClusterModel cachedClusterModel = _cachedClusterModel;
+    if (cachedClusterModel == null || !Objects.equals(cachedClusterModel.requirements(), requirements)) {
+      return null;
+    }
+    ModelGeneration cachedGeneration = cachedClusterModel.clusterModel().generation();
+    if (cachedGeneration.clusterGeneration() != clusterGeneration
+        || cachedGeneration.loadGeneration() != _partitionMetricSampleAggregator.generation()) {
+      return null;
+    }
+    // The cached cluster model is never modified, hence its snapshots can be taken concurrently.
+    return cachedClusterModel.clusterModel().fork();
+  }
+
   /**
    * Get cluster capacity, and skip populating cluster load. Enables quick retrieval of capacity without the load.
    * @return Cluster capacity without cluster load.
@@ -762,7 +816,7 @@ public class LoadMonitor {
     Map<PartitionEntity, ValuesAndExtrapolations> partitionLoads = metricSampleAggregationResult.valuesAndExtrapolations();
     AtomicInteger numPartitionsWithExtrapolations = new AtomicInteger(0);
     partitionLoads.values().forEach(valuesAndExtrapolations -> {
-      if (!valuesAndExtrapolations.extrapolations().isEmpty()) {
+      if (valuesAndExtrapolations.hasExtrapolations()) {
         numPartitionsWithExtrapolations.incrementAndGet();
       }
     });
@@ -818,6 +872,27 @@ public class LoadMonitor {
     }
   }
 
+  /**
+   * A cluster model along with the completeness requirements that it was generated with.
+   */
+  private static class CachedClusterModel {
+    private final ClusterModel _clusterModel;
+    private final ModelCompletenessRequirements _requirements;
+
+    CachedClusterModel(ClusterModel clusterModel, ModelCompletenessRequirements requirements) {
+      _clusterModel = clusterModel;
+      _requirements = requirements;
+    }
+
+    ClusterModel clusterModel() {
+      return _clusterModel;
+    }
+
+    ModelCompletenessRequirements requirements() {
+      return _requirements;
+    }
+  }
+
   public class AutoCloseableSemaphore implements AutoCloseable {
     private final AtomicBoolean _closed = new AtomicBoolean(false);
     @Override
@@ -5,6 +5,7 @@
 package com.linkedin.kafka.cruisecontrol.monitor;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import com.linkedin.kafka.cruisecontrol.servlet.response.JsonResponseField;
 import com.linkedin.kafka.cruisecontrol.servlet.response.JsonResponseClass;
 /**
@@ -121,6 +122,23 @@ public class ModelCompletenessRequirements {
     return requirements;
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof ModelCompletenessRequirements)) {
+      return false;
+    }
+
+    ModelCompletenessRequirements other = (ModelCompletenessRequirements) o;
+    return _minRequiredNumWindows == other.minRequiredNumWindows()
+           && Double.compare(_minMonitoredPartitionsPercentage, other.minMonitoredPartitionsPercentage()) == 0
+           && _includeAllTopics == other.includeAllTopics();
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(_minRequiredNumWindows, _minMonitoredPartitionsPercentage, _includeAllTopics);
+  }
+
   @Override
   public String toString() {
     return String.format("(requiredNumWindows=%d, minMonitoredPartitionPercentage=%.3f, includedAllTopics=%s)",
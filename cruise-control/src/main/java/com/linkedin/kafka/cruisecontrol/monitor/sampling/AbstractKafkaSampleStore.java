@@ -7,6 +7,8 @@ import com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.PartitionMetricSample;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
@@ -33,10 +35,21 @@ public abstract class AbstractKafkaSampleStore implements SampleStore {
   protected static final Duration PRODUCER_CLOSE_TIMEOUT = Duration.ofMinutes(3);
   protected static final short DEFAULT_SAMPLE_STORE_TOPIC_REPLICATION_FACTOR = 2;
   protected static final int DEFAULT_PARTITION_SAMPLE_STORE_TOPIC_PARTITION_COUNT = 32;
+  // The maximum number of partition metric samples packed into a single record of the partition metric sample store topic.
+  protected static final int MAX_PARTITION_METRIC_SAMPLES_PER_RECORD = 2000;
+  /**
+   * <code>partition.metric.sample.store.batching.enabled</code>
+   * Whether to pack partition metric samples into batched records (version 2), or to produce a single-sample record per
+   * partition metric sample (legacy). Instances running an older version skip batched records, hence batching must be enabled
+   * only once every instance loading from the partition metric sample store topic runs a version that reads batched records.
+   */
+  public static final String PARTITION_METRIC_SAMPLE_STORE_BATCHING_ENABLED_CONFIG = "partition.metric.sample.store.batching.enabled";
+  protected static final boolean DEFAULT_PARTITION_METRIC_SAMPLE_STORE_BATCHING_ENABLED = false;
 
   protected volatile boolean _shutdown = false;
   protected Short _sampleStoreTopicReplicationFactor;
   protected Producer<byte[], byte[]> _producer;
+  protected boolean _partitionMetricSampleBatchingEnabled;
 
   protected void createProducer(Map<String, ?> config, String producerClientId) {
     Properties producerProps = new Properties();
@@ -82,6 +95,14 @@ public abstract class AbstractKafkaSampleStore implements SampleStore {
     return _sampleStoreTopicReplicationFactor;
   }
 
+  protected void configurePartitionMetricSampleBatching(Map<String, ?> config) {
+    String partitionMetricSampleBatchingEnabledString = (String) config.get(PARTITION_METRIC_SAMPLE_STORE_BATCHING_ENABLED_CONFIG);
+    _partitionMetricSampleBatchingEnabled = partitionMetricSampleBatchingEnabledString == null
+                                            || partitionMetricSampleBatchingEnabledString.isEmpty()
+                                            ? DEFAULT_PARTITION_METRIC_SAMPLE_STORE_BATCHING_ENABLED
+                                            : Boolean.parseBoolean(partitionMetricSampleBatchingEnabledString);
+  }
+
   protected void ensureTopicCreated(AdminClient adminClient, NewTopic sampleStoreTopic) {
     if (!createTopic(adminClient, sampleStoreTopic)) {
       // Update topic config and partition count to ensure desired properties.
@@ -91,22 +112,56 @@ public abstract class AbstractKafkaSampleStore implements SampleStore {
   }
 
   static AtomicInteger storePartitionMetricSamples(MetricSampler.Samples samples, Producer<byte[], byte[]> producer,
-                                                   String partitionMetricSampleStoreTopic, Logger log) {
+                                                   String partitionMetricSampleStoreTopic, boolean batchingEnabled, Logger log) {
     final AtomicInteger metricSampleCount = new AtomicInteger(0);
+    if (!batchingEnabled) {
+      for (PartitionMetricSample sample : samples.partitionMetricSamples()) {
+        producer.send(new ProducerRecord<>(partitionMetricSampleStoreTopic, null, sample.sampleTime(), null, sample.toBytes()),
+                      (recordMetadata, e) -> {
+                        if (e == null) {
+                          metricSampleCount.incrementAndGet();
+                        } else {
+                          log.error("Failed to produce partition metric sample for {} of timestamp {} due to exception",
+                                    sample.entity().tp(), sample.sampleTime(), e);
+                        }
+                      });
+      }
+      return metricSampleCount;
+    }
+    List<PartitionMetricSample> batch = new ArrayList<>();
     for (PartitionMetricSample sample : samples.partitionMetricSamples()) {
-      producer.send(new ProducerRecord<>(partitionMetricSampleStoreTopic, null, sample.sampleTime(), null, sample.toBytes()),
-                    (recordMetadata, e) -> {
-                      if (e == null) {
-                        metricSampleCount.incrementAndGet();
-                      } else {
-                        log.error("Failed to produce partition metric sample for {} of timestamp {} due to exception",
-                                  sample.entity().tp(), sample.sampleTime(), e);
-                      }
-                    });
+      batch.add(sample);
+      if (batch.size() == MAX_PARTITION_METRIC_SAMPLES_PER_RECORD) {
+        storePartitionMetricSampleBatch(batch, producer, partitionMetricSampleStoreTopic, metricSampleCount, log);
+        batch = new ArrayList<>();
+      }
+    }
+    if (!batch.isEmpty()) {
+      storePartitionMetricSampleBatch(batch, producer, partitionMetricSampleStoreTopic, metricSampleCount, log);
     }
     return metricSampleCount;
   }
 
+  // Produce the given partition metric samples in a single record. The record timestamp is the latest sample time in the batch,
+  // so seeking to the offset of a timestamp does not skip any batch with samples not older than the timestamp.
+  private static void storePartitionMetricSampleBatch(List<PartitionMetricSample> batch,
+                                                      Producer<byte[], byte[]> producer,
+                                                      String partitionMetricSampleStoreTopic,
+                                                      AtomicInteger metricSampleCount,
+                                                      Logger log) {
+    long latestSampleTimeMs = batch.stream().mapToLong(PartitionMetricSample::sampleTime).max().getAsLong();
+    producer.send(new ProducerRecord<>(partitionMetricSampleStoreTopic, null, latestSampleTimeMs, null,
+                                       PartitionMetricSample.batchToBytes(batch)),
+                  (recordMetadata, e) -> {
+                    if (e == null) {
+                      metricSampleCount.addAndGet(batch.size());
+                    } else {
+                      log.error("Failed to produce {} partition metric samples of timestamp up to {} due to exception",
+                                batch.size(), latestSampleTimeMs, e);
+                    }
+                  });
+  }
+
   @Override
   public void evictSamplesBefore(long timestamp) {
     //TODO: use the deleteMessageBefore method to delete old samples.
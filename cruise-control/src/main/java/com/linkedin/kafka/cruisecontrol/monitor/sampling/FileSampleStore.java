@@ -0,0 +1,269 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.monitor.sampling;
+
+import com.linkedin.kafka.cruisecontrol.common.KafkaCruiseControlThreadFactory;
+import com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig;
+import com.linkedin.kafka.cruisecontrol.metricsreporter.exception.UnknownVersionException;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.BrokerMetricSample;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.PartitionMetricSample;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.linkedin.kafka.cruisecontrol.monitor.sampling.SamplingUtils.LOADING_PROGRESS;
+
+
+/**
+ * The sample store that implements the {@link SampleStore}. It stores the partition metric samples and broker metric
+ * samples to append-only segment logs in a local directory (see {@link SampleSegmentLog}), and loads them by decoding the
+ * memory-mapped segments in parallel at startup. Unlike {@link KafkaSampleStore}, it requires no Kafka topics, and loading
+ * samples does not require consuming them from Kafka.
+ *
+ * Each segment log retains the samples of twice the number of metric windows of the corresponding sample type. Segments are
+ * deleted upon storing samples once they are out of retention, or upon {@link #evictSamplesBefore(long)}.
+ *
+ * Configurations for this class.
+ * <ul>
+ *   <li>{@link #SAMPLE_STORE_FILE_DIRECTORY_CONFIG}: The config for the directory to store samples, default value is set to
+ *   {@link #DEFAULT_SAMPLE_STORE_FILE_DIRECTORY}.</li>
+ *   <li>{@link #SAMPLE_STORE_FILE_SEGMENT_MS_CONFIG}: The config for the time range of each segment in milliseconds, default value
+ *   is set to {@link #DEFAULT_SAMPLE_STORE_FILE_SEGMENT_MS}.</li>
+ *   <li>{@link KafkaSampleStore#NUM_SAMPLE_LOADING_THREADS_CONFIG}: The config for the number of threads to decode segments,
+ *   default value is set to {@link #DEFAULT_NUM_SAMPLE_LOADING_THREADS}.</li>
+ * </ul>
+ */
+public class FileSampleStore implements SampleStore {
+  private static final Logger LOG = LoggerFactory.getLogger(FileSampleStore.class);
+  // Keep additional windows in case some of the windows do not have enough samples.
+  protected static final int ADDITIONAL_WINDOW_TO_RETAIN_FACTOR = 2;
+  // The maximum number of samples of a segment to pass to the sample loader at once.
+  protected static final int SAMPLE_LOADING_BATCH_SIZE = 10000;
+  protected static final String PARTITION_SAMPLE_LOG_DIRECTORY = "partition";
+  protected static final String BROKER_SAMPLE_LOG_DIRECTORY = "broker";
+  protected static final String DEFAULT_SAMPLE_STORE_FILE_DIRECTORY = "fileStore/samples";
+  protected static final long DEFAULT_SAMPLE_STORE_FILE_SEGMENT_MS = TimeUnit.MINUTES.toMillis(15);
+  protected static final int DEFAULT_NUM_SAMPLE_LOADING_THREADS = 8;
+
+  protected SampleSegmentLog _partitionSampleLog;
+  protected SampleSegmentLog _brokerSampleLog;
+  protected int _numSampleLoadingThreads;
+  protected volatile double _loadingProgress;
+
+  public static final String SAMPLE_STORE_FILE_DIRECTORY_CONFIG = "sample.store.file.directory";
+  public static final String SAMPLE_STORE_FILE_SEGMENT_MS_CONFIG = "sample.store.file.segment.ms";
+
+  @Override
+  public void configure(Map<String, ?> config) {
+    String directoryString = (String) config.get(SAMPLE_STORE_FILE_DIRECTORY_CONFIG);
+    File directory = new File(directoryString == null || directoryString.isEmpty() ? DEFAULT_SAMPLE_STORE_FILE_DIRECTORY
+                                                                                   : directoryString);
+    String segmentMsString = (String) config.get(SAMPLE_STORE_FILE_SEGMENT_MS_CONFIG);
+    long segmentMs = segmentMsString == null || segmentMsString.isEmpty() ? DEFAULT_SAMPLE_STORE_FILE_SEGMENT_MS
+                                                                          : Long.parseLong(segmentMsString);
+    String numSampleLoadingThreadsString = (String) config.get(KafkaSampleStore.NUM_SAMPLE_LOADING_THREADS_CONFIG);
+    _numSampleLoadingThreads = numSampleLoadingThreadsString == null || numSampleLoadingThreadsString.isEmpty()
+                               ? DEFAULT_NUM_SAMPLE_LOADING_THREADS : Integer.parseInt(numSampleLoadingThreadsString);
+
+    // Retention
+    long partitionSampleWindowMs = (Long) config.get(MonitorConfig.PARTITION_METRICS_WINDOW_MS_CONFIG);
+    long brokerSampleWindowMs = (Long) config.get(MonitorConfig.BROKER_METRICS_WINDOW_MS_CONFIG);
+    int numPartitionSampleWindows = (Integer) config.get(MonitorConfig.NUM_PARTITION_METRICS_WINDOWS_CONFIG);
+    int numBrokerSampleWindows = (Integer) config.get(MonitorConfig.NUM_BROKER_METRICS_WINDOWS_CONFIG);
+    long partitionSampleRetentionMs = (numPartitionSampleWindows * ADDITIONAL_WINDOW_TO_RETAIN_FACTOR) * partitionSampleWindowMs;
+    long brokerSampleRetentionMs = (numBrokerSampleWindows * ADDITIONAL_WINDOW_TO_RETAIN_FACTOR) * brokerSampleWindowMs;
+
+    try {
+      _partitionSampleLog = new SampleSegmentLog(new File(directory, PARTITION_SAMPLE_LOG_DIRECTORY), segmentMs,
+                                                 partitionSampleRetentionMs);
+      _brokerSampleLog = new SampleSegmentLog(new File(directory, BROKER_SAMPLE_LOG_DIRECTORY), segmentMs, brokerSampleRetentionMs);
+    } catch (IOException ioe) {
+      throw new UncheckedIOException("Failed to create the sample store directory " + directory, ioe);
+    }
+    _loadingProgress = LOADING_PROGRESS;
+  }
+
+  @Override
+  public void storeSamples(MetricSampler.Samples samples) {
+    try {
+      _partitionSampleLog.append(samples.partitionMetricSamples(), PartitionMetricSample::sampleTime, PartitionMetricSample::toBytes);
+      _brokerSampleLog.append(samples.brokerMetricSamples(), BrokerMetricSample::sampleTime, BrokerMetricSample::toBytes);
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Stored {} partition metric samples and {} broker metric samples to files",
+                  samples.partitionMetricSamples().size(), samples.brokerMetricSamples().size());
+      }
+    } catch (IOException ioe) {
+      LOG.error("Failed to store samples to files.", ioe);
+    }
+  }
+
+  @Override
+  public void loadSamples(SampleLoader sampleLoader) {
+    LOG.info("Starting loading samples.");
+    long startMs = System.currentTimeMillis();
+    // Skip the segments and samples that are too old for the metric sample aggregators to keep in memory, or that are
+    // already in the restored checkpoints of the aggregators.
+    long partitionSampleFromMs = sampleLoader.partitionSampleLoadingStartMs(startMs);
+    long brokerSampleFromMs = sampleLoader.brokerSampleLoadingStartMs(startMs);
+    List<File> partitionSampleSegments = _partitionSampleLog.segmentsAfter(partitionSampleFromMs);
+    List<File> brokerSampleSegments = _brokerSampleLog.segmentsAfter(brokerSampleFromMs);
+    long totalBytes = 0L;
+    for (File segment : partitionSampleSegments) {
+      totalBytes += segment.length();
+    }
+    for (File segment : brokerSampleSegments) {
+      totalBytes += segment.length();
+    }
+    AtomicLong numLoadedBytes = new AtomicLong(0L);
+    AtomicLong numPartitionMetricSamples = new AtomicLong(0L);
+    AtomicLong numBrokerMetricSamples = new AtomicLong(0L);
+
+    ExecutorService segmentLoadingExecutor =
+        Executors.newFixedThreadPool(_numSampleLoadingThreads, new KafkaCruiseControlThreadFactory("FileSampleStoreLoader", true, LOG));
+    try {
+      List<Future<?>> segmentLoadings = new ArrayList<>(partitionSampleSegments.size() + brokerSampleSegments.size());
+      for (File segment : partitionSampleSegments) {
+        segmentLoadings.add(segmentLoadingExecutor.submit(
+            new SegmentLoader(segment, true, partitionSampleFromMs, sampleLoader, numLoadedBytes, totalBytes, numPartitionMetricSamples)));
+      }
+      for (File segment : brokerSampleSegments) {
+        segmentLoadings.add(segmentLoadingExecutor.submit(
+            new SegmentLoader(segment, false, brokerSampleFromMs, sampleLoader, numLoadedBytes, totalBytes, numBrokerMetricSamples)));
+      }
+      for (Future<?> segmentLoading : segmentLoadings) {
+        try {
+          segmentLoading.get();
+        } catch (ExecutionException ee) {
+          LOG.warn("Encountered error when loading samples from a segment.", ee.getCause());
+        }
+      }
+    } catch (InterruptedException ie) {
+      LOG.warn("Interrupted during loading samples from files.");
+      Thread.currentThread().interrupt();
+    } finally {
+      segmentLoadingExecutor.shutdownNow();
+    }
+    long endMs = System.currentTimeMillis();
+    long addedPartitionSampleCount = sampleLoader.partitionSampleCount();
+    long addedBrokerSampleCount = sampleLoader.brokerSampleCount();
+    long discardedPartitionMetricSamples = numPartitionMetricSamples.get() - addedPartitionSampleCount;
+    long discardedBrokerMetricSamples = numBrokerMetricSamples.get() - addedBrokerSampleCount;
+    LOG.info("Sample loading finished. Loaded {}{} partition metrics samples and {}{} broker metric samples from {} segments in {} ms.",
+             addedPartitionSampleCount,
+             discardedPartitionMetricSamples > 0 ? String.format("(%d discarded)", discardedPartitionMetricSamples) : "",
+             addedBrokerSampleCount,
+             discardedBrokerMetricSamples > 0 ? String.format("(%d discarded)", discardedBrokerMetricSamples) : "",
+             partitionSampleSegments.size() + brokerSampleSegments.size(), endMs - startMs);
+  }
+
+  @Override
+  public double sampleLoadingProgress() {
+    return _loadingProgress;
+  }
+
+  @Override
+  public void evictSamplesBefore(long timestamp) {
+    _partitionSampleLog.deleteSegmentsBefore(timestamp);
+    _brokerSampleLog.deleteSegmentsBefore(timestamp);
+  }
+
+  @Override
+  public void close() {
+    _partitionSampleLog.close();
+    _brokerSampleLog.close();
+  }
+
+  /**
+   * Decodes the samples of a segment and passes them to the sample loader in batches.
+   */
+  protected class SegmentLoader implements Runnable {
+    protected final File _segment;
+    protected final boolean _isPartitionSampleSegment;
+    protected final long _fromMs;
+    protected final SampleLoader _sampleLoader;
+    protected final AtomicLong _numLoadedBytes;
+    protected final long _totalBytes;
+    protected final AtomicLong _numSamples;
+    protected final Set<PartitionMetricSample> _partitionMetricSamples;
+    protected final Set<BrokerMetricSample> _brokerMetricSamples;
+
+    SegmentLoader(File segment,
+                  boolean isPartitionSampleSegment,
+                  long fromMs,
+                  SampleLoader sampleLoader,
+                  AtomicLong numLoadedBytes,
+                  long totalBytes,
+                  AtomicLong numSamples) {
+      _segment = segment;
+      _isPartitionSampleSegment = isPartitionSampleSegment;
+      _fromMs = fromMs;
+      _sampleLoader = sampleLoader;
+      _numLoadedBytes = numLoadedBytes;
+      _totalBytes = totalBytes;
+      _numSamples = numSamples;
+      _partitionMetricSamples = new HashSet<>();
+      _brokerMetricSamples = new HashSet<>();
+    }
+
+    @Override
+    public void run() {
+      try {
+        SampleSegmentLog.read(_segment, _fromMs, (sampleTimeMs, serializedSample) -> {
+          try {
+            if (_isPartitionSampleSegment) {
+              PartitionMetricSample sample = PartitionMetricSample.fromBytes(serializedSample);
+              _partitionMetricSamples.add(sample);
+              LOG.trace("Loaded partition metric sample {}", sample);
+            } else {
+              BrokerMetricSample sample = BrokerMetricSample.fromBytes(serializedSample);
+              sample.close(sampleTimeMs);
+              _brokerMetricSamples.add(sample);
+              LOG.trace("Loaded broker metric sample {}", sample);
+            }
+          } catch (UnknownVersionException e) {
+            LOG.warn("Ignoring sample due to", e);
+          }
+          if (_partitionMetricSamples.size() + _brokerMetricSamples.size() >= SAMPLE_LOADING_BATCH_SIZE) {
+            flush();
+          }
+        });
+        flush();
+      } catch (IOException ioe) {
+        LOG.warn("Failed to load samples from segment {}.", _segment, ioe);
+      } finally {
+        // The progress accounts for the whole segment even if some of its records are invalid or too old. A segment may have
+        // grown since its size was taken into account in the total bytes, hence the progress is capped.
+        long numLoadedBytes = _numLoadedBytes.addAndGet(_segment.length());
+        _loadingProgress = _totalBytes == 0L ? 1.0 : Math.min(1.0, (double) numLoadedBytes / _totalBytes);
+      }
+    }
+
+    protected void flush() {
+      if (!_partitionMetricSamples.isEmpty() || !_brokerMetricSamples.isEmpty()) {
+        _sampleLoader.loadSamples(new MetricSampler.Samples(_partitionMetricSamples.isEmpty() ? Collections.emptySet()
+                                                                                              : new HashSet<>(_partitionMetricSamples),
+                                                            _brokerMetricSamples.isEmpty() ? Collections.emptySet()
+                                                                                           : new HashSet<>(_brokerMetricSamples)));
+        _numSamples.addAndGet(_partitionMetricSamples.size() + _brokerMetricSamples.size());
+        _partitionMetricSamples.clear();
+        _brokerMetricSamples.clear();
+      }
+    }
+  }
+}
@@ -63,6 +63,8 @@ import static com.linkedin.kafka.cruisecontrol.monitor.sampling.SamplingUtils.LO
  *   store topic, default value is set to {@link #DEFAULT_MIN_PARTITION_SAMPLE_STORE_TOPIC_RETENTION_TIME_MS}.</li>
  *   <li>{@link #MIN_BROKER_SAMPLE_STORE_TOPIC_RETENTION_TIME_MS_CONFIG}: The config for the minimal retention time for Kafka broker sample store
  *   topic, default value is set to {@link #DEFAULT_MIN_BROKER_SAMPLE_STORE_TOPIC_RETENTION_TIME_MS}.</li>
+ *   <li>{@link #PARTITION_METRIC_SAMPLE_STORE_BATCHING_ENABLED_CONFIG}: The config for whether to store partition metric samples in
+ *   batched records, default value is set to {@link #DEFAULT_PARTITION_METRIC_SAMPLE_STORE_BATCHING_ENABLED}.</li>
  * </ul>
  */
 public class KafkaSampleStore extends AbstractKafkaSampleStore {
@@ -138,6 +140,7 @@ public class KafkaSampleStore extends AbstractKafkaSampleStore {
       _consumers.add(createSampleStoreConsumer(config, CONSUMER_CLIENT_ID_PREFIX));
     }
 
+    configurePartitionMetricSampleBatching(config);
     createProducer(config, PRODUCER_CLIENT_ID);
     _loadingProgress = LOADING_PROGRESS;
 
@@ -177,7 +180,8 @@ public class KafkaSampleStore extends AbstractKafkaSampleStore {
 
   @Override
   public void storeSamples(MetricSampler.Samples samples) {
-    AtomicInteger metricSampleCount = storePartitionMetricSamples(samples, _producer, _partitionMetricSampleStoreTopic, LOG);
+    AtomicInteger metricSampleCount = storePartitionMetricSamples(samples, _producer, _partitionMetricSampleStoreTopic,
+                                                                   _partitionMetricSampleBatchingEnabled, LOG);
 
     final AtomicInteger brokerMetricSampleCount = new AtomicInteger(0);
     for (BrokerMetricSample sample : samples.brokerMetricSamples()) {
@@ -313,14 +317,16 @@ public class KafkaSampleStore extends AbstractKafkaSampleStore {
               LOG.trace("Metric loader received empty records");
               return;
             }
-            Set<PartitionMetricSample> partitionMetricSamples = new HashSet<>();
+            int numPartitionMetricSamples = 0;
             Set<BrokerMetricSample> brokerMetricSamples = new HashSet<>();
             for (ConsumerRecord<byte[], byte[]> record : consumerRecords) {
               try {
                 if (record.topic().equals(_partitionMetricSampleStoreTopic)) {
-                  PartitionMetricSample sample = PartitionMetricSample.fromBytes(record.value());
-                  partitionMetricSamples.add(sample);
-                  LOG.trace("Loaded partition metric sample {}", sample);
+                  // Partition metric samples are loaded as they are deserialized, without collecting the samples of a record.
+                  numPartitionMetricSamples += PartitionMetricSample.readSamples(record.value(), sample -> {
+                    _sampleLoader.loadPartitionMetricSample(sample);
+                    LOG.trace("Loaded partition metric sample {}", sample);
+                  });
                 } else if (record.topic().equals(_brokerMetricSampleStoreTopic)) {
                   BrokerMetricSample sample = BrokerMetricSample.fromBytes(record.value());
                   // For some legacy BrokerMetricSample, there is no timestamp in the broker samples. In this case
@@ -331,11 +337,15 @@ public class KafkaSampleStore extends AbstractKafkaSampleStore {
                 }
               } catch (UnknownVersionException e) {
                 LOG.warn("Ignoring sample due to", e);
+              } catch (IllegalArgumentException e) {
+                LOG.warn("Ignoring corrupt sample record at offset {} of {}.", record.offset(), record.topic(), e);
               }
             }
-            if (!partitionMetricSamples.isEmpty() || !brokerMetricSamples.isEmpty()) {
-              _sampleLoader.loadSamples(new MetricSampler.Samples(partitionMetricSamples, brokerMetricSamples));
-              _numPartitionMetricSamples.getAndAdd(partitionMetricSamples.size());
+            if (!brokerMetricSamples.isEmpty()) {
+              _sampleLoader.loadSamples(new MetricSampler.Samples(Collections.emptySet(), brokerMetricSamples));
+            }
+            if (numPartitionMetricSamples > 0 || !brokerMetricSamples.isEmpty()) {
+              _numPartitionMetricSamples.getAndAdd(numPartitionMetricSamples);
               _numBrokerMetricSamples.getAndAdd(brokerMetricSamples.size());
               _loadingProgress = (double) _numLoadedSamples.addAndGet(consumerRecords.count()) / _totalSamples.get();
             }
@@ -379,16 +389,17 @@ public class KafkaSampleStore extends AbstractKafkaSampleStore {
     /**
      * Config the sample loading consumers to consume from proper starting offsets. The sample store Kafka topic may contain data
      * which are too old for {@link com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregator} to keep in memory,
-     * to prevent loading these stale data, manually seek the consumers' staring offset to the offset at proper timestamp.
+     * or which are already in its restored checkpoint. To prevent loading these data, manually seek the consumers' staring offset to
+     * the offset at proper timestamp.
      */
     protected void prepareConsumerOffset() {
       Map<TopicPartition, Long> beginningTimestamp = new HashMap<>();
       long currentTimeMs = System.currentTimeMillis();
       for (TopicPartition tp : _consumer.assignment()) {
         if (tp.topic().equals(_brokerMetricSampleStoreTopic)) {
-          beginningTimestamp.put(tp, currentTimeMs - _sampleLoader.brokerMonitoringPeriodMs());
+          beginningTimestamp.put(tp, _sampleLoader.brokerSampleLoadingStartMs(currentTimeMs));
         } else {
-          beginningTimestamp.put(tp, currentTimeMs - _sampleLoader.partitionMonitoringPeriodMs());
+          beginningTimestamp.put(tp, _sampleLoader.partitionSampleLoadingStartMs(currentTimeMs));
         }
       }
 
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.monitor.sampling;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * An append-only log of serialized samples in a local directory, which is split into segments by the sample time. Each
+ * segment is a file that contains the samples whose time falls into the time range of the segment. The name of a segment
+ * file is the (zero-padded) start time of the segment in milliseconds.
+ *
+ * Each record of a segment has a header of (1) the size of the serialized sample, (2) the CRC32C checksum of the sample time
+ * and the serialized sample, and (3) the sample time, followed by the serialized sample. A record that is incomplete or fails
+ * the checksum -- e.g. due to a crash while appending to the segment -- ends the valid records of the segment.
+ *
+ * Segments are read via memory-mapping, hence reading a segment neither copies the segment to the heap nor blocks appending
+ * to the log.
+ */
+class SampleSegmentLog {
+  private static final Logger LOG = LoggerFactory.getLogger(SampleSegmentLog.class);
+  static final String SEGMENT_FILE_SUFFIX = ".log";
+  static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+  private final File _directory;
+  private final long _segmentMs;
+  private final long _retentionMs;
+  // The channels to append to the segments that have been appended to since this log was opened, by segment start time.
+  private final NavigableMap<Long, FileChannel> _appendChannelBySegmentStartMs;
+
+  /**
+   * @param directory The directory of the log, which is created if it does not exist.
+   * @param segmentMs The time range of each segment in milliseconds.
+   * @param retentionMs The minimum time in milliseconds to retain a segment after the end of its time range.
+   */
+  SampleSegmentLog(File directory, long segmentMs, long retentionMs) throws IOException {
+    if (segmentMs <= 0) {
+      throw new IllegalArgumentException("The time range of a segment must be positive (requested: " + segmentMs + ").");
+    }
+    Files.createDirectories(directory.toPath());
+    _directory = directory;
+    _segmentMs = segmentMs;
+    _retentionMs = retentionMs;
+    _appendChannelBySegmentStartMs = new TreeMap<>();
+  }
+
+  /**
+   * Append the given samples to the segments of their sample time, and delete the segments that are out of retention.
+   *
+   * @param samples Samples to append.
+   * @param sampleTime The function to get the time of a sample.
+   * @param serializer The function to serialize a sample.
+   * @param <T> The type of samples.
+   */
+  synchronized <T> void append(Collection<T> samples, ToLongFunction<T> sampleTime, Function<T, byte[]> serializer) throws IOException {
+    // Serialize the records of each segment into a single buffer to append each segment with a single write.
+    Map<Long, List<byte[]>> serializedSamplesBySegmentStartMs = new TreeMap<>();
+    Map<Long, List<Long>> sampleTimesBySegmentStartMs = new TreeMap<>();
+    Map<Long, Integer> sizeBySegmentStartMs = new TreeMap<>();
+    for (T sample : samples) {
+      long sampleTimeMs = sampleTime.applyAsLong(sample);
+      byte[] serializedSample = serializer.apply(sample);
+      long segmentStartMs = segmentStartMs(sampleTimeMs);
+      serializedSamplesBySegmentStartMs.computeIfAbsent(segmentStartMs, s -> new ArrayList<>()).add(serializedSample);
+      sampleTimesBySegmentStartMs.computeIfAbsent(segmentStartMs, s -> new ArrayList<>()).add(sampleTimeMs);
+      sizeBySegmentStartMs.merge(segmentStartMs, RECORD_HEADER_SIZE + serializedSample.length, Integer::sum);
+    }
+    CRC32C crc = new CRC32C();
+    for (Map.Entry<Long, List<byte[]>> entry : serializedSamplesBySegmentStartMs.entrySet()) {
+      long segmentStartMs = entry.getKey();
+      List<Long> sampleTimes = sampleTimesBySegmentStartMs.get(segmentStartMs);
+      ByteBuffer buffer = ByteBuffer.allocate(sizeBySegmentStartMs.get(segmentStartMs));
+      for (int i = 0; i < entry.getValue().size(); i++) {
+        byte[] serializedSample = entry.getValue().get(i);
+        long sampleTimeMs = sampleTimes.get(i);
+        crc.reset();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, sampleTimeMs));
+        crc.update(serializedSample);
+        buffer.putInt(serializedSample.length).putInt((int) crc.getValue()).putLong(sampleTimeMs).put(serializedSample);
+      }
+      buffer.flip();
+      FileChannel channel = appendChannel(segmentStartMs);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(false);
+    }
+    deleteSegmentsBefore(System.currentTimeMillis() - _retentionMs);
+  }
+
+  /**
+   * Delete the segments whose time range ends no later than the given time.
+   *
+   * @param timeMs The time in milliseconds before which the segments are deleted.
+   */
+  synchronized void deleteSegmentsBefore(long timeMs) {
+    for (Map.Entry<Long, File> entry : segmentFileBySegmentStartMs().entrySet()) {
+      long segmentStartMs = entry.getKey();
+      if (segmentStartMs + _segmentMs > timeMs) {
+        break;
+      }
+      FileChannel channel = _appendChannelBySegmentStartMs.remove(segmentStartMs);
+      if (channel != null) {
+        closeQuietly(channel, segmentStartMs);
+      }
+      if (!entry.getValue().delete()) {
+        LOG.warn("Failed to delete sample store segment {}.", entry.getValue());
+      } else {
+        LOG.debug("Deleted sample store segment {}.", entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Get the segments whose time range ends after the given time, in ascending order of their start time.
+   *
+   * @param timeMs The time in milliseconds after which the segments end.
+   * @return The segment files whose time range ends after the given time.
+   */
+  synchronized List<File> segmentsAfter(long timeMs) {
+    List<File> segments = new ArrayList<>();
+    for (Map.Entry<Long, File> entry : segmentFileBySegmentStartMs().entrySet()) {
+      if (entry.getKey() + _segmentMs > timeMs) {
+        segments.add(entry.getValue());
+      }
+    }
+    return segments;
+  }
+
+  /**
+   * Close the channels to append to the segments.
+   */
+  synchronized void close() {
+    _appendChannelBySegmentStartMs.forEach((segmentStartMs, channel) -> closeQuietly(channel, segmentStartMs));
+    _appendChannelBySegmentStartMs.clear();
+  }
+
+  /**
+   * Read the valid records of the given segment, whose sample time is not earlier than the given time.
+   *
+   * @param segment The segment file to read.
+   * @param fromMs The earliest sample time in milliseconds of the records to read.
+   * @param recordConsumer The consumer of the sample time and serialized sample of each record to read.
+   * @return The number of bytes of the valid records in the segment.
+   */
+  static long read(File segment, long fromMs, RecordConsumer recordConsumer) throws IOException {
+    try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      CRC32C crc = new CRC32C();
+      while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+        int recordStart = buffer.position();
+        int size = buffer.getInt();
+        int checksum = buffer.getInt();
+        long sampleTimeMs = buffer.getLong();
+        if (size < 0 || size > buffer.remaining()) {
+          LOG.warn("Ignoring the incomplete record at position {} and the rest of sample store segment {}.", recordStart, segment);
+          return recordStart;
+        }
+        byte[] serializedSample = new byte[size];
+        buffer.get(serializedSample);
+        crc.reset();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, sampleTimeMs));
+        crc.update(serializedSample);
+        if ((int) crc.getValue() != checksum) {
+          LOG.warn("Ignoring the corrupt record at position {} and the rest of sample store segment {}.", recordStart, segment);
+          return recordStart;
+        }
+        if (sampleTimeMs >= fromMs) {
+          recordConsumer.accept(sampleTimeMs, serializedSample);
+        }
+      }
+      if (buffer.hasRemaining()) {
+        LOG.warn("Ignoring the incomplete record at position {} of sample store segment {}.", buffer.position(), segment);
+      }
+      return buffer.position();
+    }
+  }
+
+  long segmentStartMs(long timeMs) {
+    return Math.floorDiv(timeMs, _segmentMs) * _segmentMs;
+  }
+
+  private FileChannel appendChannel(long segmentStartMs) throws IOException {
+    FileChannel channel = _appendChannelBySegmentStartMs.get(segmentStartMs);
+    if (channel == null) {
+      File segment = new File(_directory, String.format("%020d%s", segmentStartMs, SEGMENT_FILE_SUFFIX));
+      channel = FileChannel.open(segment.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      // Drop any invalid records at the end of an existing segment -- e.g. due to a crash amid an append -- before appending to it.
+      long validSize = channel.size() > 0 ? read(segment, Long.MAX_VALUE, (sampleTimeMs, serializedSample) -> { }) : 0L;
+      channel.truncate(validSize);
+      channel.position(validSize);
+      _appendChannelBySegmentStartMs.put(segmentStartMs, channel);
+    }
+    return channel;
+  }
+
+  private NavigableMap<Long, File> segmentFileBySegmentStartMs() {
+    NavigableMap<Long, File> segmentFileBySegmentStartMs = new TreeMap<>();
+    File[] files = _directory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_SUFFIX));
+    if (files != null) {
+      for (File file : files) {
+        String name = file.getName();
+        try {
+          segmentFileBySegmentStartMs.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_FILE_SUFFIX.length())), file);
+        } catch (NumberFormatException nfe) {
+          LOG.warn("Ignoring unrecognized file {} in the sample store directory.", file);
+        }
+      }
+    }
+    return segmentFileBySegmentStartMs;
+  }
+
+  private static void closeQuietly(FileChannel channel, long segmentStartMs) {
+    try {
+      channel.close();
+    } catch (IOException ioe) {
+      LOG.warn("Failed to close the sample store segment starting at {}.", segmentStartMs, ioe);
+    }
+  }
+
+  /**
+   * A consumer of the records read from a segment.
+   */
+  @FunctionalInterface
+  interface RecordConsumer {
+    /**
+     * @param sampleTimeMs The sample time of the record in milliseconds.
+     * @param serializedSample The serialized sample of the record.
+     */
+    void accept(long sampleTimeMs, byte[] serializedSample);
+  }
+}
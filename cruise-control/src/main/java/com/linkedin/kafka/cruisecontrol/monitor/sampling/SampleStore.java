@@ -55,11 +55,32 @@ public interface SampleStore extends CruiseControlConfigurable {
   class SampleLoader {
     private final KafkaPartitionMetricSampleAggregator _partitionMetricSampleAggregator;
     private final KafkaBrokerMetricSampleAggregator _brokerMetricSampleAggregator;
+    // The latest sample times in the checkpoints restored to the aggregators, or -1 if no checkpoint has been restored.
+    private final long _partitionCheckpointTimeMs;
+    private final long _brokerCheckpointTimeMs;
 
     public SampleLoader(KafkaPartitionMetricSampleAggregator partitionMetricSampleAggregator,
                         KafkaBrokerMetricSampleAggregator brokerMetricSampleAggregator) {
+      this(partitionMetricSampleAggregator, brokerMetricSampleAggregator, -1L, -1L);
+    }
+
+    /**
+     * Construct a sample loader for the aggregators that have been restored from checkpoints. The samples no newer than
+     * the corresponding checkpoint are not loaded to the aggregators, since they are already in the checkpoint.
+     *
+     * @param partitionMetricSampleAggregator The partition metric sample aggregator to load samples to.
+     * @param brokerMetricSampleAggregator The broker metric sample aggregator to load samples to.
+     * @param partitionCheckpointTimeMs The latest sample time in the partition aggregator checkpoint, or -1 if none.
+     * @param brokerCheckpointTimeMs The latest sample time in the broker aggregator checkpoint, or -1 if none.
+     */
+    public SampleLoader(KafkaPartitionMetricSampleAggregator partitionMetricSampleAggregator,
+                        KafkaBrokerMetricSampleAggregator brokerMetricSampleAggregator,
+                        long partitionCheckpointTimeMs,
+                        long brokerCheckpointTimeMs) {
       _partitionMetricSampleAggregator = partitionMetricSampleAggregator;
       _brokerMetricSampleAggregator = brokerMetricSampleAggregator;
+      _partitionCheckpointTimeMs = partitionCheckpointTimeMs;
+      _brokerCheckpointTimeMs = brokerCheckpointTimeMs;
     }
 
     /**
@@ -69,14 +90,27 @@ public interface SampleStore extends CruiseControlConfigurable {
      */
     public void loadSamples(MetricSampler.Samples samples) {
       for (PartitionMetricSample sample : samples.partitionMetricSamples()) {
-        _partitionMetricSampleAggregator.addSample(sample, false);
+        loadPartitionMetricSample(sample);
       }
       for (BrokerMetricSample sample : samples.brokerMetricSamples()) {
-        _brokerMetricSampleAggregator.addSample(sample);
+        if (sample.sampleTime() > _brokerCheckpointTimeMs) {
+          _brokerMetricSampleAggregator.addSample(sample);
+        }
       }
       ModelParameters.addMetricObservation(samples.brokerMetricSamples());
     }
 
+    /**
+     * Load the given partition metric sample to the partition metric sample aggregator.
+     *
+     * @param sample Partition metric sample to load.
+     */
+    public void loadPartitionMetricSample(PartitionMetricSample sample) {
+      if (sample.sampleTime() > _partitionCheckpointTimeMs) {
+        _partitionMetricSampleAggregator.addSample(sample, false);
+      }
+    }
+
     public long partitionSampleCount() {
       return _partitionMetricSampleAggregator.numSamples();
     }
@@ -92,5 +126,27 @@ public interface SampleStore extends CruiseControlConfigurable {
     public long brokerMonitoringPeriodMs() {
       return _brokerMetricSampleAggregator.monitoringPeriodMs();
     }
+
+    /**
+     * Get the earliest time of the partition metric samples to load -- i.e. the samples that are neither too old for the
+     * aggregator to keep in memory nor in the restored checkpoint of the aggregator.
+     *
+     * @param nowMs The current time in milliseconds.
+     * @return The earliest time of the partition metric samples to load.
+     */
+    public long partitionSampleLoadingStartMs(long nowMs) {
+      return Math.max(nowMs - partitionMonitoringPeriodMs(), _partitionCheckpointTimeMs + 1);
+    }
+
+    /**
+     * Get the earliest time of the broker metric samples to load -- i.e. the samples that are neither too old for the
+     * aggregator to keep in memory nor in the restored checkpoint of the aggregator.
+     *
+     * @param nowMs The current time in milliseconds.
+     * @return The earliest time of the broker metric samples to load.
+     */
+    public long brokerSampleLoadingStartMs(long nowMs) {
+      return Math.max(nowMs - brokerMonitoringPeriodMs(), _brokerCheckpointTimeMs + 1);
+    }
   }
 }
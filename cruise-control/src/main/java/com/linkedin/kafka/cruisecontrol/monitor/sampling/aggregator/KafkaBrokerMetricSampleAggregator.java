@@ -7,11 +7,15 @@ package com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator;
 import com.linkedin.cruisecontrol.exception.NotEnoughValidWindowsException;
 import com.linkedin.cruisecontrol.monitor.sampling.aggregator.AggregationOptions;
 import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregationResult;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.CheckpointableAggregator;
 import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregator;
 import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig;
 import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.BrokerEntity;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,7 +26,8 @@ import org.slf4j.LoggerFactory;
  *
  * @see MetricSampleAggregator
  */
-public class KafkaBrokerMetricSampleAggregator extends MetricSampleAggregator<String, BrokerEntity> {
+public class KafkaBrokerMetricSampleAggregator extends MetricSampleAggregator<String, BrokerEntity>
+    implements CheckpointableAggregator<BrokerEntity> {
   private static final Logger LOG = LoggerFactory.getLogger(KafkaBrokerMetricSampleAggregator.class);
   private static final double MIN_VALID_BROKER_RATIO = 0.0;
   private static final double MIN_VALID_GROUP_RATIO = 0.0;
@@ -68,4 +73,15 @@ public class KafkaBrokerMetricSampleAggregator extends MetricSampleAggregator<St
                                                  completeness(-1, System.currentTimeMillis(), aggregationOptions));
     }
   }
+
+  @Override
+  public void writeEntity(BrokerEntity entity, DataOutput out) throws IOException {
+    out.writeUTF(entity.host());
+    out.writeInt(entity.brokerId());
+  }
+
+  @Override
+  public BrokerEntity readEntity(DataInput in) throws IOException {
+    return new BrokerEntity(in.readUTF(), in.readInt());
+  }
 }
@@ -8,6 +8,7 @@ import com.linkedin.cruisecontrol.exception.NotEnoughValidWindowsException;
 import com.linkedin.cruisecontrol.monitor.sampling.aggregator.AggregationOptions;
 import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregationResult;
 import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleCompleteness;
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.CheckpointableAggregator;
 import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregator;
 import com.linkedin.kafka.cruisecontrol.async.progress.OperationProgress;
 import com.linkedin.kafka.cruisecontrol.async.progress.RetrievingMetrics;
@@ -17,6 +18,9 @@ import com.linkedin.kafka.cruisecontrol.monitor.ModelCompletenessRequirements;
 import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.PartitionEntity;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.PartitionMetricSample;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -42,7 +46,8 @@ import org.slf4j.LoggerFactory;
  * </p>
  * @see MetricSampleAggregator
  */
-public class KafkaPartitionMetricSampleAggregator extends MetricSampleAggregator<String, PartitionEntity> {
+public class KafkaPartitionMetricSampleAggregator extends MetricSampleAggregator<String, PartitionEntity>
+    implements CheckpointableAggregator<PartitionEntity> {
   private static final Logger LOG = LoggerFactory.getLogger(KafkaPartitionMetricSampleAggregator.class);
   private final int _maxAllowedExtrapolationsPerPartition;
   private final Metadata _metadata;
@@ -58,7 +63,8 @@ public class KafkaPartitionMetricSampleAggregator extends MetricSampleAggregator
           config.getLong(MonitorConfig.PARTITION_METRICS_WINDOW_MS_CONFIG),
           config.getInt(MonitorConfig.MIN_SAMPLES_PER_PARTITION_METRICS_WINDOW_CONFIG).byteValue(),
           config.getInt(MonitorConfig.PARTITION_METRIC_SAMPLE_AGGREGATOR_COMPLETENESS_CACHE_SIZE_CONFIG),
-          KafkaMetricDef.commonMetricDef());
+          KafkaMetricDef.commonMetricDef(),
+          config.getInt(MonitorConfig.NUM_PARTITION_METRIC_SAMPLE_AGGREGATION_THREADS_CONFIG));
     _metadata = metadata;
     _maxAllowedExtrapolationsPerPartition =
         config.getInt(MonitorConfig.MAX_ALLOWED_EXTRAPOLATIONS_PER_PARTITION_CONFIG);
@@ -298,4 +304,14 @@ public class KafkaPartitionMetricSampleAggregator extends MetricSampleAggregator
                                     requirements.includeAllTopics());
   }
 
+  @Override
+  public void writeEntity(PartitionEntity entity, DataOutput out) throws IOException {
+    out.writeUTF(entity.tp().topic());
+    out.writeInt(entity.tp().partition());
+  }
+
+  @Override
+  public PartitionEntity readEntity(DataInput in) throws IOException {
+    return new PartitionEntity(new TopicPartition(in.readUTF(), in.readInt()));
+  }
 }
@@ -5,11 +5,19 @@
 package com.linkedin.kafka.cruisecontrol.monitor.sampling.holder;
 
 import com.linkedin.cruisecontrol.metricdef.MetricDef;
+import com.linkedin.cruisecontrol.metricdef.MetricInfo;
 import com.linkedin.cruisecontrol.monitor.sampling.MetricSample;
 import com.linkedin.kafka.cruisecontrol.metricsreporter.exception.UnknownVersionException;
 import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.ByteUtils;
 import java.util.Map;
 
 import static com.linkedin.cruisecontrol.CruiseControlUtils.utcDateFor;
@@ -31,6 +39,13 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public class PartitionMetricSample extends MetricSample<String, PartitionEntity> {
   static final byte MIN_SUPPORTED_VERSION = 0;
   static final byte LATEST_SUPPORTED_VERSION = 1;
+  static final byte BATCH_VERSION = 2;
+  // The metrics serialized in a batch, in the order of their columns.
+  private static final KafkaMetricDef[] BATCH_METRICS = {CPU_USAGE, DISK_USAGE, LEADER_BYTES_IN, LEADER_BYTES_OUT, PRODUCE_RATE,
+                                                         FETCH_RATE, MESSAGE_IN_RATE, REPLICATION_BYTES_IN_RATE,
+                                                         REPLICATION_BYTES_OUT_RATE};
+  // The minimum number of bytes of a sample in a batch, i.e. a single byte for each varint column, and the metric values.
+  private static final int MIN_BATCH_BYTES_PER_SAMPLE = 4 + BATCH_METRICS.length * Float.BYTES;
 
   private final int _brokerId;
 
@@ -86,6 +101,103 @@ public class PartitionMetricSample extends MetricSample<String, PartitionEntity>
     return buffer.array();
   }
 
+  /**
+   * This method serializes the given metric samples into a single batch using a columnar protocol. Topic names are
+   * dictionary encoded, sample times are delta encoded, and metric values are stored as floats.
+   * 1 byte   - version
+   * varint   - number of topics, followed by the length and the UTF-8 bytes of each topic string
+   * varint   - number of samples
+   * 8 bytes  - sample time of the first sample
+   * varlongs - sample time of each sample minus the sample time of its preceding sample
+   * varints  - brokerId of each sample
+   * varints  - topic index of each sample
+   * varints  - partition id of each sample
+   * floats   - one column per metric in the order of {@link #toBytes()}, each with the metric value of each sample
+   *
+   * @param samples Partition metric samples to serialize.
+   * @return Serialized bytes.
+   */
+  public static byte[] batchToBytes(Collection<PartitionMetricSample> samples) {
+    MetricDef metricDef = KafkaMetricDef.commonMetricDef();
+    Map<String, Integer> topicIndices = new HashMap<>();
+    List<byte[]> topicStringBytes = new ArrayList<>();
+    int size = 1 + ByteUtils.sizeOfUnsignedVarint(samples.size()) + Long.BYTES + samples.size() * BATCH_METRICS.length * Float.BYTES;
+    long prevSampleTimeMs = samples.isEmpty() ? 0L : samples.iterator().next()._sampleTimeMs;
+    for (PartitionMetricSample sample : samples) {
+      Integer topicIndex = topicIndices.get(sample.entity().group());
+      if (topicIndex == null) {
+        topicIndex = topicStringBytes.size();
+        topicIndices.put(sample.entity().group(), topicIndex);
+        topicStringBytes.add(sample.entity().group().getBytes(UTF_8));
+      }
+      size += ByteUtils.sizeOfVarlong(sample._sampleTimeMs - prevSampleTimeMs)
+              + ByteUtils.sizeOfUnsignedVarint(sample._brokerId)
+              + ByteUtils.sizeOfUnsignedVarint(topicIndex)
+              + ByteUtils.sizeOfUnsignedVarint(sample.entity().tp().partition());
+      prevSampleTimeMs = sample._sampleTimeMs;
+    }
+    size += ByteUtils.sizeOfUnsignedVarint(topicStringBytes.size());
+    for (byte[] bytes : topicStringBytes) {
+      size += ByteUtils.sizeOfUnsignedVarint(bytes.length) + bytes.length;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.put(BATCH_VERSION);
+    ByteUtils.writeUnsignedVarint(topicStringBytes.size(), buffer);
+    for (byte[] bytes : topicStringBytes) {
+      ByteUtils.writeUnsignedVarint(bytes.length, buffer);
+      buffer.put(bytes);
+    }
+    ByteUtils.writeUnsignedVarint(samples.size(), buffer);
+    prevSampleTimeMs = samples.isEmpty() ? 0L : samples.iterator().next()._sampleTimeMs;
+    buffer.putLong(prevSampleTimeMs);
+    for (PartitionMetricSample sample : samples) {
+      ByteUtils.writeVarlong(sample._sampleTimeMs - prevSampleTimeMs, buffer);
+      prevSampleTimeMs = sample._sampleTimeMs;
+    }
+    for (PartitionMetricSample sample : samples) {
+      ByteUtils.writeUnsignedVarint(sample._brokerId, buffer);
+    }
+    for (PartitionMetricSample sample : samples) {
+      ByteUtils.writeUnsignedVarint(topicIndices.get(sample.entity().group()), buffer);
+    }
+    for (PartitionMetricSample sample : samples) {
+      ByteUtils.writeUnsignedVarint(sample.entity().tp().partition(), buffer);
+    }
+    for (KafkaMetricDef metric : BATCH_METRICS) {
+      short metricId = metricDef.metricInfo(metric.name()).id();
+      for (PartitionMetricSample sample : samples) {
+        buffer.putFloat(sample._valuesByMetricId.get(metricId).floatValue());
+      }
+    }
+    return buffer.array();
+  }
+
+  /**
+   * Deserialize given byte array, which is either a single serialized partition metric sample or a batch of serialized
+   * partition metric samples, and pass each deserialized sample to the given consumer without collecting them. If the
+   * given byte array is corrupt, an {@link IllegalArgumentException} is thrown before any sample is passed to the consumer.
+   *
+   * @param bytes Byte array for a partition metric sample or a batch of partition metric samples.
+   * @param sampleConsumer The consumer of the deserialized partition metric samples.
+   * @return Number of deserialized partition metric samples.
+   */
+  public static int readSamples(byte[] bytes, Consumer<PartitionMetricSample> sampleConsumer) throws UnknownVersionException {
+    if (bytes.length > 0 && bytes[0] == BATCH_VERSION) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      buffer.get();
+      return readBatchV2(buffer, sampleConsumer);
+    }
+    PartitionMetricSample sample;
+    try {
+      sample = fromBytes(bytes);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Corrupt partition metric sample of " + bytes.length + " bytes.", e);
+    }
+    sampleConsumer.accept(sample);
+    return 1;
+  }
+
   /**
    * Deserialize given byte array into a partition metric sample.
    *
@@ -121,6 +233,80 @@ public class PartitionMetricSample extends MetricSample<String, PartitionEntity>
     return String.format("[brokerId: %d, Partition: %s, time: %s, metrics: %s]", _brokerId, entity().tp(), utcDateFor(_sampleTimeMs), builder);
   }
 
+  private static int readBatchV2(ByteBuffer buffer, Consumer<PartitionMetricSample> sampleConsumer) {
+    // All the columns are decoded and validated before any sample is passed to the consumer, so a corrupt batch is skipped entirely.
+    String[] topics;
+    long[] sampleTimeMs;
+    int[] brokerIds;
+    int[] topicIndices;
+    int[] partitions;
+    int numSamples;
+    try {
+      int numTopics = ByteUtils.readUnsignedVarint(buffer);
+      if (numTopics < 0 || numTopics > buffer.remaining()) {
+        throw new IllegalArgumentException("Corrupt partition metric sample batch with " + numTopics + " topics.");
+      }
+      topics = new String[numTopics];
+      for (int i = 0; i < topics.length; i++) {
+        int length = ByteUtils.readUnsignedVarint(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+          throw new IllegalArgumentException("Corrupt partition metric sample batch with a topic of " + length + " bytes.");
+        }
+        topics[i] = new String(buffer.array(), buffer.position(), length, UTF_8);
+        buffer.position(buffer.position() + length);
+      }
+      numSamples = ByteUtils.readUnsignedVarint(buffer);
+      if (numSamples < 0 || (long) numSamples * MIN_BATCH_BYTES_PER_SAMPLE > buffer.remaining() - Long.BYTES) {
+        throw new IllegalArgumentException("Corrupt partition metric sample batch with " + numSamples + " samples in "
+                                           + buffer.remaining() + " bytes.");
+      }
+      sampleTimeMs = new long[numSamples];
+      brokerIds = new int[numSamples];
+      topicIndices = new int[numSamples];
+      partitions = new int[numSamples];
+      long prevSampleTimeMs = buffer.getLong();
+      for (int i = 0; i < numSamples; i++) {
+        sampleTimeMs[i] = prevSampleTimeMs + ByteUtils.readVarlong(buffer);
+        prevSampleTimeMs = sampleTimeMs[i];
+      }
+      for (int i = 0; i < numSamples; i++) {
+        brokerIds[i] = ByteUtils.readUnsignedVarint(buffer);
+      }
+      for (int i = 0; i < numSamples; i++) {
+        topicIndices[i] = ByteUtils.readUnsignedVarint(buffer);
+        if (topicIndices[i] < 0 || topicIndices[i] >= topics.length) {
+          throw new IllegalArgumentException("Corrupt partition metric sample batch with topic index " + topicIndices[i]
+                                             + " of " + topics.length + " topics.");
+        }
+      }
+      for (int i = 0; i < numSamples; i++) {
+        partitions[i] = ByteUtils.readUnsignedVarint(buffer);
+      }
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Corrupt partition metric sample batch.", e);
+    }
+    if (buffer.remaining() != numSamples * BATCH_METRICS.length * Float.BYTES) {
+      throw new IllegalArgumentException("Corrupt partition metric sample batch with " + buffer.remaining() + " bytes of metric "
+                                         + "values for " + numSamples + " samples and " + BATCH_METRICS.length + " metrics.");
+    }
+
+    MetricDef metricDef = KafkaMetricDef.commonMetricDef();
+    MetricInfo[] metricInfos = new MetricInfo[BATCH_METRICS.length];
+    for (int m = 0; m < BATCH_METRICS.length; m++) {
+      metricInfos[m] = metricDef.metricInfo(BATCH_METRICS[m].name());
+    }
+    int metricValuesPosition = buffer.position();
+    for (int i = 0; i < numSamples; i++) {
+      PartitionMetricSample sample = new PartitionMetricSample(brokerIds[i], new TopicPartition(topics[topicIndices[i]], partitions[i]));
+      for (int m = 0; m < BATCH_METRICS.length; m++) {
+        sample.record(metricInfos[m], buffer.getFloat(metricValuesPosition + (m * numSamples + i) * Float.BYTES));
+      }
+      sample.close(sampleTimeMs[i]);
+      sampleConsumer.accept(sample);
+    }
+    return numSamples;
+  }
+
   private static PartitionMetricSample readV0(ByteBuffer buffer) {
     MetricDef metricDef = KafkaMetricDef.commonMetricDef();
     int brokerId = buffer.getInt();
@@ -16,6 +16,7 @@ import com.linkedin.kafka.cruisecontrol.monitor.sampling.MetricSampler;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.SampleStore;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator.KafkaBrokerMetricSampleAggregator;
 import com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator.KafkaPartitionMetricSampleAggregator;
+import java.io.File;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -40,6 +41,8 @@ public class LoadMonitorTaskRunner {
   private final MetadataClient _metadataClient;
   private final SampleStore _sampleStore;
   private final SampleStore _sampleStoreForPartitionMetricOnExecution;
+  // The checkpointer of the metric sample aggregators, or null if the checkpoints are disabled.
+  private final MetricSampleAggregatorCheckpointer _aggregatorCheckpointer;
   private final ScheduledExecutorService _samplingScheduler;
   private final long _samplingIntervalMs;
   // The following two configuration is actually for MetricSampleAggregator, the MetricFetcherManager uses it to
@@ -112,6 +115,13 @@ public class LoadMonitorTaskRunner {
     _sampleStoreForPartitionMetricOnExecution =
         config.getConfiguredInstance(MonitorConfig.SAMPLE_PARTITION_METRIC_STORE_ON_EXECUTION_CLASS_CONFIG, SampleStore.class);
     long samplingIntervalMs = config.getLong(MonitorConfig.METRIC_SAMPLING_INTERVAL_MS_CONFIG);
+    String aggregatorCheckpointDir = config.getString(MonitorConfig.METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_DIR_CONFIG);
+    _aggregatorCheckpointer = aggregatorCheckpointDir == null || aggregatorCheckpointDir.isEmpty()
+                              ? null
+                              : new MetricSampleAggregatorCheckpointer(
+                                  new File(aggregatorCheckpointDir),
+                                  config.getLong(MonitorConfig.METRIC_SAMPLE_AGGREGATOR_CHECKPOINT_INTERVAL_MS_CONFIG),
+                                  partitionMetricSampleAggregator, brokerMetricSampleAggregator, time);
 
     _samplingScheduler =
         Executors.newScheduledThreadPool(2, new KafkaCruiseControlThreadFactory("SamplingScheduler", true, LOG));
@@ -196,6 +206,7 @@ public class LoadMonitorTaskRunner {
       _samplingScheduler.submit(new SampleLoadingTask(_sampleStore,
                                                       _partitionMetricSampleAggregator,
                                                       _brokerMetricSampleAggregator,
+                                                      _aggregatorCheckpointer,
                                                       this));
     } else {
       throw new IllegalStateException("Cannot load samples because the load monitor is in "
@@ -244,7 +255,8 @@ public class LoadMonitorTaskRunner {
     }
     _samplingScheduler.scheduleAtFixedRate(new SamplingTask(_samplingIntervalMs, _metadataClient,
                                                             this, _metricFetcherManager, _sampleStore,
-                                                            _sampleStoreForPartitionMetricOnExecution, _time),
+                                                            _sampleStoreForPartitionMetricOnExecution,
+                                                            _aggregatorCheckpointer, _time),
                                            0L,
                                            _samplingIntervalMs,
                                            TimeUnit.MILLISECONDS);
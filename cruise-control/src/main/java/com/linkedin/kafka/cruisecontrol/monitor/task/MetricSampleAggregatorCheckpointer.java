@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.monitor.task;
+
+import com.linkedin.cruisecontrol.monitor.sampling.aggregator.MetricSampleAggregator;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.SampleStore;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator.KafkaBrokerMetricSampleAggregator;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator.KafkaPartitionMetricSampleAggregator;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.kafka.common.utils.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Writes periodic checkpoints of the partition and broker metric sample aggregators to a local directory, and restores
+ * the aggregators from these checkpoints upon startup, so that only the stored samples newer than the checkpoints need to
+ * be loaded from the {@link SampleStore}.
+ *
+ * Each checkpoint is a compressed file that is replaced atomically, hence a failure amid writing a checkpoint leaves the
+ * previous checkpoint intact.
+ */
+class MetricSampleAggregatorCheckpointer {
+  private static final Logger LOG = LoggerFactory.getLogger(MetricSampleAggregatorCheckpointer.class);
+  static final String PARTITION_CHECKPOINT_FILE = "partition-metric-sample-aggregator.checkpoint";
+  static final String BROKER_CHECKPOINT_FILE = "broker-metric-sample-aggregator.checkpoint";
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private final File _directory;
+  private final long _checkpointIntervalMs;
+  private final KafkaPartitionMetricSampleAggregator _partitionMetricSampleAggregator;
+  private final KafkaBrokerMetricSampleAggregator _brokerMetricSampleAggregator;
+  private final Time _time;
+  private long _lastCheckpointMs;
+
+  /**
+   * @param directory The directory of the checkpoints.
+   * @param checkpointIntervalMs The minimum interval in milliseconds between the checkpoints.
+   * @param partitionMetricSampleAggregator The {@link KafkaPartitionMetricSampleAggregator} to checkpoint.
+   * @param brokerMetricSampleAggregator The {@link KafkaBrokerMetricSampleAggregator} to checkpoint.
+   * @param time The time object.
+   */
+  MetricSampleAggregatorCheckpointer(File directory,
+                                     long checkpointIntervalMs,
+                                     KafkaPartitionMetricSampleAggregator partitionMetricSampleAggregator,
+                                     KafkaBrokerMetricSampleAggregator brokerMetricSampleAggregator,
+                                     Time time) {
+    validateSupportsCheckpoints(partitionMetricSampleAggregator);
+    validateSupportsCheckpoints(brokerMetricSampleAggregator);
+    _directory = directory;
+    _checkpointIntervalMs = checkpointIntervalMs;
+    _partitionMetricSampleAggregator = partitionMetricSampleAggregator;
+    _brokerMetricSampleAggregator = brokerMetricSampleAggregator;
+    _time = time;
+    _lastCheckpointMs = time.milliseconds();
+  }
+
+  /**
+   * Restore the aggregators from the existing checkpoints. A missing or unreadable checkpoint leaves the corresponding
+   * aggregator empty, in which case all its stored samples are loaded.
+   *
+   * @return A sample loader that loads only the samples newer than the restored checkpoints to the aggregators.
+   */
+  SampleStore.SampleLoader restore() {
+    long partitionCheckpointTimeMs = restore(_partitionMetricSampleAggregator, PARTITION_CHECKPOINT_FILE);
+    long brokerCheckpointTimeMs = restore(_brokerMetricSampleAggregator, BROKER_CHECKPOINT_FILE);
+    return new SampleStore.SampleLoader(_partitionMetricSampleAggregator, _brokerMetricSampleAggregator,
+                                        partitionCheckpointTimeMs, brokerCheckpointTimeMs);
+  }
+
+  /**
+   * Write the checkpoints of the aggregators if the checkpoint interval has elapsed since the previous checkpoint. This
+   * method must be called while no sample is being added to the aggregators -- e.g. between the metric sampling rounds.
+   */
+  void maybeCheckpoint() {
+    long nowMs = _time.milliseconds();
+    if (nowMs - _lastCheckpointMs < _checkpointIntervalMs) {
+      return;
+    }
+    _lastCheckpointMs = nowMs;
+    checkpoint(_partitionMetricSampleAggregator, PARTITION_CHECKPOINT_FILE);
+    checkpoint(_brokerMetricSampleAggregator, BROKER_CHECKPOINT_FILE);
+  }
+
+  // Restore the given aggregator from the given checkpoint file, and return the latest sample time in the checkpoint, or -1 if
+  // the aggregator is not restored.
+  private long restore(MetricSampleAggregator<?, ?> aggregator, String fileName) {
+    File checkpoint = new File(_directory, fileName);
+    if (!checkpoint.exists()) {
+      LOG.info("No metric sample aggregator checkpoint {} to restore.", checkpoint);
+      return -1L;
+    }
+    long startMs = _time.milliseconds();
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(checkpoint),
+                                                                                              BUFFER_SIZE), BUFFER_SIZE))) {
+      long checkpointTimeMs = aggregator.restoreCheckpoint(in);
+      LOG.info("Restored metric sample aggregator checkpoint {} in {} ms.", checkpoint, _time.milliseconds() - startMs);
+      return checkpointTimeMs;
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to restore metric sample aggregator checkpoint {}, all the stored samples will be loaded.", checkpoint, e);
+      return -1L;
+    }
+  }
+
+  // Write the checkpoint of the given aggregator to a temporary file, and then atomically replace the given checkpoint file.
+  private void checkpoint(MetricSampleAggregator<?, ?> aggregator, String fileName) {
+    File checkpoint = new File(_directory, fileName);
+    File tempCheckpoint = new File(_directory, fileName + TEMP_FILE_SUFFIX);
+    long startMs = _time.milliseconds();
+    try {
+      Files.createDirectories(_directory.toPath());
+      int numEntities;
+      try (FileOutputStream fileOut = new FileOutputStream(tempCheckpoint);
+           GZIPOutputStream gzipOut = new GZIPOutputStream(fileOut, BUFFER_SIZE);
+           DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzipOut, BUFFER_SIZE))) {
+        numEntities = aggregator.writeCheckpoint(out);
+        out.flush();
+        gzipOut.finish();
+        fileOut.getFD().sync();
+      }
+      Files.move(tempCheckpoint.toPath(), checkpoint.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      LOG.info("Wrote metric sample aggregator checkpoint {} of {} entities in {} ms.", checkpoint, numEntities,
+               _time.milliseconds() - startMs);
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to write metric sample aggregator checkpoint {}.", checkpoint, e);
+    }
+  }
+
+  // Reject the given aggregator upon construction, rather than upon each checkpoint, if it does not support checkpoints.
+  private static void validateSupportsCheckpoints(MetricSampleAggregator<?, ?> aggregator) {
+    if (!aggregator.supportsCheckpoints()) {
+      throw new IllegalArgumentException(aggregator.getClass().getSimpleName() + " does not support checkpoints.");
+    }
+  }
+}
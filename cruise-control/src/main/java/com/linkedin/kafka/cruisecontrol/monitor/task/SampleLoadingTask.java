@@ -13,23 +13,28 @@ public class SampleLoadingTask implements Runnable {
   private final SampleStore _sampleStore;
   private final KafkaPartitionMetricSampleAggregator _partitionMetricSampleAggregator;
   private final KafkaBrokerMetricSampleAggregator _brokerMetricSampleAggregator;
+  private final MetricSampleAggregatorCheckpointer _aggregatorCheckpointer;
   private final LoadMonitorTaskRunner _loadMonitorTaskRunner;
 
   SampleLoadingTask(SampleStore sampleStore,
                     KafkaPartitionMetricSampleAggregator partitionMetricSampleAggregator,
                     KafkaBrokerMetricSampleAggregator brokerMetricSampleAggregator,
+                    MetricSampleAggregatorCheckpointer aggregatorCheckpointer,
                     LoadMonitorTaskRunner loadMonitorTaskRunner) {
     _sampleStore = sampleStore;
     _partitionMetricSampleAggregator = partitionMetricSampleAggregator;
     _brokerMetricSampleAggregator = brokerMetricSampleAggregator;
+    _aggregatorCheckpointer = aggregatorCheckpointer;
     _loadMonitorTaskRunner = loadMonitorTaskRunner;
   }
 
   @Override
   public void run() {
     try {
-      _sampleStore.loadSamples(new SampleStore.SampleLoader(_partitionMetricSampleAggregator,
-                                                            _brokerMetricSampleAggregator));
+      // Restore the aggregators from their checkpoints (if any), so that only the samples newer than the checkpoints are loaded.
+      _sampleStore.loadSamples(_aggregatorCheckpointer == null
+                               ? new SampleStore.SampleLoader(_partitionMetricSampleAggregator, _brokerMetricSampleAggregator)
+                               : _aggregatorCheckpointer.restore());
       ModelParameters.updateModelCoefficient();
     } finally {
       // The sample loading task is run before the load monitor starts regardless of any ongoing execution.
@@ -25,6 +25,7 @@ class SamplingTask implements Runnable {
   private final MetricFetcherManager _metricFetcherManager;
   private final SampleStore _sampleStore;
   private final SampleStore _sampleStoreForPartitionMetricOnExecution;
+  private final MetricSampleAggregatorCheckpointer _aggregatorCheckpointer;
   private long _lastSamplingPeriodEndTimeMs;
 
   SamplingTask(long samplingIntervalMs,
@@ -33,6 +34,7 @@ class SamplingTask implements Runnable {
                MetricFetcherManager metricFetcherManager,
                SampleStore sampleStore,
                SampleStore sampleStoreForPartitionMetricOnExecution,
+               MetricSampleAggregatorCheckpointer aggregatorCheckpointer,
                Time time) {
     _samplingIntervalMs = samplingIntervalMs;
     _time = time;
@@ -41,6 +43,7 @@ class SamplingTask implements Runnable {
     _metricFetcherManager = metricFetcherManager;
     _sampleStore = sampleStore;
     _sampleStoreForPartitionMetricOnExecution = sampleStoreForPartitionMetricOnExecution;
+    _aggregatorCheckpointer = aggregatorCheckpointer;
     _lastSamplingPeriodEndTimeMs = _time.milliseconds() - _samplingIntervalMs;
   }
 
@@ -71,6 +74,10 @@ class SamplingTask implements Runnable {
             throw new TimeoutException();
           }
         } while (hasSamplingError);
+        // No sample is being added to the aggregators between the sampling rounds, hence it is safe to checkpoint them.
+        if (_aggregatorCheckpointer != null) {
+          _aggregatorCheckpointer.maybeCheckpoint();
+        }
       } catch (TimeoutException e) {
         LOG.warn("Sampling did not finish in {} ms, skipping this sampling interval.", _samplingIntervalMs);
         // Advance the last sampling period end time.
@@ -106,7 +106,8 @@ public class AddBrokersRunnable extends GoalBasedOperationRunnable {
                                                                          _excludedTopics,
                                                                          Collections.emptySet(),
                                                                          false,
-                                                                         _fastMode);
+                                                                         _fastMode,
+                                                                         _optimizationTimeoutMs);
 
     OptimizerResult result = _kafkaCruiseControl.optimizations(clusterModel, _goalsByPriority, _operationProgress, null, optimizationOptions);
     if (!_dryRun) {
@@ -47,6 +47,8 @@ public abstract class GoalBasedOperationRunnable extends OperationRunnable {
   protected final Supplier<String> _reasonSupplier;
   protected final boolean _isTriggeredByUserRequest;
   protected final boolean _fastMode;
+  // The optimization timeout requested by the user, or null to use the configured optimization timeout.
+  protected final Long _optimizationTimeoutMs;
   protected OperationProgress _operationProgress;
   // Combined completeness requirements to be used after initialization.
   protected ModelCompletenessRequirements _combinedCompletenessRequirements;
@@ -67,7 +69,7 @@ public abstract class GoalBasedOperationRunnable extends OperationRunnable {
          parameters.modelCompletenessRequirements(), skipHardGoalCheck, parameters.excludedTopics(),
          parameters.allowCapacityEstimation(), parameters.excludeRecentlyDemotedBrokers(),
          parameters.excludeRecentlyRemovedBrokers(), uuid, reasonSupplier, !SELF_HEALING_IS_TRIGGERED_BY_USER_REQUEST,
-         parameters.fastMode());
+         parameters.fastMode(), parameters.optimizationTimeoutMs());
   }
 
   /**
@@ -103,6 +105,27 @@ public abstract class GoalBasedOperationRunnable extends OperationRunnable {
                                     Supplier<String> reasonSupplier,
                                     boolean isTriggeredByUserRequest,
                                     boolean fastMode) {
+    this(kafkaCruiseControl, future, dryRun, goals, stopOngoingExecution, modelCompletenessRequirements, skipHardGoalCheck,
+         excludedTopics, allowCapacityEstimation, excludeRecentlyDemotedBrokers, excludeRecentlyRemovedBrokers, uuid, reasonSupplier,
+         isTriggeredByUserRequest, fastMode, null);
+  }
+
+  public GoalBasedOperationRunnable(KafkaCruiseControl kafkaCruiseControl,
+                                    OperationFuture future,
+                                    boolean dryRun,
+                                    List<String> goals,
+                                    boolean stopOngoingExecution,
+                                    ModelCompletenessRequirements modelCompletenessRequirements,
+                                    boolean skipHardGoalCheck,
+                                    Pattern excludedTopics,
+                                    boolean allowCapacityEstimation,
+                                    boolean excludeRecentlyDemotedBrokers,
+                                    boolean excludeRecentlyRemovedBrokers,
+                                    String uuid,
+                                    Supplier<String> reasonSupplier,
+                                    boolean isTriggeredByUserRequest,
+                                    boolean fastMode,
+                                    Long optimizationTimeoutMs) {
     super(kafkaCruiseControl, future);
     _goals = goals;
     _modelCompletenessRequirements = modelCompletenessRequirements;
@@ -120,6 +143,7 @@ public abstract class GoalBasedOperationRunnable extends OperationRunnable {
     _combinedCompletenessRequirements = null;
     _goalsByPriority = null;
     _fastMode = fastMode;
+    _optimizationTimeoutMs = optimizationTimeoutMs;
   }
 
   /**
@@ -32,6 +32,8 @@ public class ProposalsRunnable extends GoalBasedOperationRunnable {
   protected final Set<Integer> _destinationBrokerIds;
   protected final boolean _isRebalanceDiskMode;
   protected final boolean _isTriggeredByGoalViolation;
+  // The precomputed proposals of the requested goals, if the request can be served from them.
+  protected OptimizerResult _precomputedProposals;
   // This runnable does not start or modify executions. Hence, it ignores execution-related parameters, including hard
   // goal check (i.e. to evaluate any combination of goals). Unless specified otherwise, it is not triggered by goal violation.
   protected static final boolean PROPOSALS_DRYRUN = true;
@@ -58,15 +60,17 @@ public class ProposalsRunnable extends GoalBasedOperationRunnable {
                            boolean isRebalanceDiskMode,
                            boolean skipHardGoalCheck,
                            boolean isTriggeredByGoalViolation,
-                           boolean fastMode) {
+                           boolean fastMode,
+                           Long optimizationTimeoutMs) {
     super(kafkaCruiseControl, future, PROPOSALS_DRYRUN, goals, PROPOSALS_STOP_ONGOING_EXECUTION,
           modelCompletenessRequirements, skipHardGoalCheck, excludedTopics, allowCapacityEstimation,
           excludeRecentlyDemotedBrokers, excludeRecentlyRemovedBrokers, PROPOSALS_UUID, PROPOSALS_REASON_SUPPLIER,
-          PROPOSALS_IS_TRIGGERED_BY_USER_REQUEST, fastMode);
+          PROPOSALS_IS_TRIGGERED_BY_USER_REQUEST, fastMode, optimizationTimeoutMs);
     _ignoreProposalCache = ignoreProposalCache;
     _destinationBrokerIds = destinationBrokerIds;
     _isRebalanceDiskMode = isRebalanceDiskMode;
     _isTriggeredByGoalViolation = isTriggeredByGoalViolation;
+    _precomputedProposals = null;
   }
 
   public ProposalsRunnable(KafkaCruiseControl kafkaCruiseControl, OperationFuture future, ProposalsParameters parameters) {
@@ -76,6 +80,7 @@ public class ProposalsRunnable extends GoalBasedOperationRunnable {
     _destinationBrokerIds = parameters.destinationBrokerIds();
     _isRebalanceDiskMode = parameters.isRebalanceDiskMode();
     _isTriggeredByGoalViolation = PROPOSALS_IS_TRIGGERED_BY_GOAL_VIOLATION;
+    _precomputedProposals = null;
   }
 
   @Override
@@ -109,25 +114,41 @@ public class ProposalsRunnable extends GoalBasedOperationRunnable {
                                                                          _excludedTopics,
                                                                          _destinationBrokerIds,
                                                                          false,
-                                                                         _fastMode);
+                                                                         _fastMode,
+                                                                         _optimizationTimeoutMs);
 
     return _kafkaCruiseControl.optimizations(clusterModel, _goalsByPriority, _operationProgress, null, optimizationOptions);
   }
 
   @Override
   protected OptimizerResult workWithoutClusterModel() throws KafkaCruiseControlException {
-    return _kafkaCruiseControl.getProposals(_operationProgress, _allowCapacityEstimation);
+    return _precomputedProposals != null ? _precomputedProposals
+                                         : _kafkaCruiseControl.getProposals(_operationProgress, _allowCapacityEstimation);
   }
 
   @Override
   protected boolean shouldWorkWithClusterModel() {
-    return _kafkaCruiseControl.ignoreProposalCache(_goals,
-                                                   _combinedCompletenessRequirements,
-                                                   _excludedTopics,
-                                                   _excludeRecentlyDemotedBrokers || _excludeRecentlyRemovedBrokers,
-                                                   _ignoreProposalCache,
-                                                   _isTriggeredByGoalViolation,
-                                                   _destinationBrokerIds,
-                                                   _isRebalanceDiskMode);
+    if (_kafkaCruiseControl.ignoreProposalCache(_goals,
+                                                _combinedCompletenessRequirements,
+                                                _excludedTopics,
+                                                _excludeRecentlyDemotedBrokers || _excludeRecentlyRemovedBrokers,
+                                                _ignoreProposalCache,
+                                                _isTriggeredByGoalViolation,
+                                                _destinationBrokerIds,
+                                                _isRebalanceDiskMode)) {
+      return true;
+    }
+    if (_goals != null && !_goals.isEmpty()) {
+      // Requested goals are a precomputed goal list -- compute the proposals if the precomputed ones are not available yet.
+      _precomputedProposals = _kafkaCruiseControl.getPrecomputedProposals(_goals, _combinedCompletenessRequirements, _allowCapacityEstimation);
+      return _precomputedProposals == null;
+    }
+    return false;
+  }
+
+  @Override
+  protected void finish() {
+    super.finish();
+    _precomputedProposals = null;
   }
 }
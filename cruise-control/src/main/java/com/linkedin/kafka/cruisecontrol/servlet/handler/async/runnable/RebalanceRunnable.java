@@ -111,7 +111,7 @@ public class RebalanceRunnable extends GoalBasedOperationRunnable {
                                                                 _allowCapacityEstimation, _excludedTopics, _excludeRecentlyDemotedBrokers,
                                                                 _excludeRecentlyRemovedBrokers, _ignoreProposalCache, _destinationBrokerIds,
                                                                 _isRebalanceDiskMode, _skipHardGoalCheck, !_isTriggeredByUserRequest,
-                                                                _fastMode);
+                                                                _fastMode, _optimizationTimeoutMs);
     OptimizerResult result = proposalsRunnable.computeResult();
     if (!_dryRun) {
       _kafkaCruiseControl.executeProposals(result.goalProposals(), Collections.emptySet(), isKafkaAssignerMode(_goals),
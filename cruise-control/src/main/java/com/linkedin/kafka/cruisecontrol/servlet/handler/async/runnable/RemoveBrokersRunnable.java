@@ -109,7 +109,8 @@ public class RemoveBrokersRunnable extends GoalBasedOperationRunnable {
                                                                          _excludedTopics,
                                                                          _destinationBrokerIds,
                                                                          false,
-                                                                         _fastMode);
+                                                                         _fastMode,
+                                                                         _optimizationTimeoutMs);
 
     OptimizerResult result = _kafkaCruiseControl.optimizations(clusterModel, _goalsByPriority, _operationProgress, null, optimizationOptions);
     if (!_dryRun) {
@@ -11,6 +11,8 @@ import com.linkedin.kafka.cruisecontrol.analyzer.kafkaassigner.KafkaAssignerDisk
 import com.linkedin.kafka.cruisecontrol.analyzer.kafkaassigner.KafkaAssignerEvenRackAwareGoal;
 import com.linkedin.kafka.cruisecontrol.async.progress.OperationProgress;
 import com.linkedin.kafka.cruisecontrol.async.progress.WaitingForOngoingExecutionToStop;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.config.constants.AnalyzerConfig;
 import com.linkedin.kafka.cruisecontrol.executor.ExecutorState;
 import com.linkedin.kafka.cruisecontrol.executor.strategy.ReplicaMovementStrategy;
 import com.linkedin.kafka.cruisecontrol.model.Broker;
@@ -270,6 +272,8 @@ public final class RunnableUtils {
    *                                      these brokers (if empty, no explicit filter is enforced -- cannot be null).
    * @param onlyMoveImmigrantReplicas {@code true} to move only immigrant replicas, {@code false} otherwise.
    * @param fastMode {@code true} to compute proposals in fast mode, {@code false} otherwise.
+   * @param optimizationTimeoutMs The maximum time to spend on the optimization of goals starting from now, or {@code null} to use
+   *                              the configured {@link AnalyzerConfig#OPTIMIZATION_TIMEOUT_MS_CONFIG}.
    * @return Computed optimization options.
    */
   public static OptimizationOptions computeOptimizationOptions(ClusterModel clusterModel,
@@ -282,7 +286,8 @@ public final class RunnableUtils {
                                                                Pattern excludedTopicsPattern,
                                                                Set<Integer> requestedDestinationBrokerIds,
                                                                boolean onlyMoveImmigrantReplicas,
-                                                               boolean fastMode) {
+                                                               boolean fastMode,
+                                                               Long optimizationTimeoutMs) {
 
     // Update recently removed and demoted brokers.
     RecentBrokers recentBrokers = maybeDropFromRecentBrokers(kafkaCruiseControl, brokersToDrop, dryRun);
@@ -295,8 +300,14 @@ public final class RunnableUtils {
 
     Set<String> excludedTopics = kafkaCruiseControl.excludedTopics(clusterModel, excludedTopicsPattern);
     LOG.debug("Topics excluded from partition movement: {}", excludedTopics);
+    KafkaCruiseControlConfig config = kafkaCruiseControl.config();
+    long timeoutMs = optimizationTimeoutMs != null ? optimizationTimeoutMs : config.getLong(AnalyzerConfig.OPTIMIZATION_TIMEOUT_MS_CONFIG);
+    long nowMs = System.currentTimeMillis();
+    long optimizationDeadlineMs = timeoutMs >= OptimizationOptions.NO_DEADLINE_MS - nowMs ? OptimizationOptions.NO_DEADLINE_MS
+                                                                                          : nowMs + timeoutMs;
     return new OptimizationOptions(excludedTopics, excludedBrokersForLeadership, excludedBrokersForReplicaMove,
-                                   isTriggeredByGoalViolation, requestedDestinationBrokerIds, onlyMoveImmigrantReplicas, fastMode);
+                                   isTriggeredByGoalViolation, requestedDestinationBrokerIds, onlyMoveImmigrantReplicas, fastMode,
+                                   optimizationDeadlineMs, config.getLong(AnalyzerConfig.GOAL_OPTIMIZATION_TIMEOUT_MS_CONFIG));
   }
 
   /**
@@ -19,6 +19,7 @@ import static com.linkedin.kafka.cruisecontrol.servlet.parameters.ParameterUtils
 import static com.linkedin.kafka.cruisecontrol.servlet.parameters.ParameterUtils.EXCLUDE_RECENTLY_REMOVED_BROKERS_PARAM;
 import static com.linkedin.kafka.cruisecontrol.servlet.parameters.ParameterUtils.GOALS_PARAM;
 import static com.linkedin.kafka.cruisecontrol.servlet.parameters.ParameterUtils.FAST_MODE_PARAM;
+import static com.linkedin.kafka.cruisecontrol.servlet.parameters.ParameterUtils.OPTIMIZATION_TIMEOUT_MS_PARAM;
 
 
 public abstract class GoalBasedOptimizationParameters extends KafkaOptimizationParameters {
@@ -31,6 +32,7 @@ public abstract class GoalBasedOptimizationParameters extends KafkaOptimizationP
     validParameterNames.add(EXCLUDE_RECENTLY_REMOVED_BROKERS_PARAM);
     validParameterNames.add(GOALS_PARAM);
     validParameterNames.add(FAST_MODE_PARAM);
+    validParameterNames.add(OPTIMIZATION_TIMEOUT_MS_PARAM);
     validParameterNames.addAll(KafkaOptimizationParameters.CASE_INSENSITIVE_PARAMETER_NAMES);
     CASE_INSENSITIVE_PARAMETER_NAMES = Collections.unmodifiableSortedSet(validParameterNames);
   }
@@ -45,6 +47,7 @@ public abstract class GoalBasedOptimizationParameters extends KafkaOptimizationP
   protected boolean _excludeRecentlyRemovedBrokers;
   protected GoalsAndRequirements _goalsAndRequirements;
   protected boolean _fastMode;
+  protected Long _optimizationTimeoutMs;
 
   GoalBasedOptimizationParameters() {
     super();
@@ -60,6 +63,7 @@ public abstract class GoalBasedOptimizationParameters extends KafkaOptimizationP
     List<String> goals = ParameterUtils.getGoals(_request);
     _goalsAndRequirements = new GoalsAndRequirements(goals, getRequirements(_dataFrom));
     _fastMode = ParameterUtils.fastMode(_request);
+    _optimizationTimeoutMs = ParameterUtils.optimizationTimeoutMs(_request);
   }
 
   public ParameterUtils.DataFrom dataFrom() {
@@ -90,6 +94,13 @@ public abstract class GoalBasedOptimizationParameters extends KafkaOptimizationP
     return _fastMode;
   }
 
+  /**
+   * @return The optimization timeout in milliseconds, or {@code null} to use the configured optimization timeout.
+   */
+  public Long optimizationTimeoutMs() {
+    return _optimizationTimeoutMs;
+  }
+
   protected static ModelCompletenessRequirements getRequirements(ParameterUtils.DataFrom dataFrom) {
     return new ModelCompletenessRequirements(MIN_NUM_VALID_WINDOWS.get(dataFrom),
                                              MIN_VALID_PARTITIONS_RATIO.get(dataFrom),
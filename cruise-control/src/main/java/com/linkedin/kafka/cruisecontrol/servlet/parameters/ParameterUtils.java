@@ -130,6 +130,7 @@ public final class ParameterUtils {
   public static final String FETCH_COMPLETED_TASK_PARAM = "fetch_completed_task";
   public static final String FORCE_STOP_PARAM = "force_stop";
   public static final String FAST_MODE_PARAM = "fast_mode";
+  public static final String OPTIMIZATION_TIMEOUT_MS_PARAM = "optimization_timeout_ms";
   public static final String STOP_EXTERNAL_AGENT_PARAM = "stop_external_agent";
   public static final String DEVELOPER_MODE_PARAM = "developer_mode";
   private static final int MAX_REASON_LENGTH = 50;
@@ -400,6 +401,21 @@ public final class ParameterUtils {
     return getBooleanParam(request, FAST_MODE_PARAM, true);
   }
 
+  /**
+   * Get the maximum time to spend on the optimization of goals for the request.
+   *
+   * @param request The Http request.
+   * @return The optimization timeout in milliseconds, or {@code null} to use the configured optimization timeout.
+   */
+  static Long optimizationTimeoutMs(HttpServletRequest request) {
+    Long optimizationTimeoutMs = getLongParam(request, OPTIMIZATION_TIMEOUT_MS_PARAM, null);
+    if (optimizationTimeoutMs != null && optimizationTimeoutMs <= 0) {
+      throw new UserRequestException(String.format("Invalid %s parameter: %d (must be positive).", OPTIMIZATION_TIMEOUT_MS_PARAM,
+                                                    optimizationTimeoutMs));
+    }
+    return optimizationTimeoutMs;
+  }
+
   static boolean getDryRun(HttpServletRequest request) {
     return getBooleanParam(request, DRY_RUN_PARAM, true);
   }
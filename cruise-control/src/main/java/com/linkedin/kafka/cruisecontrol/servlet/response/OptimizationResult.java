@@ -6,6 +6,7 @@ package com.linkedin.kafka.cruisecontrol.servlet.response;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.linkedin.kafka.cruisecontrol.analyzer.GoalOptimizationProfile;
 import com.linkedin.kafka.cruisecontrol.analyzer.OptimizerResult;
 import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.executor.ExecutionProposal;
@@ -143,7 +144,7 @@ public class OptimizationResult extends AbstractCruiseControlResponse {
     optimizationResult.put(SUMMARY, _optimizerResult.getProposalSummaryForJson());
     List<Map<String, Object>> goalSummary = new ArrayList<>();
     for (String goalName : _optimizerResult.statsByGoalName().keySet()) {
-      goalSummary.add(new GoalStatus(goalName).getJsonStructure());
+      goalSummary.add(new GoalStatus(goalName).getJsonStructure(isVerbose));
     }
     optimizationResult.put(GOAL_SUMMARY, goalSummary);
     optimizationResult.put(LOAD_AFTER_OPTIMIZATION, _optimizerResult.brokerStatsAfterOptimization().getJsonStructure());
@@ -173,16 +174,25 @@ public class OptimizationResult extends AbstractCruiseControlResponse {
     protected static final String CLUSTER_MODEL_STATS = "clusterModelStats";
     @JsonResponseField
     protected static final String OPTIMIZATION_TIME_MS = "optimizationTimeMs";
+    @JsonResponseField(required = false)
+    protected static final String OPTIMIZATION_PROFILE = "optimizationProfile";
     protected String _goalName;
 
     GoalStatus(String goalName) {
       _goalName = goalName;
     }
 
-    protected Map<String, Object> getJsonStructure() {
-      return Map.of(GOAL, _goalName, STATUS, _optimizerResult.goalResultDescription(_goalName),
-                    CLUSTER_MODEL_STATS, _optimizerResult.statsByGoalName().get(_goalName).getJsonStructure(),
-                    OPTIMIZATION_TIME_MS, _optimizerResult.optimizationDuration(_goalName).toMillis());
+    protected Map<String, Object> getJsonStructure(boolean isVerbose) {
+      Map<String, Object> goalStatus = new HashMap<>();
+      goalStatus.put(GOAL, _goalName);
+      goalStatus.put(STATUS, _optimizerResult.goalResultDescription(_goalName));
+      goalStatus.put(CLUSTER_MODEL_STATS, _optimizerResult.statsByGoalName().get(_goalName).getJsonStructure());
+      goalStatus.put(OPTIMIZATION_TIME_MS, _optimizerResult.optimizationDuration(_goalName).toMillis());
+      GoalOptimizationProfile optimizationProfile = _optimizerResult.optimizationProfile(_goalName);
+      if (isVerbose && optimizationProfile != null) {
+        goalStatus.put(OPTIMIZATION_PROFILE, optimizationProfile.getJsonStructure());
+      }
+      return goalStatus;
     }
   }
 }
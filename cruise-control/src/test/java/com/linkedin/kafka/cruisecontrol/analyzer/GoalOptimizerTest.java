@@ -5,21 +5,46 @@
 package com.linkedin.kafka.cruisecontrol.analyzer;
 
 import com.codahale.metrics.MetricRegistry;
+import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
+import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUtils;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.AbstractGoal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.Goal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.RackAwareGoal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.ReplicaCapacityGoal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.ReplicaDistributionGoal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.TopicReplicaDistributionGoal;
+import com.linkedin.kafka.cruisecontrol.async.progress.OperationProgress;
+import com.linkedin.kafka.cruisecontrol.common.DeterministicCluster;
+import com.linkedin.kafka.cruisecontrol.common.Statistic;
 import com.linkedin.kafka.cruisecontrol.common.TestConstants;
 import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.AnalyzerConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.ExecutorConfig;
 import com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig;
+import com.linkedin.kafka.cruisecontrol.exception.KafkaCruiseControlException;
+import com.linkedin.kafka.cruisecontrol.exception.OptimizationFailureException;
+import com.linkedin.kafka.cruisecontrol.executor.ExecutionProposal;
 import com.linkedin.kafka.cruisecontrol.executor.Executor;
+import com.linkedin.kafka.cruisecontrol.model.Broker;
 import com.linkedin.kafka.cruisecontrol.model.ClusterModel;
+import com.linkedin.kafka.cruisecontrol.model.ClusterModelStats;
+import com.linkedin.kafka.cruisecontrol.model.Replica;
+import com.linkedin.kafka.cruisecontrol.model.ReplicaPlacementInfo;
 import com.linkedin.kafka.cruisecontrol.monitor.LoadMonitor;
+import com.linkedin.kafka.cruisecontrol.monitor.ModelCompletenessRequirements;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import junit.framework.AssertionFailedError;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.utils.SystemTime;
 import org.easymock.EasyMock;
 import org.junit.Assert;
@@ -88,6 +113,478 @@ public class GoalOptimizerTest {
     EasyMock.verify(clusterModel);
   }
 
+  @Test
+  public void testOptimizationDeadline() throws KafkaCruiseControlException {
+    GoalOptimizer goalOptimizer = createGoalOptimizer();
+    BalancingConstraint balancingConstraint =
+        new BalancingConstraint(new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties()));
+    Goal goal = new ReplicaDistributionGoal(balancingConstraint);
+
+    // An expired optimization deadline stops the goal before it applies any balancing action.
+    OptimizationOptions expiredDeadline = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(), Collections.emptySet(),
+                                                                  false, Collections.emptySet(), false, true, 0L,
+                                                                  OptimizationOptions.NO_TIMEOUT_MS);
+    OptimizerResult result = goalOptimizer.optimizations(DeterministicCluster.unbalanced(), List.of(goal), new OperationProgress(),
+                                                         null, expiredDeadline);
+    Assert.assertTrue(result.isPartiallyOptimized());
+    Assert.assertEquals(Set.of(goal.name()), result.partiallyOptimizedGoals());
+    Assert.assertTrue(result.violatedGoalsAfterOptimization().contains(goal.name()));
+    Assert.assertTrue(result.goalProposals().isEmpty());
+    Assert.assertNotNull(result.optimizationDuration(goal.name()));
+
+    // Without a deadline, the same goal is fully optimized.
+    OptimizationOptions noDeadline = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+    result = goalOptimizer.optimizations(DeterministicCluster.unbalanced(), List.of(goal), new OperationProgress(), null, noDeadline);
+    Assert.assertFalse(result.isPartiallyOptimized());
+    Assert.assertTrue(result.partiallyOptimizedGoals().isEmpty());
+  }
+
+  @Test
+  public void testOptimizationDeadlineOfHardGoal() throws KafkaCruiseControlException {
+    GoalOptimizer goalOptimizer = createGoalOptimizer();
+    KafkaCruiseControlConfig config = new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties());
+    Goal hardGoal = new ReplicaCapacityGoal();
+    hardGoal.configure(config.mergedConfigValues());
+
+    // A hard goal that runs out of its optimization time fails the optimization rather than being partially optimized.
+    OptimizationOptions expiredDeadline = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(), Collections.emptySet(),
+                                                                  false, Collections.emptySet(), false, true, 0L,
+                                                                  OptimizationOptions.NO_TIMEOUT_MS);
+    try {
+      goalOptimizer.optimizations(DeterministicCluster.unbalanced(), List.of(hardGoal), new OperationProgress(), null, expiredDeadline);
+      Assert.fail("Should throw OptimizationFailureException");
+    } catch (OptimizationFailureException ofe) {
+      // let it go
+    }
+    Assert.assertTrue(hardGoal.isPartiallyOptimized());
+    Assert.assertEquals(ProvisionStatus.UNDECIDED, hardGoal.provisionStatus());
+  }
+
+  @Test
+  public void testPrecomputedGoalLists() {
+    Properties props = new Properties();
+    props.setProperty(AnalyzerConfig.PRECOMPUTED_PROPOSAL_GOAL_LISTS_CONFIG,
+                      "RackAwareGoal;ReplicaDistributionGoal,LeaderReplicaDistributionGoal");
+    GoalOptimizer goalOptimizer = createGoalOptimizer(props);
+
+    // Goal names are case insensitive, but the order of goals matters.
+    Assert.assertTrue(goalOptimizer.isPrecomputedGoalList(List.of("RackAwareGoal", "ReplicaDistributionGoal")));
+    Assert.assertTrue(goalOptimizer.isPrecomputedGoalList(List.of("rackawaregoal", "replicadistributiongoal")));
+    Assert.assertTrue(goalOptimizer.isPrecomputedGoalList(List.of("LeaderReplicaDistributionGoal")));
+    Assert.assertFalse(goalOptimizer.isPrecomputedGoalList(List.of("ReplicaDistributionGoal", "RackAwareGoal")));
+    Assert.assertFalse(goalOptimizer.isPrecomputedGoalList(List.of("RackAwareGoal")));
+    // Proposals are not available until they are precomputed.
+    Assert.assertNull(goalOptimizer.precomputedOptimizations(List.of("RackAwareGoal", "ReplicaDistributionGoal"), null, true));
+  }
+
+  @Test
+  public void testPrecomputedProposalRequirements() {
+    ModelCompletenessRequirements requirements = new ModelCompletenessRequirements(3, 0.95, false);
+    Assert.assertTrue(GoalOptimizer.meetsRequirements(requirements, null));
+    Assert.assertTrue(GoalOptimizer.meetsRequirements(requirements, requirements));
+    Assert.assertTrue(GoalOptimizer.meetsRequirements(requirements, new ModelCompletenessRequirements(1, 0.5, false)));
+    // Proposals computed over a cluster model with fewer windows, fewer monitored partitions, or without all topics do not
+    // meet stronger requirements.
+    Assert.assertFalse(GoalOptimizer.meetsRequirements(requirements, new ModelCompletenessRequirements(4, 0.95, false)));
+    Assert.assertFalse(GoalOptimizer.meetsRequirements(requirements, new ModelCompletenessRequirements(3, 0.98, false)));
+    Assert.assertFalse(GoalOptimizer.meetsRequirements(requirements, new ModelCompletenessRequirements(3, 0.95, true)));
+    Assert.assertTrue(GoalOptimizer.meetsRequirements(new ModelCompletenessRequirements(3, 0.95, true), requirements));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPrecomputedGoalListWithUnknownGoal() {
+    Properties props = new Properties();
+    props.setProperty(AnalyzerConfig.PRECOMPUTED_PROPOSAL_GOAL_LISTS_CONFIG, "RackAwareGoal;UnknownGoal");
+    createGoalOptimizer(props);
+  }
+
+  @Test
+  public void testMultiStartOptimizations() throws KafkaCruiseControlException {
+    BalancingConstraint balancingConstraint =
+        new BalancingConstraint(new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties()));
+    OptimizationOptions optimizationOptions = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+    OptimizerResult singleStartResult = createGoalOptimizer().optimizations(DeterministicCluster.unbalanced(),
+                                                                             List.of(new ReplicaDistributionGoal(balancingConstraint)),
+                                                                             new OperationProgress(), null, optimizationOptions);
+
+    Properties props = new Properties();
+    props.setProperty(AnalyzerConfig.GOAL_OPTIMIZATION_NUM_STARTS_CONFIG, "4");
+    GoalOptimizer goalOptimizer = createGoalOptimizer(props);
+    ClusterModel clusterModel = DeterministicCluster.unbalanced();
+    OptimizerResult multiStartResult = goalOptimizer.optimizations(clusterModel, List.of(new ReplicaDistributionGoal(balancingConstraint)),
+                                                                   new OperationProgress(), null, optimizationOptions);
+    goalOptimizer.shutdown();
+
+    // The best start is at least as balanced as the default start.
+    Assert.assertTrue(multiStartResult.onDemandBalancednessScoreAfter() >= singleStartResult.onDemandBalancednessScoreAfter());
+    // The cluster model reflects the placement of the best start.
+    for (ExecutionProposal proposal : multiStartResult.goalProposals()) {
+      List<Integer> brokerIds = clusterModel.partition(proposal.topicPartition()).replicas().stream()
+                                            .map(replica -> replica.broker().id()).collect(Collectors.toList());
+      Assert.assertEquals(proposal.newReplicas().stream().map(ReplicaPlacementInfo::brokerId).collect(Collectors.toList()), brokerIds);
+      Replica leader = clusterModel.partition(proposal.topicPartition()).leader();
+      Assert.assertEquals((int) proposal.newLeader().brokerId(), leader.broker().id());
+    }
+  }
+
+  @Test
+  public void testDataToMoveLimits() throws KafkaCruiseControlException {
+    OptimizationOptions optimizationOptions = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+    Properties props = KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties();
+    props.setProperty(AnalyzerConfig.GOAL_OPTIMIZATION_DATA_TO_MOVE_BUDGET_MB_CONFIG, "0");
+    Goal goal = new ReplicaDistributionGoal(new BalancingConstraint(new KafkaCruiseControlConfig(props)));
+
+    // A soft goal cannot move any replica without a budget of data to move.
+    OptimizerResult result = createGoalOptimizer().optimizations(DeterministicCluster.unbalanced(), List.of(goal),
+                                                                 new OperationProgress(), null, optimizationOptions);
+    Assert.assertTrue(result.goalProposals().isEmpty());
+    Assert.assertTrue(result.violatedGoalsAfterOptimization().contains(goal.name()));
+
+    // The placement changes of a soft goal that yields too little balancedness gain per MB of data to move are reverted.
+    BalancingConstraint balancingConstraint =
+        new BalancingConstraint(new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties()));
+    Properties overrideProps = new Properties();
+    overrideProps.setProperty(AnalyzerConfig.GOAL_OPTIMIZATION_MIN_BALANCEDNESS_GAIN_PER_MB_CONFIG, "1000");
+    ClusterModel clusterModel = DeterministicCluster.unbalanced();
+    result = createGoalOptimizer(overrideProps).optimizations(clusterModel, List.of(new ReplicaDistributionGoal(balancingConstraint)),
+                                                              new OperationProgress(), null, optimizationOptions);
+    Assert.assertTrue(result.goalProposals().isEmpty());
+    Assert.assertTrue(result.violatedGoalsAfterOptimization().contains(goal.name()));
+    Assert.assertEquals(0.0, clusterModel.interBrokerDataToMoveInMB(), 1E-9);
+  }
+
+  @Test
+  public void testBalancednessGainOfGoals() throws KafkaCruiseControlException {
+    OptimizationOptions optimizationOptions = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+    TopicPartition t1p0 = new TopicPartition(DeterministicCluster.T1, 0);
+    TopicPartition t2p0 = new TopicPartition(DeterministicCluster.T2, 0);
+    // Both replicas reside on broker 0. The first goal moves one of them to broker 1, which halves the standard deviation of
+    // replica counts. The second goal moves the other one to broker 2, which moves as much data without decreasing the
+    // standard deviation of replica counts. Both goals are satisfied after their optimization.
+    Goal balancingGoal = relocatingGoal("BalancingGoal", t1p0, 0, 1);
+    Goal churningGoal = relocatingGoal("ChurningGoal", t2p0, 0, 2);
+    Properties overrideProps = new Properties();
+    overrideProps.setProperty(AnalyzerConfig.GOAL_OPTIMIZATION_MIN_BALANCEDNESS_GAIN_PER_MB_CONFIG, "0.0001");
+    ClusterModel clusterModel = DeterministicCluster.unbalanced();
+    OptimizerResult result = createGoalOptimizer(overrideProps).optimizations(clusterModel, List.of(balancingGoal, churningGoal),
+                                                                              new OperationProgress(), null, optimizationOptions);
+
+    // The placement changes of the goal that improves the balance are kept, but those of the goal that merely moves data are reverted.
+    Assert.assertFalse(result.violatedGoalsAfterOptimization().contains(balancingGoal.name()));
+    Assert.assertTrue(result.violatedGoalsAfterOptimization().contains(churningGoal.name()));
+    Assert.assertEquals(1, clusterModel.partition(t1p0).leader().broker().id());
+    Assert.assertEquals(0, clusterModel.partition(t2p0).leader().broker().id());
+    Assert.assertEquals(1, result.goalProposals().size());
+  }
+
+  // A soft goal that relocates the given replica, and quantifies its imbalance by the standard deviation of replica counts.
+  private static Goal relocatingGoal(String name, TopicPartition tp, int sourceBrokerId, int destinationBrokerId)
+      throws KafkaCruiseControlException {
+    Goal goal = EasyMock.createNiceMock(Goal.class);
+    EasyMock.expect(goal.name()).andReturn(name).anyTimes();
+    EasyMock.expect(goal.isHardGoal()).andReturn(false).anyTimes();
+    EasyMock.expect(goal.provisionResponse()).andReturn(new ProvisionResponse(ProvisionStatus.UNDECIDED)).anyTimes();
+    EasyMock.expect(goal.clusterModelStatsComparator()).andReturn(new ReplicaCountStatsComparator()).anyTimes();
+    EasyMock.expect(goal.optimize(EasyMock.anyObject(), EasyMock.anyObject(), EasyMock.anyObject())).andAnswer(() -> {
+      ClusterModel clusterModel = (ClusterModel) EasyMock.getCurrentArguments()[0];
+      clusterModel.relocateReplica(tp, sourceBrokerId, destinationBrokerId);
+      return true;
+    });
+    EasyMock.replay(goal);
+    return goal;
+  }
+
+  private static class ReplicaCountStatsComparator implements Goal.ClusterModelStatsComparator {
+    @Override
+    public int compare(ClusterModelStats stats1, ClusterModelStats stats2) {
+      return Double.compare(imbalance(stats2), imbalance(stats1));
+    }
+
+    @Override
+    public String explainLastComparison() {
+      return null;
+    }
+
+    @Override
+    public double imbalance(ClusterModelStats stats) {
+      return stats.replicaStats().get(Statistic.ST_DEV).doubleValue();
+    }
+  }
+
+  @Test
+  public void testSpeculativeGoalOptimizations() throws KafkaCruiseControlException {
+    List<String> goalNames = List.of("RackAwareGoal", "ReplicaCapacityGoal", "ReplicaDistributionGoal", "LeaderReplicaDistributionGoal",
+                                     "TopicReplicaDistributionGoal");
+    KafkaCruiseControlConfig config = new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties());
+    OptimizationOptions optimizationOptions = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+    OptimizerResult serialResult = createGoalOptimizer().optimizations(DeterministicCluster.unbalanced2(),
+                                                                       KafkaCruiseControlUtils.goalsByPriority(goalNames, config),
+                                                                       new OperationProgress(), null, optimizationOptions);
+
+    // Lower priority goals are speculatively optimized while higher priority goals are being optimized.
+    Properties props = new Properties();
+    props.setProperty(AnalyzerConfig.GOAL_OPTIMIZATION_PARALLELISM_CONFIG, "3");
+    GoalOptimizer goalOptimizer = createGoalOptimizer(props);
+    List<Goal> goals = KafkaCruiseControlUtils.goalsByPriority(goalNames, config);
+    OptimizerResult speculativeResult = goalOptimizer.optimizations(DeterministicCluster.unbalanced2(), goals, new OperationProgress(),
+                                                                    null, optimizationOptions);
+    goalOptimizer.shutdown();
+
+    for (Goal goal : goals) {
+      if (goal.isHardGoal()) {
+        Assert.assertFalse(speculativeResult.violatedGoalsAfterOptimization().contains(goal.name()));
+      }
+    }
+    Assert.assertEquals(serialResult.violatedGoalsAfterOptimization(), speculativeResult.violatedGoalsAfterOptimization());
+    Assert.assertEquals(serialResult.onDemandBalancednessScoreAfter(), speculativeResult.onDemandBalancednessScoreAfter(), 0.0);
+  }
+
+  @Test
+  public void testAdoptSpeculativeGoalOptimization() throws KafkaCruiseControlException {
+    KafkaCruiseControlConfig config = new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties());
+    List<Goal> goals = KafkaCruiseControlUtils.goalsByPriority(List.of("RackAwareGoal", "ReplicaDistributionGoal"), config);
+    Properties props = new Properties();
+    props.setProperty(AnalyzerConfig.GOAL_OPTIMIZATION_PARALLELISM_CONFIG, "2");
+    GoalOptimizer goalOptimizer = createGoalOptimizer(props);
+    OptimizationOptions optimizationOptions = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+    // Partitions have a single replica, hence the rack awareness does not move any replica while the replica distribution is
+    // optimized speculatively. The speculative optimization is adopted, and the replica distribution is not optimized serially.
+    OptimizerResult result = goalOptimizer.optimizations(DeterministicCluster.unbalanced(), goals, new OperationProgress(), null,
+                                                         optimizationOptions);
+    goalOptimizer.shutdown();
+
+    Goal replicaDistributionGoal = goals.get(1);
+    Assert.assertFalse(result.goalProposals().isEmpty());
+    Assert.assertFalse(result.violatedGoalsAfterOptimization().contains(replicaDistributionGoal.name()));
+    Assert.assertEquals(0L, replicaDistributionGoal.optimizationProfile().numCandidateBrokersExamined());
+    Assert.assertTrue(result.optimizationProfile(replicaDistributionGoal.name()).numCandidateBrokersExamined() > 0);
+  }
+
+  @Test
+  public void testParallelTopicReplicaBalancePlanning() throws KafkaCruiseControlException {
+    Properties props = KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties();
+    props.setProperty(AnalyzerConfig.TOPIC_REPLICA_COUNT_BALANCE_THRESHOLD_CONFIG, "1.01");
+    props.setProperty(AnalyzerConfig.TOPIC_REPLICA_COUNT_BALANCE_PARALLELISM_CONFIG, "2");
+    Goal goal = new TopicReplicaDistributionGoal(new BalancingConstraint(new KafkaCruiseControlConfig(props)));
+    OptimizationOptions optimizationOptions = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+
+    // Each of the two topics has 4 replicas on broker 0 and 10 replicas on broker 1, and the balance limits are [5, 9].
+    ClusterModel clusterModel = DeterministicCluster.unbalanced5();
+    OptimizerResult result = createGoalOptimizer().optimizations(clusterModel, List.of(goal), new OperationProgress(), null,
+                                                                 optimizationOptions);
+    Assert.assertFalse(result.violatedGoalsAfterOptimization().contains(goal.name()));
+    // The movements have been planned by two threads, as the cluster has neither self-healing eligible replicas nor new brokers.
+    Assert.assertTrue(clusterModel.selfHealingEligibleReplicas().isEmpty() && clusterModel.newBrokers().isEmpty());
+    Assert.assertEquals(2, goal.optimizationProfile().planningParallelism());
+    Assert.assertTrue(goal.optimizationProfile().numPlannedMovements() > 0);
+    for (String topic : List.of(DeterministicCluster.T1, DeterministicCluster.T2)) {
+      for (Broker broker : clusterModel.brokers()) {
+        int numTopicReplicas = broker.numReplicasOfTopicInBroker(topic);
+        Assert.assertTrue(numTopicReplicas >= 5 && numTopicReplicas <= 9);
+      }
+    }
+  }
+
+  @Test
+  public void testWarmStartOptimizations() throws KafkaCruiseControlException {
+    BalancingConstraint balancingConstraint =
+        new BalancingConstraint(new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties()));
+    GoalOptimizer goalOptimizer = createGoalOptimizer();
+    ClusterModel clusterModel = DeterministicCluster.unbalanced();
+    OptimizerResult coldStartResult = goalOptimizer.optimizations(clusterModel, List.of(new ReplicaDistributionGoal(balancingConstraint)),
+                                                                  new OperationProgress());
+    Assert.assertFalse(coldStartResult.goalProposals().isEmpty());
+
+    // Warm starting from the proposals of the cold start over the same initial placement reaches the same placement.
+    ClusterModel warmStartedClusterModel = DeterministicCluster.unbalanced();
+    OptimizerResult warmStartResult = goalOptimizer.warmStartOptimizations(warmStartedClusterModel,
+                                                                           List.of(new ReplicaDistributionGoal(balancingConstraint)),
+                                                                           coldStartResult.goalProposals(),
+                                                                           new OperationProgress());
+    Assert.assertEquals(coldStartResult.goalProposals(), warmStartResult.goalProposals());
+    // The applied proposals are charged to the first soft goal.
+    Assert.assertEquals(coldStartResult.violatedGoalsBeforeOptimization(), warmStartResult.violatedGoalsBeforeOptimization());
+    Assert.assertEquals(clusterModel.getReplicaDistribution(), warmStartedClusterModel.getReplicaDistribution());
+
+    // Proposals of partitions that have been moved since are not applied.
+    ClusterModel movedClusterModel = DeterministicCluster.unbalanced();
+    for (ExecutionProposal proposal : coldStartResult.goalProposals()) {
+      movedClusterModel.relocatePartition(proposal.topicPartition(), proposal.newReplicas(), proposal.newLeader().brokerId());
+    }
+    warmStartResult = goalOptimizer.warmStartOptimizations(movedClusterModel, List.of(new ReplicaDistributionGoal(balancingConstraint)),
+                                                           coldStartResult.goalProposals(), new OperationProgress());
+    Assert.assertTrue(warmStartResult.goalProposals().isEmpty());
+  }
+
+  @Test
+  public void testWarmStartProposalsAcceptableByHardGoals() throws KafkaCruiseControlException {
+    BalancingConstraint balancingConstraint =
+        new BalancingConstraint(new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties()));
+    GoalOptimizer goalOptimizer = createGoalOptimizer();
+    TopicPartition tp = new TopicPartition(DeterministicCluster.T1, 0);
+    List<ReplicaPlacementInfo> rackAwarePlacement = List.of(new ReplicaPlacementInfo(0), new ReplicaPlacementInfo(2));
+
+    // Brokers 0 and 1 are on the same rack, hence moving the replica on broker 2 to broker 1 violates the rack awareness.
+    ExecutionProposal rackUnawareProposal = new ExecutionProposal(tp, 0, new ReplicaPlacementInfo(0), rackAwarePlacement,
+                                                                  List.of(new ReplicaPlacementInfo(0), new ReplicaPlacementInfo(1)));
+    ClusterModel clusterModel = DeterministicCluster.rackAwareSatisfiable();
+    clusterModel.relocatePartition(tp, rackAwarePlacement, 0);
+    OptimizerResult result = goalOptimizer.warmStartOptimizations(clusterModel, List.of(new RackAwareGoal(),
+                                                                                        new ReplicaDistributionGoal(balancingConstraint)),
+                                                                  Set.of(rackUnawareProposal), new OperationProgress());
+    Assert.assertTrue(result.goalProposals().isEmpty());
+    Assert.assertFalse(result.violatedGoalsAfterOptimization().contains(RackAwareGoal.class.getSimpleName()));
+
+    // Moving the leader replica on broker 0 to broker 1 keeps the rack awareness.
+    ExecutionProposal rackAwareProposal = new ExecutionProposal(tp, 0, new ReplicaPlacementInfo(0), rackAwarePlacement,
+                                                                List.of(new ReplicaPlacementInfo(1), new ReplicaPlacementInfo(2)));
+    clusterModel = DeterministicCluster.rackAwareSatisfiable();
+    clusterModel.relocatePartition(tp, rackAwarePlacement, 0);
+    result = goalOptimizer.warmStartOptimizations(clusterModel, List.of(new RackAwareGoal(), new ReplicaDistributionGoal(balancingConstraint)),
+                                                  Set.of(rackAwareProposal), new OperationProgress());
+    Assert.assertEquals(1, result.goalProposals().size());
+    ExecutionProposal proposal = result.goalProposals().iterator().next();
+    Assert.assertEquals(rackAwareProposal.newReplicas(), proposal.newReplicas());
+    Assert.assertEquals(rackAwareProposal.newLeader(), proposal.newLeader());
+  }
+
+  @Test
+  public void testGoalOptimizationProfile() throws KafkaCruiseControlException {
+    BalancingConstraint balancingConstraint =
+        new BalancingConstraint(new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties()));
+    Goal replicaDistributionGoal = new ReplicaDistributionGoal(balancingConstraint);
+    Goal topicReplicaDistributionGoal = new TopicReplicaDistributionGoal(balancingConstraint);
+    OptimizerResult result = createGoalOptimizer().optimizations(DeterministicCluster.unbalanced(),
+                                                                 List.of(replicaDistributionGoal, topicReplicaDistributionGoal),
+                                                                 new OperationProgress());
+    GoalOptimizationProfile replicaDistributionProfile = result.optimizationProfile(replicaDistributionGoal.name());
+    Assert.assertNotNull(replicaDistributionProfile);
+    // The highest priority goal has no optimized goals to check its actions for acceptance.
+    Assert.assertTrue(replicaDistributionProfile.numActionAcceptanceChecksByOptimizedGoal().isEmpty());
+    Assert.assertEquals(0L, replicaDistributionProfile.numCachedActionRejections());
+    Assert.assertTrue(replicaDistributionProfile.numCandidateBrokersExamined() > 0);
+
+    GoalOptimizationProfile topicReplicaDistributionProfile = result.optimizationProfile(topicReplicaDistributionGoal.name());
+    Assert.assertNotNull(topicReplicaDistributionProfile);
+    Map<String, Long> numChecksByOptimizedGoal = topicReplicaDistributionProfile.numActionAcceptanceChecksByOptimizedGoal();
+    Map<String, Long> numRejectionsByOptimizedGoal = topicReplicaDistributionProfile.numActionRejectionsByOptimizedGoal();
+    Assert.assertTrue(Set.of(replicaDistributionGoal.name()).containsAll(numChecksByOptimizedGoal.keySet()));
+    Assert.assertEquals(numChecksByOptimizedGoal.keySet(), numRejectionsByOptimizedGoal.keySet());
+    numChecksByOptimizedGoal.forEach((goalName, numChecks) -> Assert.assertTrue(numRejectionsByOptimizedGoal.get(goalName) <= numChecks));
+    Assert.assertTrue(topicReplicaDistributionProfile.numSwapSuccesses() <= topicReplicaDistributionProfile.numSwapAttempts());
+  }
+
+  @Test
+  public void testCachedBrokerPairRejections() throws KafkaCruiseControlException {
+    BalancingConstraint balancingConstraint =
+        new BalancingConstraint(new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties()));
+    // The optimized goal rejects moving replicas from broker 0 to broker 1, and determines its acceptance by the brokers alone.
+    AtomicInteger numRejectingChecks = new AtomicInteger(0);
+    Goal optimizedGoal = EasyMock.createNiceMock(Goal.class);
+    EasyMock.expect(optimizedGoal.name()).andReturn("BrokerPairRejectingGoal").anyTimes();
+    EasyMock.expect(optimizedGoal.isActionAcceptanceBrokerDetermined(ActionType.INTER_BROKER_REPLICA_MOVEMENT)).andReturn(true).anyTimes();
+    EasyMock.expect(optimizedGoal.actionAcceptance(EasyMock.anyObject(), EasyMock.anyObject())).andAnswer(() -> {
+      BalancingAction action = (BalancingAction) EasyMock.getCurrentArguments()[0];
+      if (action.sourceBrokerId() == 0 && action.destinationBrokerId() == 1) {
+        numRejectingChecks.incrementAndGet();
+        return ActionAcceptance.REPLICA_REJECT;
+      }
+      return ActionAcceptance.ACCEPT;
+    }).anyTimes();
+    EasyMock.replay(optimizedGoal);
+
+    TopicPartition t1p0 = new TopicPartition(DeterministicCluster.T1, 0);
+    TopicPartition t2p0 = new TopicPartition(DeterministicCluster.T2, 0);
+    ScriptedGoal goal = new ScriptedGoal(balancingConstraint, scriptedGoal -> {
+      // The first rejection is cached, and serves the repeated action with the same type between the same brokers.
+      Assert.assertNull(scriptedGoal.moveReplica(t1p0, 1));
+      Assert.assertNull(scriptedGoal.moveReplica(t2p0, 1));
+      Assert.assertEquals(1, numRejectingChecks.get());
+      // Modifying the source broker invalidates the cached rejection.
+      Assert.assertNotNull(scriptedGoal.moveReplica(t2p0, 2));
+      Assert.assertNull(scriptedGoal.moveReplica(t1p0, 1));
+      Assert.assertEquals(2, numRejectingChecks.get());
+      // Modifying the destination broker invalidates the cached rejection.
+      Assert.assertNotNull(scriptedGoal.moveReplica(t2p0, 1));
+      Assert.assertNull(scriptedGoal.moveReplica(t1p0, 1));
+      Assert.assertEquals(3, numRejectingChecks.get());
+    });
+    OptimizationOptions optimizationOptions = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+    goal.optimize(DeterministicCluster.unbalanced(), Set.of(optimizedGoal), optimizationOptions);
+    Assert.assertEquals(1L, goal.optimizationProfile().numCachedActionRejections());
+  }
+
+  // A soft goal that runs the given script once before its passes over brokers, and then finishes.
+  private static class ScriptedGoal extends AbstractGoal {
+    private final Consumer<ScriptedGoal> _script;
+    private ClusterModel _clusterModel;
+    private Set<Goal> _optimizedGoals;
+    private OptimizationOptions _optimizationOptions;
+
+    ScriptedGoal(BalancingConstraint balancingConstraint, Consumer<ScriptedGoal> script) {
+      _balancingConstraint = balancingConstraint;
+      _script = script;
+    }
+
+    // Attempt to move the leader replica of the given partition to the given broker.
+    Broker moveReplica(TopicPartition tp, int destinationBrokerId) {
+      return maybeApplyBalancingAction(_clusterModel, _clusterModel.partition(tp).leader(), List.of(_clusterModel.broker(destinationBrokerId)),
+                                       ActionType.INTER_BROKER_REPLICA_MOVEMENT, _optimizedGoals, _optimizationOptions);
+    }
+
+    @Override
+    public String name() {
+      return ScriptedGoal.class.getSimpleName();
+    }
+
+    @Override
+    public boolean isHardGoal() {
+      return false;
+    }
+
+    @Override
+    public ActionAcceptance actionAcceptance(BalancingAction action, ClusterModel clusterModel) {
+      return ActionAcceptance.ACCEPT;
+    }
+
+    @Override
+    public ClusterModelStatsComparator clusterModelStatsComparator() {
+      return new ReplicaCountStatsComparator();
+    }
+
+    @Override
+    public ModelCompletenessRequirements clusterModelCompletenessRequirements() {
+      return new ModelCompletenessRequirements(1, 0.0, false);
+    }
+
+    @Override
+    protected boolean selfSatisfied(ClusterModel clusterModel, BalancingAction action) {
+      return true;
+    }
+
+    @Override
+    protected void initGoalState(ClusterModel clusterModel, OptimizationOptions optimizationOptions) {
+    }
+
+    @Override
+    protected void updateGoalState(ClusterModel clusterModel, OptimizationOptions optimizationOptions) {
+      finish();
+    }
+
+    @Override
+    protected void rebalanceBeforeBrokerPasses(ClusterModel clusterModel, Set<Goal> optimizedGoals, OptimizationOptions optimizationOptions) {
+      _clusterModel = clusterModel;
+      _optimizedGoals = optimizedGoals;
+      _optimizationOptions = optimizationOptions;
+      _script.accept(this);
+    }
+
+    @Override
+    protected void rebalanceForBroker(Broker broker, ClusterModel clusterModel, Set<Goal> optimizedGoals,
+                                      OptimizationOptions optimizationOptions) {
+    }
+  }
+
   private GoalOptimizer createGoalOptimizer() {
     return createGoalOptimizer(new Properties());
   }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.model;
+
+import com.linkedin.kafka.cruisecontrol.common.DeterministicCluster;
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for {@link BrokerUtilizationIndex}.
+ */
+public class BrokerUtilizationIndexTest {
+  private static final TopicPartition T1P0 = new TopicPartition("T1", 0);
+  private static final TopicPartition T2P2 = new TopicPartition("T2", 2);
+  private static final double[] THRESHOLDS = {0.0, 0.001, 0.01, 0.1, 0.2, 0.5, 1.0};
+
+  @Test
+  public void testIndexIsConsistentWithClusterModelChanges() {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(TestConstants.BROKER_CAPACITY);
+    verifyThresholdQueries(clusterModel);
+
+    clusterModel.relocateReplica(T1P0, 0, 1);
+    verifyThresholdQueries(clusterModel);
+    clusterModel.relocateLeadership(T2P2, 0, 1);
+    verifyThresholdQueries(clusterModel);
+    clusterModel.setBrokerState(2, Broker.State.DEAD);
+    verifyThresholdQueries(clusterModel);
+  }
+
+  private static void verifyThresholdQueries(ClusterModel clusterModel) {
+    for (Resource resource : Resource.cachedValues()) {
+      for (double threshold : THRESHOLDS) {
+        List<Broker> brokersUnderThreshold = clusterModel.aliveBrokersUnderThreshold(resource, threshold);
+        assertEquals(expectedBrokers(clusterModel, resource, threshold, true), new HashSet<>(brokersUnderThreshold));
+        for (int i = 1; i < brokersUnderThreshold.size(); i++) {
+          assertTrue(utilizationPercentage(brokersUnderThreshold.get(i - 1), resource)
+                     <= utilizationPercentage(brokersUnderThreshold.get(i), resource));
+        }
+        assertEquals(expectedBrokers(clusterModel, resource, threshold, false),
+                     new HashSet<>(clusterModel.aliveBrokersOverThreshold(resource, threshold)));
+      }
+    }
+  }
+
+  private static Set<Broker> expectedBrokers(ClusterModel clusterModel, Resource resource, double threshold, boolean under) {
+    Set<Broker> expectedBrokers = new HashSet<>();
+    for (Broker broker : clusterModel.aliveBrokers()) {
+      double brokerUtilization = broker.load().expectedUtilizationFor(resource);
+      double brokerLimit = broker.capacityFor(resource) * threshold;
+      double hostUtilization = broker.host().load().expectedUtilizationFor(resource);
+      double hostLimit = broker.host().capacityFor(resource) * threshold;
+      boolean brokerSatisfied = !resource.isBrokerResource() || (under ? brokerUtilization < brokerLimit : brokerUtilization > brokerLimit);
+      boolean hostSatisfied = !resource.isHostResource() || (under ? hostUtilization < hostLimit : hostUtilization > hostLimit);
+      if (brokerSatisfied && hostSatisfied) {
+        expectedBrokers.add(broker);
+      }
+    }
+    return expectedBrokers;
+  }
+
+  private static double utilizationPercentage(Broker broker, Resource resource) {
+    double utilizationPercentage = resource.isBrokerResource()
+                                   ? broker.load().expectedUtilizationFor(resource) / broker.capacityFor(resource) : 0.0;
+    if (resource.isHostResource()) {
+      utilizationPercentage = Math.max(utilizationPercentage,
+                                       broker.host().load().expectedUtilizationFor(resource) / broker.host().capacityFor(resource));
+    }
+    return utilizationPercentage;
+  }
+}
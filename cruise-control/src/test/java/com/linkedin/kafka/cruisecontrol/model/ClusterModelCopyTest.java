@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.model;
+
+import com.linkedin.kafka.cruisecontrol.common.DeterministicCluster;
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for {@link ClusterModel#copy()} and {@link ClusterModel#fork()}.
+ */
+public class ClusterModelCopyTest {
+  private static final TopicPartition T1P0 = new TopicPartition("T1", 0);
+  private static final TopicPartition T2P2 = new TopicPartition("T2", 2);
+
+  @Test
+  public void testCopyRetainsPlacementLeadershipAndLoad() {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(TestConstants.BROKER_CAPACITY);
+    clusterModel.relocateReplica(T1P0, 0, 1);
+    clusterModel.relocateLeadership(T2P2, 0, 1);
+
+    ClusterModel copy = clusterModel.copy();
+    copy.sanityCheck();
+    assertEquals(clusterModel.getReplicaDistribution(), copy.getReplicaDistribution());
+    assertEquals(clusterModel.getLeaderDistribution(), copy.getLeaderDistribution());
+    for (Broker broker : clusterModel.brokers()) {
+      Broker brokerCopy = copy.broker(broker.id());
+      assertNotSame(broker, brokerCopy);
+      assertEquals(broker.immigrantReplicas().size(), brokerCopy.immigrantReplicas().size());
+      for (Resource resource : Resource.cachedValues()) {
+        assertEquals(broker.load().expectedUtilizationFor(resource), brokerCopy.load().expectedUtilizationFor(resource), 1E-6);
+        assertEquals(clusterModel.potentialLeadershipLoadFor(broker.id()).expectedUtilizationFor(resource),
+                     copy.potentialLeadershipLoadFor(broker.id()).expectedUtilizationFor(resource), 1E-6);
+      }
+    }
+    // The original broker of the immigrant replica is retained.
+    assertEquals(0, copy.partition(T1P0).replica(1).originalBroker().id());
+  }
+
+  @Test
+  public void testCopyIsIndependent() {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(TestConstants.BROKER_CAPACITY);
+    ClusterModel copy = clusterModel.copy();
+    copy.relocateReplica(T1P0, 0, 1);
+    copy.setBrokerState(2, Broker.State.DEAD);
+
+    assertEquals(0, clusterModel.broker(0).immigrantReplicas().size() + clusterModel.broker(1).immigrantReplicas().size());
+    assertTrue(clusterModel.deadBrokers().isEmpty());
+    assertTrue(clusterModel.selfHealingEligibleReplicas().isEmpty());
+    assertEquals(1, copy.broker(1).immigrantReplicas().size());
+    clusterModel.sanityCheck();
+  }
+
+  @Test
+  public void testForkIsIndependent() {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(TestConstants.BROKER_CAPACITY);
+    ClusterModel fork = clusterModel.fork();
+    fork.sanityCheck();
+    assertEquals(clusterModel.getReplicaDistribution(), fork.getReplicaDistribution());
+
+    Replica leader = clusterModel.partition(T1P0).leader();
+    double leaderCpu = leader.load().expectedUtilizationFor(Resource.CPU);
+    double leaderNwOut = leader.load().expectedUtilizationFor(Resource.NW_OUT);
+    // Leadership change modifies the replica loads in the fork, which must not be reflected to the original cluster model.
+    int followerBrokerId = clusterModel.partition(T1P0).followers().get(0).broker().id();
+    fork.relocateLeadership(T1P0, leader.broker().id(), followerBrokerId);
+    fork.sanityCheck();
+    assertEquals(leaderCpu, leader.load().expectedUtilizationFor(Resource.CPU), 1E-6);
+    assertEquals(leaderNwOut, leader.load().expectedUtilizationFor(Resource.NW_OUT), 1E-6);
+    assertEquals(0.0, fork.partition(T1P0).replica(leader.broker().id()).load().expectedUtilizationFor(Resource.NW_OUT), 1E-6);
+
+    // Leadership change in the original cluster model must not be reflected to the fork either.
+    Replica forkedLeader = fork.partition(T2P2).leader();
+    double forkedLeaderNwOut = forkedLeader.load().expectedUtilizationFor(Resource.NW_OUT);
+    clusterModel.relocateLeadership(T2P2, forkedLeader.broker().id(),
+                                    clusterModel.partition(T2P2).followers().get(0).broker().id());
+    clusterModel.sanityCheck();
+    assertEquals(forkedLeaderNwOut, forkedLeader.load().expectedUtilizationFor(Resource.NW_OUT), 1E-6);
+  }
+
+  @Test
+  public void testCopyRetainsBrokerStates() {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(TestConstants.BROKER_CAPACITY);
+    clusterModel.setBrokerState(2, Broker.State.DEAD);
+    clusterModel.setBrokerState(1, Broker.State.NEW);
+
+    ClusterModel copy = clusterModel.copy();
+    copy.sanityCheck();
+    assertEquals(clusterModel.deadBrokers(), copy.deadBrokers());
+    assertEquals(clusterModel.newBrokers(), copy.newBrokers());
+    assertEquals(clusterModel.aliveBrokers(), copy.aliveBrokers());
+    assertEquals(clusterModel.selfHealingEligibleReplicas().size(), copy.selfHealingEligibleReplicas().size());
+    assertEquals(clusterModel.capacityFor(Resource.DISK), copy.capacityFor(Resource.DISK), 1E-6);
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.model;
+
+import com.codahale.metrics.MetricRegistry;
+import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
+import com.linkedin.kafka.cruisecontrol.analyzer.BalancingConstraint;
+import com.linkedin.kafka.cruisecontrol.analyzer.GoalOptimizer;
+import com.linkedin.kafka.cruisecontrol.analyzer.OptimizationOptions;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.Goal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.ReplicaDistributionGoal;
+import com.linkedin.kafka.cruisecontrol.analyzer.goals.TopicReplicaDistributionGoal;
+import com.linkedin.kafka.cruisecontrol.async.progress.OperationProgress;
+import com.linkedin.kafka.cruisecontrol.common.DeterministicCluster;
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import com.linkedin.kafka.cruisecontrol.common.Statistic;
+import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.config.constants.AnalyzerConfig;
+import com.linkedin.kafka.cruisecontrol.exception.KafkaCruiseControlException;
+import com.linkedin.kafka.cruisecontrol.executor.Executor;
+import com.linkedin.kafka.cruisecontrol.monitor.LoadMonitor;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.SystemTime;
+import org.easymock.EasyMock;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for reusing the {@link ClusterModelStats} of an unchanged {@link ClusterModel}.
+ */
+public class ClusterModelStatsTest {
+  private static final TopicPartition T1P0 = new TopicPartition("T1", 0);
+  private static final TopicPartition T1P1 = new TopicPartition("T1", 1);
+  private static final TopicPartition T2P1 = new TopicPartition("T2", 1);
+  private static final TopicPartition T2P2 = new TopicPartition("T2", 2);
+  private static final double DELTA = 1E-9;
+
+  @Test
+  public void testStatsReusedUntilClusterModelChanges() {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(TestConstants.BROKER_CAPACITY);
+    BalancingConstraint balancingConstraint =
+        new BalancingConstraint(new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties()));
+    OptimizationOptions optimizationOptions = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+
+    ClusterModelStats stats = clusterModel.getClusterStats(balancingConstraint, optimizationOptions);
+    assertSame(stats, clusterModel.getClusterStats(balancingConstraint, optimizationOptions));
+    // Stats populated with different optimization options are not reused.
+    assertNotSame(stats, clusterModel.getClusterStats(balancingConstraint, new OptimizationOptions(Collections.emptySet(),
+                                                                                                   Collections.emptySet(),
+                                                                                                   Collections.emptySet(),
+                                                                                                   true)));
+
+    clusterModel.relocateReplica(T1P0, 0, 1);
+    assertStatsMatchPopulated(clusterModel, balancingConstraint, optimizationOptions);
+    clusterModel.relocateLeadership(T2P2, 0, 1);
+    assertStatsMatchPopulated(clusterModel, balancingConstraint, optimizationOptions);
+    clusterModel.setBrokerState(2, Broker.State.DEAD);
+    assertStatsMatchPopulated(clusterModel, balancingConstraint, optimizationOptions);
+  }
+
+  @Test
+  public void testStatsFromRunningSumsMatchFreshClusterModel() {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(TestConstants.BROKER_CAPACITY);
+    BalancingConstraint balancingConstraint =
+        new BalancingConstraint(new KafkaCruiseControlConfig(KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties()));
+    OptimizationOptions optimizationOptions = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+    OptimizationOptions excludingBroker = new OptimizationOptions(Collections.emptySet(), Collections.emptySet(), Collections.singleton(0));
+    // The running sums are created upon the first population and updated upon each relocation thereafter.
+    clusterModel.getClusterStats(balancingConstraint, optimizationOptions);
+    clusterModel.relocateReplica(T1P0, 0, 1);
+    clusterModel.relocateLeadership(T2P2, 0, 1);
+    clusterModel.relocateLeadership(T1P1, 1, 0);
+    clusterModel.relocateReplica(T2P1, 0, 1);
+
+    // A copy of the cluster model creates its running sums from scratch.
+    ClusterModel copy = clusterModel.copy();
+    for (OptimizationOptions options : List.of(optimizationOptions, excludingBroker)) {
+      ClusterModelStats expected = copy.getClusterStats(balancingConstraint, options);
+      ClusterModelStats stats = clusterModel.getClusterStats(balancingConstraint, options);
+      for (Statistic statistic : Statistic.values()) {
+        for (Resource resource : Resource.cachedValues()) {
+          assertEquals(expected.resourceUtilizationStats().get(statistic).get(resource),
+                       stats.resourceUtilizationStats().get(statistic).get(resource), DELTA);
+        }
+        assertEquals(expected.replicaStats().get(statistic).doubleValue(), stats.replicaStats().get(statistic).doubleValue(), DELTA);
+        assertEquals(expected.leaderReplicaStats().get(statistic).doubleValue(),
+                     stats.leaderReplicaStats().get(statistic).doubleValue(), DELTA);
+      }
+      assertEquals(expected.numBalancedBrokersByResource(), stats.numBalancedBrokersByResource());
+    }
+  }
+
+  @Test
+  public void testStatsSharedByGoalsAndGoalOptimizer() throws KafkaCruiseControlException {
+    Properties props = KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties();
+    props.setProperty(AnalyzerConfig.NUM_PROPOSAL_PRECOMPUTE_THREADS_CONFIG, "0");
+    KafkaCruiseControlConfig config = new KafkaCruiseControlConfig(props);
+    // Goals and the goal optimizer have distinct, but equal, balancing constraints -- as they do once configured.
+    List<Goal> goals = List.of(new ReplicaDistributionGoal(new BalancingConstraint(config)),
+                               new TopicReplicaDistributionGoal(new BalancingConstraint(config)));
+    GoalOptimizer goalOptimizer = new GoalOptimizer(config, EasyMock.mock(LoadMonitor.class), new SystemTime(), new MetricRegistry(),
+                                                    EasyMock.mock(Executor.class), EasyMock.mock(AdminClient.class));
+    ClusterModel clusterModel = DeterministicCluster.unbalanced();
+    goalOptimizer.optimizations(clusterModel, goals, new OperationProgress());
+
+    // Stats are populated once before the first goal, and at most once after each goal. The stats populated by a goal after
+    // its optimization are reused by the goal optimizer and by the next goal.
+    int numPopulations = clusterModel.numClusterStatsPopulations();
+    assertTrue("Unexpected number of cluster stats populations: " + numPopulations, numPopulations <= goals.size() + 1);
+  }
+
+  private static void assertStatsMatchPopulated(ClusterModel clusterModel,
+                                                BalancingConstraint balancingConstraint,
+                                                OptimizationOptions optimizationOptions) {
+    ClusterModelStats expected = new ClusterModelStats().populate(clusterModel, balancingConstraint, optimizationOptions);
+    ClusterModelStats stats = clusterModel.getClusterStats(balancingConstraint, optimizationOptions);
+    assertEquals(expected.resourceUtilizationStats(), stats.resourceUtilizationStats());
+    assertEquals(expected.potentialNwOutUtilizationStats(), stats.potentialNwOutUtilizationStats());
+    assertEquals(expected.replicaStats(), stats.replicaStats());
+    assertEquals(expected.leaderReplicaStats(), stats.leaderReplicaStats());
+    assertEquals(expected.topicReplicaStats(), stats.topicReplicaStats());
+    assertEquals(expected.numBalancedBrokersByResource(), stats.numBalancedBrokersByResource());
+  }
+}
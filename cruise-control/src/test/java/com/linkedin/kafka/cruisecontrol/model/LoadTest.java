@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.model;
+
+import com.linkedin.kafka.cruisecontrol.common.DeterministicCluster;
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import java.util.Collections;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import static com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils.getAggregatedMetricValues;
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * Unit test for making sure that the cached expected utilization of {@link Load} reflects the changes to the load.
+ */
+public class LoadTest {
+  private static final double DELTA = 1E-6;
+
+  @Test
+  public void testCachedExpectedUtilizationUponLoadChange() {
+    Load load = new Load();
+    assertEquals(0.0, load.expectedUtilizationFor(Resource.CPU), DELTA);
+    load.initializeMetricValues(getAggregatedMetricValues(10.0, 20.0, 30.0, 40.0), Collections.singletonList(1L));
+    assertEquals(10.0, load.expectedUtilizationFor(Resource.CPU), DELTA);
+    assertEquals(40.0, load.expectedUtilizationFor(Resource.DISK, true, false), DELTA);
+
+    Load loadToAdd = new Load();
+    loadToAdd.initializeMetricValues(getAggregatedMetricValues(1.0, 2.0, 3.0, 4.0), Collections.singletonList(1L));
+    load.addLoad(loadToAdd);
+    assertEquals(11.0, load.expectedUtilizationFor(Resource.CPU), DELTA);
+    assertEquals(44.0, load.expectedUtilizationFor(Resource.DISK, true, false), DELTA);
+
+    load.subtractLoad(loadToAdd.loadByWindows());
+    assertEquals(10.0, load.expectedUtilizationFor(Resource.CPU, false, true), DELTA);
+
+    load.clearLoadFor(Resource.NW_OUT);
+    assertEquals(0.0, load.expectedUtilizationFor(Resource.NW_OUT), DELTA);
+    assertEquals(20.0, load.expectedUtilizationFor(Resource.NW_IN), DELTA);
+
+    load.clearLoad();
+    assertEquals(0.0, load.expectedUtilizationFor(Resource.NW_IN), DELTA);
+  }
+
+  @Test
+  public void testCachedExpectedUtilizationUponLeadershipChange() {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(TestConstants.BROKER_CAPACITY);
+    TopicPartition tp = new TopicPartition("T1", 0);
+    Replica leader = clusterModel.partition(tp).leader();
+    Replica follower = clusterModel.partition(tp).replica(2);
+    // Populate the cache before the leadership change.
+    for (Resource resource : Resource.cachedValues()) {
+      leader.load().expectedUtilizationFor(resource);
+      follower.load().expectedUtilizationFor(resource);
+      clusterModel.broker(0).load().expectedUtilizationFor(resource);
+      clusterModel.broker(2).load().expectedUtilizationFor(resource);
+    }
+
+    clusterModel.relocateLeadership(tp, 0, 2);
+    for (Resource resource : Resource.cachedValues()) {
+      assertExpectedUtilization(leader.load(), resource);
+      assertExpectedUtilization(follower.load(), resource);
+      assertExpectedUtilization(clusterModel.broker(0).load(), resource);
+      assertExpectedUtilization(clusterModel.broker(2).load(), resource);
+    }
+  }
+
+  private static void assertExpectedUtilization(Load load, Resource resource) {
+    assertEquals(ModelUtils.expectedUtilizationFor(resource, load.loadByWindows()), load.expectedUtilizationFor(resource), DELTA);
+  }
+}
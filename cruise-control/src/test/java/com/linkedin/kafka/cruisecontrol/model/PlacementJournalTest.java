@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.model;
+
+import com.linkedin.kafka.cruisecontrol.analyzer.AnalyzerUtils;
+import com.linkedin.kafka.cruisecontrol.common.DeterministicCluster;
+import com.linkedin.kafka.cruisecontrol.common.Resource;
+import com.linkedin.kafka.cruisecontrol.common.TestConstants;
+import com.linkedin.kafka.cruisecontrol.executor.ExecutionProposal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for {@link PlacementJournal}.
+ */
+public class PlacementJournalTest {
+  private static final TopicPartition T1P0 = new TopicPartition("T1", 0);
+  private static final TopicPartition T1P1 = new TopicPartition("T1", 1);
+  private static final TopicPartition T2P2 = new TopicPartition("T2", 2);
+
+  @Test
+  public void testDiffMatchesFullDistributionDiff() {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(TestConstants.BROKER_CAPACITY);
+    Map<TopicPartition, List<ReplicaPlacementInfo>> initReplicaDistribution = clusterModel.getReplicaDistribution();
+    Map<TopicPartition, ReplicaPlacementInfo> initLeaderDistribution = clusterModel.getLeaderDistribution();
+    PlacementJournal placementJournal = clusterModel.startPlacementJournal();
+
+    clusterModel.relocateReplica(T1P0, 2, 1);
+    clusterModel.relocateLeadership(T2P2, 0, 1);
+    // Moving a replica back and forth touches the partition without changing it.
+    clusterModel.relocateReplica(T1P1, 0, 2);
+    clusterModel.relocateReplica(T1P1, 2, 0);
+    clusterModel.stopPlacementJournal(placementJournal);
+
+    assertEquals(3, placementJournal.numTouchedPartitions());
+    Set<ExecutionProposal> proposals = AnalyzerUtils.getDiff(placementJournal);
+    assertEquals(AnalyzerUtils.getDiff(initReplicaDistribution, initLeaderDistribution, clusterModel), proposals);
+    assertEquals(2, proposals.size());
+
+    // Changes after stopping the journal are not recorded.
+    clusterModel.relocateLeadership(T1P1, 1, 0);
+    assertEquals(3, placementJournal.numTouchedPartitions());
+  }
+
+  @Test
+  public void testRevertPlacementChanges() {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(TestConstants.BROKER_CAPACITY);
+    Map<TopicPartition, List<ReplicaPlacementInfo>> initReplicaDistribution = clusterModel.getReplicaDistribution();
+    Map<TopicPartition, ReplicaPlacementInfo> initLeaderDistribution = clusterModel.getLeaderDistribution();
+    double replicaSize = clusterModel.broker(2).replica(T1P0).load().expectedUtilizationFor(Resource.DISK);
+    PlacementJournal placementJournal = clusterModel.startPlacementJournal();
+
+    clusterModel.relocateReplica(T1P0, 2, 1);
+    clusterModel.relocateLeadership(T2P2, 0, 1);
+    assertEquals(replicaSize, clusterModel.interBrokerDataToMoveInMB(), 1E-9);
+    clusterModel.revertPlacementChanges(placementJournal);
+    clusterModel.stopPlacementJournal(placementJournal);
+
+    assertEquals(initReplicaDistribution, clusterModel.getReplicaDistribution());
+    assertEquals(initLeaderDistribution, clusterModel.getLeaderDistribution());
+    assertEquals(0.0, clusterModel.interBrokerDataToMoveInMB(), 1E-9);
+    assertTrue(AnalyzerUtils.getDiff(placementJournal).isEmpty());
+  }
+
+  @Test
+  public void testNestedJournals() {
+    ClusterModel clusterModel = DeterministicCluster.smallClusterModel(TestConstants.BROKER_CAPACITY);
+    PlacementJournal outerJournal = clusterModel.startPlacementJournal();
+    clusterModel.relocateLeadership(T2P2, 0, 1);
+    PlacementJournal innerJournal = clusterModel.startPlacementJournal();
+    clusterModel.relocateLeadership(T2P2, 1, 0);
+    clusterModel.stopPlacementJournal(innerJournal);
+    clusterModel.stopPlacementJournal(outerJournal);
+
+    // The inner journal observes the leadership change from broker 1 back to broker 0.
+    assertEquals(1, AnalyzerUtils.getDiff(innerJournal).size());
+    // The outer journal observes no change at all.
+    assertTrue(AnalyzerUtils.getDiff(outerJournal).isEmpty());
+  }
+}
@@ -6,6 +6,11 @@ package com.linkedin.kafka.cruisecontrol.model;
 
 import com.linkedin.kafka.cruisecontrol.common.TestConstants;
 import com.linkedin.kafka.cruisecontrol.config.BrokerCapacityInfo;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.SortedSet;
 import org.apache.kafka.common.TopicPartition;
 import org.junit.Test;
@@ -13,6 +18,7 @@ import java.util.function.Function;
 
 import static com.linkedin.kafka.cruisecontrol.common.TestConstants.TOPIC0;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -115,6 +121,59 @@ public class SortedReplicasTest {
     verifySortedReplicas(sr);
   }
 
+  @Test
+  public void testLazyResort() {
+    Broker broker = generateBroker(NUM_REPLICAS);
+    Map<Replica, Double> scoreByReplica = new HashMap<>();
+    new SortedReplicasHelper().setDoubleScoreFunc(r -> scoreByReplica.getOrDefault(r, SCORE_FUNC.apply(r)))
+                              .trackSortedReplicasFor(SORT_NAME, broker);
+    SortedReplicas sr = broker.trackedSortedReplicas(SORT_NAME);
+
+    Replica replica = sr.sortedReplicas(false).first();
+    scoreByReplica.put(replica, Double.MAX_VALUE);
+    sr.update(replica);
+    assertEquals("The replica should be re-sorted lazily", 1, sr.numReplicasToResort());
+    // Removing a replica pending re-sort should remove it from its current position.
+    sr.remove(replica);
+    assertEquals(0, sr.numReplicasToResort());
+    assertEquals(NUM_REPLICAS - 1, sr.sortedReplicas(false).size());
+
+    sr.add(replica);
+    Replica otherReplica = sr.sortedReplicas(false).first();
+    scoreByReplica.put(otherReplica, Double.POSITIVE_INFINITY);
+    sr.update(otherReplica);
+    assertEquals(otherReplica, sr.sortedReplicas(false).last());
+    assertEquals(0, sr.numReplicasToResort());
+    assertEquals(NUM_REPLICAS, sr.sortedReplicas(false).size());
+  }
+
+  @Test
+  public void testCloneIteratedAfterResort() {
+    Broker broker = generateBroker(NUM_REPLICAS);
+    Map<Replica, Double> scoreByReplica = new HashMap<>();
+    new SortedReplicasHelper().setDoubleScoreFunc(r -> scoreByReplica.getOrDefault(r, SCORE_FUNC.apply(r)))
+                              .trackSortedReplicasFor(SORT_NAME, broker);
+    SortedReplicas sr = broker.trackedSortedReplicas(SORT_NAME);
+
+    SortedSet<Replica> clone = sr.sortedReplicas(true);
+    // The clone shares the comparator of the sorted replicas, which lets it be copied without comparing replicas.
+    assertSame(sr.sortedReplicas(false).comparator(), clone.comparator());
+    List<Replica> expectedOrder = new ArrayList<>(clone);
+    Replica first = clone.first();
+    scoreByReplica.put(first, Double.MAX_VALUE);
+    sr.update(first);
+    assertEquals(first, sr.sortedReplicas(false).last());
+
+    // Re-sorting the sorted replicas neither reorders the clone nor prevents pruning it via its iterator.
+    assertEquals(expectedOrder, new ArrayList<>(clone));
+    for (Iterator<Replica> iterator = clone.iterator(); iterator.hasNext(); ) {
+      iterator.next();
+      iterator.remove();
+    }
+    assertTrue(clone.isEmpty());
+    assertEquals(NUM_REPLICAS, sr.sortedReplicas(false).size());
+  }
+
   private void verifySortedReplicas(SortedReplicas sr) {
     int lastPriority = -1;
     double lastScore = Double.NEGATIVE_INFINITY;
@@ -284,6 +284,33 @@ public class LoadMonitorTest {
     assertEquals(13, clusterModel.partition(T0P0).leader().load().expectedUtilizationFor(Resource.DISK), 0.0);
   }
 
+  @Test
+  public void testClusterModelSnapshot() throws NotEnoughValidWindowsException, TimeoutException, BrokerCapacityResolutionException {
+    TestContext context = prepareContext();
+    LoadMonitor loadMonitor = context.loadmonitor();
+    KafkaPartitionMetricSampleAggregator aggregator = context.aggregator();
+
+    CruiseControlUnitTestUtils.populateSampleAggregator(3, 4, aggregator, PE_T0P0, 0, WINDOW_MS, METRIC_DEF);
+    CruiseControlUnitTestUtils.populateSampleAggregator(3, 4, aggregator, PE_T0P1, 0, WINDOW_MS, METRIC_DEF);
+    CruiseControlUnitTestUtils.populateSampleAggregator(3, 4, aggregator, PE_T1P0, 0, WINDOW_MS, METRIC_DEF);
+    CruiseControlUnitTestUtils.populateSampleAggregator(3, 4, aggregator, PE_T1P1, 0, WINDOW_MS, METRIC_DEF);
+
+    ModelCompletenessRequirements requirements = new ModelCompletenessRequirements(2, 1.0, false);
+    ClusterModel clusterModel = loadMonitor.clusterModel(-1, Long.MAX_VALUE, requirements, false, new OperationProgress());
+    // Modifications to the returned cluster model must not be reflected to the subsequent snapshots.
+    clusterModel.relocateLeadership(T0P0, clusterModel.partition(T0P0).leader().broker().id(),
+                                    clusterModel.partition(T0P0).followers().get(0).broker().id());
+    ClusterModel snapshot = loadMonitor.clusterModel(-1, Long.MAX_VALUE, requirements, false, new OperationProgress());
+    assertEquals(clusterModel.generation(), snapshot.generation());
+    assertEquals(6.5, snapshot.partition(T0P0).leader().load().expectedUtilizationFor(Resource.CPU), 0.0);
+    assertEquals(13, snapshot.partition(T0P0).leader().load().expectedUtilizationFor(Resource.NW_OUT), 0.0);
+
+    // A change to the historical windows invalidates the cached cluster model.
+    CruiseControlUnitTestUtils.populateSampleAggregator(1, 1, aggregator, PE_T0P0, 1, WINDOW_MS, METRIC_DEF);
+    ClusterModel newClusterModel = loadMonitor.clusterModel(-1, Long.MAX_VALUE, requirements, false, new OperationProgress());
+    assertTrue(newClusterModel.generation().loadGeneration() > snapshot.generation().loadGeneration());
+  }
+
   // Test build cluster model for JBOD broker.
   @Test
   public void testJbodClusterModel() throws NotEnoughValidWindowsException, TimeoutException, BrokerCapacityResolutionException {
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.monitor.sampling;
+
+import com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig;
+import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.BrokerMetricSample;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.PartitionMetricSample;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for {@link FileSampleStore}.
+ */
+public class FileSampleStoreTest {
+  private static final long WINDOW_MS = TimeUnit.MINUTES.toMillis(5);
+  private static final int NUM_WINDOWS = 4;
+  private static final long SEGMENT_MS = TimeUnit.MINUTES.toMillis(1);
+  private File _directory;
+
+  @Before
+  public void setUp() throws IOException {
+    _directory = Files.createTempDirectory("FileSampleStoreTest").toFile();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<File> files = Files.walk(_directory.toPath()).sorted(Comparator.reverseOrder()).map(Path::toFile)) {
+      files.forEach(File::delete);
+    }
+  }
+
+  @Test
+  public void testStoreAndLoadSamples() {
+    long nowMs = System.currentTimeMillis();
+    Set<PartitionMetricSample> partitionMetricSamples = new HashSet<>();
+    for (int i = 0; i < 10; i++) {
+      // Samples span multiple segments.
+      partitionMetricSamples.add(partitionMetricSample(i, nowMs - i * SEGMENT_MS / 2));
+    }
+    // A sample older than the monitoring period is not loaded.
+    partitionMetricSamples.add(partitionMetricSample(10, nowMs - (NUM_WINDOWS + 1) * WINDOW_MS));
+    FileSampleStore sampleStore = createSampleStore();
+    sampleStore.storeSamples(new MetricSampler.Samples(partitionMetricSamples, Collections.emptySet()));
+    sampleStore.close();
+
+    // Reopen the sample store to load the samples.
+    sampleStore = createSampleStore();
+    CollectingSampleLoader sampleLoader = new CollectingSampleLoader();
+    sampleStore.loadSamples(sampleLoader);
+    sampleStore.close();
+    assertEquals(10, sampleLoader._partitionMetricSamples.size());
+    Set<Integer> loadedPartitions = sampleLoader._partitionMetricSamples.stream().map(s -> s.entity().tp().partition())
+                                                                         .collect(Collectors.toSet());
+    for (int i = 0; i < 10; i++) {
+      assertTrue(loadedPartitions.contains(i));
+    }
+    assertEquals(1.0, sampleStore.sampleLoadingProgress(), 0.0);
+  }
+
+  @Test
+  public void testEvictSamplesBefore() {
+    long nowMs = System.currentTimeMillis();
+    FileSampleStore sampleStore = createSampleStore();
+    sampleStore.storeSamples(new MetricSampler.Samples(Set.of(partitionMetricSample(0, nowMs - 2 * SEGMENT_MS),
+                                                              partitionMetricSample(1, nowMs)), Collections.emptySet()));
+    sampleStore.evictSamplesBefore(nowMs - SEGMENT_MS);
+
+    CollectingSampleLoader sampleLoader = new CollectingSampleLoader();
+    sampleStore.loadSamples(sampleLoader);
+    sampleStore.close();
+    assertEquals(1, sampleLoader._partitionMetricSamples.size());
+    assertEquals(1, sampleLoader._partitionMetricSamples.get(0).entity().tp().partition());
+  }
+
+  @Test
+  public void testAppendAfterIncompleteRecord() throws IOException {
+    long nowMs = System.currentTimeMillis();
+    SampleSegmentLog log = new SampleSegmentLog(_directory, SEGMENT_MS, WINDOW_MS);
+    log.append(List.of(nowMs), t -> t, t -> new byte[]{1, 2, 3});
+    log.close();
+    File segment = log.segmentsAfter(0L).get(0);
+    long validSize = segment.length();
+    // Simulate a crash amid appending a record.
+    try (FileOutputStream outputStream = new FileOutputStream(segment, true)) {
+      outputStream.write(new byte[]{0, 0, 0, 3, 1});
+    }
+
+    log = new SampleSegmentLog(_directory, SEGMENT_MS, WINDOW_MS);
+    log.append(List.of(nowMs), t -> t, t -> new byte[]{4, 5, 6});
+    log.close();
+    List<byte[]> records = new ArrayList<>();
+    assertEquals(2 * validSize, SampleSegmentLog.read(segment, 0L, (sampleTimeMs, serializedSample) -> records.add(serializedSample)));
+    assertEquals(2, records.size());
+    assertEquals(4, records.get(1)[0]);
+  }
+
+  private FileSampleStore createSampleStore() {
+    Map<String, Object> config = new HashMap<>();
+    config.put(FileSampleStore.SAMPLE_STORE_FILE_DIRECTORY_CONFIG, _directory.getAbsolutePath());
+    config.put(FileSampleStore.SAMPLE_STORE_FILE_SEGMENT_MS_CONFIG, Long.toString(SEGMENT_MS));
+    config.put(KafkaSampleStore.NUM_SAMPLE_LOADING_THREADS_CONFIG, "2");
+    config.put(MonitorConfig.PARTITION_METRICS_WINDOW_MS_CONFIG, WINDOW_MS);
+    config.put(MonitorConfig.BROKER_METRICS_WINDOW_MS_CONFIG, WINDOW_MS);
+    config.put(MonitorConfig.NUM_PARTITION_METRICS_WINDOWS_CONFIG, NUM_WINDOWS);
+    config.put(MonitorConfig.NUM_BROKER_METRICS_WINDOWS_CONFIG, NUM_WINDOWS);
+    FileSampleStore sampleStore = new FileSampleStore();
+    sampleStore.configure(config);
+    return sampleStore;
+  }
+
+  private static PartitionMetricSample partitionMetricSample(int partition, long sampleTimeMs) {
+    PartitionMetricSample sample = new PartitionMetricSample(0, new TopicPartition("topic", partition));
+    for (KafkaMetricDef metricDef : List.of(CPU_USAGE, DISK_USAGE, LEADER_BYTES_IN, LEADER_BYTES_OUT, PRODUCE_RATE, FETCH_RATE,
+                                            MESSAGE_IN_RATE, REPLICATION_BYTES_IN_RATE, REPLICATION_BYTES_OUT_RATE)) {
+      sample.record(KafkaMetricDef.commonMetricDefInfo(metricDef), partition);
+    }
+    sample.close(sampleTimeMs);
+    return sample;
+  }
+
+  /**
+   * A sample loader that collects the loaded samples.
+   */
+  private static class CollectingSampleLoader extends SampleStore.SampleLoader {
+    private final List<PartitionMetricSample> _partitionMetricSamples;
+    private final List<BrokerMetricSample> _brokerMetricSamples;
+
+    CollectingSampleLoader() {
+      super(null, null);
+      _partitionMetricSamples = new ArrayList<>();
+      _brokerMetricSamples = new ArrayList<>();
+    }
+
+    @Override
+    public synchronized void loadSamples(MetricSampler.Samples samples) {
+      _partitionMetricSamples.addAll(samples.partitionMetricSamples());
+      _brokerMetricSamples.addAll(samples.brokerMetricSamples());
+    }
+
+    @Override
+    public synchronized long partitionSampleCount() {
+      return _partitionMetricSamples.size();
+    }
+
+    @Override
+    public synchronized long brokerSampleCount() {
+      return _brokerMetricSamples.size();
+    }
+
+    @Override
+    public long partitionMonitoringPeriodMs() {
+      return NUM_WINDOWS * WINDOW_MS;
+    }
+
+    @Override
+    public long brokerMonitoringPeriodMs() {
+      return NUM_WINDOWS * WINDOW_MS;
+    }
+  }
+}
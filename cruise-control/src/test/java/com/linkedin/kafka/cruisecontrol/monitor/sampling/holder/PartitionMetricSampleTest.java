@@ -5,9 +5,13 @@
 package com.linkedin.kafka.cruisecontrol.monitor.sampling.holder;
 
 import com.linkedin.cruisecontrol.metricdef.MetricDef;
+import com.linkedin.cruisecontrol.metricdef.MetricInfo;
 import com.linkedin.kafka.cruisecontrol.common.Resource;
 import com.linkedin.kafka.cruisecontrol.metricsreporter.exception.UnknownVersionException;
 import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.apache.kafka.common.TopicPartition;
 import org.junit.Test;
 
@@ -29,7 +33,7 @@ public class PartitionMetricSampleTest {
       sample.record(KafkaMetricDef.commonMetricDefInfo(DISK_USAGE), 0.0);
       fail("Should throw IllegalStateException");
     } catch (IllegalStateException ise) {
-      // let it go.
+      // let it go
     }
   }
 
@@ -41,7 +45,7 @@ public class PartitionMetricSampleTest {
       sample.record(KafkaMetricDef.commonMetricDefInfo(DISK_USAGE), 0.0);
       fail("Should throw IllegalStateException");
     } catch (IllegalStateException ise) {
-      // let it go.
+      // let it go
     }
   }
 
@@ -85,4 +89,73 @@ public class PartitionMetricSampleTest {
     assertEquals(sample.sampleTime(), deserializedSample.sampleTime());
   }
 
+  @Test
+  public void testBatchSerde() throws UnknownVersionException {
+    MetricDef metricDef = KafkaMetricDef.commonMetricDef();
+    List<PartitionMetricSample> samples = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      PartitionMetricSample sample = new PartitionMetricSample(i % 3, new TopicPartition("topic" + i % 2, i));
+      for (MetricInfo info : metricDef.all()) {
+        sample.record(info, i + info.id() / 4.0);
+      }
+      // Sample times are not necessarily in order.
+      sample.close(1000L - (i % 4) * 100L);
+      samples.add(sample);
+    }
+    byte[] bytes = PartitionMetricSample.batchToBytes(samples);
+    List<PartitionMetricSample> deserializedSamples = new ArrayList<>();
+    assertEquals(samples.size(), PartitionMetricSample.readSamples(bytes, deserializedSamples::add));
+    assertEquals(samples.size(), deserializedSamples.size());
+    for (int i = 0; i < samples.size(); i++) {
+      PartitionMetricSample sample = samples.get(i);
+      PartitionMetricSample deserializedSample = deserializedSamples.get(i);
+      assertEquals(sample.brokerId(), deserializedSample.brokerId());
+      assertEquals(sample.entity().tp(), deserializedSample.entity().tp());
+      assertEquals(sample.sampleTime(), deserializedSample.sampleTime());
+      for (MetricInfo info : metricDef.all()) {
+        assertEquals(sample.metricValue(info.id()), deserializedSample.metricValue(info.id()), EPSILON);
+      }
+    }
+  }
+
+  @Test
+  public void testReadSamplesOfSingleSample() throws UnknownVersionException {
+    PartitionMetricSample sample = new PartitionMetricSample(1, new TopicPartition("topic", 2));
+    for (MetricInfo info : KafkaMetricDef.commonMetricDef().all()) {
+      sample.record(info, info.id());
+    }
+    sample.close(10);
+    List<PartitionMetricSample> deserializedSamples = new ArrayList<>();
+    assertEquals(1, PartitionMetricSample.readSamples(sample.toBytes(), deserializedSamples::add));
+    assertEquals(sample.entity().tp(), deserializedSamples.get(0).entity().tp());
+    assertEquals(sample.sampleTime(), deserializedSamples.get(0).sampleTime());
+  }
+
+  @Test
+  public void testReadSamplesOfCorruptBatch() throws UnknownVersionException {
+    List<PartitionMetricSample> samples = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      PartitionMetricSample sample = new PartitionMetricSample(i, new TopicPartition("topic" + i % 2, i));
+      for (MetricInfo info : KafkaMetricDef.commonMetricDef().all()) {
+        sample.record(info, info.id());
+      }
+      sample.close(1000L + i);
+      samples.add(sample);
+    }
+    byte[] bytes = PartitionMetricSample.batchToBytes(samples);
+    List<PartitionMetricSample> deserializedSamples = new ArrayList<>();
+    // A truncated or padded batch must be rejected without passing any sample to the consumer.
+    for (int length = 1; length <= bytes.length + 1; length++) {
+      if (length == bytes.length) {
+        continue;
+      }
+      try {
+        PartitionMetricSample.readSamples(Arrays.copyOf(bytes, length), deserializedSamples::add);
+        fail("Should have thrown IllegalArgumentException for a corrupt batch of " + length + " bytes.");
+      } catch (IllegalArgumentException iae) {
+        // let it go
+      }
+      assertEquals(0, deserializedSamples.size());
+    }
+  }
 }
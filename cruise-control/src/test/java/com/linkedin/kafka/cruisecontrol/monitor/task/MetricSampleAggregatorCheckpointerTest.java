@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021 LinkedIn Corp. Licensed under the BSD 2-Clause License (the "License"). See License in the project root for license information.
+ */
+
+package com.linkedin.kafka.cruisecontrol.monitor.task;
+
+import com.linkedin.cruisecontrol.CruiseControlUnitTestUtils;
+import com.linkedin.cruisecontrol.metricdef.MetricInfo;
+import com.linkedin.kafka.cruisecontrol.KafkaCruiseControlUnitTestUtils;
+import com.linkedin.kafka.cruisecontrol.config.KafkaCruiseControlConfig;
+import com.linkedin.kafka.cruisecontrol.monitor.metricdefinition.KafkaMetricDef;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.MetricSampler;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.SampleStore;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator.KafkaBrokerMetricSampleAggregator;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.aggregator.KafkaPartitionMetricSampleAggregator;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.BrokerEntity;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.PartitionEntity;
+import com.linkedin.kafka.cruisecontrol.monitor.sampling.holder.PartitionMetricSample;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.MockTime;
+import org.apache.kafka.common.utils.Time;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.linkedin.kafka.cruisecontrol.common.TestConstants.TOPIC0;
+import static com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig.BROKER_METRICS_WINDOW_MS_CONFIG;
+import static com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig.MIN_SAMPLES_PER_BROKER_METRICS_WINDOW_CONFIG;
+import static com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig.MIN_SAMPLES_PER_PARTITION_METRICS_WINDOW_CONFIG;
+import static com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig.NUM_BROKER_METRICS_WINDOWS_CONFIG;
+import static com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig.NUM_PARTITION_METRICS_WINDOWS_CONFIG;
+import static com.linkedin.kafka.cruisecontrol.config.constants.MonitorConfig.PARTITION_METRICS_WINDOW_MS_CONFIG;
+import static com.linkedin.kafka.cruisecontrol.monitor.MonitorUnitTestUtils.getMetadata;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Unit test for {@link MetricSampleAggregatorCheckpointer}.
+ */
+public class MetricSampleAggregatorCheckpointerTest {
+  private static final int NUM_WINDOWS = 20;
+  private static final long WINDOW_MS = TimeUnit.SECONDS.toMillis(1);
+  private static final int MIN_SAMPLES_PER_WINDOW = 4;
+  private static final long CHECKPOINT_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1);
+  private static final TopicPartition TP = new TopicPartition(TOPIC0, 0);
+  private static final BrokerEntity BROKER_ENTITY = new BrokerEntity("host0", 0);
+  private final Time _time = new MockTime();
+  private File _directory;
+
+  @Before
+  public void setUp() throws IOException {
+    _directory = Files.createTempDirectory("MetricSampleAggregatorCheckpointerTest").toFile();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<File> files = Files.walk(_directory.toPath()).sorted(Comparator.reverseOrder()).map(Path::toFile)) {
+      files.forEach(File::delete);
+    }
+  }
+
+  @Test
+  public void testCheckpointAndRestore() {
+    KafkaCruiseControlConfig config = new KafkaCruiseControlConfig(getLoadMonitorProperties());
+    KafkaPartitionMetricSampleAggregator partitionAggregator = new KafkaPartitionMetricSampleAggregator(config, getMetadata(Set.of(TP)));
+    KafkaBrokerMetricSampleAggregator brokerAggregator = new KafkaBrokerMetricSampleAggregator(config);
+    CruiseControlUnitTestUtils.populateSampleAggregator(NUM_WINDOWS + 1, MIN_SAMPLES_PER_WINDOW, partitionAggregator,
+                                                        new PartitionEntity(TP), 0, WINDOW_MS, KafkaMetricDef.commonMetricDef());
+    CruiseControlUnitTestUtils.populateSampleAggregator(NUM_WINDOWS + 1, MIN_SAMPLES_PER_WINDOW, brokerAggregator,
+                                                        BROKER_ENTITY, 0, WINDOW_MS, KafkaMetricDef.brokerMetricDef());
+    MetricSampleAggregatorCheckpointer checkpointer =
+        new MetricSampleAggregatorCheckpointer(_directory, CHECKPOINT_INTERVAL_MS, partitionAggregator, brokerAggregator, _time);
+    // No checkpoint is written before the checkpoint interval elapses.
+    checkpointer.maybeCheckpoint();
+    assertEquals(0, _directory.list().length);
+    _time.sleep(CHECKPOINT_INTERVAL_MS);
+    checkpointer.maybeCheckpoint();
+    assertTrue(new File(_directory, MetricSampleAggregatorCheckpointer.PARTITION_CHECKPOINT_FILE).exists());
+    assertTrue(new File(_directory, MetricSampleAggregatorCheckpointer.BROKER_CHECKPOINT_FILE).exists());
+
+    KafkaPartitionMetricSampleAggregator restoredPartitionAggregator =
+        new KafkaPartitionMetricSampleAggregator(config, getMetadata(Set.of(TP)));
+    KafkaBrokerMetricSampleAggregator restoredBrokerAggregator = new KafkaBrokerMetricSampleAggregator(config);
+    SampleStore.SampleLoader sampleLoader =
+        new MetricSampleAggregatorCheckpointer(_directory, CHECKPOINT_INTERVAL_MS, restoredPartitionAggregator,
+                                               restoredBrokerAggregator, _time).restore();
+    assertEquals(partitionAggregator.numSamples(), restoredPartitionAggregator.numSamples());
+    assertEquals(partitionAggregator.allWindows(), restoredPartitionAggregator.allWindows());
+    assertEquals(brokerAggregator.numSamples(), restoredBrokerAggregator.numSamples());
+    assertEquals(brokerAggregator.allWindows(), restoredBrokerAggregator.allWindows());
+
+    // Only the samples newer than the checkpoint are loaded.
+    long checkpointTimeMs = partitionAggregator.latestSampleTimeMs();
+    assertEquals(checkpointTimeMs + 1, sampleLoader.partitionSampleLoadingStartMs(checkpointTimeMs));
+    sampleLoader.loadSamples(new MetricSampler.Samples(Set.of(partitionMetricSample(checkpointTimeMs - 1),
+                                                              partitionMetricSample(checkpointTimeMs + 1)),
+                                                       Collections.emptySet()));
+    assertEquals(partitionAggregator.numSamples() + 1, restoredPartitionAggregator.numSamples());
+  }
+
+  @Test
+  public void testRestoreCorruptCheckpoint() throws IOException {
+    Files.write(new File(_directory, MetricSampleAggregatorCheckpointer.PARTITION_CHECKPOINT_FILE).toPath(), new byte[]{1, 2, 3});
+    KafkaCruiseControlConfig config = new KafkaCruiseControlConfig(getLoadMonitorProperties());
+    KafkaPartitionMetricSampleAggregator partitionAggregator = new KafkaPartitionMetricSampleAggregator(config, getMetadata(Set.of(TP)));
+    SampleStore.SampleLoader sampleLoader =
+        new MetricSampleAggregatorCheckpointer(_directory, CHECKPOINT_INTERVAL_MS, partitionAggregator,
+                                               new KafkaBrokerMetricSampleAggregator(config), _time).restore();
+    // All the stored samples are loaded to the aggregator.
+    assertEquals(0, partitionAggregator.numSamples());
+    sampleLoader.loadSamples(new MetricSampler.Samples(Set.of(partitionMetricSample(WINDOW_MS)), Collections.emptySet()));
+    assertEquals(1, partitionAggregator.numSamples());
+  }
+
+  private static PartitionMetricSample partitionMetricSample(long sampleTimeMs) {
+    PartitionMetricSample sample = new PartitionMetricSample(0, TP);
+    for (MetricInfo info : KafkaMetricDef.commonMetricDef().all()) {
+      sample.record(info, 1.0);
+    }
+    sample.close(sampleTimeMs);
+    return sample;
+  }
+
+  private static Properties getLoadMonitorProperties() {
+    Properties props = KafkaCruiseControlUnitTestUtils.getKafkaCruiseControlProperties();
+    props.setProperty(PARTITION_METRICS_WINDOW_MS_CONFIG, Long.toString(WINDOW_MS));
+    props.setProperty(NUM_PARTITION_METRICS_WINDOWS_CONFIG, Integer.toString(NUM_WINDOWS));
+    props.setProperty(MIN_SAMPLES_PER_PARTITION_METRICS_WINDOW_CONFIG, Integer.toString(MIN_SAMPLES_PER_WINDOW));
+    props.setProperty(BROKER_METRICS_WINDOW_MS_CONFIG, Long.toString(WINDOW_MS));
+    props.setProperty(NUM_BROKER_METRICS_WINDOWS_CONFIG, Integer.toString(NUM_WINDOWS));
+    props.setProperty(MIN_SAMPLES_PER_BROKER_METRICS_WINDOW_CONFIG, Integer.toString(MIN_SAMPLES_PER_WINDOW));
+    return props;
+  }
+}